@@ -0,0 +1,142 @@
+package com.example.cinemabooking.screening.repository;
+
+import com.example.cinemabooking.screening.dto.ScreeningResponse;
+import com.example.cinemabooking.screening.entity.Screening;
+import com.example.cinemabooking.screening.mapper.ScreeningMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading a large schedule as entities fetched with their movie and hall against reading it through the
+ * {@link ScreeningView} projection, both mapped to responses in read-only transactions like the service uses. The
+ * entity path hydrates the movie with its full description and registers every entity in the persistence context.
+ * Hibernate runs against Postgres in Testcontainers, migrated with the application's Flyway scripts, so Docker must
+ * be available.
+ * <p>
+ * Run with {@code ./mvnw -Pjmh test-compile exec:exec -Djmh.benchmarks=ScreeningProjectionBenchmark}; the
+ * {@code gc} profiler reports the heap allocated per read as {@code gc.alloc.rate.norm}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScreeningProjectionBenchmark {
+
+    private static final int SCREENINGS = 20_000;
+
+    private static final String FIND_ALL_FETCHED = """
+            SELECT s FROM Screening s
+            JOIN FETCH s.movie
+            JOIN FETCH s.cinemaHall
+            ORDER BY s.startTime, s.id
+            """;
+
+    @State(Scope.Benchmark)
+    public static class Database {
+
+        PostgreSQLContainer<?> postgres;
+        HikariDataSource dataSource;
+        EntityManagerFactory entityManagerFactory;
+        EntityManager entityManager;
+        ScreeningRepository screeningRepository;
+        TransactionTemplate readOnly;
+
+        @Setup(Level.Trial)
+        public void start() {
+            postgres = new PostgreSQLContainer<>("postgres:17")
+                    .withDatabaseName("cinema")
+                    .withUsername("test")
+                    .withPassword("test");
+            postgres.start();
+            dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl(postgres.getJdbcUrl());
+            dataSource.setUsername(postgres.getUsername());
+            dataSource.setPassword(postgres.getPassword());
+            Flyway.configure().dataSource(dataSource).load().migrate();
+            seed(new JdbcTemplate(dataSource));
+
+            LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+            factory.setDataSource(dataSource);
+            factory.setPackagesToScan("com.example.cinemabooking");
+            factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+            factory.setJpaPropertyMap(Map.of(
+                    "hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName(),
+                    "hibernate.implicit_naming_strategy", SpringImplicitNamingStrategy.class.getName()));
+            factory.afterPropertiesSet();
+            entityManagerFactory = factory.getObject();
+            entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+            screeningRepository = new JpaRepositoryFactory(entityManager).getRepository(ScreeningRepository.class);
+            readOnly = new TransactionTemplate(new JpaTransactionManager(entityManagerFactory));
+            readOnly.setReadOnly(true);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            entityManagerFactory.close();
+            dataSource.close();
+            postgres.stop();
+        }
+
+        private static void seed(JdbcTemplate jdbcTemplate) {
+            jdbcTemplate.update("""
+                    INSERT INTO movies (title, description, genre, duration_minutes, release_date, age_rating)
+                    VALUES ('Benchmark', repeat('x', 2000), 'Sci-Fi', 120, DATE '2010-01-01', 'AGE_12')
+                    """);
+            jdbcTemplate.update("INSERT INTO cinema_halls (name, rows, seats_per_row) VALUES ('Benchmark', 20, 50)");
+            jdbcTemplate.update("""
+                    INSERT INTO screenings (movie_id, hall_id, start_time, end_time, price, seats_available)
+                    SELECT m.id, h.id, TIMESTAMP '2040-01-01 00:00' + n * INTERVAL '2 hours',
+                           TIMESTAMP '2040-01-01 02:00' + n * INTERVAL '2 hours', 25, 1000
+                    FROM movies m, cinema_halls h, generate_series(0, ? - 1) AS n
+                    """, SCREENINGS);
+            jdbcTemplate.execute("ANALYZE screenings");
+        }
+
+    }
+
+    @Benchmark
+    public List<ScreeningResponse> entities(Database database) {
+        return database.readOnly.execute(status -> database.entityManager
+                .createQuery(FIND_ALL_FETCHED, Screening.class)
+                .getResultList().stream()
+                .map(screening -> ScreeningMapper.toResponse(screening, screening.getSeatsAvailable()))
+                .toList());
+    }
+
+    @Benchmark
+    public List<ScreeningResponse> projections(Database database) {
+        return database.readOnly.execute(status -> database.screeningRepository.findAllViews().stream()
+                .map(screening -> ScreeningMapper.toResponse(screening, screening.seatsAvailable()))
+                .toList());
+    }
+
+}
@@ -0,0 +1,211 @@
+package com.example.cinemabooking.screening.service;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seat availability served from the in-memory {@link SeatAvailabilityBitmap} against the SQL lookups it replaces,
+ * on a 20 x 30 hall with a third of its seats booked. Both the single "is this seat free" check and the full seat
+ * map are measured, from several threads at once as during a premiere. The SQL side runs against Postgres in
+ * Testcontainers, migrated with the application's Flyway scripts, so Docker must be available.
+ * <p>
+ * Run with {@code ./mvnw -Pjmh test-compile exec:exec}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class SeatAvailabilityBenchmark {
+
+    private static final int ROWS = 20;
+    private static final int SEATS_PER_ROW = 30;
+
+    private static final String IS_AVAILABLE_SQL = """
+            SELECT status
+            FROM screening_seats
+            WHERE screening_id = ?
+              AND row_number = ?
+              AND seat_number = ?
+            """;
+
+    private static final String FIND_BOOKED_SQL = """
+            SELECT row_number, seat_number
+            FROM screening_seats
+            WHERE screening_id = ?
+              AND status = 'BOOKED'
+            """;
+
+    @State(Scope.Benchmark)
+    public static class Database {
+
+        PostgreSQLContainer<?> postgres;
+        long screeningId;
+        SeatAvailabilityBitmap bitmap;
+
+        @Setup(Level.Trial)
+        public void start() throws SQLException {
+            postgres = new PostgreSQLContainer<>("postgres:17")
+                    .withDatabaseName("cinema")
+                    .withUsername("test")
+                    .withPassword("test");
+            postgres.start();
+            Flyway.configure()
+                    .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                    .load()
+                    .migrate();
+            try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+                statement.execute("""
+                        INSERT INTO movies (title, description, genre, duration_minutes, release_date, age_rating)
+                        VALUES ('Benchmark', 'Benchmark', 'Drama', 120, DATE '2030-01-01', 'AGE_12')
+                        """);
+                statement.execute("INSERT INTO cinema_halls (name, rows, seats_per_row) VALUES ('Benchmark', %d, %d)"
+                        .formatted(ROWS, SEATS_PER_ROW));
+                statement.execute("""
+                        INSERT INTO seats (hall_id, row_number, seat_number)
+                        SELECT h.id, r, s
+                        FROM cinema_halls h, generate_series(1, h.rows) r, generate_series(1, h.seats_per_row) s
+                        """);
+                statement.execute("""
+                        INSERT INTO screenings (movie_id, hall_id, start_time, end_time, price)
+                        SELECT m.id, h.id, TIMESTAMP '2030-01-01 18:00', TIMESTAMP '2030-01-01 20:00', 25
+                        FROM movies m, cinema_halls h
+                        """);
+                statement.execute("""
+                        INSERT INTO screening_seats (screening_id, seat_id, row_number, seat_number, status)
+                        SELECT sc.id, s.id, s.row_number, s.seat_number,
+                               CASE WHEN (s.row_number + s.seat_number) % 3 = 0 THEN 'BOOKED' ELSE 'AVAILABLE' END
+                        FROM screenings sc
+                        JOIN seats s ON s.hall_id = sc.hall_id
+                        """);
+                statement.execute("ANALYZE screening_seats");
+                try (ResultSet rs = statement.executeQuery("SELECT id FROM screenings")) {
+                    rs.next();
+                    screeningId = rs.getLong(1);
+                }
+            }
+            bitmap = new SeatAvailabilityBitmap(ROWS, SEATS_PER_ROW);
+            try (Connection connection = connect()) {
+                findBooked(connection.prepareStatement(FIND_BOOKED_SQL), screeningId,
+                        (row, seat) -> bitmap.tryReserve(row, seat));
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            postgres.stop();
+        }
+
+        Connection connect() throws SQLException {
+            return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        }
+
+    }
+
+    /**
+     * One connection and its prepared statements per benchmark thread, like a pooled connection held by a request.
+     */
+    @State(Scope.Thread)
+    public static class Session {
+
+        Connection connection;
+        PreparedStatement isAvailable;
+        PreparedStatement findBooked;
+        int seat;
+
+        @Setup(Level.Trial)
+        public void open(Database database) throws SQLException {
+            connection = database.connect();
+            isAvailable = connection.prepareStatement(IS_AVAILABLE_SQL);
+            findBooked = connection.prepareStatement(FIND_BOOKED_SQL);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws SQLException {
+            connection.close();
+        }
+
+        int nextSeat() {
+            seat = (seat + 1) % (ROWS * SEATS_PER_ROW);
+            return seat;
+        }
+
+    }
+
+    @Benchmark
+    public boolean bitmapIsAvailable(Database database, Session session) {
+        int seat = session.nextSeat();
+        return database.bitmap.isAvailable(seat / SEATS_PER_ROW + 1, seat % SEATS_PER_ROW + 1);
+    }
+
+    @Benchmark
+    public boolean sqlIsAvailable(Database database, Session session) throws SQLException {
+        int seat = session.nextSeat();
+        PreparedStatement statement = session.isAvailable;
+        statement.setLong(1, database.screeningId);
+        statement.setInt(2, seat / SEATS_PER_ROW + 1);
+        statement.setInt(3, seat % SEATS_PER_ROW + 1);
+        try (ResultSet rs = statement.executeQuery()) {
+            return rs.next() && rs.getString(1).equals("AVAILABLE");
+        }
+    }
+
+    @Benchmark
+    public void bitmapSeatMap(Database database, Blackhole blackhole) {
+        SeatAvailabilityBitmap bitmap = database.bitmap;
+        for (int row = 1; row <= ROWS; row++) {
+            for (int seat = 1; seat <= SEATS_PER_ROW; seat++) {
+                blackhole.consume(bitmap.isAvailable(row, seat));
+            }
+        }
+    }
+
+    @Benchmark
+    public void sqlSeatMap(Database database, Session session, Blackhole blackhole) throws SQLException {
+        boolean[] taken = new boolean[ROWS * SEATS_PER_ROW];
+        findBooked(session.findBooked, database.screeningId,
+                (row, seat) -> taken[(row - 1) * SEATS_PER_ROW + seat - 1] = true);
+        blackhole.consume(taken);
+    }
+
+    private static void findBooked(PreparedStatement statement, long screeningId, SeatConsumer consumer)
+            throws SQLException {
+        statement.setLong(1, screeningId);
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                consumer.accept(rs.getInt(1), rs.getInt(2));
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface SeatConsumer {
+
+        void accept(int rowNumber, int seatNumber);
+
+    }
+
+}
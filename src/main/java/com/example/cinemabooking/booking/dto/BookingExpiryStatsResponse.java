@@ -0,0 +1,19 @@
+package com.example.cinemabooking.booking.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+@Builder
+public class BookingExpiryStatsResponse {
+
+    long runsTotal;
+    long expiredTotal;
+    long seatsReleasedTotal;
+    long lastRunExpired;
+    LocalDateTime lastRunAt;
+    long lagMillis;
+
+}
@@ -0,0 +1,23 @@
+package com.example.cinemabooking.booking.dto;
+
+import com.example.cinemabooking.booking.entity.BookingStatus;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Value
+@Builder
+public class BookingResponse {
+
+    Long id;
+    UUID uuid;
+    Long screeningId;
+    List<SeatPositionResponse> seats;
+    LocalDateTime createdAt;
+    BookingStatus status;
+    LocalDateTime expiresAt;
+
+}
@@ -0,0 +1,20 @@
+package com.example.cinemabooking.booking.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateAnySeatsBookingRequest {
+
+    @Min(1)
+    @Max(20)
+    private int count;
+
+}
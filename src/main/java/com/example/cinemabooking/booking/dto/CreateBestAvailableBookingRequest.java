@@ -0,0 +1,23 @@
+package com.example.cinemabooking.booking.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateBestAvailableBookingRequest {
+
+    @Min(1)
+    @Max(20)
+    private int count;
+
+    @Builder.Default
+    private boolean allowSplit = true;
+
+}
@@ -0,0 +1,29 @@
+package com.example.cinemabooking.booking.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateBookingRequest {
+
+    @Builder.Default
+    private List<@Valid SeatRequest> seats = List.of();
+
+    private UUID holdId;
+
+    @AssertTrue(message = "exactly one of seats or holdId must be given")
+    public boolean isSeatsOrHold() {
+        return (seats != null && !seats.isEmpty()) != (holdId != null);
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.example.cinemabooking.booking.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateSeatHoldRequest {
+
+    @NotEmpty
+    private List<@Valid SeatRequest> seats;
+
+    @Min(1)
+    private Integer holdMinutes;
+
+}
@@ -0,0 +1,19 @@
+package com.example.cinemabooking.booking.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Value
+@Builder
+public class SeatHoldResponse {
+
+    UUID id;
+    Long screeningId;
+    List<SeatPositionResponse> seats;
+    LocalDateTime expiresAt;
+
+}
@@ -0,0 +1,16 @@
+package com.example.cinemabooking.booking.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class SeatHoldStatsResponse {
+
+    long activeHolds;
+    long createdTotal;
+    long releasedTotal;
+    long expiredTotal;
+    long expiredLastMinute;
+
+}
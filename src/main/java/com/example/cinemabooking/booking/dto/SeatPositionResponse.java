@@ -0,0 +1,13 @@
+package com.example.cinemabooking.booking.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class SeatPositionResponse {
+
+    int rowNumber;
+    int seatNumber;
+
+}
@@ -0,0 +1,21 @@
+package com.example.cinemabooking.booking.dto;
+
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeatRequest {
+
+    @Min(1)
+    private int rowNumber;
+
+    @Min(1)
+    private int seatNumber;
+
+}
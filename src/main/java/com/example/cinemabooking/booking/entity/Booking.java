@@ -0,0 +1,36 @@
+package com.example.cinemabooking.booking.entity;
+
+import com.example.cinemabooking.common.jpa.BaseEntity;
+import com.example.cinemabooking.screening.entity.Screening;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = true)
+@SuperBuilder
+@Entity
+@Table(name = "bookings")
+public class Booking extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "screening_id", nullable = false)
+    private Screening screening;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private BookingStatus status = BookingStatus.PENDING_PAYMENT;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+}
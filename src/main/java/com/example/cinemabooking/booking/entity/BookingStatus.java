@@ -0,0 +1,5 @@
+package com.example.cinemabooking.booking.entity;
+
+public enum BookingStatus {
+    PENDING_PAYMENT, PAID, EXPIRED, FAILED
+}
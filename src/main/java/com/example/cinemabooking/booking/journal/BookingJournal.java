@@ -0,0 +1,193 @@
+package com.example.cinemabooking.booking.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only, memory-mapped journal of confirmed bookings.
+ * <p>
+ * Layout: a 16 byte header (magic, version, flushed position) followed by entries of
+ * {@code [int length][int crc32c][payload]}. A zero length marks the end of the log, and the length is written
+ * last, so a torn entry is never read back. Three positions move forward independently:
+ * <ul>
+ *     <li>written – appended to the mapped buffer,</li>
+ *     <li>synced – forced to disk, safe to acknowledge,</li>
+ *     <li>flushed – persisted in the database, recorded in the header.</li>
+ * </ul>
+ * Once everything written has also been flushed the journal wraps around to the start of the file.
+ */
+public class BookingJournal implements Closeable {
+
+    private static final int MAGIC = 0x424B4A4C;
+    private static final int VERSION = 1;
+    private static final int FLUSHED_POSITION_OFFSET = 8;
+    private static final int HEADER_SIZE = 16;
+    private static final int ENTRY_HEADER_SIZE = 8;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final Object lock = new Object();
+
+    private int writePosition;
+    private int syncedPosition;
+    private int flushedPosition;
+    private long generation;
+
+    private BookingJournal(FileChannel channel, MappedByteBuffer buffer, int capacity) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        if (buffer.getInt(0) != MAGIC) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putLong(FLUSHED_POSITION_OFFSET, HEADER_SIZE);
+            buffer.putInt(HEADER_SIZE, 0);
+            buffer.force();
+        }
+        this.flushedPosition = (int) buffer.getLong(FLUSHED_POSITION_OFFSET);
+        this.writePosition = recoverEnd(flushedPosition);
+        this.syncedPosition = writePosition;
+    }
+
+    public static BookingJournal open(Path file, int capacity) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new BookingJournal(channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity), capacity);
+    }
+
+    private int recoverEnd(int from) {
+        int position = from;
+        while (position + ENTRY_HEADER_SIZE <= capacity) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + ENTRY_HEADER_SIZE + length > capacity
+                    || crc(position + ENTRY_HEADER_SIZE, length) != buffer.getInt(position + Integer.BYTES)) {
+                break;
+            }
+            position += ENTRY_HEADER_SIZE + length;
+        }
+        if (position + Integer.BYTES <= capacity) {
+            buffer.putInt(position, 0);
+        }
+        return position;
+    }
+
+    /**
+     * Writes the entry to the mapped buffer. It is durable only after a later {@link #sync()}.
+     *
+     * @return journal position right after the entry
+     * @throws BookingJournalFullException when the entry does not fit until the journal has been drained
+     */
+    public int append(JournalEntry entry) {
+        byte[] payload = entry.encode();
+        int required = ENTRY_HEADER_SIZE + payload.length + Integer.BYTES;
+        synchronized (lock) {
+            if (writePosition + required > capacity) {
+                throw new BookingJournalFullException(required, capacity - writePosition);
+            }
+            int start = writePosition;
+            buffer.put(start + ENTRY_HEADER_SIZE, payload);
+            buffer.putInt(start + ENTRY_HEADER_SIZE + payload.length, 0);
+            buffer.putInt(start + Integer.BYTES, crc(start + ENTRY_HEADER_SIZE, payload.length));
+            buffer.putInt(start, payload.length);
+            writePosition = start + ENTRY_HEADER_SIZE + payload.length;
+            return writePosition;
+        }
+    }
+
+    /**
+     * Forces everything written so far to disk. Appends may continue while the force is in progress.
+     *
+     * @return the synced position
+     */
+    public int sync() {
+        int from;
+        int to;
+        long syncGeneration;
+        synchronized (lock) {
+            from = syncedPosition;
+            to = writePosition;
+            syncGeneration = generation;
+        }
+        if (to > from) {
+            buffer.force(from, to - from + Integer.BYTES);
+        }
+        synchronized (lock) {
+            if (syncGeneration == generation && to > syncedPosition) {
+                syncedPosition = to;
+            }
+            return syncedPosition;
+        }
+    }
+
+    /**
+     * Reads synced entries not yet flushed to the database, starting at the flushed position.
+     */
+    public Batch readUnflushed(int maxEntries) {
+        int position;
+        int end;
+        synchronized (lock) {
+            position = flushedPosition;
+            end = syncedPosition;
+        }
+        List<JournalEntry> entries = new ArrayList<>();
+        while (position < end && entries.size() < maxEntries) {
+            int length = buffer.getInt(position);
+            ByteBuffer payload = buffer.slice(position + ENTRY_HEADER_SIZE, length);
+            entries.add(JournalEntry.decode(payload));
+            position += ENTRY_HEADER_SIZE + length;
+        }
+        return new Batch(entries, position);
+    }
+
+    /**
+     * Records that all entries before {@code position} are in the database, and wraps the journal around when
+     * nothing else is pending.
+     */
+    public void markFlushed(int position) {
+        synchronized (lock) {
+            flushedPosition = position;
+            if (flushedPosition == writePosition && writePosition == syncedPosition) {
+                generation++;
+                writePosition = HEADER_SIZE;
+                syncedPosition = HEADER_SIZE;
+                flushedPosition = HEADER_SIZE;
+                buffer.putInt(HEADER_SIZE, 0);
+            }
+            buffer.putLong(FLUSHED_POSITION_OFFSET, flushedPosition);
+            buffer.force(0, HEADER_SIZE + Integer.BYTES);
+        }
+    }
+
+    public boolean hasUnflushed() {
+        synchronized (lock) {
+            return flushedPosition < writePosition;
+        }
+    }
+
+    private int crc(int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    public record Batch(List<JournalEntry> entries, int endPosition) {
+    }
+
+}
@@ -0,0 +1,7 @@
+package com.example.cinemabooking.booking.journal;
+
+public class BookingJournalFullException extends RuntimeException {
+    public BookingJournalFullException(int required, int remaining) {
+        super("Booking journal needs " + required + " bytes but only " + remaining + " are left.");
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.cinemabooking.booking.journal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * @param syncInterval  longest a booking waits for the group commit it joined
+ * @param syncBatchSize number of waiting bookings that triggers a group commit right away
+ * @param flushInterval how often journaled bookings are written to the database
+ * @param flushBatchSize number of bookings written per database batch
+ * @param fullTimeout   longest a booking waits for a full journal to be drained before it is rejected
+ */
+@ConfigurationProperties(prefix = "booking.journal")
+public record BookingJournalProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/booking-journal.log") Path file,
+        @DefaultValue("64MB") DataSize capacity,
+        @DefaultValue("2ms") Duration syncInterval,
+        @DefaultValue("256") int syncBatchSize,
+        @DefaultValue("200ms") Duration flushInterval,
+        @DefaultValue("1000") int flushBatchSize,
+        @DefaultValue("1s") Duration fullTimeout
+) {
+}
@@ -0,0 +1,47 @@
+package com.example.cinemabooking.booking.journal;
+
+import com.example.cinemabooking.booking.dto.SeatRequest;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A confirmed booking as recorded in the {@link BookingJournal}. The booking uuid makes replaying an entry
+ * into the database idempotent.
+ */
+public record JournalEntry(UUID bookingUuid, Long screeningId, LocalDateTime createdAt, List<SeatRequest> seats) {
+
+    private static final int FIXED_SIZE = Long.BYTES * 4 + Integer.BYTES * 2;
+
+    byte[] encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(FIXED_SIZE + seats.size() * Integer.BYTES * 2);
+        buffer.putLong(screeningId);
+        buffer.putLong(bookingUuid.getMostSignificantBits());
+        buffer.putLong(bookingUuid.getLeastSignificantBits());
+        buffer.putLong(createdAt.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(createdAt.getNano());
+        buffer.putInt(seats.size());
+        for (SeatRequest seat : seats) {
+            buffer.putInt(seat.getRowNumber());
+            buffer.putInt(seat.getSeatNumber());
+        }
+        return buffer.array();
+    }
+
+    static JournalEntry decode(ByteBuffer buffer) {
+        long screeningId = buffer.getLong();
+        UUID bookingUuid = new UUID(buffer.getLong(), buffer.getLong());
+        LocalDateTime createdAt = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+        int seatCount = buffer.getInt();
+        List<SeatRequest> seats = new ArrayList<>(seatCount);
+        for (int i = 0; i < seatCount; i++) {
+            seats.add(new SeatRequest(buffer.getInt(), buffer.getInt()));
+        }
+        return new JournalEntry(bookingUuid, screeningId, createdAt, List.copyOf(seats));
+    }
+
+}
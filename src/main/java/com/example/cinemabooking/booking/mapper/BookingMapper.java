@@ -0,0 +1,76 @@
+package com.example.cinemabooking.booking.mapper;
+
+import com.example.cinemabooking.booking.dto.BookingExpiryStatsResponse;
+import com.example.cinemabooking.booking.dto.BookingResponse;
+import com.example.cinemabooking.booking.dto.SeatHoldResponse;
+import com.example.cinemabooking.booking.dto.SeatPositionResponse;
+import com.example.cinemabooking.booking.dto.SeatRequest;
+import com.example.cinemabooking.booking.entity.Booking;
+import com.example.cinemabooking.booking.entity.BookingStatus;
+import com.example.cinemabooking.booking.journal.JournalEntry;
+import com.example.cinemabooking.booking.service.BookingExpirySweeper;
+import com.example.cinemabooking.booking.service.SeatHold;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class BookingMapper {
+
+    public static BookingResponse toResponse(Booking booking, Long screeningId, List<SeatRequest> seats) {
+        return BookingResponse.builder()
+                .id(booking.getId())
+                .uuid(booking.getUuid())
+                .screeningId(screeningId)
+                .seats(toSeatResponses(seats))
+                .createdAt(booking.getCreatedAt())
+                .status(booking.getStatus())
+                .expiresAt(booking.getExpiresAt())
+                .build();
+    }
+
+    public static BookingResponse toResponse(JournalEntry entry, LocalDateTime expiresAt) {
+        return BookingResponse.builder()
+                .uuid(entry.bookingUuid())
+                .screeningId(entry.screeningId())
+                .seats(toSeatResponses(entry.seats()))
+                .createdAt(entry.createdAt())
+                .status(BookingStatus.PENDING_PAYMENT)
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    public static SeatHoldResponse toResponse(SeatHold hold, ZoneId zone) {
+        return SeatHoldResponse.builder()
+                .id(hold.id())
+                .screeningId(hold.screeningId())
+                .seats(toSeatResponses(hold.seats()))
+                .expiresAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(hold.expiresAtMillis()), zone))
+                .build();
+    }
+
+    public static BookingExpiryStatsResponse toResponse(BookingExpirySweeper.Stats stats) {
+        return BookingExpiryStatsResponse.builder()
+                .runsTotal(stats.runsTotal())
+                .expiredTotal(stats.expiredTotal())
+                .seatsReleasedTotal(stats.seatsReleasedTotal())
+                .lastRunExpired(stats.lastRunExpired())
+                .lastRunAt(stats.lastRunAt())
+                .lagMillis(stats.lagMillis())
+                .build();
+    }
+
+    public static List<SeatPositionResponse> toSeatResponses(List<SeatRequest> seats) {
+        return seats.stream()
+                .map(seat -> SeatPositionResponse.builder()
+                        .rowNumber(seat.getRowNumber())
+                        .seatNumber(seat.getSeatNumber())
+                        .build())
+                .toList();
+    }
+
+}
@@ -0,0 +1,364 @@
+package com.example.cinemabooking.booking.repository;
+
+import com.example.cinemabooking.booking.dto.SeatRequest;
+import com.example.cinemabooking.booking.journal.JournalEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Set-based seat writes that Spring Data cannot express: every statement handles all seats of a request at once.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BookingJdbcRepository {
+
+    private static final String CLAIM_SEATS_SQL = """
+            UPDATE screening_seats ss
+            SET status = 'BOOKED', booking_id = ?
+            FROM unnest(?::int[], ?::int[]) AS requested(row_number, seat_number)
+            WHERE ss.screening_id = ?
+              AND ss.row_number = requested.row_number
+              AND ss.seat_number = requested.seat_number
+              AND ss.status = 'AVAILABLE'
+            RETURNING ss.row_number, ss.seat_number
+            """;
+
+    private static final String CLAIM_ANY_SEATS_SQL = """
+            UPDATE screening_seats ss
+            SET status = 'BOOKED', booking_id = ?
+            WHERE ss.id IN (
+                SELECT candidate.id
+                FROM screening_seats candidate
+                WHERE candidate.screening_id = ?
+                  AND candidate.status = 'AVAILABLE'
+                  AND NOT EXISTS (
+                      SELECT 1
+                      FROM unnest(?::int[], ?::int[]) AS excluded(row_number, seat_number)
+                      WHERE excluded.row_number = candidate.row_number
+                        AND excluded.seat_number = candidate.seat_number
+                  )
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING ss.row_number, ss.seat_number
+            """;
+
+    private static final String RELEASE_BOOKING_SEATS_SQL = """
+            UPDATE screening_seats
+            SET status = 'AVAILABLE', booking_id = NULL
+            WHERE booking_id = ?
+            RETURNING row_number, seat_number
+            """;
+
+    private static final String RELEASE_SEATS_SQL = """
+            UPDATE screening_seats ss
+            SET status = 'AVAILABLE', booking_id = NULL
+            FROM unnest(?::int[], ?::int[]) AS released(row_number, seat_number)
+            WHERE ss.booking_id = ?
+              AND ss.row_number = released.row_number
+              AND ss.seat_number = released.seat_number
+            """;
+
+    private static final String FIND_BOOKING_SEATS_SQL = """
+            SELECT row_number, seat_number
+            FROM screening_seats
+            WHERE booking_id = ?
+            ORDER BY row_number, seat_number
+            """;
+
+    private static final String FIND_PAID_SEAT_OWNERS_SQL = """
+            SELECT ss.row_number, ss.seat_number, b.uuid
+            FROM screening_seats ss
+            JOIN bookings b ON b.id = ss.booking_id
+            WHERE ss.screening_id = ?
+              AND b.status = 'PAID'
+            """;
+
+    private static final String FIND_TAKEN_SEATS_SQL = """
+            SELECT ss.row_number, ss.seat_number
+            FROM screening_seats ss
+            JOIN unnest(?::int[], ?::int[]) AS requested(row_number, seat_number)
+              ON ss.row_number = requested.row_number
+             AND ss.seat_number = requested.seat_number
+            WHERE ss.screening_id = ?
+              AND ss.status <> 'AVAILABLE'
+            """;
+
+    private static final String INSERT_JOURNALED_BOOKING_SQL = """
+            INSERT INTO bookings (uuid, screening_id, created_at, status, expires_at)
+            SELECT ?, s.id, ?, 'PENDING_PAYMENT', ?
+            FROM screenings s
+            WHERE s.id = ?
+            ON CONFLICT (uuid) DO NOTHING
+            """;
+
+    private static final String CLAIM_JOURNALED_SEAT_SQL = """
+            UPDATE screening_seats ss
+            SET status = 'BOOKED', booking_id = b.id
+            FROM bookings b
+            WHERE b.uuid = ?
+              AND ss.screening_id = b.screening_id
+              AND ss.row_number = ?
+              AND ss.seat_number = ?
+              AND (ss.booking_id = b.id OR (ss.status = 'AVAILABLE' AND b.status = 'PENDING_PAYMENT'))
+            """;
+
+    /*
+     * Only bookings still awaiting payment are failed, so replaying the journal never touches a booking that was
+     * paid or expired since it was first written.
+     */
+    private static final String FAIL_JOURNALED_BOOKINGS_SQL = """
+            WITH failed AS (
+                UPDATE bookings
+                SET status = 'FAILED', expires_at = NULL
+                WHERE uuid = ANY (?)
+                  AND status = 'PENDING_PAYMENT'
+                RETURNING id, uuid
+            ), released AS (
+                UPDATE screening_seats ss
+                SET status = 'AVAILABLE', booking_id = NULL
+                FROM failed
+                WHERE ss.booking_id = failed.id
+            )
+            SELECT uuid
+            FROM failed
+            """;
+
+    private static final String MARK_PAID_SQL = """
+            UPDATE bookings
+            SET status = 'PAID', expires_at = NULL
+            WHERE id = ?
+              AND status = 'PENDING_PAYMENT'
+              AND expires_at > ?
+            """;
+
+    /*
+     * Overdue bookings locked by another sweeper, or by a payment in progress, are skipped rather than waited for.
+     * The status check is repeated on the locked row version, so a booking is never expired twice.
+     */
+    private static final String EXPIRE_OVERDUE_BOOKINGS_SQL = """
+            WITH overdue AS (
+                SELECT id
+                FROM bookings
+                WHERE status = 'PENDING_PAYMENT'
+                  AND expires_at <= ?
+                ORDER BY expires_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            ), expired AS (
+                UPDATE bookings b
+                SET status = 'EXPIRED'
+                FROM overdue
+                WHERE b.id = overdue.id
+                RETURNING b.id, b.screening_id
+            ), released AS (
+                UPDATE screening_seats ss
+                SET status = 'AVAILABLE', booking_id = NULL
+                FROM expired
+                WHERE ss.booking_id = expired.id
+                RETURNING expired.id AS booking_id, ss.screening_id, ss.row_number, ss.seat_number
+            )
+            SELECT expired.id,
+                   expired.screening_id,
+                   array_remove(array_agg(released.row_number), NULL) AS row_numbers,
+                   array_remove(array_agg(released.seat_number), NULL) AS seat_numbers
+            FROM expired
+            LEFT JOIN released ON released.booking_id = expired.id
+            GROUP BY expired.id, expired.screening_id
+            """;
+
+    private static final String FIND_OLDEST_PENDING_EXPIRY_SQL = """
+            SELECT min(expires_at)
+            FROM bookings
+            WHERE status = 'PENDING_PAYMENT'
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Books every requested seat that is still available in one statement.
+     *
+     * @return the seats that were actually claimed; any requested seat missing from the result is taken
+     */
+    public List<SeatRequest> claimSeats(Long screeningId, Long bookingId, List<SeatRequest> seats) {
+        Integer[] rowNumbers = seats.stream().map(SeatRequest::getRowNumber).toArray(Integer[]::new);
+        Integer[] seatNumbers = seats.stream().map(SeatRequest::getSeatNumber).toArray(Integer[]::new);
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(CLAIM_SEATS_SQL);
+            statement.setLong(1, bookingId);
+            statement.setArray(2, connection.createArrayOf("integer", rowNumbers));
+            statement.setArray(3, connection.createArrayOf("integer", seatNumbers));
+            statement.setLong(4, screeningId);
+            return statement;
+        }, (rs, rowNum) -> new SeatRequest(rs.getInt("row_number"), rs.getInt("seat_number")));
+    }
+
+    /**
+     * Books up to {@code count} arbitrary available seats. Rows locked by concurrent buyers are skipped instead
+     * of waited for, so buyers of one screening never queue behind each other.
+     *
+     * @param excluded seats that must not be picked although the database still sees them as available
+     */
+    public List<SeatRequest> claimAnySeats(Long screeningId, Long bookingId, int count, List<SeatRequest> excluded) {
+        Integer[] rowNumbers = excluded.stream().map(SeatRequest::getRowNumber).toArray(Integer[]::new);
+        Integer[] seatNumbers = excluded.stream().map(SeatRequest::getSeatNumber).toArray(Integer[]::new);
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(CLAIM_ANY_SEATS_SQL);
+            statement.setLong(1, bookingId);
+            statement.setLong(2, screeningId);
+            statement.setArray(3, connection.createArrayOf("integer", rowNumbers));
+            statement.setArray(4, connection.createArrayOf("integer", seatNumbers));
+            statement.setInt(5, count);
+            return statement;
+        }, (rs, rowNum) -> new SeatRequest(rs.getInt("row_number"), rs.getInt("seat_number")));
+    }
+
+    /**
+     * Makes the given seats of a booking available again, leaving its other seats booked.
+     */
+    public void releaseSeats(Long bookingId, List<SeatRequest> seats) {
+        Integer[] rowNumbers = seats.stream().map(SeatRequest::getRowNumber).toArray(Integer[]::new);
+        Integer[] seatNumbers = seats.stream().map(SeatRequest::getSeatNumber).toArray(Integer[]::new);
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(RELEASE_SEATS_SQL);
+            statement.setArray(1, connection.createArrayOf("integer", rowNumbers));
+            statement.setArray(2, connection.createArrayOf("integer", seatNumbers));
+            statement.setLong(3, bookingId);
+            return statement;
+        });
+    }
+
+    /**
+     * @return those of the given seats that the database has taken
+     */
+    public List<SeatRequest> findTakenSeats(Long screeningId, List<SeatRequest> seats) {
+        Integer[] rowNumbers = seats.stream().map(SeatRequest::getRowNumber).toArray(Integer[]::new);
+        Integer[] seatNumbers = seats.stream().map(SeatRequest::getSeatNumber).toArray(Integer[]::new);
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(FIND_TAKEN_SEATS_SQL);
+            statement.setArray(1, connection.createArrayOf("integer", rowNumbers));
+            statement.setArray(2, connection.createArrayOf("integer", seatNumbers));
+            statement.setLong(3, screeningId);
+            return statement;
+        }, (rs, rowNum) -> new SeatRequest(rs.getInt("row_number"), rs.getInt("seat_number")));
+    }
+
+    public List<SeatRequest> findBookingSeats(Long bookingId) {
+        return jdbcTemplate.query(FIND_BOOKING_SEATS_SQL,
+                (rs, rowNum) -> new SeatRequest(rs.getInt("row_number"), rs.getInt("seat_number")), bookingId);
+    }
+
+    /**
+     * @return the booking owning each seat of the screening that is held by a paid booking
+     */
+    public Map<SeatRequest, UUID> findPaidSeatOwners(Long screeningId) {
+        Map<SeatRequest, UUID> owners = new HashMap<>();
+        jdbcTemplate.query(FIND_PAID_SEAT_OWNERS_SQL, rs -> {
+            owners.put(new SeatRequest(rs.getInt("row_number"), rs.getInt("seat_number")),
+                    rs.getObject("uuid", UUID.class));
+        }, screeningId);
+        return owners;
+    }
+
+    /**
+     * Makes every seat of a booking available again.
+     *
+     * @return the released seats
+     */
+    public List<SeatRequest> releaseBookingSeats(Long bookingId) {
+        return jdbcTemplate.query(RELEASE_BOOKING_SEATS_SQL,
+                (rs, rowNum) -> new SeatRequest(rs.getInt("row_number"), rs.getInt("seat_number")), bookingId);
+    }
+
+    /**
+     * @return {@code true} if the booking was awaiting payment and its deadline has not passed
+     */
+    public boolean markPaid(Long bookingId, LocalDateTime now) {
+        return jdbcTemplate.update(MARK_PAID_SQL, bookingId, Timestamp.valueOf(now)) == 1;
+    }
+
+    /**
+     * Expires up to {@code limit} unpaid bookings whose deadline has passed and releases their seats, all in one
+     * statement. {@code screenings.seats_available} is left to the seat counters, which the caller adjusts.
+     */
+    public List<ExpiredBooking> expireOverdueBookings(LocalDateTime now, int limit) {
+        return jdbcTemplate.query(EXPIRE_OVERDUE_BOOKINGS_SQL, (rs, rowNum) -> {
+            Integer[] rowNumbers = (Integer[]) rs.getArray("row_numbers").getArray();
+            Integer[] seatNumbers = (Integer[]) rs.getArray("seat_numbers").getArray();
+            List<SeatRequest> seats = new ArrayList<>(rowNumbers.length);
+            for (int i = 0; i < rowNumbers.length; i++) {
+                seats.add(new SeatRequest(rowNumbers[i], seatNumbers[i]));
+            }
+            return new ExpiredBooking(rs.getLong("id"), rs.getLong("screening_id"), seats);
+        }, Timestamp.valueOf(now), limit);
+    }
+
+    /**
+     * Marks journaled bookings that could not claim all their seats as failed and releases the seats they did claim.
+     *
+     * @return uuids of the bookings that were failed
+     */
+    public List<UUID> failJournaledBookings(Collection<UUID> bookingUuids) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(FAIL_JOURNALED_BOOKINGS_SQL);
+            statement.setArray(1, connection.createArrayOf("uuid", bookingUuids.toArray()));
+            return statement;
+        }, (rs, rowNum) -> rs.getObject("uuid", UUID.class));
+    }
+
+    public Optional<LocalDateTime> findOldestPendingExpiry() {
+        Timestamp oldest = jdbcTemplate.queryForObject(FIND_OLDEST_PENDING_EXPIRY_SQL, Timestamp.class);
+        return Optional.ofNullable(oldest).map(Timestamp::toLocalDateTime);
+    }
+
+    /**
+     * Writes journaled bookings and their seats in two JDBC batches. Both statements are keyed by the booking
+     * uuid, so writing an entry that is already in the database again changes nothing, and a booking that is no
+     * longer awaiting payment claims no seats. Bookings of screenings deleted in the meantime are skipped.
+     *
+     * @return the seats that could not be claimed because another booking already owns them, by booking uuid
+     */
+    public Map<UUID, List<SeatRequest>> writeJournaledBookings(List<JournalEntry> entries, int batchSize,
+                                                               Duration paymentTimeout) {
+        jdbcTemplate.batchUpdate(INSERT_JOURNALED_BOOKING_SQL, entries, batchSize, (statement, entry) -> {
+            statement.setObject(1, entry.bookingUuid());
+            statement.setTimestamp(2, Timestamp.valueOf(entry.createdAt()));
+            statement.setTimestamp(3, Timestamp.valueOf(entry.createdAt().plus(paymentTimeout)));
+            statement.setLong(4, entry.screeningId());
+        });
+        List<Map.Entry<UUID, SeatRequest>> seats = entries.stream()
+                .flatMap(entry -> entry.seats().stream().map(seat -> Map.entry(entry.bookingUuid(), seat)))
+                .toList();
+        int[][] counts = jdbcTemplate.batchUpdate(CLAIM_JOURNALED_SEAT_SQL, seats, batchSize, (statement, seat) -> {
+            statement.setObject(1, seat.getKey());
+            statement.setInt(2, seat.getValue().getRowNumber());
+            statement.setInt(3, seat.getValue().getSeatNumber());
+        });
+        Map<UUID, List<SeatRequest>> missed = new LinkedHashMap<>();
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                Map.Entry<UUID, SeatRequest> seat = seats.get(index++);
+                if (count == 0) {
+                    missed.computeIfAbsent(seat.getKey(), uuid -> new ArrayList<>()).add(seat.getValue());
+                }
+            }
+        }
+        return missed;
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.example.cinemabooking.booking.repository;
+
+import com.example.cinemabooking.booking.entity.Booking;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface BookingRepository extends JpaRepository<Booking, Long> {
+
+    Optional<Booking> findByUuid(UUID uuid);
+
+}
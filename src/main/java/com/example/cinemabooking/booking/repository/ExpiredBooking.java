@@ -0,0 +1,11 @@
+package com.example.cinemabooking.booking.repository;
+
+import com.example.cinemabooking.booking.dto.SeatRequest;
+
+import java.util.List;
+
+/**
+ * A booking released by the expiry sweeper, with the seats that became available again.
+ */
+public record ExpiredBooking(Long bookingId, Long screeningId, List<SeatRequest> seats) {
+}
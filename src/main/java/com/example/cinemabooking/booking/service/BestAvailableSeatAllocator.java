@@ -0,0 +1,45 @@
+package com.example.cinemabooking.booking.service;
+
+import com.example.cinemabooking.booking.dto.SeatRequest;
+import com.example.cinemabooking.booking.service.exception.InsufficientSeatsException;
+import com.example.cinemabooking.booking.service.exception.SeatsUnavailableException;
+import com.example.cinemabooking.screening.service.SeatAvailabilityBitmap;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Picks and claims the most central free seats of a screening. Allocations for one screening are serialized on
+ * its {@link FreeRunIndex}; the claim itself still goes through the bitmap's compare-and-set, so a seat taken
+ * concurrently by a hold or an explicit booking only causes a retry on fresh data.
+ */
+@Component
+public class BestAvailableSeatAllocator {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    // keyed weakly by bitmap, so an index goes away together with the evicted bitmap it was built from
+    private final Map<SeatAvailabilityBitmap, FreeRunIndex> indexes = Collections.synchronizedMap(new WeakHashMap<>());
+
+    public List<SeatRequest> allocate(Long screeningId, SeatAvailabilityBitmap bitmap, int count, boolean allowSplit) {
+        FreeRunIndex index = indexes.computeIfAbsent(bitmap, FreeRunIndex::new);
+        synchronized (index) {
+            for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+                index.refresh(bitmap);
+                List<SeatRequest> seats = index.findBest(count, allowSplit)
+                        .orElseThrow(() -> new InsufficientSeatsException(screeningId, count));
+                try {
+                    SeatClaims.claimAll(screeningId, bitmap, seats);
+                    return seats;
+                } catch (SeatsUnavailableException e) {
+                    // lost a race against another claim path, retry on the refreshed rows
+                }
+            }
+        }
+        throw new InsufficientSeatsException(screeningId, count);
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.example.cinemabooking.booking.service;
+
+import com.example.cinemabooking.booking.dto.BookingResponse;
+import com.example.cinemabooking.booking.dto.CreateBestAvailableBookingRequest;
+import com.example.cinemabooking.booking.dto.CreateBookingRequest;
+import com.example.cinemabooking.booking.dto.SeatRequest;
+import com.example.cinemabooking.booking.repository.BookingJdbcRepository;
+import com.example.cinemabooking.booking.service.exception.BookingTimeoutException;
+import com.example.cinemabooking.screening.service.SeatAvailabilityBitmap;
+import com.example.cinemabooking.screening.service.SeatAvailabilityCache;
+import com.example.cinemabooking.screening.service.SeatCounters;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Booking engine that serializes all seat bookings of a screening through one {@link ScreeningBookingActor},
+ * instead of letting concurrent transactions contend for the same seat rows. Actors are started on the first
+ * booking of a screening and retire when idle, so only screenings currently being booked cost a virtual thread.
+ * Screenings share nothing, which lets bookings of different screenings proceed in parallel on all cores.
+ * <p>
+ * The actor only serializes the requested and best-available bookings sent to it. Any-seats bookings,
+ * cancellations, the expiry sweeper and the write-behind journal still write the screening's seats directly; they
+ * claim seats in the same bitmap, and the actor books only seats the database still has available, so a booking
+ * whose seat was taken elsewhere fails with {@code SeatsUnavailableException} rather than booking it twice.
+ */
+@Service
+@ConditionalOnProperty(prefix = "booking.actors", name = "enabled", havingValue = "true")
+public class BookingActorEngine {
+
+    private final SeatAvailabilityCache seatAvailabilityCache;
+    private final SeatHoldService seatHoldService;
+    private final BestAvailableSeatAllocator bestAvailableSeatAllocator;
+    private final BookingJdbcRepository bookingJdbcRepository;
+    private final SeatCounters seatCounters;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingActorProperties properties;
+    private final BookingExpiryProperties expiryProperties;
+    private final Clock clock;
+
+    private final ConcurrentMap<Long, ScreeningBookingActor> actors = new ConcurrentHashMap<>();
+
+    public BookingActorEngine(SeatAvailabilityCache seatAvailabilityCache, SeatHoldService seatHoldService,
+                              BestAvailableSeatAllocator bestAvailableSeatAllocator,
+                              BookingJdbcRepository bookingJdbcRepository, SeatCounters seatCounters,
+                              TransactionTemplate transactionTemplate, BookingActorProperties properties,
+                              BookingExpiryProperties expiryProperties, Clock clock) {
+        this.seatAvailabilityCache = seatAvailabilityCache;
+        this.seatHoldService = seatHoldService;
+        this.bestAvailableSeatAllocator = bestAvailableSeatAllocator;
+        this.bookingJdbcRepository = bookingJdbcRepository;
+        this.seatCounters = seatCounters;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.expiryProperties = expiryProperties;
+        this.clock = clock;
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        actors.values().forEach(ScreeningBookingActor::stop);
+        for (ScreeningBookingActor actor : actors.values()) {
+            actor.awaitTermination(Duration.ofSeconds(10));
+        }
+    }
+
+    public BookingResponse createBooking(Long screeningId, CreateBookingRequest request) {
+        return submit(screeningId, bitmap -> SeatClaims.claimRequested(screeningId, bitmap, request, seatHoldService));
+    }
+
+    public BookingResponse createBestAvailableBooking(Long screeningId, CreateBestAvailableBookingRequest request) {
+        return submit(screeningId, bitmap ->
+                bestAvailableSeatAllocator.allocate(screeningId, bitmap, request.getCount(), request.isAllowSplit()));
+    }
+
+    int getActiveActorCount() {
+        return actors.size();
+    }
+
+    int getQueuedCommandCount(Long screeningId) {
+        ScreeningBookingActor actor = actors.get(screeningId);
+        return actor != null ? actor.queuedCommands() : 0;
+    }
+
+    private BookingResponse submit(Long screeningId, Function<SeatAvailabilityBitmap, List<SeatRequest>> claim) {
+        ScreeningBookingActor.Command command = new ScreeningBookingActor.Command(claim, new CompletableFuture<>());
+        while (!actors.computeIfAbsent(screeningId, this::startActor).offer(command)) {
+            Thread.onSpinWait();
+        }
+        try {
+            return command.result().get(properties.replyTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // a command cancelled before the actor reaches it is skipped; one already being written may still commit
+            // and is then released by the expiry sweeper as an unpaid booking
+            command.result().cancel(false);
+            throw new BookingTimeoutException(screeningId);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            command.result().cancel(false);
+            throw new BookingTimeoutException(screeningId);
+        }
+    }
+
+    private ScreeningBookingActor startActor(Long screeningId) {
+        return new ScreeningBookingActor(screeningId, seatAvailabilityCache, bookingJdbcRepository, seatCounters,
+                transactionTemplate, properties, expiryProperties.paymentTimeout(), clock,
+                actor -> actors.remove(screeningId, actor)).start();
+    }
+
+}
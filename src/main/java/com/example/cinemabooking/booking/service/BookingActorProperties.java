@@ -0,0 +1,23 @@
+package com.example.cinemabooking.booking.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled         route seat bookings through one single-writer actor per screening
+ * @param mailboxCapacity commands a screening's mailbox holds before new bookings are turned away
+ * @param maxBatchSize    commands written to the database in one transaction
+ * @param idleTimeout     how long an actor without commands lives before its virtual thread ends
+ * @param replyTimeout    how long a booking request waits for its actor before it is turned away
+ */
+@ConfigurationProperties(prefix = "booking.actors")
+public record BookingActorProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("1024") int mailboxCapacity,
+        @DefaultValue("64") int maxBatchSize,
+        @DefaultValue("30s") Duration idleTimeout,
+        @DefaultValue("10s") Duration replyTimeout
+) {
+}
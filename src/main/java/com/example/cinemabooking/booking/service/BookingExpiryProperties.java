@@ -0,0 +1,21 @@
+package com.example.cinemabooking.booking.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param paymentTimeout   how long a new booking may stay unpaid before its seats are released
+ * @param sweepInterval    delay between two sweeper runs
+ * @param batchSize        bookings expired per statement
+ * @param maxBatchesPerRun upper bound of statements per run, so one run never holds the sweeper thread for long
+ */
+@ConfigurationProperties(prefix = "booking.expiry")
+public record BookingExpiryProperties(
+        @DefaultValue("15m") Duration paymentTimeout,
+        @DefaultValue("5s") Duration sweepInterval,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("20") int maxBatchesPerRun
+) {
+}
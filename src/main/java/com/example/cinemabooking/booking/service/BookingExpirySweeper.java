@@ -0,0 +1,119 @@
+package com.example.cinemabooking.booking.service;
+
+import com.example.cinemabooking.booking.dto.BookingExpiryStatsResponse;
+import com.example.cinemabooking.booking.mapper.BookingMapper;
+import com.example.cinemabooking.booking.repository.BookingJdbcRepository;
+import com.example.cinemabooking.booking.repository.ExpiredBooking;
+import com.example.cinemabooking.screening.service.SeatAvailabilityCache;
+import com.example.cinemabooking.screening.service.SeatCounters;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Releases the seats of bookings that were not paid in time. Each run expires overdue bookings in bounded
+ * batches; a batch is a single statement that locks its bookings with {@code FOR UPDATE SKIP LOCKED}, so
+ * sweepers on several instances split the work between them instead of queueing, and no booking is expired twice.
+ * Seats other buyers are claiming are never locked, since only seats of expiring bookings are touched.
+ */
+@Slf4j
+@Component
+public class BookingExpirySweeper {
+
+    private final BookingJdbcRepository bookingJdbcRepository;
+    private final SeatAvailabilityCache seatAvailabilityCache;
+    private final SeatCounters seatCounters;
+    private final BookingExpiryProperties properties;
+    private final Clock clock;
+    private final ScheduledExecutorService sweeper;
+
+    private final AtomicLong runsTotal = new AtomicLong();
+    private final AtomicLong expiredTotal = new AtomicLong();
+    private final AtomicLong seatsReleasedTotal = new AtomicLong();
+    private volatile long lastRunExpired;
+    private volatile LocalDateTime lastRunAt;
+    private volatile long lagMillis;
+
+    public BookingExpirySweeper(BookingJdbcRepository bookingJdbcRepository, SeatAvailabilityCache seatAvailabilityCache,
+                                SeatCounters seatCounters, BookingExpiryProperties properties, Clock clock) {
+        this.bookingJdbcRepository = bookingJdbcRepository;
+        this.seatAvailabilityCache = seatAvailabilityCache;
+        this.seatCounters = seatCounters;
+        this.properties = properties;
+        this.clock = clock;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("booking-expiry-sweep").daemon().factory());
+    }
+
+    @PostConstruct
+    void start() {
+        long sweepMillis = properties.sweepInterval().toMillis();
+        sweeper.scheduleWithFixedDelay(this::sweepQuietly, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        sweeper.shutdownNow();
+    }
+
+    public BookingExpiryStatsResponse getStats() {
+        return BookingMapper.toResponse(new Stats(runsTotal.get(), expiredTotal.get(), seatsReleasedTotal.get(),
+                lastRunExpired, lastRunAt, lagMillis));
+    }
+
+    private void sweepQuietly() {
+        try {
+            sweep();
+        } catch (RuntimeException e) {
+            log.warn("Expiring unpaid bookings failed, retrying on the next run", e);
+        }
+    }
+
+    /**
+     * Expires overdue bookings until a batch comes back short or {@code max-batches-per-run} is reached, then
+     * records how far the oldest booking still awaiting expiry is past its deadline.
+     *
+     * @return number of bookings expired
+     */
+    int sweep() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        int expired = 0;
+        for (int batch = 0; batch < properties.maxBatchesPerRun(); batch++) {
+            List<ExpiredBooking> bookings = bookingJdbcRepository.expireOverdueBookings(now, properties.batchSize());
+            bookings.forEach(this::releaseInMemory);
+            expired += bookings.size();
+            if (bookings.size() < properties.batchSize()) {
+                break;
+            }
+        }
+        runsTotal.incrementAndGet();
+        expiredTotal.addAndGet(expired);
+        lastRunExpired = expired;
+        lastRunAt = now;
+        lagMillis = bookingJdbcRepository.findOldestPendingExpiry()
+                .map(oldest -> Math.max(0, Duration.between(oldest, LocalDateTime.now(clock)).toMillis()))
+                .orElse(0L);
+        return expired;
+    }
+
+    private void releaseInMemory(ExpiredBooking booking) {
+        seatAvailabilityCache.find(booking.screeningId())
+                .ifPresent(bitmap -> SeatClaims.releaseAll(bitmap, booking.seats()));
+        seatCounters.adjust(booking.screeningId(), booking.seats().size());
+        seatsReleasedTotal.addAndGet(booking.seats().size());
+    }
+
+    public record Stats(long runsTotal, long expiredTotal, long seatsReleasedTotal, long lastRunExpired,
+                        LocalDateTime lastRunAt, long lagMillis) {
+    }
+
+}
@@ -0,0 +1,217 @@
+package com.example.cinemabooking.booking.service;
+
+import com.example.cinemabooking.booking.dto.BookingResponse;
+import com.example.cinemabooking.booking.dto.CreateAnySeatsBookingRequest;
+import com.example.cinemabooking.booking.dto.CreateBestAvailableBookingRequest;
+import com.example.cinemabooking.booking.dto.CreateBookingRequest;
+import com.example.cinemabooking.booking.dto.SeatRequest;
+import com.example.cinemabooking.booking.entity.Booking;
+import com.example.cinemabooking.booking.entity.BookingStatus;
+import com.example.cinemabooking.booking.mapper.BookingMapper;
+import com.example.cinemabooking.booking.repository.BookingJdbcRepository;
+import com.example.cinemabooking.booking.repository.BookingRepository;
+import com.example.cinemabooking.booking.service.exception.BookingExpiredException;
+import com.example.cinemabooking.booking.service.exception.BookingNotFoundException;
+import com.example.cinemabooking.booking.service.exception.InsufficientSeatsException;
+import com.example.cinemabooking.booking.service.exception.SeatsUnavailableException;
+import com.example.cinemabooking.screening.repository.ScreeningRepository;
+import com.example.cinemabooking.screening.service.SeatAvailabilityBitmap;
+import com.example.cinemabooking.screening.service.SeatAvailabilityCache;
+import com.example.cinemabooking.screening.service.SeatCounters;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class BookingService {
+
+    private static final int MAX_ANY_SEATS_ATTEMPTS = 3;
+
+    private final BookingRepository bookingRepository;
+    private final BookingJdbcRepository bookingJdbcRepository;
+    private final ScreeningRepository screeningRepository;
+    private final SeatAvailabilityCache seatAvailabilityCache;
+    private final SeatHoldService seatHoldService;
+    private final BestAvailableSeatAllocator bestAvailableSeatAllocator;
+    private final SeatCounters seatCounters;
+    private final PaidSeatOwners paidSeatOwners;
+    private final BookingExpiryProperties expiryProperties;
+    private final Clock clock;
+
+    /**
+     * Books all requested seats or none. Seats already taken in memory fail the request before the database is
+     * touched; otherwise every seat is claimed with a single statement and any seat the database reports as taken
+     * rolls the whole booking back.
+     */
+    @Transactional
+    public BookingResponse createBooking(Long screeningId, CreateBookingRequest request) {
+        SeatAvailabilityBitmap bitmap = seatAvailabilityCache.getOrLoad(screeningId);
+        List<SeatRequest> seats = SeatClaims.claimRequested(screeningId, bitmap, request, seatHoldService);
+        return persistBooking(screeningId, bitmap, seats);
+    }
+
+    /**
+     * Books the most central block of seats, split over two adjacent rows when allowed and no row fits the group.
+     */
+    @Transactional
+    public BookingResponse createBestAvailableBooking(Long screeningId, CreateBestAvailableBookingRequest request) {
+        SeatAvailabilityBitmap bitmap = seatAvailabilityCache.getOrLoad(screeningId);
+        List<SeatRequest> seats = bestAvailableSeatAllocator.allocate(screeningId, bitmap, request.getCount(), request.isAllowSplit());
+        return persistBooking(screeningId, bitmap, seats);
+    }
+
+    /**
+     * Books any {@code count} free seats, letting the database pick them with {@code FOR UPDATE SKIP LOCKED} so
+     * that concurrent buyers of the same screening never wait for each other's row locks. Seats taken in memory are
+     * excluded up front; a seat held or booked in memory after that is given back to the database and replaced by
+     * another pick, up to {@value #MAX_ANY_SEATS_ATTEMPTS} picks in all.
+     */
+    @Transactional
+    public BookingResponse createAnySeatsBooking(Long screeningId, CreateAnySeatsBookingRequest request) {
+        SeatAvailabilityBitmap bitmap = seatAvailabilityCache.getOrLoad(screeningId);
+        List<SeatRequest> excluded = new ArrayList<>();
+        bitmap.forEachTaken((row, seatNumber) -> excluded.add(new SeatRequest(row, seatNumber)));
+
+        Booking booking = saveBooking(screeningId);
+        List<SeatRequest> seats = new ArrayList<>(request.getCount());
+        TransactionSynchronizationManager.registerSynchronization(new ReleaseOnRollback(bitmap, seats));
+        for (int attempt = 1; seats.size() < request.getCount(); attempt++) {
+            int missing = request.getCount() - seats.size();
+            if (attempt > MAX_ANY_SEATS_ATTEMPTS) {
+                throw new InsufficientSeatsException(screeningId, request.getCount());
+            }
+            List<SeatRequest> picked =
+                    bookingJdbcRepository.claimAnySeats(screeningId, booking.getId(), missing, List.copyOf(excluded));
+            if (picked.size() < missing) {
+                throw new InsufficientSeatsException(screeningId, request.getCount());
+            }
+            List<SeatRequest> conflicts = new ArrayList<>();
+            for (SeatRequest seat : picked) {
+                if (bitmap.tryReserve(seat.getRowNumber(), seat.getSeatNumber())) {
+                    seats.add(seat);
+                } else {
+                    conflicts.add(seat);
+                }
+            }
+            if (!conflicts.isEmpty()) {
+                bookingJdbcRepository.releaseSeats(booking.getId(), conflicts);
+                excluded.addAll(conflicts);
+            }
+        }
+        seatCounters.adjustAfterCommit(screeningId, -seats.size());
+        return BookingMapper.toResponse(booking, screeningId, seats);
+    }
+
+    /**
+     * Cancels a booking, making its seats available again once the cancellation commits.
+     */
+    @Transactional
+    public void cancelBooking(Long screeningId, UUID bookingId) {
+        Booking booking = findBooking(screeningId, bookingId);
+        List<SeatRequest> seats = bookingJdbcRepository.releaseBookingSeats(booking.getId());
+        bookingRepository.delete(booking);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                seatAvailabilityCache.find(screeningId).ifPresent(bitmap -> SeatClaims.releaseAll(bitmap, seats));
+                paidSeatOwners.released(screeningId, bookingId, seats);
+            }
+        });
+        seatCounters.adjustAfterCommit(screeningId, seats.size());
+    }
+
+    /**
+     * Confirms payment of a booking before its deadline, after which the expiry sweeper can no longer release it.
+     * Paying an already paid booking changes nothing.
+     */
+    @Transactional
+    public BookingResponse payBooking(Long screeningId, UUID bookingId) {
+        Booking booking = findBooking(screeningId, bookingId);
+        List<SeatRequest> seats = bookingJdbcRepository.findBookingSeats(booking.getId());
+        if (booking.getStatus() != BookingStatus.PAID) {
+            if (!bookingJdbcRepository.markPaid(booking.getId(), LocalDateTime.now(clock))) {
+                throw new BookingExpiredException(bookingId);
+            }
+            booking.setStatus(BookingStatus.PAID);
+            booking.setExpiresAt(null);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    paidSeatOwners.paid(screeningId, bookingId, seats);
+                }
+            });
+        }
+        return BookingMapper.toResponse(booking, screeningId, seats);
+    }
+
+    private Booking findBooking(Long screeningId, UUID bookingId) {
+        return bookingRepository.findByUuid(bookingId)
+                .filter(found -> found.getScreening().getId().equals(screeningId))
+                .orElseThrow(() -> new BookingNotFoundException(bookingId));
+    }
+
+    private BookingResponse persistBooking(Long screeningId, SeatAvailabilityBitmap bitmap, List<SeatRequest> seats) {
+        ReleaseOnRollback rollback = new ReleaseOnRollback(bitmap, seats);
+        TransactionSynchronizationManager.registerSynchronization(rollback);
+
+        Booking booking = saveBooking(screeningId);
+        List<SeatRequest> claimed = bookingJdbcRepository.claimSeats(screeningId, booking.getId(), seats);
+        if (claimed.size() < seats.size()) {
+            List<SeatRequest> conflicts = seats.stream().filter(seat -> !claimed.contains(seat)).toList();
+            rollback.keepTaken(conflicts);
+            throw new SeatsUnavailableException(screeningId, conflicts);
+        }
+        seatCounters.adjustAfterCommit(screeningId, -seats.size());
+        return BookingMapper.toResponse(booking, screeningId, seats);
+    }
+
+    private Booking saveBooking(Long screeningId) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        return bookingRepository.save(Booking.builder()
+                .screening(screeningRepository.getReferenceById(screeningId))
+                .createdAt(now)
+                .status(BookingStatus.PENDING_PAYMENT)
+                .expiresAt(now.plus(expiryProperties.paymentTimeout()))
+                .build());
+    }
+
+    /**
+     * Gives seats claimed in memory back when the booking transaction does not commit. Seats the database
+     * reported as taken stay marked, since another booking owns them.
+     */
+    private static final class ReleaseOnRollback implements TransactionSynchronization {
+
+        private final SeatAvailabilityBitmap bitmap;
+        private final List<SeatRequest> seats;
+        private final Set<SeatRequest> keepTaken = new HashSet<>();
+
+        private ReleaseOnRollback(SeatAvailabilityBitmap bitmap, List<SeatRequest> seats) {
+            this.bitmap = bitmap;
+            this.seats = seats;
+        }
+
+        private void keepTaken(List<SeatRequest> taken) {
+            keepTaken.addAll(taken);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status != STATUS_COMMITTED) {
+                SeatClaims.releaseAll(bitmap, seats.stream().filter(seat -> !keepTaken.contains(seat)).toList());
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,149 @@
+package com.example.cinemabooking.booking.service;
+
+import com.example.cinemabooking.booking.dto.SeatRequest;
+import com.example.cinemabooking.screening.service.SeatAvailabilityBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Free contiguous seat runs per row of one screening. Rows are rebuilt from the availability bitmap only when
+ * their version changed since the last refresh, so a query costs O(rows + runs) instead of O(seats).
+ * Holds no reference to the bitmap itself. Not thread-safe; callers serialize access per screening.
+ */
+class FreeRunIndex {
+
+    private record Run(int start, int end) {
+
+        int length() {
+            return end - start + 1;
+        }
+
+    }
+
+    private record Block(int rowNumber, int start, int size, double score) {
+    }
+
+    private final int rows;
+    private final int seatsPerRow;
+    private final List<List<Run>> runs;
+    private final int[] maxRunLength;
+    private final int[] builtVersion;
+    private final double rowCentre;
+    private final double seatCentre;
+
+    FreeRunIndex(SeatAvailabilityBitmap bitmap) {
+        this.rows = bitmap.getRows();
+        this.seatsPerRow = bitmap.getSeatsPerRow();
+        this.runs = new ArrayList<>(rows + 1);
+        for (int row = 0; row <= rows; row++) {
+            runs.add(new ArrayList<>());
+        }
+        this.maxRunLength = new int[rows + 1];
+        this.builtVersion = new int[rows + 1];
+        Arrays.fill(builtVersion, -1);
+        this.rowCentre = (rows + 1) / 2.0;
+        this.seatCentre = (seatsPerRow + 1) / 2.0;
+    }
+
+    void refresh(SeatAvailabilityBitmap bitmap) {
+        for (int row = 1; row <= rows; row++) {
+            int version = bitmap.rowVersion(row);
+            if (version != builtVersion[row]) {
+                rebuildRow(bitmap, row);
+                builtVersion[row] = version;
+            }
+        }
+    }
+
+    private void rebuildRow(SeatAvailabilityBitmap bitmap, int row) {
+        List<Run> rowRuns = runs.get(row);
+        rowRuns.clear();
+        int longest = 0;
+        int start = -1;
+        for (int seat = 1; seat <= seatsPerRow + 1; seat++) {
+            boolean free = seat <= seatsPerRow && bitmap.isAvailable(row, seat);
+            if (free && start < 0) {
+                start = seat;
+            } else if (!free && start > 0) {
+                Run run = new Run(start, seat - 1);
+                rowRuns.add(run);
+                longest = Math.max(longest, run.length());
+                start = -1;
+            }
+        }
+        maxRunLength[row] = longest;
+    }
+
+    /**
+     * Finds the most central block of {@code count} seats in one row or, if allowed and no row fits, split into
+     * two blocks on adjacent rows.
+     */
+    Optional<List<SeatRequest>> findBest(int count, boolean allowSplit) {
+        Block best = null;
+        for (int row = 1; row <= rows; row++) {
+            best = better(best, bestBlock(row, count));
+        }
+        if (best != null) {
+            return Optional.of(toSeats(best));
+        }
+        return allowSplit ? findBestSplit(count) : Optional.empty();
+    }
+
+    private Optional<List<SeatRequest>> findBestSplit(int count) {
+        Block bestFront = null;
+        Block bestBack = null;
+        for (int row = 1; row < rows; row++) {
+            for (int frontSize = count - 1; frontSize >= 1; frontSize--) {
+                Block front = bestBlock(row, frontSize);
+                Block back = front == null ? null : bestBlock(row + 1, count - frontSize);
+                if (back != null && (bestFront == null || front.score() + back.score() < bestFront.score() + bestBack.score())) {
+                    bestFront = front;
+                    bestBack = back;
+                }
+            }
+        }
+        if (bestFront == null) {
+            return Optional.empty();
+        }
+        List<SeatRequest> seats = new ArrayList<>(toSeats(bestFront));
+        seats.addAll(toSeats(bestBack));
+        return Optional.of(seats);
+    }
+
+    private Block bestBlock(int row, int size) {
+        if (maxRunLength[row] < size) {
+            return null;
+        }
+        long idealStart = Math.round(seatCentre - (size - 1) / 2.0);
+        Block best = null;
+        for (Run run : runs.get(row)) {
+            if (run.length() >= size) {
+                int start = (int) Math.max(run.start(), Math.min(idealStart, run.end() - size + 1));
+                best = better(best, new Block(row, start, size, score(row, start, size)));
+            }
+        }
+        return best;
+    }
+
+    private double score(int row, int start, int size) {
+        double horizontal = start + (size - 1) / 2.0 - seatCentre;
+        double vertical = row - rowCentre;
+        return horizontal * horizontal + vertical * vertical;
+    }
+
+    private static Block better(Block current, Block candidate) {
+        return candidate != null && (current == null || candidate.score() < current.score()) ? candidate : current;
+    }
+
+    private static List<SeatRequest> toSeats(Block block) {
+        List<SeatRequest> seats = new ArrayList<>(block.size());
+        for (int seat = block.start(); seat < block.start() + block.size(); seat++) {
+            seats.add(new SeatRequest(block.rowNumber(), seat));
+        }
+        return seats;
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.example.cinemabooking.booking.service;
+
+import com.example.cinemabooking.booking.dto.SeatRequest;
+import com.example.cinemabooking.booking.repository.BookingJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process index of which paid booking owns each seat of a screening, so a door scan can match a ticket to its
+ * seat without a database read. A screening's owners are read once, on its first lookup; afterwards payments and
+ * cancellations committed on this instance are applied in place. Changes committed on another instance are not
+ * seen until the screening is loaded again.
+ */
+@Component
+@RequiredArgsConstructor
+public class PaidSeatOwners {
+
+    private final BookingJdbcRepository bookingJdbcRepository;
+
+    private final ConcurrentMap<Long, ConcurrentMap<Long, UUID>> owners = new ConcurrentHashMap<>();
+    private final AtomicLong changes = new AtomicLong();
+
+    /**
+     * Tells whether the seat belongs to the given paid booking, loading the screening's owners on a miss. The load
+     * runs outside the map; a payment or cancellation applied while it ran discards the loaded owners, so the next
+     * lookup reads them again instead of missing that change.
+     */
+    public boolean isOwner(Long screeningId, int rowNumber, int seatNumber, UUID bookingId) {
+        return bookingId.equals(getOrLoad(screeningId).get(seatKey(rowNumber, seatNumber)));
+    }
+
+    /**
+     * Records the seats of a booking whose payment has committed.
+     */
+    public void paid(Long screeningId, UUID bookingId, Collection<SeatRequest> seats) {
+        changes.incrementAndGet();
+        owners.computeIfPresent(screeningId, (id, seatOwners) -> {
+            seats.forEach(seat -> seatOwners.put(seatKey(seat.getRowNumber(), seat.getSeatNumber()), bookingId));
+            return seatOwners;
+        });
+    }
+
+    /**
+     * Forgets the seats of a booking whose cancellation has committed.
+     */
+    public void released(Long screeningId, UUID bookingId, Collection<SeatRequest> seats) {
+        changes.incrementAndGet();
+        owners.computeIfPresent(screeningId, (id, seatOwners) -> {
+            seats.forEach(seat -> seatOwners.remove(seatKey(seat.getRowNumber(), seat.getSeatNumber()), bookingId));
+            return seatOwners;
+        });
+    }
+
+    /**
+     * Drops the owners of every screening not in the given set.
+     */
+    public void retainAll(Collection<Long> screeningIds) {
+        owners.keySet().retainAll(screeningIds);
+    }
+
+    private ConcurrentMap<Long, UUID> getOrLoad(Long screeningId) {
+        ConcurrentMap<Long, UUID> seatOwners = owners.get(screeningId);
+        if (seatOwners != null) {
+            return seatOwners;
+        }
+        long changesBefore = changes.get();
+        ConcurrentMap<Long, UUID> loaded = new ConcurrentHashMap<>();
+        bookingJdbcRepository.findPaidSeatOwners(screeningId).forEach((seat, bookingId) ->
+                loaded.put(seatKey(seat.getRowNumber(), seat.getSeatNumber()), bookingId));
+        ConcurrentMap<Long, UUID> existing = owners.putIfAbsent(screeningId, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        if (changes.get() != changesBefore) {
+            owners.remove(screeningId, loaded);
+        }
+        return loaded;
+    }
+
+    private static long seatKey(int rowNumber, int seatNumber) {
+        return ((long) rowNumber << 32) | seatNumber;
+    }
+
+}
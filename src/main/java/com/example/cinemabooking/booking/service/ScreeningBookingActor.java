@@ -0,0 +1,276 @@
+package com.example.cinemabooking.booking.service;
+
+import com.example.cinemabooking.booking.dto.BookingResponse;
+import com.example.cinemabooking.booking.dto.SeatRequest;
+import com.example.cinemabooking.booking.journal.JournalEntry;
+import com.example.cinemabooking.booking.mapper.BookingMapper;
+import com.example.cinemabooking.booking.repository.BookingJdbcRepository;
+import com.example.cinemabooking.booking.service.exception.BookingMailboxFullException;
+import com.example.cinemabooking.booking.service.exception.SeatsUnavailableException;
+import com.example.cinemabooking.screening.service.SeatAvailabilityBitmap;
+import com.example.cinemabooking.screening.service.SeatAvailabilityCache;
+import com.example.cinemabooking.screening.service.SeatCounters;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Single writer for the bookings of one screening. Commands queue in the actor's mailbox and are processed by
+ * its own virtual thread: every queued command claims its seats in the bitmap, then all successful claims are
+ * written in one transaction. The actor retires once its mailbox stayed empty for {@code idle-timeout}, or as soon
+ * as a batch fails outside a single command (an unknown screening, a failed bitmap load), in which case every
+ * drained and queued command fails with that error rather than waiting on a dead actor.
+ */
+@Slf4j
+class ScreeningBookingActor {
+
+    private static final Command STOP = new Command(bitmap -> List.of(), new CompletableFuture<>());
+
+    private final Long screeningId;
+    private final SeatAvailabilityCache seatAvailabilityCache;
+    private final BookingJdbcRepository bookingJdbcRepository;
+    private final SeatCounters seatCounters;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingActorProperties properties;
+    private final Duration paymentTimeout;
+    private final Clock clock;
+    private final Consumer<ScreeningBookingActor> onRetired;
+
+    private final BlockingQueue<Command> mailbox = new LinkedBlockingQueue<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Thread thread;
+    private boolean retired;
+
+    ScreeningBookingActor(Long screeningId, SeatAvailabilityCache seatAvailabilityCache,
+                          BookingJdbcRepository bookingJdbcRepository, SeatCounters seatCounters,
+                          TransactionTemplate transactionTemplate, BookingActorProperties properties,
+                          Duration paymentTimeout, Clock clock, Consumer<ScreeningBookingActor> onRetired) {
+        this.screeningId = screeningId;
+        this.seatAvailabilityCache = seatAvailabilityCache;
+        this.bookingJdbcRepository = bookingJdbcRepository;
+        this.seatCounters = seatCounters;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.paymentTimeout = paymentTimeout;
+        this.clock = clock;
+        this.onRetired = onRetired;
+        this.thread = Thread.ofVirtual().name("booking-actor-" + screeningId).unstarted(this::run);
+    }
+
+    ScreeningBookingActor start() {
+        thread.start();
+        return this;
+    }
+
+    /**
+     * @return {@code false} if the actor has retired and the command must go to a new one
+     * @throws BookingMailboxFullException if the mailbox is full
+     */
+    boolean offer(Command command) {
+        lock.lock();
+        try {
+            if (retired) {
+                return false;
+            }
+            if (mailbox.size() >= properties.mailboxCapacity()) {
+                throw new BookingMailboxFullException(screeningId);
+            }
+            mailbox.add(command);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops accepting commands; those already queued are still processed.
+     */
+    void stop() {
+        lock.lock();
+        try {
+            retired = true;
+            mailbox.add(STOP);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int queuedCommands() {
+        return mailbox.size();
+    }
+
+    void awaitTermination(Duration timeout) throws InterruptedException {
+        thread.join(timeout);
+    }
+
+    private void run() {
+        List<Command> batch = new ArrayList<>(properties.maxBatchSize());
+        Throwable failure = null;
+        try {
+            while (true) {
+                Command first = mailbox.poll(properties.idleTimeout().toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (tryRetire()) {
+                        return;
+                    }
+                    continue;
+                }
+                batch.add(first);
+                mailbox.drainTo(batch, properties.maxBatchSize() - 1);
+                boolean stopped = batch.remove(STOP);
+                try {
+                    process(batch);
+                } catch (RuntimeException e) {
+                    log.warn("Booking actor of screening {} failed, rejecting its queued bookings", screeningId, e);
+                    failure = e;
+                    failAll(batch, e);
+                    return;
+                } finally {
+                    batch.clear();
+                }
+                if (stopped) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = e;
+        } finally {
+            failAll(retire(), failure != null
+                    ? failure
+                    : new IllegalStateException("Booking actor of screening " + screeningId + " has stopped"));
+            onRetired.accept(this);
+        }
+    }
+
+    private boolean tryRetire() {
+        lock.lock();
+        try {
+            retired = mailbox.isEmpty();
+            return retired;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stops accepting commands and hands back those still queued.
+     */
+    private List<Command> retire() {
+        lock.lock();
+        try {
+            retired = true;
+            List<Command> queued = new ArrayList<>(mailbox.size());
+            mailbox.drainTo(queued);
+            queued.remove(STOP);
+            return queued;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void failAll(List<Command> commands, Throwable e) {
+        commands.forEach(command -> command.result().completeExceptionally(e));
+    }
+
+    private void process(List<Command> commands) {
+        SeatAvailabilityBitmap bitmap = seatAvailabilityCache.getOrLoad(screeningId);
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<Claim> claims = new ArrayList<>(commands.size());
+        for (Command command : commands) {
+            if (command.result().isDone()) {
+                // the caller gave up waiting, so its seats must not be claimed behind its back
+                continue;
+            }
+            try {
+                List<SeatRequest> seats = command.claim().apply(bitmap);
+                claims.add(new Claim(command, new JournalEntry(UUID.randomUUID(), screeningId, now, seats)));
+            } catch (RuntimeException e) {
+                command.result().completeExceptionally(e);
+            }
+        }
+        if (claims.isEmpty()) {
+            return;
+        }
+        try {
+            write(claims);
+        } catch (RuntimeException batchFailure) {
+            if (claims.size() == 1) {
+                fail(bitmap, claims.getFirst(), batchFailure);
+                return;
+            }
+            // one bad claim must not fail the others, so fall back to a transaction per booking
+            for (Claim claim : claims) {
+                try {
+                    write(List.of(claim));
+                } catch (RuntimeException e) {
+                    fail(bitmap, claim, e);
+                }
+            }
+        }
+    }
+
+    private void write(List<Claim> claims) {
+        List<JournalEntry> entries = claims.stream().map(Claim::entry).toList();
+        transactionTemplate.execute(status -> {
+            Map<UUID, List<SeatRequest>> missed =
+                    bookingJdbcRepository.writeJournaledBookings(entries, entries.size(), paymentTimeout);
+            if (!missed.isEmpty()) {
+                throw new SeatsUnavailableException(screeningId,
+                        missed.values().stream().flatMap(List::stream).toList());
+            }
+            return null;
+        });
+        seatCounters.adjust(screeningId, -entries.stream().mapToInt(entry -> entry.seats().size()).sum());
+        for (Claim claim : claims) {
+            claim.command().result().complete(BookingMapper.toResponse(claim.entry(),
+                    claim.entry().createdAt().plus(paymentTimeout)));
+        }
+    }
+
+    private void fail(SeatAvailabilityBitmap bitmap, Claim claim, RuntimeException e) {
+        List<SeatRequest> seats = claim.entry().seats();
+        if (e instanceof SeatsUnavailableException unavailable) {
+            // the database disagrees with the bitmap about these seats; those it has taken stay claimed
+            List<SeatRequest> taken = findTakenSeats(unavailable.getSeats());
+            seats = seats.stream().filter(seat -> !taken.contains(seat)).toList();
+        } else {
+            log.warn("Writing booking for screening {} failed", screeningId, e);
+        }
+        SeatClaims.releaseAll(bitmap, seats);
+        claim.command().result().completeExceptionally(e);
+    }
+
+    private List<SeatRequest> findTakenSeats(List<SeatRequest> conflicts) {
+        try {
+            return bookingJdbcRepository.findTakenSeats(screeningId, conflicts);
+        } catch (RuntimeException e) {
+            log.warn("Reconciling seats of screening {} failed, keeping them taken", screeningId, e);
+            return conflicts;
+        }
+    }
+
+    /**
+     * @param claim claims the command's seats in the bitmap, throwing if any of them is taken
+     */
+    record Command(Function<SeatAvailabilityBitmap, List<SeatRequest>> claim, CompletableFuture<BookingResponse> result) {
+    }
+
+    private record Claim(Command command, JournalEntry entry) {
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.example.cinemabooking.booking.service;
+
+import com.example.cinemabooking.booking.dto.CreateBookingRequest;
+import com.example.cinemabooking.booking.dto.SeatRequest;
+import com.example.cinemabooking.booking.service.exception.SeatsUnavailableException;
+import com.example.cinemabooking.screening.service.SeatAvailabilityBitmap;
+import com.example.cinemabooking.screening.service.exception.SeatNotFoundException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * All-or-nothing claims of several seats in a screening's availability bitmap.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+class SeatClaims {
+
+    static void validateLayout(Long screeningId, SeatAvailabilityBitmap bitmap, List<SeatRequest> seats) {
+        for (SeatRequest seat : seats) {
+            if (!bitmap.contains(seat.getRowNumber(), seat.getSeatNumber())) {
+                throw new SeatNotFoundException(screeningId, seat.getRowNumber(), seat.getSeatNumber());
+            }
+        }
+    }
+
+    /**
+     * Claims every seat or none of them. On failure all seats claimed so far are released again and
+     * the exception lists every seat that was already taken.
+     */
+    static void claimAll(Long screeningId, SeatAvailabilityBitmap bitmap, List<SeatRequest> seats) {
+        validateLayout(screeningId, bitmap, seats);
+        List<SeatRequest> claimed = new ArrayList<>(seats.size());
+        List<SeatRequest> conflicts = new ArrayList<>();
+        for (SeatRequest seat : seats) {
+            if (bitmap.tryReserve(seat.getRowNumber(), seat.getSeatNumber())) {
+                claimed.add(seat);
+            } else {
+                conflicts.add(seat);
+            }
+        }
+        if (!conflicts.isEmpty()) {
+            releaseAll(bitmap, claimed);
+            throw new SeatsUnavailableException(screeningId, conflicts);
+        }
+    }
+
+    /**
+     * Claims the seats of a booking request, either by consuming its hold or by claiming the listed seats.
+     */
+    static List<SeatRequest> claimRequested(Long screeningId, SeatAvailabilityBitmap bitmap,
+                                            CreateBookingRequest request, SeatHoldService seatHoldService) {
+        if (request.getHoldId() != null) {
+            return seatHoldService.consumeHold(screeningId, request.getHoldId()).seats();
+        }
+        List<SeatRequest> seats = request.getSeats().stream().distinct().toList();
+        claimAll(screeningId, bitmap, seats);
+        return seats;
+    }
+
+    static void releaseAll(SeatAvailabilityBitmap bitmap, List<SeatRequest> seats) {
+        seats.forEach(seat -> bitmap.release(seat.getRowNumber(), seat.getSeatNumber()));
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.example.cinemabooking.booking.service;
+
+import com.example.cinemabooking.booking.dto.SeatRequest;
+
+import java.util.List;
+import java.util.UUID;
+
+public record SeatHold(UUID id, Long screeningId, List<SeatRequest> seats, long expiresAtMillis) {
+}
@@ -0,0 +1,15 @@
+package com.example.cinemabooking.booking.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "booking.hold")
+public record SeatHoldProperties(
+        @DefaultValue("10m") Duration defaultTtl,
+        @DefaultValue("30m") Duration maxTtl,
+        @DefaultValue("100ms") Duration tickDuration,
+        @DefaultValue("4096") int wheelSize
+) {
+}
@@ -0,0 +1,169 @@
+package com.example.cinemabooking.booking.service;
+
+import com.example.cinemabooking.booking.dto.CreateSeatHoldRequest;
+import com.example.cinemabooking.booking.dto.SeatHoldResponse;
+import com.example.cinemabooking.booking.dto.SeatHoldStatsResponse;
+import com.example.cinemabooking.booking.dto.SeatRequest;
+import com.example.cinemabooking.booking.mapper.BookingMapper;
+import com.example.cinemabooking.booking.service.exception.SeatHoldNotFoundException;
+import com.example.cinemabooking.common.scheduling.HashedTimingWheel;
+import com.example.cinemabooking.common.scheduling.HashedTimingWheel.Timeout;
+import com.example.cinemabooking.screening.service.SeatAvailabilityBitmap;
+import com.example.cinemabooking.screening.service.SeatAvailabilityCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Temporary seat holds. A hold claims its seats in the in-memory availability bitmap and is registered in a
+ * hashed timing wheel, so creating, cancelling and expiring a hold is O(1) however many holds are active.
+ * A single ticker thread drives the wheel and releases the seats of every hold that was not released in time.
+ */
+@Slf4j
+@Service
+public class SeatHoldService {
+
+    private static final int RATE_WINDOW_SECONDS = 60;
+
+    private final SeatAvailabilityCache seatAvailabilityCache;
+    private final SeatHoldProperties properties;
+    private final Clock clock;
+    private final HashedTimingWheel<SeatHold> timingWheel;
+    private final ScheduledExecutorService ticker;
+
+    private final ConcurrentMap<UUID, Timeout<SeatHold>> holds = new ConcurrentHashMap<>();
+    private final LongAdder createdTotal = new LongAdder();
+    private final LongAdder releasedTotal = new LongAdder();
+    private final LongAdder expiredTotal = new LongAdder();
+    private final AtomicLongArray expiredPerSecond = new AtomicLongArray(RATE_WINDOW_SECONDS);
+    private final AtomicLongArray expiredSecond = new AtomicLongArray(RATE_WINDOW_SECONDS);
+
+    public SeatHoldService(SeatAvailabilityCache seatAvailabilityCache, SeatHoldProperties properties, Clock clock) {
+        this.seatAvailabilityCache = seatAvailabilityCache;
+        this.properties = properties;
+        this.clock = clock;
+        this.timingWheel = new HashedTimingWheel<>(properties.tickDuration().toMillis(), properties.wheelSize(), clock.millis());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("seat-hold-wheel").daemon().factory());
+    }
+
+    @PostConstruct
+    void start() {
+        long tickMillis = properties.tickDuration().toMillis();
+        ticker.scheduleAtFixedRate(this::expireDueHoldsQuietly, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        ticker.shutdownNow();
+    }
+
+    public SeatHoldResponse holdSeats(Long screeningId, CreateSeatHoldRequest request) {
+        List<SeatRequest> seats = request.getSeats().stream().distinct().toList();
+        SeatAvailabilityBitmap bitmap = seatAvailabilityCache.getOrLoad(screeningId);
+        SeatClaims.claimAll(screeningId, bitmap, seats);
+
+        SeatHold hold = new SeatHold(UUID.randomUUID(), screeningId, seats, clock.millis() + resolveTtl(request).toMillis());
+        Timeout<SeatHold> timeout = timingWheel.schedule(hold, hold.expiresAtMillis());
+        holds.put(hold.id(), timeout);
+        if (timeout.isExpired()) {
+            holds.remove(hold.id(), timeout);
+        }
+        createdTotal.increment();
+        return BookingMapper.toResponse(hold, clock.getZone());
+    }
+
+    private Duration resolveTtl(CreateSeatHoldRequest request) {
+        if (request.getHoldMinutes() == null) {
+            return properties.defaultTtl();
+        }
+        Duration requested = Duration.ofMinutes(request.getHoldMinutes());
+        return requested.compareTo(properties.maxTtl()) > 0 ? properties.maxTtl() : requested;
+    }
+
+    public void releaseHold(Long screeningId, UUID holdId) {
+        SeatHold hold = takeHold(screeningId, holdId);
+        releaseSeats(hold);
+        releasedTotal.increment();
+    }
+
+    /**
+     * Ends the hold without releasing its seats, handing them over to the caller.
+     */
+    public SeatHold consumeHold(Long screeningId, UUID holdId) {
+        return takeHold(screeningId, holdId);
+    }
+
+    private SeatHold takeHold(Long screeningId, UUID holdId) {
+        Timeout<SeatHold> timeout = holds.get(holdId);
+        if (timeout == null || !timeout.getTask().screeningId().equals(screeningId) || !timeout.cancel()) {
+            throw new SeatHoldNotFoundException(holdId);
+        }
+        holds.remove(holdId);
+        return timeout.getTask();
+    }
+
+    public SeatHoldStatsResponse getStats() {
+        long nowSecond = clock.millis() / 1000;
+        long expiredLastMinute = 0;
+        for (int i = 0; i < RATE_WINDOW_SECONDS; i++) {
+            if (nowSecond - expiredSecond.get(i) < RATE_WINDOW_SECONDS) {
+                expiredLastMinute += expiredPerSecond.get(i);
+            }
+        }
+        return SeatHoldStatsResponse.builder()
+                .activeHolds(holds.size())
+                .createdTotal(createdTotal.sum())
+                .releasedTotal(releasedTotal.sum())
+                .expiredTotal(expiredTotal.sum())
+                .expiredLastMinute(expiredLastMinute)
+                .build();
+    }
+
+    int expireDueHolds() {
+        return timingWheel.advanceTo(clock.millis(), this::expire);
+    }
+
+    private void expireDueHoldsQuietly() {
+        try {
+            expireDueHolds();
+        } catch (RuntimeException e) {
+            log.warn("Expiring seat holds failed, retrying on the next tick", e);
+        }
+    }
+
+    private void expire(SeatHold hold) {
+        holds.remove(hold.id());
+        releaseSeats(hold);
+        expiredTotal.increment();
+        recordExpiry(clock.millis() / 1000);
+    }
+
+    private void releaseSeats(SeatHold hold) {
+        // an evicted bitmap is rebuilt from the database, where held seats were never booked
+        seatAvailabilityCache.find(hold.screeningId())
+                .ifPresent(bitmap -> SeatClaims.releaseAll(bitmap, hold.seats()));
+    }
+
+    private void recordExpiry(long second) {
+        int slot = (int) (second % RATE_WINDOW_SECONDS);
+        if (expiredSecond.get(slot) != second) {
+            expiredSecond.set(slot, second);
+            expiredPerSecond.set(slot, 0);
+        }
+        expiredPerSecond.incrementAndGet(slot);
+    }
+
+}
@@ -0,0 +1,345 @@
+package com.example.cinemabooking.booking.service;
+
+import com.example.cinemabooking.booking.dto.BookingResponse;
+import com.example.cinemabooking.booking.dto.CreateBookingRequest;
+import com.example.cinemabooking.booking.dto.SeatRequest;
+import com.example.cinemabooking.booking.journal.BookingJournal;
+import com.example.cinemabooking.booking.journal.BookingJournalFullException;
+import com.example.cinemabooking.booking.journal.BookingJournalProperties;
+import com.example.cinemabooking.booking.journal.JournalEntry;
+import com.example.cinemabooking.booking.mapper.BookingMapper;
+import com.example.cinemabooking.booking.repository.BookingJdbcRepository;
+import com.example.cinemabooking.screening.service.SeatAvailabilityBitmap;
+import com.example.cinemabooking.screening.service.SeatAvailabilityCache;
+import com.example.cinemabooking.screening.service.SeatCounters;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Write-behind booking mode, enabled with {@code booking.journal.enabled}.
+ * <p>
+ * Seats are claimed in the in-memory bitmap as usual, but the booking is acknowledged as soon as it is durable in
+ * the {@link BookingJournal} rather than in Postgres. Concurrent bookings share one disk force (group commit):
+ * the syncer thread forces the journal once {@code sync-batch-size} bookings are waiting or {@code sync-interval}
+ * after the first of them arrived. A flusher writes the journal to the database in JDBC batches, and entries not
+ * yet flushed when the application stopped are replayed on startup before any booking is accepted. A booking that
+ * finds the journal full waits a bounded time for the flusher to drain it, and is rejected if it is still full.
+ * <p>
+ * The bitmap is the only arbiter of seat ownership in this mode, so a screening's bookings must all go through
+ * one instance.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "booking.journal", name = "enabled", havingValue = "true")
+public class WriteBehindBookingService {
+
+    private static final Duration SYNCER_SHUTDOWN_TIMEOUT = Duration.ofSeconds(5);
+
+    private final SeatAvailabilityCache seatAvailabilityCache;
+    private final SeatHoldService seatHoldService;
+    private final BookingJdbcRepository bookingJdbcRepository;
+    private final SeatCounters seatCounters;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingJournalProperties properties;
+    private final BookingExpiryProperties expiryProperties;
+    private final Clock clock;
+
+    private final BlockingQueue<PendingSync> pendingSyncs = new LinkedBlockingQueue<>();
+    private final ReadWriteLock appendLock = new ReentrantReadWriteLock();
+    private final Object flushLock = new Object();
+    private final AtomicReference<CompletableFuture<Void>> drain =
+            new AtomicReference<>(CompletableFuture.completedFuture(null));
+    private final Thread syncer;
+    private final ScheduledExecutorService flusher;
+    private BookingJournal journal;
+    private boolean closed;
+
+    public WriteBehindBookingService(SeatAvailabilityCache seatAvailabilityCache, SeatHoldService seatHoldService,
+                                     BookingJdbcRepository bookingJdbcRepository, SeatCounters seatCounters,
+                                     TransactionTemplate transactionTemplate, BookingJournalProperties properties,
+                                     BookingExpiryProperties expiryProperties, Clock clock) {
+        this.seatAvailabilityCache = seatAvailabilityCache;
+        this.seatHoldService = seatHoldService;
+        this.bookingJdbcRepository = bookingJdbcRepository;
+        this.seatCounters = seatCounters;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.expiryProperties = expiryProperties;
+        this.clock = clock;
+        this.syncer = Thread.ofPlatform().name("booking-journal-sync").daemon().unstarted(this::runSyncer);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("booking-journal-flush").daemon().factory());
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        journal = BookingJournal.open(properties.file(), (int) properties.capacity().toBytes());
+        int replayed = flushToDatabase();
+        if (replayed > 0) {
+            log.info("Replayed {} journaled bookings into the database", replayed);
+        }
+        syncer.start();
+        long flushMillis = properties.flushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops accepting bookings, forces the journal once more and acknowledges every booking still waiting for a
+     * sync before writing the journal to the database.
+     */
+    @PreDestroy
+    void stop() throws IOException, InterruptedException {
+        appendLock.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            appendLock.writeLock().unlock();
+        }
+        syncer.interrupt();
+        syncer.join(SYNCER_SHUTDOWN_TIMEOUT);
+        flusher.shutdownNow();
+        List<PendingSync> waiting = new ArrayList<>();
+        pendingSyncs.drainTo(waiting);
+        try {
+            journal.sync();
+        } catch (UncheckedIOException e) {
+            waiting.forEach(pending -> pending.synced().completeExceptionally(e));
+            throw e;
+        }
+        waiting.forEach(pending -> pending.synced().complete(null));
+        flushToDatabase();
+        journal.close();
+    }
+
+    /**
+     * Books all requested seats or none, acknowledging once the booking is durable in the journal.
+     * The response carries the booking uuid; the database id is assigned when the journal is flushed.
+     */
+    public BookingResponse createBooking(Long screeningId, CreateBookingRequest request) {
+        SeatAvailabilityBitmap bitmap = seatAvailabilityCache.getOrLoad(screeningId);
+        List<SeatRequest> seats = SeatClaims.claimRequested(screeningId, bitmap, request, seatHoldService);
+        JournalEntry entry = new JournalEntry(UUID.randomUUID(), screeningId, LocalDateTime.now(clock), seats);
+        try {
+            awaitSync(append(entry));
+        } catch (RuntimeException e) {
+            SeatClaims.releaseAll(bitmap, seats);
+            throw e;
+        }
+        seatCounters.adjust(screeningId, -seats.size());
+        return BookingMapper.toResponse(entry, entry.createdAt().plus(expiryProperties.paymentTimeout()));
+    }
+
+    /**
+     * Appends the entry, waiting up to {@code full-timeout} for a full journal to be drained by the flusher. The
+     * request thread neither forces the journal nor writes to the database itself; once the wait runs out the
+     * booking is rejected with {@link BookingJournalFullException}, which the client may retry.
+     */
+    private PendingSync append(JournalEntry entry) {
+        long deadline = System.nanoTime() + properties.fullTimeout().toNanos();
+        while (true) {
+            try {
+                return tryAppend(entry);
+            } catch (BookingJournalFullException e) {
+                if (!journal.hasUnflushed() || !awaitDrain(deadline)) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends the entry and queues it for the next sync. Both happen under the read lock, so once {@link #stop()}
+     * has closed the journal every appended entry is already queued.
+     */
+    private PendingSync tryAppend(JournalEntry entry) {
+        appendLock.readLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("The booking journal is closed.");
+            }
+            journal.append(entry);
+            PendingSync pending = new PendingSync(new CompletableFuture<>());
+            pendingSyncs.add(pending);
+            return pending;
+        } finally {
+            appendLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Has the flusher sync and flush the journal, so that it wraps around, and waits for it until the deadline.
+     * Bookings that find the journal full at the same time share one drain.
+     *
+     * @return whether the drain completed in time
+     */
+    private boolean awaitDrain(long deadline) {
+        CompletableFuture<Void> current = drain.get();
+        if (current.isDone()) {
+            CompletableFuture<Void> next = new CompletableFuture<>();
+            if (drain.compareAndSet(current, next)) {
+                try {
+                    flusher.execute(() -> drainJournal(next));
+                } catch (RejectedExecutionException e) {
+                    next.completeExceptionally(e);
+                }
+            }
+            current = drain.get();
+        }
+        try {
+            current.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException | ExecutionException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void drainJournal(CompletableFuture<Void> drained) {
+        try {
+            journal.sync();
+            flushToDatabase();
+            drained.complete(null);
+        } catch (RuntimeException e) {
+            log.warn("Draining the full booking journal failed", e);
+            drained.completeExceptionally(e);
+        }
+    }
+
+    private void awaitSync(PendingSync pending) {
+        try {
+            pending.synced().join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private void runSyncer() {
+        long syncNanos = properties.syncInterval().toNanos();
+        List<PendingSync> group = new ArrayList<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                group.add(pendingSyncs.take());
+                long deadline = System.nanoTime() + syncNanos;
+                while (group.size() < properties.syncBatchSize()) {
+                    PendingSync next = pendingSyncs.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    group.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            completeGroup(group);
+            group.clear();
+        }
+    }
+
+    private void completeGroup(List<PendingSync> group) {
+        if (group.isEmpty()) {
+            return;
+        }
+        try {
+            journal.sync();
+            group.forEach(pending -> pending.synced().complete(null));
+        } catch (UncheckedIOException e) {
+            group.forEach(pending -> pending.synced().completeExceptionally(e));
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flushToDatabase();
+        } catch (RuntimeException e) {
+            log.warn("Flushing the booking journal failed, retrying on the next run", e);
+        }
+    }
+
+    /**
+     * Writes all synced entries to the database, one transaction per batch, advancing the journal's flushed
+     * position after each commit. Safe to repeat after a crash between the commit and the journal update.
+     *
+     * @return number of bookings written
+     */
+    int flushToDatabase() {
+        synchronized (flushLock) {
+            int written = 0;
+            BookingJournal.Batch batch = journal.readUnflushed(properties.flushBatchSize());
+            while (!batch.entries().isEmpty()) {
+                List<JournalEntry> entries = batch.entries();
+                Map<UUID, List<SeatRequest>> failed = transactionTemplate.execute(status -> writeBatch(entries));
+                journal.markFlushed(batch.endPosition());
+                if (failed != null && !failed.isEmpty()) {
+                    releaseFailedBookings(entries, failed);
+                }
+                written += entries.size();
+                batch = journal.readUnflushed(properties.flushBatchSize());
+            }
+            return written;
+        }
+    }
+
+    /**
+     * @return seats lost to other bookings, by uuid of the booking that was failed because of them
+     */
+    private Map<UUID, List<SeatRequest>> writeBatch(List<JournalEntry> entries) {
+        Map<UUID, List<SeatRequest>> missed = bookingJdbcRepository.writeJournaledBookings(entries,
+                properties.flushBatchSize(), expiryProperties.paymentTimeout());
+        if (!missed.isEmpty()) {
+            missed.keySet().retainAll(Set.copyOf(bookingJdbcRepository.failJournaledBookings(missed.keySet())));
+        }
+        return missed;
+    }
+
+    /**
+     * A booking that lost seats to another booking was already acknowledged, so it is failed rather than dropped:
+     * its status tells the client to book again. The seats it did claim are given back here as well; the lost ones
+     * stay taken, since the database has them booked.
+     */
+    private void releaseFailedBookings(List<JournalEntry> entries, Map<UUID, List<SeatRequest>> failed) {
+        for (JournalEntry entry : entries) {
+            List<SeatRequest> lost = failed.get(entry.bookingUuid());
+            if (lost == null) {
+                continue;
+            }
+            List<SeatRequest> released = entry.seats().stream().filter(seat -> !lost.contains(seat)).toList();
+            seatAvailabilityCache.find(entry.screeningId()).ifPresent(bitmap -> SeatClaims.releaseAll(bitmap, released));
+            seatCounters.adjust(entry.screeningId(), released.size());
+            log.warn("Journaled booking {} of screening {} failed, seats {} were already booked",
+                    entry.bookingUuid(), entry.screeningId(), lost);
+        }
+    }
+
+    private record PendingSync(CompletableFuture<Void> synced) {
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.example.cinemabooking.booking.service.exception;
+
+import java.util.UUID;
+
+public class BookingExpiredException extends RuntimeException {
+    public BookingExpiredException(UUID bookingId) {
+        super("Booking with id " + bookingId + " has expired.");
+    }
+}
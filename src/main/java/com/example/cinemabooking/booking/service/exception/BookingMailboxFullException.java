@@ -0,0 +1,7 @@
+package com.example.cinemabooking.booking.service.exception;
+
+public class BookingMailboxFullException extends RuntimeException {
+    public BookingMailboxFullException(Long screeningId) {
+        super("Too many bookings in progress for screening with id " + screeningId + ", try again later.");
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.cinemabooking.booking.service.exception;
+
+import java.util.UUID;
+
+public class BookingNotFoundException extends RuntimeException {
+    public BookingNotFoundException(UUID uuid) {
+        super("Booking with id " + uuid + " not found.");
+    }
+}
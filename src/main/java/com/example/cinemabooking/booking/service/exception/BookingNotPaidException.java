@@ -0,0 +1,9 @@
+package com.example.cinemabooking.booking.service.exception;
+
+import java.util.UUID;
+
+public class BookingNotPaidException extends RuntimeException {
+    public BookingNotPaidException(UUID bookingId) {
+        super("Booking with id " + bookingId + " has not been paid.");
+    }
+}
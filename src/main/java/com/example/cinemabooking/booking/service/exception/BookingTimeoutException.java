@@ -0,0 +1,7 @@
+package com.example.cinemabooking.booking.service.exception;
+
+public class BookingTimeoutException extends RuntimeException {
+    public BookingTimeoutException(Long screeningId) {
+        super("Booking for screening with id " + screeningId + " did not complete in time, try again later.");
+    }
+}
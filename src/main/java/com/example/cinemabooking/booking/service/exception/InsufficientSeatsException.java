@@ -0,0 +1,7 @@
+package com.example.cinemabooking.booking.service.exception;
+
+public class InsufficientSeatsException extends RuntimeException {
+    public InsufficientSeatsException(Long screeningId, int count) {
+        super("Screening with id " + screeningId + " has no " + count + " seat(s) available together.");
+    }
+}
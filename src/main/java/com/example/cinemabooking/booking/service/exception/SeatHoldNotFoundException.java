@@ -0,0 +1,9 @@
+package com.example.cinemabooking.booking.service.exception;
+
+import java.util.UUID;
+
+public class SeatHoldNotFoundException extends RuntimeException {
+    public SeatHoldNotFoundException(UUID id) {
+        super("Seat hold with id " + id + " not found.");
+    }
+}
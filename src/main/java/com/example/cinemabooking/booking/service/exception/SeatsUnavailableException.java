@@ -0,0 +1,18 @@
+package com.example.cinemabooking.booking.service.exception;
+
+import com.example.cinemabooking.booking.dto.SeatRequest;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class SeatsUnavailableException extends RuntimeException {
+
+    private final List<SeatRequest> seats;
+
+    public SeatsUnavailableException(Long screeningId, List<SeatRequest> seats) {
+        super(seats.size() + " seat(s) are no longer available for screening with id " + screeningId + ".");
+        this.seats = List.copyOf(seats);
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.example.cinemabooking.booking.web;
+
+import com.example.cinemabooking.booking.dto.BookingResponse;
+import com.example.cinemabooking.booking.dto.CreateAnySeatsBookingRequest;
+import com.example.cinemabooking.booking.dto.CreateBestAvailableBookingRequest;
+import com.example.cinemabooking.booking.dto.CreateBookingRequest;
+import com.example.cinemabooking.booking.service.BookingActorEngine;
+import com.example.cinemabooking.booking.service.BookingService;
+import com.example.cinemabooking.booking.service.WriteBehindBookingService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/screening/{screeningId}/bookings")
+@RequiredArgsConstructor
+public class BookingController {
+
+    private final BookingService bookingService;
+    private final Optional<WriteBehindBookingService> writeBehindBookingService;
+    private final Optional<BookingActorEngine> bookingActorEngine;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    BookingResponse createBooking(@PathVariable Long screeningId, @RequestBody @Valid CreateBookingRequest request) {
+        return writeBehindBookingService
+                .map(service -> service.createBooking(screeningId, request))
+                .or(() -> bookingActorEngine.map(engine -> engine.createBooking(screeningId, request)))
+                .orElseGet(() -> bookingService.createBooking(screeningId, request));
+    }
+
+    @PostMapping("/best-available")
+    @ResponseStatus(HttpStatus.CREATED)
+    BookingResponse createBestAvailableBooking(@PathVariable Long screeningId, @RequestBody @Valid CreateBestAvailableBookingRequest request) {
+        return bookingActorEngine
+                .map(engine -> engine.createBestAvailableBooking(screeningId, request))
+                .orElseGet(() -> bookingService.createBestAvailableBooking(screeningId, request));
+    }
+
+    @PostMapping("/any")
+    @ResponseStatus(HttpStatus.CREATED)
+    BookingResponse createAnySeatsBooking(@PathVariable Long screeningId, @RequestBody @Valid CreateAnySeatsBookingRequest request) {
+        return bookingService.createAnySeatsBooking(screeningId, request);
+    }
+
+    @PostMapping("/{bookingId}/payment")
+    BookingResponse payBooking(@PathVariable Long screeningId, @PathVariable UUID bookingId) {
+        return bookingService.payBooking(screeningId, bookingId);
+    }
+
+    @DeleteMapping("/{bookingId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    void cancelBooking(@PathVariable Long screeningId, @PathVariable UUID bookingId) {
+        bookingService.cancelBooking(screeningId, bookingId);
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.example.cinemabooking.booking.web;
+
+import com.example.cinemabooking.booking.dto.BookingExpiryStatsResponse;
+import com.example.cinemabooking.booking.service.BookingExpirySweeper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/bookings/expiry")
+@RequiredArgsConstructor
+public class BookingExpiryController {
+
+    private final BookingExpirySweeper bookingExpirySweeper;
+
+    @GetMapping("/stats")
+    BookingExpiryStatsResponse getStats() {
+        return bookingExpirySweeper.getStats();
+    }
+
+}
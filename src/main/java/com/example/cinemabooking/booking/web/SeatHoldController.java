@@ -0,0 +1,38 @@
+package com.example.cinemabooking.booking.web;
+
+import com.example.cinemabooking.booking.dto.CreateSeatHoldRequest;
+import com.example.cinemabooking.booking.dto.SeatHoldResponse;
+import com.example.cinemabooking.booking.dto.SeatHoldStatsResponse;
+import com.example.cinemabooking.booking.service.SeatHoldService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class SeatHoldController {
+
+    private final SeatHoldService seatHoldService;
+
+    @PostMapping("/screening/{screeningId}/holds")
+    @ResponseStatus(HttpStatus.CREATED)
+    SeatHoldResponse holdSeats(@PathVariable Long screeningId, @RequestBody @Valid CreateSeatHoldRequest request) {
+        return seatHoldService.holdSeats(screeningId, request);
+    }
+
+    @DeleteMapping("/screening/{screeningId}/holds/{holdId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    void releaseHold(@PathVariable Long screeningId, @PathVariable UUID holdId) {
+        seatHoldService.releaseHold(screeningId, holdId);
+    }
+
+    @GetMapping("/holds/stats")
+    SeatHoldStatsResponse getStats() {
+        return seatHoldService.getStats();
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.example.cinemabooking.checkin.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CheckInRequest {
+
+    @NotBlank
+    private String token;
+
+}
@@ -0,0 +1,19 @@
+package com.example.cinemabooking.checkin.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Value
+@Builder
+public class CheckInResponse {
+
+    Long screeningId;
+    UUID bookingId;
+    int rowNumber;
+    int seatNumber;
+    LocalDateTime checkedInAt;
+
+}
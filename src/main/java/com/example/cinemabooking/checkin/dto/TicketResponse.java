@@ -0,0 +1,14 @@
+package com.example.cinemabooking.checkin.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class TicketResponse {
+
+    int rowNumber;
+    int seatNumber;
+    String token;
+
+}
@@ -0,0 +1,79 @@
+package com.example.cinemabooking.checkin.repository;
+
+import com.example.cinemabooking.checkin.service.CheckIn;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class CheckInJdbcRepository {
+
+    private static final String MARK_CHECKED_IN_SQL = """
+            UPDATE screening_seats
+            SET checked_in_at = ?
+            WHERE screening_id = ?
+              AND row_number = ?
+              AND seat_number = ?
+              AND checked_in_at IS NULL
+            """;
+
+    private static final String IS_PAID_SEAT_OWNER_SQL = """
+            SELECT EXISTS (
+                SELECT 1
+                FROM screening_seats ss
+                JOIN bookings b ON b.id = ss.booking_id
+                WHERE ss.screening_id = ?
+                  AND ss.row_number = ?
+                  AND ss.seat_number = ?
+                  AND b.uuid = ?
+                  AND b.status = 'PAID'
+            )
+            """;
+
+    private static final String FIND_SCREENINGS_NOT_ENDED_SQL = """
+            SELECT id
+            FROM screenings
+            WHERE id = ANY (?)
+              AND end_time > ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void markCheckedIn(List<CheckIn> checkIns) {
+        jdbcTemplate.batchUpdate(MARK_CHECKED_IN_SQL, checkIns, checkIns.size(), (statement, checkIn) -> {
+            statement.setTimestamp(1, Timestamp.valueOf(checkIn.checkedInAt()));
+            statement.setLong(2, checkIn.screeningId());
+            statement.setInt(3, checkIn.rowNumber());
+            statement.setInt(4, checkIn.seatNumber());
+        });
+    }
+
+    /**
+     * @return {@code true} if the seat is booked by the given booking and that booking is paid
+     */
+    public boolean isPaidSeatOwner(Long screeningId, int rowNumber, int seatNumber, UUID bookingId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_PAID_SEAT_OWNER_SQL, Boolean.class,
+                screeningId, rowNumber, seatNumber, bookingId));
+    }
+
+    /**
+     * @return those of the given screenings that still exist and have not ended by {@code now}
+     */
+    public List<Long> findScreeningsNotEnded(Collection<Long> screeningIds, LocalDateTime now) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(FIND_SCREENINGS_NOT_ENDED_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", screeningIds.toArray()));
+            statement.setTimestamp(2, Timestamp.valueOf(now));
+            return statement;
+        }, (rs, rowNum) -> rs.getLong("id"));
+    }
+
+}
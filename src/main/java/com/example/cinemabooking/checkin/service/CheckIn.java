@@ -0,0 +1,6 @@
+package com.example.cinemabooking.checkin.service;
+
+import java.time.LocalDateTime;
+
+public record CheckIn(Long screeningId, int rowNumber, int seatNumber, LocalDateTime checkedInAt) {
+}
@@ -0,0 +1,21 @@
+package com.example.cinemabooking.checkin.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param ticketSecret  HMAC key that ticket tokens are signed with
+ * @param flushInterval how often queued check-ins are written to the database
+ * @param batchSize     check-ins written per JDBC batch
+ * @param purgeInterval how often the used-seat bitmaps of ended or deleted screenings are dropped
+ */
+@ConfigurationProperties(prefix = "checkin")
+public record CheckInProperties(
+        String ticketSecret,
+        @DefaultValue("200ms") Duration flushInterval,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("10m") Duration purgeInterval
+) {
+}
@@ -0,0 +1,167 @@
+package com.example.cinemabooking.checkin.service;
+
+import com.example.cinemabooking.booking.dto.SeatRequest;
+import com.example.cinemabooking.booking.entity.Booking;
+import com.example.cinemabooking.booking.entity.BookingStatus;
+import com.example.cinemabooking.booking.repository.BookingJdbcRepository;
+import com.example.cinemabooking.booking.repository.BookingRepository;
+import com.example.cinemabooking.booking.service.PaidSeatOwners;
+import com.example.cinemabooking.booking.service.exception.BookingNotFoundException;
+import com.example.cinemabooking.booking.service.exception.BookingNotPaidException;
+import com.example.cinemabooking.checkin.dto.CheckInRequest;
+import com.example.cinemabooking.checkin.dto.CheckInResponse;
+import com.example.cinemabooking.checkin.dto.TicketResponse;
+import com.example.cinemabooking.checkin.repository.CheckInJdbcRepository;
+import com.example.cinemabooking.checkin.service.exception.InvalidTicketException;
+import com.example.cinemabooking.checkin.service.exception.TicketAlreadyUsedException;
+import com.example.cinemabooking.screening.repository.ScreeningSeatRepository;
+import com.example.cinemabooking.screening.service.SeatAvailabilityBitmap;
+import com.example.cinemabooking.screening.service.SeatAvailabilityCache;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Door check-in. A scan verifies the ticket signature and, against the in-memory {@link PaidSeatOwners}, that the
+ * seat still belongs to the ticket's paid booking, then marks the seat in an in-memory "used" bitset per screening
+ * with a compare-and-set, so a second scan of the same ticket is rejected even while the first one is still queued
+ * for the database. Only the first scan of a screening reads its paid seats and the seats already checked in, and a
+ * ticket is confirmed against the database only when the in-memory owners disagree with it, which covers payments
+ * committed on another instance. The state of screenings that ended or were deleted is dropped every
+ * {@code purge-interval}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CheckInService {
+
+    private final TicketSigner ticketSigner;
+    private final CheckInWriter checkInWriter;
+    private final CheckInJdbcRepository checkInJdbcRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingJdbcRepository bookingJdbcRepository;
+    private final ScreeningSeatRepository screeningSeatRepository;
+    private final SeatAvailabilityCache seatAvailabilityCache;
+    private final PaidSeatOwners paidSeatOwners;
+    private final CheckInProperties properties;
+    private final Clock clock;
+
+    private final ConcurrentMap<Long, SeatAvailabilityBitmap> usedSeats = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService purger =
+            Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("check-in-purge").daemon().factory());
+
+    @PostConstruct
+    void start() {
+        long purgeMillis = properties.purgeInterval().toMillis();
+        purger.scheduleWithFixedDelay(this::purgeQuietly, purgeMillis, purgeMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        purger.shutdownNow();
+    }
+
+    @Transactional(readOnly = true)
+    public List<TicketResponse> getTickets(Long screeningId, UUID bookingId) {
+        Booking booking = bookingRepository.findByUuid(bookingId)
+                .filter(found -> found.getScreening().getId().equals(screeningId))
+                .orElseThrow(() -> new BookingNotFoundException(bookingId));
+        if (booking.getStatus() != BookingStatus.PAID) {
+            throw new BookingNotPaidException(bookingId);
+        }
+        return bookingJdbcRepository.findBookingSeats(booking.getId()).stream()
+                .map(seat -> TicketResponse.builder()
+                        .rowNumber(seat.getRowNumber())
+                        .seatNumber(seat.getSeatNumber())
+                        .token(ticketSigner.sign(new Ticket(screeningId, seat.getRowNumber(), seat.getSeatNumber(), bookingId)))
+                        .build())
+                .toList();
+    }
+
+    public CheckInResponse checkIn(Long screeningId, CheckInRequest request) {
+        Ticket ticket = ticketSigner.verify(request.getToken())
+                .filter(verified -> verified.screeningId().equals(screeningId))
+                .orElseThrow(() -> new InvalidTicketException(screeningId));
+        SeatAvailabilityBitmap availability = seatAvailabilityCache.getOrLoad(screeningId);
+        if (!availability.contains(ticket.rowNumber(), ticket.seatNumber())
+                || availability.isAvailable(ticket.rowNumber(), ticket.seatNumber())) {
+            throw new InvalidTicketException(screeningId);
+        }
+        if (!paidSeatOwners.isOwner(screeningId, ticket.rowNumber(), ticket.seatNumber(), ticket.bookingId())
+                && !confirmPaidSeatOwner(screeningId, ticket)) {
+            throw new InvalidTicketException(screeningId);
+        }
+
+        SeatAvailabilityBitmap used = usedSeats.computeIfAbsent(screeningId, id -> loadUsedSeats(id, availability));
+        if (!used.tryReserve(ticket.rowNumber(), ticket.seatNumber())) {
+            throw new TicketAlreadyUsedException(ticket.rowNumber(), ticket.seatNumber());
+        }
+        LocalDateTime checkedInAt = LocalDateTime.now(clock);
+        checkInWriter.enqueue(new CheckIn(screeningId, ticket.rowNumber(), ticket.seatNumber(), checkedInAt));
+        return CheckInResponse.builder()
+                .screeningId(screeningId)
+                .bookingId(ticket.bookingId())
+                .rowNumber(ticket.rowNumber())
+                .seatNumber(ticket.seatNumber())
+                .checkedInAt(checkedInAt)
+                .build();
+    }
+
+    private boolean confirmPaidSeatOwner(Long screeningId, Ticket ticket) {
+        if (!checkInJdbcRepository.isPaidSeatOwner(screeningId, ticket.rowNumber(), ticket.seatNumber(),
+                ticket.bookingId())) {
+            return false;
+        }
+        paidSeatOwners.paid(screeningId, ticket.bookingId(),
+                List.of(new SeatRequest(ticket.rowNumber(), ticket.seatNumber())));
+        return true;
+    }
+
+    private SeatAvailabilityBitmap loadUsedSeats(Long screeningId, SeatAvailabilityBitmap availability) {
+        SeatAvailabilityBitmap used = new SeatAvailabilityBitmap(availability.getRows(), availability.getSeatsPerRow());
+        screeningSeatRepository.findByScreeningIdAndCheckedInAtIsNotNull(screeningId)
+                .forEach(seat -> used.tryReserve(seat.getRowNumber(), seat.getSeatNumber()));
+        return used;
+    }
+
+    int trackedScreenings() {
+        return usedSeats.size();
+    }
+
+    /**
+     * Drops the used-seat bitsets of screenings that have ended or no longer exist.
+     */
+    void purgeEndedScreenings() {
+        if (usedSeats.isEmpty()) {
+            return;
+        }
+        Set<Long> running = new HashSet<>(
+                checkInJdbcRepository.findScreeningsNotEnded(usedSeats.keySet(), LocalDateTime.now(clock)));
+        usedSeats.keySet().removeIf(screeningId -> !running.contains(screeningId));
+        paidSeatOwners.retainAll(running);
+    }
+
+    private void purgeQuietly() {
+        try {
+            purgeEndedScreenings();
+        } catch (RuntimeException e) {
+            log.warn("Purging check-in state of ended screenings failed", e);
+        }
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.example.cinemabooking.checkin.service;
+
+import com.example.cinemabooking.checkin.repository.CheckInJdbcRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes accepted check-ins to the database in the background, in JDBC batches, so a scan never waits for
+ * Postgres. Failed batches are queued again and retried on the next run.
+ */
+@Slf4j
+@Component
+public class CheckInWriter {
+
+    private final CheckInJdbcRepository checkInJdbcRepository;
+    private final CheckInProperties properties;
+    private final BlockingQueue<CheckIn> pending = new LinkedBlockingQueue<>();
+    private final ScheduledExecutorService flusher;
+
+    public CheckInWriter(CheckInJdbcRepository checkInJdbcRepository, CheckInProperties properties) {
+        this.checkInJdbcRepository = checkInJdbcRepository;
+        this.properties = properties;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("check-in-writer").daemon().factory());
+    }
+
+    @PostConstruct
+    void start() {
+        long flushMillis = properties.flushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        flusher.shutdownNow();
+        flush();
+    }
+
+    public void enqueue(CheckIn checkIn) {
+        pending.add(checkIn);
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    void flush() {
+        List<CheckIn> batch = new ArrayList<>(properties.batchSize());
+        while (pending.drainTo(batch, properties.batchSize()) > 0) {
+            try {
+                checkInJdbcRepository.markCheckedIn(batch);
+            } catch (RuntimeException e) {
+                pending.addAll(batch);
+                log.warn("Writing {} check-ins failed, retrying on the next run", batch.size(), e);
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+}
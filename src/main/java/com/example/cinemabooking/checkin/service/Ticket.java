@@ -0,0 +1,9 @@
+package com.example.cinemabooking.checkin.service;
+
+import java.util.UUID;
+
+/**
+ * Admission to one seat of a screening, as carried by a signed ticket token.
+ */
+public record Ticket(Long screeningId, int rowNumber, int seatNumber, UUID bookingId) {
+}
@@ -0,0 +1,83 @@
+package com.example.cinemabooking.checkin.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Issues and verifies ticket tokens: a fixed-size binary ticket followed by its HMAC-SHA256, base64url encoded.
+ * Verifying a token needs nothing but the shared key.
+ */
+@Component
+public class TicketSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int PAYLOAD_SIZE = Long.BYTES + Integer.BYTES * 2 + Long.BYTES * 2;
+    private static final int MAC_SIZE = 32;
+
+    private final ThreadLocal<Mac> macs;
+
+    public TicketSigner(CheckInProperties properties) {
+        Assert.hasText(properties.ticketSecret(), "checkin.ticket-secret must be set");
+        SecretKeySpec key = new SecretKeySpec(properties.ticketSecret().getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    public String sign(Ticket ticket) {
+        ByteBuffer token = ByteBuffer.allocate(PAYLOAD_SIZE + MAC_SIZE);
+        token.putLong(ticket.screeningId());
+        token.putInt(ticket.rowNumber());
+        token.putInt(ticket.seatNumber());
+        token.putLong(ticket.bookingId().getMostSignificantBits());
+        token.putLong(ticket.bookingId().getLeastSignificantBits());
+        token.put(mac(token.array()));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.array());
+    }
+
+    /**
+     * @return the ticket, or empty when the token is malformed or its signature does not match
+     */
+    public Optional<Ticket> verify(String token) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (bytes.length != PAYLOAD_SIZE + MAC_SIZE) {
+            return Optional.empty();
+        }
+        byte[] expected = mac(Arrays.copyOf(bytes, PAYLOAD_SIZE));
+        if (!MessageDigest.isEqual(expected, Arrays.copyOfRange(bytes, PAYLOAD_SIZE, bytes.length))) {
+            return Optional.empty();
+        }
+        ByteBuffer payload = ByteBuffer.wrap(bytes, 0, PAYLOAD_SIZE);
+        return Optional.of(new Ticket(payload.getLong(), payload.getInt(), payload.getInt(),
+                new UUID(payload.getLong(), payload.getLong())));
+    }
+
+    private byte[] mac(byte[] token) {
+        Mac mac = macs.get();
+        mac.update(token, 0, PAYLOAD_SIZE);
+        return mac.doFinal();
+    }
+
+}
@@ -0,0 +1,7 @@
+package com.example.cinemabooking.checkin.service.exception;
+
+public class InvalidTicketException extends RuntimeException {
+    public InvalidTicketException(Long screeningId) {
+        super("Ticket is not valid for screening with id " + screeningId + ".");
+    }
+}
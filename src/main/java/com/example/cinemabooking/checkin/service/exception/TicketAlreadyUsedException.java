@@ -0,0 +1,7 @@
+package com.example.cinemabooking.checkin.service.exception;
+
+public class TicketAlreadyUsedException extends RuntimeException {
+    public TicketAlreadyUsedException(int rowNumber, int seatNumber) {
+        super("Ticket for seat " + seatNumber + " in row " + rowNumber + " has already been used.");
+    }
+}
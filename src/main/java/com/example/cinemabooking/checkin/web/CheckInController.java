@@ -0,0 +1,31 @@
+package com.example.cinemabooking.checkin.web;
+
+import com.example.cinemabooking.checkin.dto.CheckInRequest;
+import com.example.cinemabooking.checkin.dto.CheckInResponse;
+import com.example.cinemabooking.checkin.dto.TicketResponse;
+import com.example.cinemabooking.checkin.service.CheckInService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/screening/{screeningId}")
+@RequiredArgsConstructor
+public class CheckInController {
+
+    private final CheckInService checkInService;
+
+    @GetMapping("/bookings/{bookingId}/tickets")
+    List<TicketResponse> getTickets(@PathVariable Long screeningId, @PathVariable UUID bookingId) {
+        return checkInService.getTickets(screeningId, bookingId);
+    }
+
+    @PostMapping("/check-in")
+    CheckInResponse checkIn(@PathVariable Long screeningId, @RequestBody @Valid CheckInRequest request) {
+        return checkInService.checkIn(screeningId, request);
+    }
+
+}
@@ -1,17 +1,38 @@
 package com.example.cinemabooking.common.exception;
 
+import com.example.cinemabooking.booking.journal.BookingJournalFullException;
+import com.example.cinemabooking.booking.service.exception.BookingExpiredException;
+import com.example.cinemabooking.booking.service.exception.BookingMailboxFullException;
+import com.example.cinemabooking.booking.service.exception.BookingNotFoundException;
+import com.example.cinemabooking.booking.service.exception.BookingNotPaidException;
+import com.example.cinemabooking.booking.service.exception.BookingTimeoutException;
+import com.example.cinemabooking.booking.service.exception.InsufficientSeatsException;
+import com.example.cinemabooking.booking.service.exception.SeatHoldNotFoundException;
+import com.example.cinemabooking.booking.service.exception.SeatsUnavailableException;
+import com.example.cinemabooking.checkin.service.exception.InvalidTicketException;
+import com.example.cinemabooking.checkin.service.exception.TicketAlreadyUsedException;
 import com.example.cinemabooking.hall.service.exception.CinemaHallAlreadyExistsException;
 import com.example.cinemabooking.hall.service.exception.CinemaHallNotFoundException;
 import com.example.cinemabooking.movie.service.exception.MovieAlreadyExistsException;
 import com.example.cinemabooking.movie.service.exception.MovieNotFoundException;
+import com.example.cinemabooking.screening.service.exception.InvalidPageRequestException;
+import com.example.cinemabooking.screening.service.exception.InvalidScheduleWindowException;
 import com.example.cinemabooking.screening.service.exception.ScreeningNotFoundException;
+import com.example.cinemabooking.screening.service.exception.ScreeningOverlapException;
+import com.example.cinemabooking.screening.service.exception.ScreeningScheduleChangedException;
 import com.example.cinemabooking.screening.service.exception.ScreeningTimeConflictException;
+import com.example.cinemabooking.screening.service.exception.SeatNotFoundException;
+import com.example.cinemabooking.waitingroom.service.exception.QueueTokenNotFoundException;
+import com.example.cinemabooking.waitingroom.service.exception.QueueTokenRequiredException;
+import com.example.cinemabooking.waitingroom.service.exception.WaitingRoomFullException;
+import com.example.cinemabooking.waitingroom.service.exception.WaitingRoomNotFoundException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.List;
 import java.util.Map;
@@ -25,7 +46,25 @@ class GlobalExceptionHandler {
             Map.entry(CinemaHallNotFoundException.class, HttpStatus.NOT_FOUND),
             Map.entry(CinemaHallAlreadyExistsException.class, HttpStatus.CONFLICT),
             Map.entry(ScreeningNotFoundException.class, HttpStatus.NOT_FOUND),
-            Map.entry(ScreeningTimeConflictException.class, HttpStatus.CONFLICT)
+            Map.entry(ScreeningTimeConflictException.class, HttpStatus.CONFLICT),
+            Map.entry(ScreeningScheduleChangedException.class, HttpStatus.CONFLICT),
+            Map.entry(InvalidScheduleWindowException.class, HttpStatus.BAD_REQUEST),
+            Map.entry(InvalidPageRequestException.class, HttpStatus.BAD_REQUEST),
+            Map.entry(SeatNotFoundException.class, HttpStatus.NOT_FOUND),
+            Map.entry(SeatHoldNotFoundException.class, HttpStatus.NOT_FOUND),
+            Map.entry(InsufficientSeatsException.class, HttpStatus.CONFLICT),
+            Map.entry(BookingNotFoundException.class, HttpStatus.NOT_FOUND),
+            Map.entry(BookingExpiredException.class, HttpStatus.CONFLICT),
+            Map.entry(BookingNotPaidException.class, HttpStatus.CONFLICT),
+            Map.entry(BookingMailboxFullException.class, HttpStatus.SERVICE_UNAVAILABLE),
+            Map.entry(BookingTimeoutException.class, HttpStatus.SERVICE_UNAVAILABLE),
+            Map.entry(BookingJournalFullException.class, HttpStatus.SERVICE_UNAVAILABLE),
+            Map.entry(InvalidTicketException.class, HttpStatus.FORBIDDEN),
+            Map.entry(TicketAlreadyUsedException.class, HttpStatus.CONFLICT),
+            Map.entry(WaitingRoomNotFoundException.class, HttpStatus.NOT_FOUND),
+            Map.entry(QueueTokenNotFoundException.class, HttpStatus.NOT_FOUND),
+            Map.entry(WaitingRoomFullException.class, HttpStatus.SERVICE_UNAVAILABLE),
+            Map.entry(QueueTokenRequiredException.class, HttpStatus.TOO_MANY_REQUESTS)
     );
 
     @ExceptionHandler({
@@ -34,7 +73,25 @@ class GlobalExceptionHandler {
             CinemaHallNotFoundException.class,
             CinemaHallAlreadyExistsException.class,
             ScreeningNotFoundException.class,
-            ScreeningTimeConflictException.class
+            ScreeningTimeConflictException.class,
+            ScreeningScheduleChangedException.class,
+            InvalidScheduleWindowException.class,
+            InvalidPageRequestException.class,
+            SeatNotFoundException.class,
+            SeatHoldNotFoundException.class,
+            InsufficientSeatsException.class,
+            BookingNotFoundException.class,
+            BookingExpiredException.class,
+            BookingNotPaidException.class,
+            BookingMailboxFullException.class,
+            BookingTimeoutException.class,
+            BookingJournalFullException.class,
+            InvalidTicketException.class,
+            TicketAlreadyUsedException.class,
+            WaitingRoomNotFoundException.class,
+            QueueTokenNotFoundException.class,
+            WaitingRoomFullException.class,
+            QueueTokenRequiredException.class
     })
     ResponseEntity<ApiExceptionResponse> handleKnownExceptions(RuntimeException e) {
         HttpStatus status = EXCEPTION_STATUS_MAP.getOrDefault(e.getClass(), HttpStatus.INTERNAL_SERVER_ERROR);
@@ -45,6 +102,35 @@ class GlobalExceptionHandler {
         return ResponseEntity.status(status).body(response);
     }
 
+    @ExceptionHandler(SeatsUnavailableException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    ApiExceptionResponse handleSeatsUnavailableException(SeatsUnavailableException e) {
+        List<String> messages = e.getSeats().stream()
+                .map(seat -> "Seat " + seat.getSeatNumber() + " in row " + seat.getRowNumber() + " is not available.")
+                .toList();
+        return ApiExceptionResponse.builder()
+                .message(e.getMessage())
+                .messages(messages)
+                .status(HttpStatus.CONFLICT.value())
+                .build();
+    }
+
+    @ExceptionHandler(ScreeningOverlapException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    ApiExceptionResponse handleScreeningOverlapException(ScreeningOverlapException e) {
+        List<String> messages = e.getOverlaps().stream()
+                .map(overlap -> "Screening " + overlap.screeningId() + " in cinema hall '" + overlap.hallName() + "' ("
+                        + overlap.startTime() + " - " + overlap.endTime() + ") would overlap screening "
+                        + overlap.conflictingScreeningId() + " (" + overlap.conflictingStartTime() + " - "
+                        + overlap.conflictingEndTime() + ").")
+                .toList();
+        return ApiExceptionResponse.builder()
+                .message(e.getMessage())
+                .messages(messages)
+                .status(HttpStatus.CONFLICT.value())
+                .build();
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     ApiExceptionResponse handleMethodArgumentNotValidException(MethodArgumentNotValidException e) {
@@ -57,6 +143,15 @@ class GlobalExceptionHandler {
                 .build();
     }
 
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    ApiExceptionResponse handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException e) {
+        return ApiExceptionResponse.builder()
+                .messages(List.of(e.getName() + ": invalid value '" + e.getValue() + "'."))
+                .status(HttpStatus.BAD_REQUEST.value())
+                .build();
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     ApiExceptionResponse handleOtherExceptions(Exception e) {
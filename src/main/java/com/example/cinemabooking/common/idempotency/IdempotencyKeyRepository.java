@@ -0,0 +1,107 @@
+package com.example.cinemabooking.common.idempotency;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+class IdempotencyKeyRepository {
+
+    private static final String FIND_SQL = """
+            SELECT request_hash, status, content_type, body, expires_at
+            FROM idempotency_keys
+            WHERE idempotency_key = ?
+              AND request_path = ?
+              AND status IS NOT NULL
+              AND expires_at > ?
+            """;
+
+    /*
+     * A placeholder whose request outlived the in-flight timeout, typically because its instance died, is taken
+     * over; any other existing row keeps the key.
+     */
+    private static final String INSERT_PLACEHOLDER_SQL = """
+            INSERT INTO idempotency_keys (idempotency_key, request_path, request_hash, expires_at)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (idempotency_key, request_path) DO UPDATE
+            SET request_hash = EXCLUDED.request_hash,
+                status = NULL,
+                content_type = NULL,
+                body = NULL,
+                created_at = now(),
+                expires_at = EXCLUDED.expires_at
+            WHERE idempotency_keys.expires_at <= ?
+            """;
+
+    private static final String SAVE_SQL = """
+            INSERT INTO idempotency_keys (idempotency_key, request_path, request_hash, status, content_type, body, expires_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (idempotency_key, request_path) DO UPDATE
+            SET status = EXCLUDED.status,
+                content_type = EXCLUDED.content_type,
+                body = EXCLUDED.body,
+                expires_at = EXCLUDED.expires_at
+            WHERE idempotency_keys.status IS NULL
+              AND idempotency_keys.request_hash = EXCLUDED.request_hash
+            """;
+
+    private static final String DELETE_PLACEHOLDER_SQL = """
+            DELETE FROM idempotency_keys
+            WHERE idempotency_key = ?
+              AND request_path = ?
+              AND status IS NULL
+            """;
+
+    private static final String DELETE_EXPIRED_SQL = """
+            DELETE FROM idempotency_keys
+            WHERE expires_at <= ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    Optional<StoredResponse> find(String key, String path, LocalDateTime now) {
+        return jdbcTemplate.query(FIND_SQL, (rs, rowNum) -> new StoredResponse(
+                rs.getString("request_hash"),
+                rs.getInt("status"),
+                rs.getString("content_type"),
+                rs.getBytes("body"),
+                rs.getTimestamp("expires_at").toLocalDateTime()
+        ), key, path, Timestamp.valueOf(now)).stream().findFirst();
+    }
+
+    /**
+     * Claims a key for a request that is about to run.
+     *
+     * @return {@code false} if the key already has a recorded response or a request in progress
+     */
+    boolean insertPlaceholder(String key, String path, String requestHash, LocalDateTime expiresAt,
+                              LocalDateTime now) {
+        return jdbcTemplate.update(INSERT_PLACEHOLDER_SQL, key, path, requestHash, Timestamp.valueOf(expiresAt),
+                Timestamp.valueOf(now)) == 1;
+    }
+
+    /**
+     * Records the response in place of the key's placeholder.
+     */
+    void save(String key, String path, StoredResponse response) {
+        jdbcTemplate.update(SAVE_SQL, key, path, response.requestHash(), response.status(), response.contentType(),
+                response.body(), Timestamp.valueOf(response.expiresAt()));
+    }
+
+    /**
+     * Releases a key whose request ended without a recorded response, so it can be retried.
+     */
+    void deletePlaceholder(String key, String path) {
+        jdbcTemplate.update(DELETE_PLACEHOLDER_SQL, key, path);
+    }
+
+    int deleteExpired(LocalDateTime now) {
+        return jdbcTemplate.update(DELETE_EXPIRED_SQL, Timestamp.valueOf(now));
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.example.cinemabooking.common.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param ttl             how long a stored response is replayed for retries of the same key
+ * @param maxEntries      responses kept in memory; older ones are still found in the database
+ * @param purgeInterval   how often expired keys are deleted from the database
+ * @param inFlightTimeout how long a key stays claimed by a request without a recorded response, so the key of a
+ *                        request whose instance died can be used again
+ */
+@ConfigurationProperties(prefix = "idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("24h") Duration ttl,
+        @DefaultValue("10000") int maxEntries,
+        @DefaultValue("10m") Duration purgeInterval,
+        @DefaultValue("1m") Duration inFlightTimeout
+) {
+}
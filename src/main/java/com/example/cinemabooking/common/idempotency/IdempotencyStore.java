@@ -0,0 +1,131 @@
+package com.example.cinemabooking.common.idempotency;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Responses recorded per idempotency key. Recent keys are answered from a bounded in-memory LRU; the database
+ * table backs it up, so a key evicted from memory or recorded by another instance is still replayed until its TTL
+ * runs out. A request claims its key with a placeholder row before it runs, so a retry arriving at any instance
+ * while it is in progress is turned away.
+ */
+@Component
+class IdempotencyStore {
+
+    private final IdempotencyKeyRepository repository;
+    private final IdempotencyProperties properties;
+    private final Clock clock;
+    private final Map<String, StoredResponse> recent;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService purger;
+
+    IdempotencyStore(IdempotencyKeyRepository repository, IdempotencyProperties properties, Clock clock) {
+        this.repository = repository;
+        this.properties = properties;
+        this.clock = clock;
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > properties.maxEntries();
+            }
+        };
+        this.purger = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("idempotency-purge").daemon().factory());
+    }
+
+    @PostConstruct
+    void start() {
+        long purgeMillis = properties.purgeInterval().toMillis();
+        purger.scheduleWithFixedDelay(this::purgeExpired, purgeMillis, purgeMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        purger.shutdownNow();
+    }
+
+    Optional<StoredResponse> find(String key, String path) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        String id = id(key, path);
+        StoredResponse response;
+        synchronized (recent) {
+            response = recent.get(id);
+        }
+        if (response != null && response.expiresAt().isAfter(now)) {
+            return Optional.of(response);
+        }
+        Optional<StoredResponse> stored = repository.find(key, path, now);
+        stored.ifPresent(found -> remember(id, found));
+        return stored;
+    }
+
+    /**
+     * @return {@code false} when the key already has a recorded response or a request with the same key is still
+     * being processed, on this or another instance
+     */
+    boolean begin(String key, String path, String requestHash) {
+        String id = id(key, path);
+        if (!inFlight.add(id)) {
+            return false;
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        try {
+            if (repository.insertPlaceholder(key, path, requestHash, now.plus(properties.inFlightTimeout()), now)) {
+                return true;
+            }
+        } catch (RuntimeException e) {
+            inFlight.remove(id);
+            throw e;
+        }
+        inFlight.remove(id);
+        return false;
+    }
+
+    /**
+     * Ends a request started with {@link #begin}. Without a recorded response its key is released for retries.
+     */
+    void complete(String key, String path) {
+        try {
+            repository.deletePlaceholder(key, path);
+        } finally {
+            inFlight.remove(id(key, path));
+        }
+    }
+
+    void save(String key, String path, String requestHash, int status, String contentType, byte[] body) {
+        StoredResponse response = new StoredResponse(requestHash, status, contentType, body,
+                LocalDateTime.now(clock).plus(properties.ttl()));
+        repository.save(key, path, response);
+        remember(id(key, path), response);
+    }
+
+    private void remember(String id, StoredResponse response) {
+        synchronized (recent) {
+            recent.put(id, response);
+        }
+    }
+
+    void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        synchronized (recent) {
+            recent.values().removeIf(response -> !response.expiresAt().isAfter(now));
+        }
+        repository.deleteExpired(now);
+    }
+
+    private static String id(String key, String path) {
+        return path + " " + key;
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.example.cinemabooking.common.idempotency;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response recorded for an idempotency key, together with a hash of the request body that produced it.
+ */
+record StoredResponse(String requestHash, int status, String contentType, byte[] body, LocalDateTime expiresAt) {
+}
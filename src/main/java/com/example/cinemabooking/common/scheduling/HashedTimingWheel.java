@@ -0,0 +1,145 @@
+package com.example.cinemabooking.common.scheduling;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel (Varghese &amp; Lauck) with O(1) schedule and cancel.
+ * <p>
+ * {@link #schedule} and {@link Timeout#cancel()} may be called from any thread. {@link #advanceTo} must only
+ * be called by a single driver thread; it moves the wheel forward tick by tick and hands every timeout whose
+ * deadline has passed to the given consumer. Deadlines further away than one revolution are kept in their
+ * bucket with a remaining-rounds counter. A consumer that throws is logged and skipped, so one failing timeout
+ * never holds back the others.
+ */
+@Slf4j
+public class HashedTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int mask;
+    private final List<List<Timeout<T>>> buckets;
+    private final Queue<Timeout<T>> pending = new ConcurrentLinkedQueue<>();
+
+    private long currentTick;
+
+    public HashedTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive: " + tickMillis);
+        }
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of two: " + wheelSize);
+        }
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.buckets = new ArrayList<>(wheelSize);
+        for (int i = 0; i < wheelSize; i++) {
+            buckets.add(new ArrayList<>());
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    public Timeout<T> schedule(T task, long deadlineMillis) {
+        Timeout<T> timeout = new Timeout<>(task, deadlineMillis);
+        pending.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Advances the wheel up to {@code nowMillis}.
+     *
+     * @return number of expired timeouts handed to {@code onExpired}
+     */
+    public int advanceTo(long nowMillis, Consumer<T> onExpired) {
+        long targetTick = nowMillis / tickMillis;
+        int expired = 0;
+        while (currentTick < targetTick) {
+            currentTick++;
+            transferPending();
+            expired += expireBucket(buckets.get((int) (currentTick & mask)), onExpired);
+        }
+        return expired;
+    }
+
+    private void transferPending() {
+        Timeout<T> timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            long deadlineTick = Math.max((timeout.deadlineMillis + tickMillis - 1) / tickMillis, currentTick);
+            timeout.remainingRounds = (deadlineTick - currentTick) / buckets.size();
+            buckets.get((int) (deadlineTick & mask)).add(timeout);
+        }
+    }
+
+    private int expireBucket(List<Timeout<T>> bucket, Consumer<T> onExpired) {
+        int expired = 0;
+        int kept = 0;
+        for (Timeout<T> timeout : bucket) {
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            if (timeout.remainingRounds > 0) {
+                timeout.remainingRounds--;
+                bucket.set(kept++, timeout);
+            } else if (timeout.state.compareAndSet(Timeout.PENDING, Timeout.EXPIRED)) {
+                expired++;
+                try {
+                    onExpired.accept(timeout.task);
+                } catch (RuntimeException e) {
+                    log.warn("Expiring timeout {} failed", timeout.task, e);
+                }
+            }
+        }
+        bucket.subList(kept, bucket.size()).clear();
+        return expired;
+    }
+
+    public static final class Timeout<T> {
+
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final T task;
+        private final long deadlineMillis;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private long remainingRounds;
+
+        private Timeout(T task, long deadlineMillis) {
+            this.task = task;
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        public T getTask() {
+            return task;
+        }
+
+        public long getDeadlineMillis() {
+            return deadlineMillis;
+        }
+
+        /**
+         * @return {@code true} if the timeout was still pending and will never expire now
+         */
+        public boolean cancel() {
+            return state.compareAndSet(PENDING, CANCELLED);
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+    }
+
+}
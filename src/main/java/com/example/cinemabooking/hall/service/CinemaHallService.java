@@ -12,7 +12,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -40,6 +44,15 @@ public class CinemaHallService {
                 .orElseThrow(() -> new CinemaHallNotFoundException(id));
     }
 
+    /**
+     * Loads the cinema halls with the given ids in one query; ids without a hall are missing from the result.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, CinemaHall> getCinemaHallsById(Collection<Long> ids) {
+        return cinemaHallRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(CinemaHall::getId, Function.identity()));
+    }
+
     @Transactional
     public CinemaHallResponse createCinemaHall(CreateCinemaHallRequest createCinemaHallRequest) {
         String cinemaHallName = createCinemaHallRequest.getName();
@@ -8,17 +8,25 @@ import com.example.cinemabooking.movie.mapper.MovieMapper;
 import com.example.cinemabooking.movie.repository.MovieRepository;
 import com.example.cinemabooking.movie.service.exception.MovieAlreadyExistsException;
 import com.example.cinemabooking.movie.service.exception.MovieNotFoundException;
+import com.example.cinemabooking.screening.service.ScheduleIndex;
+import com.example.cinemabooking.screening.service.ScreeningRescheduler;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class MovieService {
 
     private final MovieRepository movieRepository;
+    private final ScreeningRescheduler screeningRescheduler;
+    private final ScheduleIndex scheduleIndex;
 
     @Transactional(readOnly = true)
     public List<MovieResponse> getAllMovies() {
@@ -40,6 +48,15 @@ public class MovieService {
                 .orElseThrow(() -> new MovieNotFoundException(id));
     }
 
+    /**
+     * Loads the movies with the given ids in one query; ids without a movie are missing from the result.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Movie> getMoviesById(Collection<Long> ids) {
+        return movieRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Movie::getId, Function.identity()));
+    }
+
     @Transactional
     public MovieResponse createMovie(CreateMovieRequest createMovieRequest) {
         validateUniqueTitle(createMovieRequest.getTitle(), null);
@@ -55,25 +72,44 @@ public class MovieService {
                 });
     }
 
+    /**
+     * Applies the fields set in the request. A new title or genre is also shown in the screening listings, so the
+     * schedule index is rebuilt once the change commits; a new duration is rebuilt by the rescheduler.
+     */
     @Transactional
     public MovieResponse updateMovie(Long id, UpdateMovieRequest request) {
         Movie movie = getMovieOrThrow(id);
+        boolean listingsChanged = request.getTitle().filter(title -> !title.equals(movie.getTitle())).isPresent()
+                || request.getGenre().filter(genre -> !genre.equals(movie.getGenre())).isPresent();
         request.getTitle().ifPresent(newTitle -> {
             validateUniqueTitle(newTitle, id);
             movie.setTitle(newTitle);
         });
         request.getDescription().ifPresent(movie::setDescription);
         request.getGenre().ifPresent(movie::setGenre);
-        request.getDurationMinutes().ifPresent(movie::setDurationMinutes);
+        request.getDurationMinutes()
+                .filter(durationMinutes -> durationMinutes != movie.getDurationMinutes())
+                .ifPresent(durationMinutes -> {
+                    screeningRescheduler.rescheduleMovie(id, durationMinutes);
+                    movie.setDurationMinutes(durationMinutes);
+                });
         request.getReleaseDate().ifPresent(movie::setReleaseDate);
         request.getAgeRating().ifPresent(movie::setAgeRating);
+        if (listingsChanged) {
+            scheduleIndex.refreshAfterCommit();
+        }
         return MovieMapper.toResponse(movie);
     }
 
+    /**
+     * Deletes the movie with its screenings, which the database cascades, so the schedule index is rebuilt once the
+     * deletion commits.
+     */
     @Transactional
     public void deleteMovie(Long id) {
         Movie movie = getMovieOrThrow(id);
         movieRepository.delete(movie);
+        scheduleIndex.refreshAfterCommit();
     }
 
 }
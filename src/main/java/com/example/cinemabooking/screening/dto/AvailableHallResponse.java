@@ -0,0 +1,16 @@
+package com.example.cinemabooking.screening.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class AvailableHallResponse {
+
+    Long id;
+    String name;
+    int rows;
+    int seatsPerRow;
+    int capacity;
+
+}
@@ -0,0 +1,24 @@
+package com.example.cinemabooking.screening.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkCreateScreeningsRequest {
+
+    @NotEmpty
+    @Size(max = 1000)
+    private List<@NotNull @Valid CreateScreeningRequest> screenings;
+
+}
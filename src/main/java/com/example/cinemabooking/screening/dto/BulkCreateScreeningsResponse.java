@@ -0,0 +1,16 @@
+package com.example.cinemabooking.screening.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class BulkCreateScreeningsResponse {
+
+    int created;
+    int rejected;
+    List<BulkScreeningResultResponse> results;
+
+}
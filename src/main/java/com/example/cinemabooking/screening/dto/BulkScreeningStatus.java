@@ -0,0 +1,9 @@
+package com.example.cinemabooking.screening.dto;
+
+public enum BulkScreeningStatus {
+    CREATED,
+    MOVIE_NOT_FOUND,
+    CINEMA_HALL_NOT_FOUND,
+    CONFLICTS_WITH_EXISTING,
+    CONFLICTS_WITH_BATCH
+}
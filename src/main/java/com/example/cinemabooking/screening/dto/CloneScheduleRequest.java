@@ -0,0 +1,41 @@
+package com.example.cinemabooking.screening.dto;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CloneScheduleRequest {
+
+    @NotNull
+    private LocalDateTime from;
+
+    @NotNull
+    private LocalDateTime to;
+
+    /**
+     * New start of the window; every copied screening is shifted by {@code targetFrom - from}.
+     */
+    @NotNull
+    @FutureOrPresent
+    private LocalDateTime targetFrom;
+
+    private Long cinemaHallId;
+
+    private Long movieId;
+
+    @AssertTrue(message = "to must be after from")
+    public boolean isValidRange() {
+        return from == null || to == null || to.isAfter(from);
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.example.cinemabooking.screening.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class CloneScheduleResponse {
+
+    int matched;
+    int created;
+    int skipped;
+
+}
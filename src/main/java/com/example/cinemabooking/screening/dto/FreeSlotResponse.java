@@ -0,0 +1,18 @@
+package com.example.cinemabooking.screening.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * A gap in a hall's schedule: the movie fits when started at any grid point between the two times.
+ */
+@Value
+@Builder
+public class FreeSlotResponse {
+
+    LocalDateTime earliestStart;
+    LocalDateTime latestStart;
+
+}
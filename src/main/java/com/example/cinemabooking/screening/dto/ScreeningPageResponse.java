@@ -0,0 +1,15 @@
+package com.example.cinemabooking.screening.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+@Builder
+public class ScreeningPageResponse {
+
+    List<ScreeningResponse> screenings;
+    String nextCursor;
+
+}
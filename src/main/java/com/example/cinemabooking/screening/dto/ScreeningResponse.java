@@ -7,7 +7,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Value
-@Builder
+@Builder(toBuilder = true)
 public class ScreeningResponse {
 
     Long id;
@@ -18,6 +18,7 @@ public class ScreeningResponse {
     Long cinemaHallId;
     String cinemaHallName;
     int hallCapacity;
+    int availableSeats;
     LocalDateTime startTime;
     LocalDateTime endTime;
     BigDecimal price;
@@ -0,0 +1,62 @@
+package com.example.cinemabooking.screening.dto;
+
+import com.example.cinemabooking.movie.entity.AgeRating;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Optional filters of the screening search, combined with AND. Start times are matched in {@code [from, to)}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScreeningSearchRequest {
+
+    private Long movieId;
+
+    private Long cinemaHallId;
+
+    private String genre;
+
+    private AgeRating ageRating;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    @PositiveOrZero
+    private BigDecimal minPrice;
+
+    @PositiveOrZero
+    private BigDecimal maxPrice;
+
+    /**
+     * Cursor of the previous page, as returned in {@link ScreeningPageResponse#getNextCursor()}.
+     */
+    private String after;
+
+    @Builder.Default
+    private int limit = 20;
+
+    @AssertTrue(message = "to must be after from")
+    public boolean isValidTimeRange() {
+        return from == null || to == null || to.isAfter(from);
+    }
+
+    @AssertTrue(message = "maxPrice must not be lower than minPrice")
+    public boolean isValidPriceRange() {
+        return minPrice == null || maxPrice == null || maxPrice.compareTo(minPrice) >= 0;
+    }
+
+}
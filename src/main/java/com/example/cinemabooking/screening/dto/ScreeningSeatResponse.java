@@ -0,0 +1,15 @@
+package com.example.cinemabooking.screening.dto;
+
+import com.example.cinemabooking.screening.entity.SeatStatus;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class ScreeningSeatResponse {
+
+    int rowNumber;
+    int seatNumber;
+    SeatStatus status;
+
+}
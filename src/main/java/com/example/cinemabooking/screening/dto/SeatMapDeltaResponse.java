@@ -0,0 +1,20 @@
+package com.example.cinemabooking.screening.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Seats whose state changed since the previous delta. Each entry carries the seat's current state rather than
+ * the transition, so applying deltas in order always converges on the actual seat map.
+ */
+@Value
+@Builder
+public class SeatMapDeltaResponse {
+
+    Long screeningId;
+    long sequence;
+    List<ScreeningSeatResponse> seats;
+
+}
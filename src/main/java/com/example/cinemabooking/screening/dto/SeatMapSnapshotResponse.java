@@ -0,0 +1,21 @@
+package com.example.cinemabooking.screening.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Full seat map sent when a stream opens or a slow subscriber has to resynchronize. {@code taken} is a base64
+ * encoded little-endian bitset in which bit {@code (rowNumber - 1) * seatsPerRow + (seatNumber - 1)} marks a
+ * taken seat.
+ */
+@Value
+@Builder
+public class SeatMapSnapshotResponse {
+
+    Long screeningId;
+    long sequence;
+    int rows;
+    int seatsPerRow;
+    String taken;
+
+}
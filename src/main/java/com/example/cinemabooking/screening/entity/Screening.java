@@ -17,10 +17,7 @@ import java.time.LocalDateTime;
 @EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = true)
 @SuperBuilder
 @Entity
-@Table(
-        name = "screenings",
-        uniqueConstraints = @UniqueConstraint(columnNames = {"hall_id", "start_time"})
-)
+@Table(name = "screenings")
 public class Screening extends BaseEntity {
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -40,4 +37,10 @@ public class Screening extends BaseEntity {
     @Column(name = "price", nullable = false, precision = 10, scale = 2)
     private BigDecimal price;
 
+    /**
+     * Available seats as of the changes {@code SeatCounters} of every instance have flushed.
+     */
+    @Column(name = "seats_available", nullable = false, updatable = false)
+    private int seatsAvailable;
+
 }
@@ -0,0 +1,47 @@
+package com.example.cinemabooking.screening.entity;
+
+import com.example.cinemabooking.common.jpa.BaseEntity;
+import com.example.cinemabooking.hall.entity.Seat;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+@EqualsAndHashCode(onlyExplicitlyIncluded = true, callSuper = true)
+@SuperBuilder
+@Entity
+@Table(
+        name = "screening_seats",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"screening_id", "row_number", "seat_number"}),
+        indexes = @Index(name = "idx_screening_seats_screening_status", columnList = "screening_id, status")
+)
+public class ScreeningSeat extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "screening_id", nullable = false)
+    private Screening screening;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "seat_id", nullable = false)
+    private Seat seat;
+
+    @Column(name = "row_number", nullable = false)
+    private int rowNumber;
+
+    @Column(name = "seat_number", nullable = false)
+    private int seatNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private SeatStatus status = SeatStatus.AVAILABLE;
+
+    @Column(name = "checked_in_at")
+    private LocalDateTime checkedInAt;
+
+}
@@ -0,0 +1,5 @@
+package com.example.cinemabooking.screening.entity;
+
+public enum SeatStatus {
+    AVAILABLE, BOOKED
+}
@@ -2,15 +2,32 @@ package com.example.cinemabooking.screening.mapper;
 
 import com.example.cinemabooking.hall.entity.CinemaHall;
 import com.example.cinemabooking.movie.entity.Movie;
+import com.example.cinemabooking.screening.dto.AvailableHallResponse;
+import com.example.cinemabooking.screening.dto.BulkCreateScreeningsResponse;
+import com.example.cinemabooking.screening.dto.BulkScreeningResultResponse;
+import com.example.cinemabooking.screening.dto.BulkScreeningStatus;
+import com.example.cinemabooking.screening.dto.CloneScheduleResponse;
 import com.example.cinemabooking.screening.dto.CreateScreeningRequest;
+import com.example.cinemabooking.screening.dto.ScreeningPageResponse;
 import com.example.cinemabooking.screening.dto.ScreeningResponse;
+import com.example.cinemabooking.screening.dto.ScreeningSearchRequest;
+import com.example.cinemabooking.screening.dto.ScreeningSeatResponse;
+import com.example.cinemabooking.screening.dto.SeatMapSnapshotResponse;
 import com.example.cinemabooking.screening.entity.Screening;
+import com.example.cinemabooking.screening.entity.SeatStatus;
+import com.example.cinemabooking.screening.repository.ClonedSchedule;
+import com.example.cinemabooking.screening.repository.HallCapacity;
+import com.example.cinemabooking.screening.repository.ScreeningSearchCriteria;
+import com.example.cinemabooking.screening.repository.ScreeningView;
+import com.example.cinemabooking.screening.service.SeatAvailabilityBitmap;
 
 import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
 
 public class ScreeningMapper {
 
-    public static ScreeningResponse toResponse(Screening screening) {
+    public static ScreeningResponse toResponse(Screening screening, int availableSeats) {
         Movie movie = screening.getMovie();
         CinemaHall hall = screening.getCinemaHall();
         return ScreeningResponse.builder()
@@ -22,12 +39,82 @@ public class ScreeningMapper {
                 .cinemaHallId(hall.getId())
                 .cinemaHallName(hall.getName())
                 .hallCapacity(hall.getRows() * hall.getSeatsPerRow())
+                .availableSeats(availableSeats)
                 .startTime(screening.getStartTime())
                 .endTime(screening.getEndTime())
                 .price(screening.getPrice())
                 .build();
     }
 
+    public static ScreeningResponse toResponse(ScreeningView screening, int availableSeats) {
+        return ScreeningResponse.builder()
+                .id(screening.id())
+                .movieId(screening.movieId())
+                .movieTitle(screening.movieTitle())
+                .movieGenre(screening.movieGenre())
+                .durationMinutes(screening.durationMinutes())
+                .cinemaHallId(screening.cinemaHallId())
+                .cinemaHallName(screening.cinemaHallName())
+                .hallCapacity(screening.rows() * screening.seatsPerRow())
+                .availableSeats(availableSeats)
+                .startTime(screening.startTime())
+                .endTime(screening.endTime())
+                .price(screening.price())
+                .build();
+    }
+
+    public static ScreeningResponse withAvailableSeats(ScreeningResponse response, int availableSeats) {
+        return response.getAvailableSeats() == availableSeats
+                ? response
+                : response.toBuilder().availableSeats(availableSeats).build();
+    }
+
+    public static ScreeningPageResponse toPageResponse(List<ScreeningResponse> screenings, String nextCursor) {
+        return ScreeningPageResponse.builder()
+                .screenings(screenings)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    public static ScreeningSearchCriteria toSearchCriteria(ScreeningSearchRequest request) {
+        return new ScreeningSearchCriteria(request.getMovieId(), request.getCinemaHallId(), request.getGenre(),
+                request.getAgeRating(), request.getFrom(), request.getTo(), request.getMinPrice(), request.getMaxPrice());
+    }
+
+    public static BulkScreeningResultResponse toBulkResultResponse(int index, BulkScreeningStatus status, ScreeningResponse screening) {
+        return BulkScreeningResultResponse.builder()
+                .index(index)
+                .status(status)
+                .screening(screening)
+                .build();
+    }
+
+    public static BulkCreateScreeningsResponse toBulkResponse(int created, List<BulkScreeningResultResponse> results) {
+        return BulkCreateScreeningsResponse.builder()
+                .created(created)
+                .rejected(results.size() - created)
+                .results(results)
+                .build();
+    }
+
+    public static CloneScheduleResponse toCloneResponse(ClonedSchedule cloned) {
+        return CloneScheduleResponse.builder()
+                .matched(cloned.matched())
+                .created(cloned.created().size())
+                .skipped(cloned.matched() - cloned.created().size())
+                .build();
+    }
+
+    public static AvailableHallResponse toAvailableHallResponse(HallCapacity hall) {
+        return AvailableHallResponse.builder()
+                .id(hall.hallId())
+                .name(hall.name())
+                .rows(hall.rows())
+                .seatsPerRow(hall.seatsPerRow())
+                .capacity(hall.rows() * hall.seatsPerRow())
+                .build();
+    }
+
     public static Screening toEntity(CreateScreeningRequest request, Movie movie, CinemaHall cinemaHall, LocalDateTime endTime) {
         return Screening.builder()
                 .movie(movie)
@@ -35,6 +122,25 @@ public class ScreeningMapper {
                 .startTime(request.getStartTime())
                 .endTime(endTime)
                 .price(request.getPrice())
+                .seatsAvailable(cinemaHall.getRows() * cinemaHall.getSeatsPerRow())
+                .build();
+    }
+
+    public static ScreeningSeatResponse toSeatResponse(int rowNumber, int seatNumber, boolean available) {
+        return ScreeningSeatResponse.builder()
+                .rowNumber(rowNumber)
+                .seatNumber(seatNumber)
+                .status(available ? SeatStatus.AVAILABLE : SeatStatus.BOOKED)
+                .build();
+    }
+
+    public static SeatMapSnapshotResponse toSnapshotResponse(Long screeningId, long sequence, SeatAvailabilityBitmap bitmap) {
+        return SeatMapSnapshotResponse.builder()
+                .screeningId(screeningId)
+                .sequence(sequence)
+                .rows(bitmap.getRows())
+                .seatsPerRow(bitmap.getSeatsPerRow())
+                .taken(Base64.getEncoder().encodeToString(bitmap.toByteArray()))
                 .build();
     }
 
@@ -0,0 +1,10 @@
+package com.example.cinemabooking.screening.repository;
+
+import java.util.Map;
+
+/**
+ * @param matched screenings found in the source window
+ * @param created available seats of every created screening, by id
+ */
+public record ClonedSchedule(int matched, Map<Long, Integer> created) {
+}
@@ -0,0 +1,4 @@
+package com.example.cinemabooking.screening.repository;
+
+public record HallCapacity(long hallId, String name, int rows, int seatsPerRow) {
+}
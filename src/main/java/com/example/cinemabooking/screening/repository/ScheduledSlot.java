@@ -0,0 +1,6 @@
+package com.example.cinemabooking.screening.repository;
+
+import java.time.LocalDateTime;
+
+public record ScheduledSlot(long hallId, LocalDateTime startTime, LocalDateTime endTime) {
+}
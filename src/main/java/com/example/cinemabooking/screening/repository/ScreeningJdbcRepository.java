@@ -0,0 +1,457 @@
+package com.example.cinemabooking.screening.repository;
+
+import com.example.cinemabooking.screening.entity.Screening;
+import com.example.cinemabooking.screening.snapshot.SeatSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Set-based screening reads and writes that Spring Data cannot express.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ScreeningJdbcRepository {
+
+    private static final String RECOUNT_SEATS_AVAILABLE_SQL = """
+            UPDATE screenings s
+            SET seats_available = counts.available
+            FROM (
+                SELECT ss.screening_id, COUNT(*) FILTER (WHERE ss.status = 'AVAILABLE') AS available
+                FROM screening_seats ss
+                JOIN screenings running ON running.id = ss.screening_id
+                WHERE running.end_time > ?
+                GROUP BY ss.screening_id
+            ) counts
+            WHERE counts.screening_id = s.id
+              AND s.seats_available <> counts.available
+            """;
+
+    private static final String FIND_SEATS_AVAILABLE_SQL = """
+            SELECT id, seats_available
+            FROM screenings
+            WHERE end_time > ?
+            """;
+
+    private static final String ADD_SEATS_AVAILABLE_SQL = """
+            UPDATE screenings
+            SET seats_available = seats_available + ?
+            WHERE id = ?
+            """;
+
+    private static final String CURRENT_TIMESTAMP_SQL = """
+            SELECT LOCALTIMESTAMP
+            """;
+
+    private static final String FIND_SEAT_STATES_SQL = """
+            SELECT s.id, s.uuid, h.rows, h.seats_per_row, ss.row_number, ss.seat_number
+            FROM screenings s
+            JOIN cinema_halls h ON h.id = s.hall_id
+            LEFT JOIN screening_seats ss ON ss.screening_id = s.id AND ss.status = 'BOOKED'
+            WHERE s.end_time > ?
+            ORDER BY s.id
+            """;
+
+    private static final String FIND_LAYOUTS_SQL = """
+            SELECT s.id, s.uuid, h.rows, h.seats_per_row
+            FROM screenings s
+            JOIN cinema_halls h ON h.id = s.hall_id
+            WHERE s.id = ANY (?)
+            """;
+
+    private static final String FIND_SEAT_STATUS_CHANGES_SQL = """
+            SELECT screening_id, row_number, seat_number, status
+            FROM screening_seats
+            WHERE status_changed_at > ?
+              AND screening_id = ANY (?)
+            """;
+
+    private static final String FIND_SCHEDULED_SLOTS_SQL = """
+            SELECT hall_id, start_time, end_time
+            FROM screenings
+            WHERE hall_id = ANY (?)
+              AND start_time < ?
+              AND end_time > ?
+            ORDER BY hall_id, start_time
+            """;
+
+    private static final String INSERT_SCREENING_SQL = """
+            INSERT INTO screenings (movie_id, hall_id, start_time, end_time, price, seats_available)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String CREATE_INVENTORIES_SQL = """
+            INSERT INTO screening_seats (screening_id, seat_id, row_number, seat_number, status)
+            SELECT sc.id, s.id, s.row_number, s.seat_number, 'AVAILABLE'
+            FROM screenings sc
+            JOIN seats s ON s.hall_id = sc.hall_id
+            WHERE sc.id = ANY (?)
+            """;
+
+    private static final String CLONE_SCREENINGS_SQL = """
+            WITH source AS (
+                SELECT movie_id, hall_id,
+                       start_time + ? * INTERVAL '1 second' AS start_time,
+                       end_time + ? * INTERVAL '1 second' AS end_time,
+                       price
+                FROM screenings
+                WHERE start_time >= ?
+                  AND start_time < ?
+                  AND (?::bigint IS NULL OR hall_id = ?)
+                  AND (?::bigint IS NULL OR movie_id = ?)
+            ), inserted AS (
+                INSERT INTO screenings (movie_id, hall_id, start_time, end_time, price, seats_available)
+                SELECT src.movie_id, src.hall_id, src.start_time, src.end_time, src.price, h.rows * h.seats_per_row
+                FROM source src
+                JOIN cinema_halls h ON h.id = src.hall_id
+                WHERE NOT EXISTS (
+                    SELECT 1
+                    FROM screenings s
+                    WHERE s.hall_id = src.hall_id
+                      AND tsrange(s.start_time, s.end_time) && tsrange(src.start_time, src.end_time)
+                )
+                ON CONFLICT DO NOTHING
+                RETURNING id, hall_id, seats_available
+            ), inventory AS (
+                INSERT INTO screening_seats (screening_id, seat_id, row_number, seat_number, status)
+                SELECT i.id, s.id, s.row_number, s.seat_number, 'AVAILABLE'
+                FROM inserted i
+                JOIN seats s ON s.hall_id = i.hall_id
+            )
+            SELECT (SELECT COUNT(*) FROM source) AS matched,
+                   ARRAY(SELECT id FROM inserted ORDER BY id) AS ids,
+                   ARRAY(SELECT seats_available FROM inserted ORDER BY id) AS seats_available
+            """;
+
+    private static final String FIND_AVAILABLE_HALLS_SQL = """
+            SELECT h.id, h.name, h.rows, h.seats_per_row
+            FROM cinema_halls h
+            WHERE h.rows * h.seats_per_row >= ?
+              AND NOT EXISTS (
+                  SELECT 1
+                  FROM screenings s
+                  WHERE s.hall_id = h.id
+                    AND tsrange(s.start_time, s.end_time) && tsrange(?, ?)
+              )
+            ORDER BY h.name
+            """;
+
+    static final String SELECT_SCREENING_VIEWS_SQL = """
+            SELECT s.id, m.id AS movie_id, m.title, m.genre, m.duration_minutes, h.id AS hall_id, h.name,
+                   h.rows, h.seats_per_row, s.start_time, s.end_time, s.price, s.seats_available
+            FROM screenings s
+            JOIN movies m ON m.id = s.movie_id
+            JOIN cinema_halls h ON h.id = s.hall_id
+            """;
+
+    private static final String FIND_SCREENING_VIEWS_SQL = SELECT_SCREENING_VIEWS_SQL + """
+            ORDER BY s.start_time, s.id
+            """;
+
+    private static final String FIND_RESCHEDULE_OVERLAPS_SQL = """
+            WITH rescheduled AS (
+                SELECT id, hall_id, start_time, start_time + ? * INTERVAL '1 minute' AS end_time
+                FROM screenings
+                WHERE movie_id = ?
+                  AND start_time > ?
+            ), schedule AS (
+                SELECT s.id, s.hall_id, s.start_time, COALESCE(r.end_time, s.end_time) AS end_time,
+                       r.id IS NOT NULL AS rescheduled
+                FROM screenings s
+                LEFT JOIN rescheduled r ON r.id = s.id
+                WHERE s.hall_id IN (SELECT hall_id FROM rescheduled)
+                  AND s.end_time > ?
+            )
+            SELECT r.id, h.name AS hall_name, r.start_time, r.end_time,
+                   o.id AS conflicting_id, o.start_time AS conflicting_start_time, o.end_time AS conflicting_end_time
+            FROM rescheduled r
+            JOIN schedule o ON o.hall_id = r.hall_id
+                           AND o.id <> r.id
+                           AND (NOT o.rescheduled OR o.id > r.id)
+                           AND tsrange(o.start_time, o.end_time) && tsrange(r.start_time, r.end_time)
+            JOIN cinema_halls h ON h.id = r.hall_id
+            ORDER BY r.start_time, o.start_time
+            """;
+
+    private static final String RESCHEDULE_MOVIE_SQL = """
+            UPDATE screenings
+            SET end_time = start_time + ? * INTERVAL '1 minute'
+            WHERE movie_id = ?
+              AND start_time > ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Recomputes every screening's available-seat count from its inventory in one aggregate statement.
+     */
+    public int recountSeatsAvailable(LocalDateTime endingAfter) {
+        return jdbcTemplate.update(RECOUNT_SEATS_AVAILABLE_SQL, Timestamp.valueOf(endingAfter));
+    }
+
+    public Map<Long, Integer> findSeatsAvailable(LocalDateTime endingAfter) {
+        Map<Long, Integer> seatsAvailable = new HashMap<>();
+        jdbcTemplate.query(FIND_SEATS_AVAILABLE_SQL,
+                rs -> {
+                    seatsAvailable.put(rs.getLong("id"), rs.getInt("seats_available"));
+                }, Timestamp.valueOf(endingAfter));
+        return seatsAvailable;
+    }
+
+    /**
+     * Adds each delta to its screening's available-seat count, so instances sharing the database each apply their own
+     * changes instead of overwriting the others'.
+     */
+    public void addSeatsAvailable(Map<Long, Integer> deltas) {
+        List<Map.Entry<Long, Integer>> entries = List.copyOf(deltas.entrySet());
+        jdbcTemplate.batchUpdate(ADD_SEATS_AVAILABLE_SQL, entries, entries.size(), (statement, entry) -> {
+            statement.setInt(1, entry.getValue());
+            statement.setLong(2, entry.getKey());
+        });
+    }
+
+    public LocalDateTime currentTimestamp() {
+        return jdbcTemplate.queryForObject(CURRENT_TIMESTAMP_SQL, Timestamp.class).toLocalDateTime();
+    }
+
+    /**
+     * Reads the taken seats of every screening ending after the given time in one pass, one bitset per screening.
+     */
+    public List<SeatSnapshot.ScreeningSeats> findSeatStates(LocalDateTime endingAfter) {
+        SeatStateCollector collector = new SeatStateCollector();
+        jdbcTemplate.query(FIND_SEAT_STATES_SQL, collector, Timestamp.valueOf(endingAfter));
+        return collector.finish();
+    }
+
+    public Map<Long, ScreeningLayout> findLayouts(Collection<Long> screeningIds) {
+        Map<Long, ScreeningLayout> layouts = new HashMap<>();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(FIND_LAYOUTS_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", screeningIds.toArray()));
+            return statement;
+        }, rs -> {
+            layouts.put(rs.getLong("id"), new ScreeningLayout(rs.getLong("id"), rs.getObject("uuid", UUID.class),
+                    rs.getInt("rows"), rs.getInt("seats_per_row")));
+        });
+        return layouts;
+    }
+
+    public List<SeatStatusChange> findSeatStatusChanges(LocalDateTime since, Collection<Long> screeningIds) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(FIND_SEAT_STATUS_CHANGES_SQL);
+            statement.setTimestamp(1, Timestamp.valueOf(since));
+            statement.setArray(2, connection.createArrayOf("bigint", screeningIds.toArray()));
+            return statement;
+        }, (rs, rowNum) -> new SeatStatusChange(rs.getLong("screening_id"), rs.getInt("row_number"),
+                rs.getInt("seat_number"), "BOOKED".equals(rs.getString("status"))));
+    }
+
+    /**
+     * Reads the screenings of the given halls overlapping {@code [from, to)} in one range query, ordered by hall and
+     * start time.
+     */
+    public List<ScheduledSlot> findScheduledSlots(Collection<Long> hallIds, LocalDateTime from, LocalDateTime to) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(FIND_SCHEDULED_SLOTS_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", hallIds.toArray()));
+            statement.setTimestamp(2, Timestamp.valueOf(to));
+            statement.setTimestamp(3, Timestamp.valueOf(from));
+            return statement;
+        }, (rs, rowNum) -> new ScheduledSlot(rs.getLong("hall_id"), rs.getTimestamp("start_time").toLocalDateTime(),
+                rs.getTimestamp("end_time").toLocalDateTime()));
+    }
+
+    /**
+     * Lists the halls with at least {@code minCapacity} seats and no screening overlapping {@code [from, to)}, as one
+     * anti-join served by the hall/time exclusion index.
+     */
+    public List<HallCapacity> findAvailableHalls(LocalDateTime from, LocalDateTime to, int minCapacity) {
+        return jdbcTemplate.query(FIND_AVAILABLE_HALLS_SQL,
+                (rs, rowNum) -> new HallCapacity(rs.getLong("id"), rs.getString("name"), rs.getInt("rows"),
+                        rs.getInt("seats_per_row")),
+                minCapacity, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    /**
+     * Hands every screening, ordered by start time, to {@code consumer} while the rows are read. The driver only
+     * fetches {@code fetchSize} rows per round trip inside a transaction, so callers must hold one to keep memory
+     * flat.
+     */
+    public void streamScreeningViews(int fetchSize, Consumer<ScreeningView> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(FIND_SCREENING_VIEWS_SQL,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, rs -> {
+            consumer.accept(toScreeningView(rs));
+        });
+    }
+
+    /**
+     * Finds one keyset page of screenings matching the criteria, see {@link ScreeningSearchQuery}.
+     */
+    public List<ScreeningView> searchScreenings(ScreeningSearchCriteria criteria, LocalDateTime afterStartTime,
+                                                Long afterId, int limit) {
+        ScreeningSearchQuery query = ScreeningSearchQuery.of(criteria, afterStartTime, afterId, limit);
+        return jdbcTemplate.query(query.sql(), (rs, rowNum) -> toScreeningView(rs), query.args().toArray());
+    }
+
+    /**
+     * Inserts the screenings as one JDBC batch and assigns the generated ids to them.
+     */
+    public void insertScreenings(List<Screening> screenings) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SCREENING_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        Screening screening = screenings.get(i);
+                        statement.setLong(1, screening.getMovie().getId());
+                        statement.setLong(2, screening.getCinemaHall().getId());
+                        statement.setTimestamp(3, Timestamp.valueOf(screening.getStartTime()));
+                        statement.setTimestamp(4, Timestamp.valueOf(screening.getEndTime()));
+                        statement.setBigDecimal(5, screening.getPrice());
+                        statement.setInt(6, screening.getSeatsAvailable());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return screenings.size();
+                    }
+                }, keyHolder);
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < screenings.size(); i++) {
+            screenings.get(i).setId(((Number) keys.get(i).get("id")).longValue());
+        }
+    }
+
+    /**
+     * Materializes the seat inventory of several screenings from their hall layouts in one statement.
+     */
+    public int createInventories(Collection<Long> screeningIds) {
+        return jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(CREATE_INVENTORIES_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", screeningIds.toArray()));
+            return statement;
+        });
+    }
+
+    /**
+     * Copies the screenings starting in {@code [from, to)} shifted by {@code offset}, together with their seat
+     * inventories, in one statement. Copies overlapping a screening already in the target hall are skipped, both
+     * by the overlap check and, for concurrent inserts, by the hall/time exclusion constraint.
+     */
+    public ClonedSchedule cloneScreenings(LocalDateTime from, LocalDateTime to, Duration offset, Long hallId, Long movieId) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(CLONE_SCREENINGS_SQL);
+            statement.setLong(1, offset.toSeconds());
+            statement.setLong(2, offset.toSeconds());
+            statement.setTimestamp(3, Timestamp.valueOf(from));
+            statement.setTimestamp(4, Timestamp.valueOf(to));
+            statement.setObject(5, hallId, Types.BIGINT);
+            statement.setObject(6, hallId, Types.BIGINT);
+            statement.setObject(7, movieId, Types.BIGINT);
+            statement.setObject(8, movieId, Types.BIGINT);
+            return statement;
+        }, rs -> {
+            rs.next();
+            Long[] ids = (Long[]) rs.getArray("ids").getArray();
+            Integer[] seatsAvailable = (Integer[]) rs.getArray("seats_available").getArray();
+            Map<Long, Integer> created = new LinkedHashMap<>();
+            for (int i = 0; i < ids.length; i++) {
+                created.put(ids[i], seatsAvailable[i]);
+            }
+            return new ClonedSchedule(rs.getInt("matched"), created);
+        });
+    }
+
+    /**
+     * Finds every pair of screenings that would overlap if the movie's screenings starting after {@code now} lasted
+     * {@code durationMinutes}, comparing them against the rest of their halls' schedules with the new end times.
+     */
+    public List<ScreeningOverlap> findRescheduleOverlaps(Long movieId, int durationMinutes, LocalDateTime now) {
+        return jdbcTemplate.query(FIND_RESCHEDULE_OVERLAPS_SQL,
+                (rs, rowNum) -> new ScreeningOverlap(rs.getLong("id"), rs.getString("hall_name"),
+                        rs.getTimestamp("start_time").toLocalDateTime(), rs.getTimestamp("end_time").toLocalDateTime(),
+                        rs.getLong("conflicting_id"), rs.getTimestamp("conflicting_start_time").toLocalDateTime(),
+                        rs.getTimestamp("conflicting_end_time").toLocalDateTime()),
+                durationMinutes, movieId, Timestamp.valueOf(now), Timestamp.valueOf(now));
+    }
+
+    /**
+     * Recomputes the end time of the movie's screenings starting after {@code now} in one statement.
+     */
+    public int rescheduleMovie(Long movieId, int durationMinutes, LocalDateTime now) {
+        return jdbcTemplate.update(RESCHEDULE_MOVIE_SQL, durationMinutes, movieId, Timestamp.valueOf(now));
+    }
+
+    private static ScreeningView toScreeningView(ResultSet rs) throws SQLException {
+        return new ScreeningView(rs.getLong("id"), rs.getLong("movie_id"), rs.getString("title"),
+                rs.getString("genre"), rs.getInt("duration_minutes"), rs.getLong("hall_id"), rs.getString("name"),
+                rs.getInt("rows"), rs.getInt("seats_per_row"), rs.getTimestamp("start_time").toLocalDateTime(),
+                rs.getTimestamp("end_time").toLocalDateTime(), rs.getBigDecimal("price"),
+                rs.getInt("seats_available"));
+    }
+
+    /**
+     * Folds the rows of {@link #FIND_SEAT_STATES_SQL}, ordered by screening, into one bitset per screening.
+     */
+    private static final class SeatStateCollector implements RowCallbackHandler {
+
+        private final List<SeatSnapshot.ScreeningSeats> states = new ArrayList<>();
+        private ScreeningLayout layout;
+        private BitSet taken;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long screeningId = rs.getLong("id");
+            if (layout == null || layout.screeningId() != screeningId) {
+                completeScreening();
+                layout = new ScreeningLayout(screeningId, rs.getObject("uuid", UUID.class),
+                        rs.getInt("rows"), rs.getInt("seats_per_row"));
+                taken = new BitSet(layout.rows() * layout.seatsPerRow());
+            }
+            int rowNumber = rs.getInt("row_number");
+            if (!rs.wasNull()) {
+                taken.set((rowNumber - 1) * layout.seatsPerRow() + rs.getInt("seat_number") - 1);
+            }
+        }
+
+        private List<SeatSnapshot.ScreeningSeats> finish() {
+            completeScreening();
+            return states;
+        }
+
+        private void completeScreening() {
+            if (layout != null) {
+                states.add(new SeatSnapshot.ScreeningSeats(layout.screeningId(), layout.screeningUuid(),
+                        layout.rows(), layout.seatsPerRow(), taken.toByteArray()));
+                layout = null;
+            }
+        }
+
+    }
+
+}
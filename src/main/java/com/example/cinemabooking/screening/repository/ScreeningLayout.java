@@ -0,0 +1,6 @@
+package com.example.cinemabooking.screening.repository;
+
+import java.util.UUID;
+
+public record ScreeningLayout(long screeningId, UUID screeningUuid, int rows, int seatsPerRow) {
+}
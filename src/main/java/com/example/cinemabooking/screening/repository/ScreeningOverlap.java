@@ -0,0 +1,11 @@
+package com.example.cinemabooking.screening.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * A rescheduled screening and another screening of the same hall it would overlap.
+ */
+public record ScreeningOverlap(long screeningId, String hallName, LocalDateTime startTime, LocalDateTime endTime,
+                               long conflictingScreeningId, LocalDateTime conflictingStartTime,
+                               LocalDateTime conflictingEndTime) {
+}
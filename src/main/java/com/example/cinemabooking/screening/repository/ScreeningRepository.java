@@ -12,32 +12,35 @@ import java.util.Optional;
 
 public interface ScreeningRepository extends JpaRepository<Screening, Long> {
 
-    @NonNull
-    @EntityGraph(attributePaths = {"movie", "cinemaHall"})
-    List<Screening> findAll();
+    String SELECT_VIEW = """
+                SELECT new com.example.cinemabooking.screening.repository.ScreeningView(
+                    s.id, m.id, m.title, m.genre, m.durationMinutes, h.id, h.name, h.rows, h.seatsPerRow,
+                    s.startTime, s.endTime, s.price, s.seatsAvailable)
+                FROM Screening s
+                JOIN s.movie m
+                JOIN s.cinemaHall h
+            """;
 
-    @NonNull
-    @EntityGraph(attributePaths = {"movie", "cinemaHall"})
-    Optional<Screening> findById(@NonNull Long id);
+    @Query(SELECT_VIEW + "ORDER BY s.startTime, s.id")
+    List<ScreeningView> findAllViews();
 
-    @NonNull
-    @EntityGraph(attributePaths = {"movie", "cinemaHall"})
-    List<Screening> findByMovieId(@NonNull Long movieId);
+    @Query(SELECT_VIEW + "WHERE s.endTime > :endingAfter ORDER BY s.startTime, s.id")
+    List<ScreeningView> findViewsEndingAfter(LocalDateTime endingAfter);
 
-    @NonNull
-    @EntityGraph(attributePaths = {"movie", "cinemaHall"})
-    List<Screening> findByCinemaHallId(@NonNull Long cinemaHallId);
+    @Query(SELECT_VIEW + "WHERE s.startTime >= :from AND s.startTime < :to ORDER BY s.startTime, s.id")
+    List<ScreeningView> findViewsStartingBetween(LocalDateTime from, LocalDateTime to);
+
+    @Query(SELECT_VIEW + "WHERE m.id = :movieId AND s.startTime < :before ORDER BY s.startTime, s.id")
+    List<ScreeningView> findViewsByMovieStartingBefore(Long movieId, LocalDateTime before);
+
+    @Query(SELECT_VIEW + "WHERE h.id = :cinemaHallId AND s.startTime < :before ORDER BY s.startTime, s.id")
+    List<ScreeningView> findViewsByCinemaHallStartingBefore(Long cinemaHallId, LocalDateTime before);
+
+    @Query(SELECT_VIEW + "WHERE s.id = :id")
+    Optional<ScreeningView> findViewById(Long id);
 
     @NonNull
     @EntityGraph(attributePaths = {"movie", "cinemaHall"})
-    List<Screening> findByStartTimeBetween(@NonNull LocalDateTime startOfDay, @NonNull LocalDateTime endOfDay);
-
-    @Query("""
-                SELECT COUNT(s) > 0 FROM Screening s
-                WHERE s.cinemaHall.id = :hallId
-                  AND s.startTime < :endTime
-                  AND s.endTime > :startTime
-            """)
-    boolean existsTimeConflict(Long hallId, LocalDateTime startTime, LocalDateTime endTime);
+    Optional<Screening> findById(@NonNull Long id);
 
 }
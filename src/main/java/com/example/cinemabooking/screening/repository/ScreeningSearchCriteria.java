@@ -0,0 +1,29 @@
+package com.example.cinemabooking.screening.repository;
+
+import com.example.cinemabooking.movie.entity.AgeRating;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Filters of the screening search; {@code null} leaves a filter out. Start times are matched in {@code [from, to)},
+ * prices inclusively.
+ */
+public record ScreeningSearchCriteria(
+        Long movieId,
+        Long cinemaHallId,
+        String genre,
+        AgeRating ageRating,
+        LocalDateTime from,
+        LocalDateTime to,
+        BigDecimal minPrice,
+        BigDecimal maxPrice
+) {
+
+    /**
+     * No filter at all: the full listing, read from {@code idx_screenings_start_time_id}.
+     */
+    public static final ScreeningSearchCriteria NONE =
+            new ScreeningSearchCriteria(null, null, null, null, null, null, null, null);
+
+}
@@ -0,0 +1,74 @@
+package com.example.cinemabooking.screening.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SQL of one screening search page, with a predicate for each filter that is set and nothing for the rest. Catch-all
+ * predicates such as {@code (? IS NULL OR s.movie_id = ?)} would leave the planner one generic plan for every
+ * combination; spelled out, each combination can seek on its own index:
+ * <ul>
+ *     <li>movie: {@code idx_screenings_movie_start_time}</li>
+ *     <li>hall: {@code idx_screenings_hall_start_time}</li>
+ *     <li>genre, or genre and age rating: {@code idx_movies_genre_age_rating}, then the movie index</li>
+ *     <li>age rating: {@code idx_movies_age_rating}, then the movie index</li>
+ *     <li>time range, price range or nothing: {@code idx_screenings_start_time_id}</li>
+ * </ul>
+ * Every index ends in {@code (start_time, id)}, so the page is read in keyset order and continues after the cursor
+ * with a row comparison.
+ */
+record ScreeningSearchQuery(String sql, List<Object> args) {
+
+    static ScreeningSearchQuery of(ScreeningSearchCriteria criteria, LocalDateTime afterStartTime, Long afterId,
+                                   int limit) {
+        List<String> predicates = new ArrayList<>();
+        List<Object> args = new ArrayList<>();
+        if (criteria.movieId() != null) {
+            predicates.add("s.movie_id = ?");
+            args.add(criteria.movieId());
+        }
+        if (criteria.cinemaHallId() != null) {
+            predicates.add("s.hall_id = ?");
+            args.add(criteria.cinemaHallId());
+        }
+        if (criteria.genre() != null) {
+            predicates.add("m.genre = ?");
+            args.add(criteria.genre());
+        }
+        if (criteria.ageRating() != null) {
+            predicates.add("m.age_rating = ?");
+            args.add(criteria.ageRating().name());
+        }
+        if (criteria.from() != null) {
+            predicates.add("s.start_time >= ?");
+            args.add(Timestamp.valueOf(criteria.from()));
+        }
+        if (criteria.to() != null) {
+            predicates.add("s.start_time < ?");
+            args.add(Timestamp.valueOf(criteria.to()));
+        }
+        if (criteria.minPrice() != null) {
+            predicates.add("s.price >= ?");
+            args.add(criteria.minPrice());
+        }
+        if (criteria.maxPrice() != null) {
+            predicates.add("s.price <= ?");
+            args.add(criteria.maxPrice());
+        }
+        if (afterStartTime != null) {
+            predicates.add("(s.start_time, s.id) > (?, ?)");
+            args.add(Timestamp.valueOf(afterStartTime));
+            args.add(afterId);
+        }
+        StringBuilder sql = new StringBuilder(ScreeningJdbcRepository.SELECT_SCREENING_VIEWS_SQL);
+        if (!predicates.isEmpty()) {
+            sql.append("WHERE ").append(String.join("\n  AND ", predicates)).append('\n');
+        }
+        sql.append("ORDER BY s.start_time, s.id\nLIMIT ?\n");
+        args.add(limit);
+        return new ScreeningSearchQuery(sql.toString(), List.copyOf(args));
+    }
+
+}
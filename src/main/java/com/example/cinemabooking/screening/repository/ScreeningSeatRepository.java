@@ -0,0 +1,29 @@
+package com.example.cinemabooking.screening.repository;
+
+import com.example.cinemabooking.screening.entity.ScreeningSeat;
+import com.example.cinemabooking.screening.entity.SeatStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface ScreeningSeatRepository extends JpaRepository<ScreeningSeat, Long> {
+
+    /**
+     * Materializes the seat inventory of a screening from the hall layout in one set-based statement.
+     */
+    @Modifying
+    @Query(value = """
+                INSERT INTO screening_seats (screening_id, seat_id, row_number, seat_number, status)
+                SELECT :screeningId, s.id, s.row_number, s.seat_number, 'AVAILABLE'
+                FROM seats s
+                WHERE s.hall_id = :hallId
+            """, nativeQuery = true)
+    int createInventory(Long screeningId, Long hallId);
+
+    List<ScreeningSeat> findByScreeningIdAndStatus(Long screeningId, SeatStatus status);
+
+    List<ScreeningSeat> findByScreeningIdAndCheckedInAtIsNotNull(Long screeningId);
+
+}
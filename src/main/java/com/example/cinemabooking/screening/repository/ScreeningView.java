@@ -0,0 +1,25 @@
+package com.example.cinemabooking.screening.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only row of the screening listings, selected column by column instead of hydrating the screening, movie and
+ * hall entities. Not managed by the persistence context, so it is neither snapshotted nor dirty-checked.
+ */
+public record ScreeningView(
+        Long id,
+        Long movieId,
+        String movieTitle,
+        String movieGenre,
+        int durationMinutes,
+        Long cinemaHallId,
+        String cinemaHallName,
+        int rows,
+        int seatsPerRow,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        BigDecimal price,
+        int seatsAvailable
+) {
+}
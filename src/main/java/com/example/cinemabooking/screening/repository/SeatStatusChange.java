@@ -0,0 +1,4 @@
+package com.example.cinemabooking.screening.repository;
+
+public record SeatStatusChange(long screeningId, int rowNumber, int seatNumber, boolean booked) {
+}
@@ -0,0 +1,58 @@
+package com.example.cinemabooking.screening.service;
+
+import com.example.cinemabooking.screening.dto.FreeSlotResponse;
+import com.example.cinemabooking.screening.repository.ScheduledSlot;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds the gaps of one hall's schedule that fit a screening, in one pass over its screenings ordered by start.
+ * Every screening keeps the hall busy for the turnaround after it ends, and a new screening needs the turnaround
+ * before the next one starts.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class FreeSlotFinder {
+
+    static List<FreeSlotResponse> findFreeSlots(List<ScheduledSlot> scheduled, LocalDateTime from, LocalDateTime to,
+                                                Duration duration, Duration turnaround, Duration grid) {
+        List<FreeSlotResponse> slots = new ArrayList<>();
+        LocalDateTime busyUntil = from;
+        for (ScheduledSlot screening : scheduled) {
+            LocalDateTime freeUntil = screening.startTime().minus(turnaround);
+            addSlot(slots, busyUntil, freeUntil.isBefore(to) ? freeUntil : to, duration, grid);
+            LocalDateTime end = screening.endTime().plus(turnaround);
+            busyUntil = end.isAfter(busyUntil) ? end : busyUntil;
+        }
+        addSlot(slots, busyUntil, to, duration, grid);
+        return slots;
+    }
+
+    private static void addSlot(List<FreeSlotResponse> slots, LocalDateTime freeFrom, LocalDateTime freeUntil,
+                                Duration duration, Duration grid) {
+        LocalDateTime earliestStart = snap(freeFrom, grid, true);
+        LocalDateTime latestStart = snap(freeUntil.minus(duration), grid, false);
+        if (!latestStart.isBefore(earliestStart)) {
+            slots.add(FreeSlotResponse.builder()
+                    .earliestStart(earliestStart)
+                    .latestStart(latestStart)
+                    .build());
+        }
+    }
+
+    private static LocalDateTime snap(LocalDateTime time, Duration grid, boolean up) {
+        long gridSeconds = grid.toSeconds();
+        long second = time.toLocalTime().toSecondOfDay();
+        long snapped = second / gridSeconds * gridSeconds;
+        if (up && (snapped < second || time.getNano() > 0)) {
+            snapped += gridSeconds;
+        }
+        return time.truncatedTo(ChronoUnit.DAYS).plusSeconds(snapped);
+    }
+
+}
@@ -0,0 +1,17 @@
+package com.example.cinemabooking.screening.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param grid      start times of free slots are snapped to this grid, counted from midnight
+ * @param maxWindow longest window a single free-slot search may cover
+ */
+@ConfigurationProperties(prefix = "screening.free-slots")
+public record FreeSlotProperties(
+        @DefaultValue("15m") Duration grid,
+        @DefaultValue("31d") Duration maxWindow
+) {
+}
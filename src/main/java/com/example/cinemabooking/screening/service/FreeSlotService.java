@@ -0,0 +1,72 @@
+package com.example.cinemabooking.screening.service;
+
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.hall.service.CinemaHallService;
+import com.example.cinemabooking.movie.entity.Movie;
+import com.example.cinemabooking.movie.service.MovieService;
+import com.example.cinemabooking.screening.dto.AvailableHallResponse;
+import com.example.cinemabooking.screening.dto.FreeSlotResponse;
+import com.example.cinemabooking.screening.mapper.ScreeningMapper;
+import com.example.cinemabooking.screening.repository.ScheduledSlot;
+import com.example.cinemabooking.screening.repository.ScreeningJdbcRepository;
+import com.example.cinemabooking.screening.service.exception.InvalidScheduleWindowException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class FreeSlotService {
+
+    private final ScreeningJdbcRepository screeningJdbcRepository;
+    private final CinemaHallService cinemaHallService;
+    private final MovieService movieService;
+    private final FreeSlotProperties properties;
+
+    /**
+     * Lists the start windows in {@code [from, to)} where the movie, followed by the turnaround, fits into the hall's
+     * schedule. The hall's screenings are read with one range query.
+     */
+    @Transactional(readOnly = true)
+    public List<FreeSlotResponse> getFreeSlots(Long hallId, Long movieId, LocalDateTime from, LocalDateTime to,
+                                               int turnaroundMinutes) {
+        validateWindow(from, to, turnaroundMinutes);
+        CinemaHall cinemaHall = cinemaHallService.getCinemaHallOrThrow(hallId);
+        Movie movie = movieService.getMovieOrThrow(movieId);
+        Duration turnaround = Duration.ofMinutes(turnaroundMinutes);
+        List<ScheduledSlot> scheduled = screeningJdbcRepository.findScheduledSlots(
+                List.of(cinemaHall.getId()), from.minus(turnaround), to.plus(turnaround));
+        return FreeSlotFinder.findFreeSlots(scheduled, from, to, Duration.ofMinutes(movie.getDurationMinutes()),
+                turnaround, properties.grid());
+    }
+
+    /**
+     * Lists the halls free for the whole of {@code [from, to)} with at least {@code minCapacity} seats, in one query.
+     */
+    @Transactional(readOnly = true)
+    public List<AvailableHallResponse> getAvailableHalls(LocalDateTime from, LocalDateTime to, int minCapacity) {
+        if (!to.isAfter(from)) {
+            throw new InvalidScheduleWindowException("to must be after from.");
+        }
+        return screeningJdbcRepository.findAvailableHalls(from, to, minCapacity).stream()
+                .map(ScreeningMapper::toAvailableHallResponse)
+                .toList();
+    }
+
+    private void validateWindow(LocalDateTime from, LocalDateTime to, int turnaroundMinutes) {
+        if (!to.isAfter(from)) {
+            throw new InvalidScheduleWindowException("to must be after from.");
+        }
+        if (Duration.between(from, to).compareTo(properties.maxWindow()) > 0) {
+            throw new InvalidScheduleWindowException("Window must not be longer than " + properties.maxWindow() + ".");
+        }
+        if (turnaroundMinutes < 0) {
+            throw new InvalidScheduleWindowException("turnaroundMinutes must not be negative.");
+        }
+    }
+
+}
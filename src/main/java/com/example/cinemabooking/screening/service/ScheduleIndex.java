@@ -0,0 +1,292 @@
+package com.example.cinemabooking.screening.service;
+
+import com.example.cinemabooking.screening.dto.ScreeningResponse;
+import com.example.cinemabooking.screening.mapper.ScreeningMapper;
+import com.example.cinemabooking.screening.repository.ScreeningRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * In-memory copy of the screening schedule serving the date, hall and movie listings without touching the
+ * database. The index is an immutable {@link Schedule} of pre-built responses that is swapped atomically: screenings
+ * created or deleted on this instance are applied once their transaction commits, and the whole index is rebuilt
+ * periodically to pick up changes made elsewhere. Only screenings that have not ended are kept, so the index grows
+ * with the upcoming schedule rather than with the history; ended ones are pruned as they end. Available seat counts
+ * in the stored responses are only a fallback, callers overlay the live counts from {@link SeatCounters}.
+ */
+@Slf4j
+@Component
+public class ScheduleIndex {
+
+    private static final Comparator<ScreeningResponse> BY_START_TIME =
+            Comparator.comparing(ScreeningResponse::getStartTime).thenComparing(ScreeningResponse::getId);
+    private static final int MAX_REFRESH_ATTEMPTS = 5;
+
+    private final ScreeningRepository screeningRepository;
+    private final ScheduleIndexProperties properties;
+    private final Clock clock;
+    private final AtomicReference<Schedule> schedule = new AtomicReference<>(Schedule.EMPTY);
+    private final ScheduledExecutorService refresher;
+
+    public ScheduleIndex(ScreeningRepository screeningRepository, ScheduleIndexProperties properties, Clock clock) {
+        this.screeningRepository = screeningRepository;
+        this.properties = properties;
+        this.clock = clock;
+        this.refresher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("schedule-index").daemon().factory());
+    }
+
+    @PostConstruct
+    void start() {
+        refresh();
+        long refreshMillis = properties.refreshInterval().toMillis();
+        refresher.scheduleWithFixedDelay(this::refreshQuietly, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+        long pruneMillis = properties.pruneInterval().toMillis();
+        refresher.scheduleWithFixedDelay(this::pruneQuietly, pruneMillis, pruneMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        refresher.shutdownNow();
+    }
+
+    /**
+     * @return screenings starting in {@code [from, to)}, ordered by start time
+     */
+    public List<ScreeningResponse> findByStartTimeBetween(LocalDateTime from, LocalDateTime to) {
+        List<ScreeningResponse> result = new ArrayList<>();
+        schedule.get().byStartTime().subMap(from, true, to, false).values().forEach(result::addAll);
+        return result;
+    }
+
+    public List<ScreeningResponse> findByMovie(Long movieId) {
+        return schedule.get().byMovie().getOrDefault(movieId, List.of());
+    }
+
+    public List<ScreeningResponse> findByCinemaHall(Long cinemaHallId) {
+        return schedule.get().byHall().getOrDefault(cinemaHallId, List.of());
+    }
+
+    /**
+     * Adds or replaces the screening once the current transaction commits, or right away outside of a transaction.
+     */
+    public void putAfterCommit(ScreeningResponse screening) {
+        afterCommit(() -> schedule.updateAndGet(current -> current.with(screening)));
+    }
+
+    /**
+     * Adds or replaces a batch of screenings as one change, rebuilding the index once instead of once per screening.
+     */
+    public void putAllAfterCommit(Collection<ScreeningResponse> screenings) {
+        afterCommit(() -> schedule.updateAndGet(current -> current.withAll(screenings)));
+    }
+
+    public void removeAfterCommit(Long screeningId) {
+        afterCommit(() -> schedule.updateAndGet(current -> current.without(screeningId)));
+    }
+
+    /**
+     * Schedules a rebuild once the current transaction commits, for changes too large to apply one by one.
+     */
+    public void refreshAfterCommit() {
+        afterCommit(() -> refresher.execute(this::refreshQuietly));
+    }
+
+    /**
+     * Rebuilds the index from the screenings in the database that have not ended. A rebuild that raced with an
+     * incremental change is not installed, so that it does not overwrite the change.
+     *
+     * @return whether the rebuilt index was installed
+     */
+    public boolean refresh() {
+        Schedule before = schedule.get();
+        Schedule loaded = Schedule.of(screeningRepository.findViewsEndingAfter(LocalDateTime.now(clock)).stream()
+                .map(screening -> ScreeningMapper.toResponse(screening, screening.seatsAvailable()))
+                .toList());
+        return schedule.compareAndSet(before, loaded);
+    }
+
+    /**
+     * Drops the screenings that have ended by now.
+     */
+    public void prune() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        schedule.updateAndGet(current -> current.withoutEndedBy(now));
+    }
+
+    private void refreshQuietly() {
+        refreshQuietly(1);
+    }
+
+    /**
+     * Refreshes, and queues another attempt when the rebuild lost to an incremental change, since the change it was
+     * asked for may not be in the index yet.
+     */
+    private void refreshQuietly(int attempt) {
+        try {
+            if (refresh()) {
+                return;
+            }
+            if (attempt < MAX_REFRESH_ATTEMPTS) {
+                log.debug("Schedule changed while it was reloaded, reloading again");
+                refresher.execute(() -> refreshQuietly(attempt + 1));
+            } else {
+                log.warn("Schedule kept changing while it was reloaded, retrying on the next run");
+            }
+        } catch (RuntimeException e) {
+            log.warn("Refreshing the schedule index failed, retrying on the next run", e);
+        }
+    }
+
+    private void pruneQuietly() {
+        try {
+            prune();
+        } catch (RuntimeException e) {
+            log.warn("Pruning the schedule index failed, retrying on the next run", e);
+        }
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    /**
+     * Immutable snapshot of the schedule; every list is sorted by start time. Changes copy the outer maps and
+     * rebuild only the lists the screening belongs to.
+     */
+    record Schedule(
+            Map<Long, ScreeningResponse> byId,
+            NavigableMap<LocalDateTime, List<ScreeningResponse>> byStartTime,
+            Map<Long, List<ScreeningResponse>> byHall,
+            Map<Long, List<ScreeningResponse>> byMovie
+    ) {
+
+        static final Schedule EMPTY = of(List.of());
+
+        Schedule {
+            byId = Collections.unmodifiableMap(byId);
+            byStartTime = Collections.unmodifiableNavigableMap(byStartTime);
+            byHall = Collections.unmodifiableMap(byHall);
+            byMovie = Collections.unmodifiableMap(byMovie);
+        }
+
+        static Schedule of(Collection<ScreeningResponse> screenings) {
+            Map<Long, ScreeningResponse> byId = new HashMap<>();
+            screenings.forEach(screening -> byId.put(screening.getId(), screening));
+            return new Schedule(byId,
+                    group(screenings, ScreeningResponse::getStartTime, TreeMap::new),
+                    group(screenings, ScreeningResponse::getCinemaHallId, HashMap::new),
+                    group(screenings, ScreeningResponse::getMovieId, HashMap::new));
+        }
+
+        Schedule with(ScreeningResponse screening) {
+            Schedule base = byId.containsKey(screening.getId()) ? without(screening.getId()) : this;
+            Map<Long, ScreeningResponse> ids = new HashMap<>(base.byId);
+            ids.put(screening.getId(), screening);
+            return new Schedule(ids,
+                    add(new TreeMap<>(base.byStartTime), screening.getStartTime(), screening),
+                    add(new HashMap<>(base.byHall), screening.getCinemaHallId(), screening),
+                    add(new HashMap<>(base.byMovie), screening.getMovieId(), screening));
+        }
+
+        /**
+         * Every screening that has ended started before {@code now}, so only the head of the start time index is
+         * scanned, which holds little more than the screenings running right now.
+         */
+        Schedule withoutEndedBy(LocalDateTime now) {
+            List<Long> ended = byStartTime.headMap(now, false).values().stream()
+                    .flatMap(List::stream)
+                    .filter(screening -> !screening.getEndTime().isAfter(now))
+                    .map(ScreeningResponse::getId)
+                    .toList();
+            if (ended.isEmpty()) {
+                return this;
+            }
+            Map<Long, ScreeningResponse> remaining = new HashMap<>(byId);
+            ended.forEach(remaining::remove);
+            return of(remaining.values());
+        }
+
+        Schedule withAll(Collection<ScreeningResponse> screenings) {
+            Map<Long, ScreeningResponse> ids = new HashMap<>(byId);
+            screenings.forEach(screening -> ids.put(screening.getId(), screening));
+            return of(ids.values());
+        }
+
+        Schedule without(Long screeningId) {
+            ScreeningResponse screening = byId.get(screeningId);
+            if (screening == null) {
+                return this;
+            }
+            Map<Long, ScreeningResponse> ids = new HashMap<>(byId);
+            ids.remove(screeningId);
+            return new Schedule(ids,
+                    remove(new TreeMap<>(byStartTime), screening.getStartTime(), screeningId),
+                    remove(new HashMap<>(byHall), screening.getCinemaHallId(), screeningId),
+                    remove(new HashMap<>(byMovie), screening.getMovieId(), screeningId));
+        }
+
+        private static <K, M extends Map<K, List<ScreeningResponse>>> M group(Collection<ScreeningResponse> screenings,
+                                                                              Function<ScreeningResponse, K> key,
+                                                                              Supplier<M> mapFactory) {
+            M index = mapFactory.get();
+            screenings.stream()
+                    .sorted(BY_START_TIME)
+                    .forEach(screening -> index.computeIfAbsent(key.apply(screening), k -> new ArrayList<>()).add(screening));
+            index.replaceAll((k, list) -> List.copyOf(list));
+            return index;
+        }
+
+        private static <K, M extends Map<K, List<ScreeningResponse>>> M add(M index, K key, ScreeningResponse screening) {
+            List<ScreeningResponse> list = new ArrayList<>(index.getOrDefault(key, List.of()));
+            list.add(screening);
+            list.sort(BY_START_TIME);
+            index.put(key, List.copyOf(list));
+            return index;
+        }
+
+        private static <K, M extends Map<K, List<ScreeningResponse>>> M remove(M index, K key, Long screeningId) {
+            List<ScreeningResponse> list = index.getOrDefault(key, List.of()).stream()
+                    .filter(screening -> !screening.getId().equals(screeningId))
+                    .toList();
+            if (list.isEmpty()) {
+                index.remove(key);
+            } else {
+                index.put(key, list);
+            }
+            return index;
+        }
+
+    }
+
+}
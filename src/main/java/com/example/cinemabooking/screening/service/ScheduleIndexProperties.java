@@ -0,0 +1,18 @@
+package com.example.cinemabooking.screening.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param refreshInterval how often the schedule index is rebuilt from the database, to pick up changes made by
+ *                        other instances or through movies and halls
+ * @param pruneInterval   how often screenings that have ended are dropped from the index between rebuilds
+ */
+@ConfigurationProperties(prefix = "screening.schedule")
+public record ScheduleIndexProperties(
+        @DefaultValue("1m") Duration refreshInterval,
+        @DefaultValue("10s") Duration pruneInterval
+) {
+}
@@ -0,0 +1,72 @@
+package com.example.cinemabooking.screening.service;
+
+import com.example.cinemabooking.screening.dto.BulkScreeningStatus;
+import com.example.cinemabooking.screening.repository.ScheduledSlot;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Finds time conflicts of a batch of new screenings with a sweep over each hall's timeline. Existing screenings
+ * always win; among the rest of the batch the earlier-starting screening wins, ties going to the earlier request
+ * item. Intervals are half-open, so back-to-back screenings do not conflict.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class ScheduleSweep {
+
+    private static final Comparator<Candidate> BY_START_TIME =
+            Comparator.comparing(Candidate::startTime).thenComparingInt(Candidate::index);
+
+    /**
+     * @param existing screenings already scheduled in the candidates' halls, ordered by start time within a hall
+     * @return the rejected candidates by request index
+     */
+    static Map<Integer, BulkScreeningStatus> findConflicts(Collection<Candidate> candidates, List<ScheduledSlot> existing) {
+        Map<Long, List<ScheduledSlot>> existingByHall = existing.stream()
+                .collect(Collectors.groupingBy(ScheduledSlot::hallId));
+        Map<Integer, BulkScreeningStatus> conflicts = new HashMap<>();
+        candidates.stream()
+                .sorted(BY_START_TIME)
+                .collect(Collectors.groupingBy(Candidate::hallId, Collectors.toList()))
+                .forEach((hallId, hallCandidates) ->
+                        sweepHall(hallCandidates, existingByHall.getOrDefault(hallId, List.of()), conflicts));
+        return conflicts;
+    }
+
+    private static void sweepHall(List<Candidate> candidates, List<ScheduledSlot> existing,
+                                  Map<Integer, BulkScreeningStatus> conflicts) {
+        // existing screenings never overlap each other, so ordered by start they are ordered by end as well
+        List<Candidate> free = new ArrayList<>(candidates.size());
+        int next = 0;
+        for (Candidate candidate : candidates) {
+            while (next < existing.size() && !existing.get(next).endTime().isAfter(candidate.startTime())) {
+                next++;
+            }
+            if (next < existing.size() && existing.get(next).startTime().isBefore(candidate.endTime())) {
+                conflicts.put(candidate.index(), BulkScreeningStatus.CONFLICTS_WITH_EXISTING);
+            } else {
+                free.add(candidate);
+            }
+        }
+        LocalDateTime occupiedUntil = LocalDateTime.MIN;
+        for (Candidate candidate : free) {
+            if (candidate.startTime().isBefore(occupiedUntil)) {
+                conflicts.put(candidate.index(), BulkScreeningStatus.CONFLICTS_WITH_BATCH);
+            } else {
+                occupiedUntil = candidate.endTime();
+            }
+        }
+    }
+
+    record Candidate(int index, long hallId, LocalDateTime startTime, LocalDateTime endTime) {
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.example.cinemabooking.screening.service;
+
+import com.example.cinemabooking.screening.dto.ScreeningResponse;
+import com.example.cinemabooking.screening.service.exception.InvalidPageRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the screening listings, which are ordered by start time and then id. Handed to clients as an opaque
+ * token; the next page starts right after the screening it was taken from.
+ */
+public record ScreeningCursor(LocalDateTime startTime, long id) {
+
+    private static final char SEPARATOR = '_';
+
+    public static ScreeningCursor of(ScreeningResponse screening) {
+        return new ScreeningCursor(screening.getStartTime(), screening.getId());
+    }
+
+    public static ScreeningCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            return new ScreeningCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidPageRequestException("Invalid cursor: " + token + ".");
+        }
+    }
+
+    public String encode() {
+        byte[] raw = (startTime.toString() + SEPARATOR + id).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    public boolean isBefore(ScreeningResponse screening) {
+        int byStartTime = startTime.compareTo(screening.getStartTime());
+        return byStartTime < 0 || byStartTime == 0 && id < screening.getId();
+    }
+
+}
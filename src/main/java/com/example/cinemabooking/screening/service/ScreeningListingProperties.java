@@ -0,0 +1,15 @@
+package com.example.cinemabooking.screening.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param maxPageSize largest page a keyset-paginated listing may request
+ * @param fetchSize   rows fetched per round trip when streaming the whole listing from a database cursor
+ */
+@ConfigurationProperties(prefix = "screening.listing")
+public record ScreeningListingProperties(
+        @DefaultValue("100") int maxPageSize,
+        @DefaultValue("500") int fetchSize
+) {
+}
@@ -0,0 +1,171 @@
+package com.example.cinemabooking.screening.service;
+
+import com.example.cinemabooking.screening.dto.ScreeningPageResponse;
+import com.example.cinemabooking.screening.dto.ScreeningResponse;
+import com.example.cinemabooking.screening.dto.ScreeningSearchRequest;
+import com.example.cinemabooking.screening.mapper.ScreeningMapper;
+import com.example.cinemabooking.screening.repository.ScreeningJdbcRepository;
+import com.example.cinemabooking.screening.repository.ScreeningSearchCriteria;
+import com.example.cinemabooking.screening.repository.ScreeningView;
+import com.example.cinemabooking.screening.service.exception.InvalidPageRequestException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Keyset-paginated, searched and streamed screening listings. Pages are ordered by start time and then id and
+ * continue after the cursor of the previous page, so a page costs the same however deep into the schedule it is. The
+ * full listing and the search come from the database. The movie, hall and date listings read the screenings that
+ * started before now from the database and the later ones from the {@link ScheduleIndex}.
+ */
+@Service
+@RequiredArgsConstructor
+public class ScreeningListingService {
+
+    private final ScreeningJdbcRepository screeningJdbcRepository;
+    private final ScheduleIndex scheduleIndex;
+    private final SeatCounters seatCounters;
+    private final ScreeningListingProperties properties;
+    private final Clock clock;
+
+    /**
+     * One page of the full listing, read with the unfiltered search so that it seeks past the cursor on the start
+     * time index.
+     */
+    @Transactional(readOnly = true)
+    public ScreeningPageResponse getScreeningsPage(String after, int limit) {
+        validateLimit(limit);
+        ScreeningCursor cursor = after == null ? null : ScreeningCursor.decode(after);
+        // one extra row tells whether there is a next page
+        List<ScreeningView> views = screeningJdbcRepository.searchScreenings(ScreeningSearchCriteria.NONE,
+                cursor == null ? null : cursor.startTime(), cursor == null ? null : cursor.id(), limit + 1);
+        return toPage(views.stream().map(this::toResponse).toList(), limit);
+    }
+
+    /**
+     * Finds one page of screenings matching every filter set in the request, with a query that only contains those
+     * filters so that it can use the index matching them.
+     */
+    @Transactional(readOnly = true)
+    public ScreeningPageResponse searchScreenings(ScreeningSearchRequest request) {
+        validateLimit(request.getLimit());
+        ScreeningCursor cursor = request.getAfter() == null ? null : ScreeningCursor.decode(request.getAfter());
+        List<ScreeningView> views = screeningJdbcRepository.searchScreenings(ScreeningMapper.toSearchCriteria(request),
+                cursor == null ? null : cursor.startTime(), cursor == null ? null : cursor.id(), request.getLimit() + 1);
+        return toPage(views.stream().map(this::toResponse).toList(), request.getLimit());
+    }
+
+    @Transactional(readOnly = true)
+    public ScreeningPageResponse getScreeningsByMoviePage(Long movieId, String after, int limit) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        return pageOf(new ScreeningSearchCriteria(movieId, null, null, null, null, now, null, null),
+                startingFrom(scheduleIndex.findByMovie(movieId), now), after, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public ScreeningPageResponse getScreeningsByCinemaHallPage(Long cinemaHallId, String after, int limit) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        return pageOf(new ScreeningSearchCriteria(null, cinemaHallId, null, null, null, now, null, null),
+                startingFrom(scheduleIndex.findByCinemaHall(cinemaHallId), now), after, limit);
+    }
+
+    @Transactional(readOnly = true)
+    public ScreeningPageResponse getScreeningsByDatePage(LocalDate date, String after, int limit) {
+        LocalDateTime startOfDay = date.atStartOfDay();
+        LocalDateTime endOfDay = date.plusDays(1).atStartOfDay();
+        LocalDateTime now = LocalDateTime.now(clock);
+        ScreeningSearchCriteria started = startOfDay.isBefore(now)
+                ? new ScreeningSearchCriteria(null, null, null, null, startOfDay, endOfDay.isBefore(now) ? endOfDay : now,
+                null, null)
+                : null;
+        List<ScreeningResponse> upcoming = endOfDay.isAfter(now)
+                ? scheduleIndex.findByStartTimeBetween(startOfDay.isAfter(now) ? startOfDay : now, endOfDay)
+                : List.of();
+        return pageOf(started, upcoming, after, limit);
+    }
+
+    /**
+     * Hands every screening, ordered by start time, to {@code consumer} as it is read from a database cursor, so the
+     * listing is never held in memory as a whole.
+     */
+    @Transactional(readOnly = true)
+    public void streamScreenings(Consumer<ScreeningResponse> consumer) {
+        screeningJdbcRepository.streamScreeningViews(properties.fetchSize(),
+                view -> consumer.accept(toResponse(view)));
+    }
+
+    /**
+     * Pages through the screenings that started before now, searched in the database with {@code started}, followed
+     * by the later ones from the index, which holds only screenings that have not ended. Both are ordered by start
+     * time and id, so a page continues after the cursor in the history, the index or both, and pages past the history
+     * are served from the index alone.
+     *
+     * @param started  the search for the screenings that started before now, or {@code null} when there are none
+     * @param upcoming the index listing of the screenings starting from now
+     */
+    private ScreeningPageResponse pageOf(ScreeningSearchCriteria started, List<ScreeningResponse> upcoming,
+                                         String after, int limit) {
+        validateLimit(limit);
+        ScreeningCursor cursor = after == null ? null : ScreeningCursor.decode(after);
+        // one extra row tells whether there is a next page
+        List<ScreeningResponse> page = new ArrayList<>(limit + 1);
+        if (started != null && (cursor == null || cursor.startTime().isBefore(started.to()))) {
+            screeningJdbcRepository.searchScreenings(started, cursor == null ? null : cursor.startTime(),
+                    cursor == null ? null : cursor.id(), limit + 1).forEach(view -> page.add(toResponse(view)));
+        }
+        int from = cursor == null ? 0 : firstAfter(upcoming, cursor);
+        upcoming.subList(from, Math.min(upcoming.size(), from + limit + 1 - page.size()))
+                .forEach(screening -> page.add(withLiveSeatCount(screening)));
+        return toPage(page, limit);
+    }
+
+    private static List<ScreeningResponse> startingFrom(List<ScreeningResponse> indexed, LocalDateTime from) {
+        return indexed.stream().filter(screening -> !screening.getStartTime().isBefore(from)).toList();
+    }
+
+    private static int firstAfter(List<ScreeningResponse> screenings, ScreeningCursor cursor) {
+        int low = 0;
+        int high = screenings.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cursor.isBefore(screenings.get(middle))) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private static ScreeningPageResponse toPage(List<ScreeningResponse> screenings, int limit) {
+        if (screenings.size() <= limit) {
+            return ScreeningMapper.toPageResponse(screenings, null);
+        }
+        List<ScreeningResponse> page = screenings.subList(0, limit);
+        return ScreeningMapper.toPageResponse(page, ScreeningCursor.of(page.getLast()).encode());
+    }
+
+    private void validateLimit(int limit) {
+        if (limit < 1 || limit > properties.maxPageSize()) {
+            throw new InvalidPageRequestException("limit must be between 1 and " + properties.maxPageSize() + ".");
+        }
+    }
+
+    private ScreeningResponse toResponse(ScreeningView screening) {
+        return ScreeningMapper.toResponse(screening,
+                seatCounters.getAvailableSeats(screening.id(), screening.seatsAvailable()));
+    }
+
+    private ScreeningResponse withLiveSeatCount(ScreeningResponse response) {
+        return ScreeningMapper.withAvailableSeats(response,
+                seatCounters.getAvailableSeats(response.getId(), response.getAvailableSeats()));
+    }
+
+}
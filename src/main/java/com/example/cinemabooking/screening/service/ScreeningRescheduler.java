@@ -0,0 +1,53 @@
+package com.example.cinemabooking.screening.service;
+
+import com.example.cinemabooking.screening.repository.ScreeningJdbcRepository;
+import com.example.cinemabooking.screening.repository.ScreeningOverlap;
+import com.example.cinemabooking.screening.service.exception.ScreeningOverlapException;
+import com.example.cinemabooking.screening.service.exception.ScreeningScheduleChangedException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keeps the end times of upcoming screenings in line with their movie's duration. Screenings that already started
+ * keep their end time.
+ */
+@Component
+@RequiredArgsConstructor
+public class ScreeningRescheduler {
+
+    private final ScreeningJdbcRepository screeningJdbcRepository;
+    private final ScheduleIndex scheduleIndex;
+    private final Clock clock;
+
+    /**
+     * Recomputes the end time of every upcoming screening of the movie in one statement, after checking in one
+     * query that no screening would overlap another one in its hall. Runs in the caller's transaction.
+     *
+     * @throws ScreeningOverlapException listing every overlap the new duration would cause
+     */
+    @Transactional
+    public void rescheduleMovie(Long movieId, int durationMinutes) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<ScreeningOverlap> overlaps = screeningJdbcRepository.findRescheduleOverlaps(movieId, durationMinutes, now);
+        if (!overlaps.isEmpty()) {
+            throw new ScreeningOverlapException(movieId, overlaps);
+        }
+        int rescheduled;
+        try {
+            rescheduled = screeningJdbcRepository.rescheduleMovie(movieId, durationMinutes, now);
+        } catch (DataIntegrityViolationException e) {
+            // only end_time changes, so this is the exclusion constraint: a screening took a gap after the check
+            throw new ScreeningScheduleChangedException();
+        }
+        if (rescheduled > 0) {
+            scheduleIndex.refreshAfterCommit();
+        }
+    }
+
+}
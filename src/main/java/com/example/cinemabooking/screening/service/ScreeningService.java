@@ -4,28 +4,63 @@ import com.example.cinemabooking.hall.entity.CinemaHall;
 import com.example.cinemabooking.hall.service.CinemaHallService;
 import com.example.cinemabooking.movie.entity.Movie;
 import com.example.cinemabooking.movie.service.MovieService;
+import com.example.cinemabooking.screening.dto.BulkCreateScreeningsRequest;
+import com.example.cinemabooking.screening.dto.BulkCreateScreeningsResponse;
+import com.example.cinemabooking.screening.dto.BulkScreeningResultResponse;
+import com.example.cinemabooking.screening.dto.BulkScreeningStatus;
+import com.example.cinemabooking.screening.dto.CloneScheduleRequest;
+import com.example.cinemabooking.screening.dto.CloneScheduleResponse;
 import com.example.cinemabooking.screening.dto.CreateScreeningRequest;
 import com.example.cinemabooking.screening.dto.ScreeningResponse;
+import com.example.cinemabooking.screening.dto.ScreeningSeatResponse;
 import com.example.cinemabooking.screening.entity.Screening;
 import com.example.cinemabooking.screening.mapper.ScreeningMapper;
+import com.example.cinemabooking.screening.repository.ClonedSchedule;
+import com.example.cinemabooking.screening.repository.ScheduledSlot;
+import com.example.cinemabooking.screening.repository.ScreeningJdbcRepository;
 import com.example.cinemabooking.screening.repository.ScreeningRepository;
+import com.example.cinemabooking.screening.repository.ScreeningSeatRepository;
+import com.example.cinemabooking.screening.repository.ScreeningView;
 import com.example.cinemabooking.screening.service.exception.ScreeningNotFoundException;
+import com.example.cinemabooking.screening.service.exception.ScreeningScheduleChangedException;
 import com.example.cinemabooking.screening.service.exception.ScreeningTimeConflictException;
+import com.example.cinemabooking.screening.service.exception.SeatNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ScreeningService {
 
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
     private final ScreeningRepository screeningRepository;
+    private final ScreeningSeatRepository screeningSeatRepository;
+    private final ScreeningJdbcRepository screeningJdbcRepository;
     private final MovieService movieService;
     private final CinemaHallService cinemaHallService;
+    private final SeatAvailabilityCache seatAvailabilityCache;
+    private final SeatMapStreamService seatMapStreamService;
+    private final SeatCounters seatCounters;
+    private final ScheduleIndex scheduleIndex;
+    private final Clock clock;
 
     private static LocalDateTime getScreeningEndTime(LocalDateTime startTime, int durationMinutes) {
         return startTime.plusMinutes(durationMinutes);
@@ -33,13 +68,23 @@ public class ScreeningService {
 
     @Transactional(readOnly = true)
     public List<ScreeningResponse> getAllScreenings() {
-        return screeningRepository.findAll().stream().map(ScreeningMapper::toResponse).toList();
+        return screeningRepository.findAllViews().stream().map(this::toResponse).toList();
     }
 
     @Transactional(readOnly = true)
     public ScreeningResponse getScreeningById(Long id) {
-        Screening screening = getScreeningOrThrow(id);
-        return ScreeningMapper.toResponse(screening);
+        return screeningRepository.findViewById(id)
+                .map(this::toResponse)
+                .orElseThrow(() -> new ScreeningNotFoundException(id));
+    }
+
+    private ScreeningResponse toResponse(ScreeningView screening) {
+        return ScreeningMapper.toResponse(screening,
+                seatCounters.getAvailableSeats(screening.id(), screening.seatsAvailable()));
+    }
+
+    private ScreeningResponse toResponse(Screening screening) {
+        return ScreeningMapper.toResponse(screening, seatCounters.getAvailableSeats(screening));
     }
 
     private Screening getScreeningOrThrow(Long id) {
@@ -49,19 +94,69 @@ public class ScreeningService {
 
     @Transactional(readOnly = true)
     public List<ScreeningResponse> getScreeningsByMovie(Long movieId) {
-        return screeningRepository.findByMovieId(movieId).stream().map(ScreeningMapper::toResponse).toList();
+        LocalDateTime now = LocalDateTime.now(clock);
+        return concat(screeningRepository.findViewsByMovieStartingBefore(movieId, now),
+                startingFrom(scheduleIndex.findByMovie(movieId), now));
     }
 
     @Transactional(readOnly = true)
     public List<ScreeningResponse> getScreeningsByCinemaHall(Long cinemaHallId) {
-        return screeningRepository.findByCinemaHallId(cinemaHallId).stream().map(ScreeningMapper::toResponse).toList();
+        LocalDateTime now = LocalDateTime.now(clock);
+        return concat(screeningRepository.findViewsByCinemaHallStartingBefore(cinemaHallId, now),
+                startingFrom(scheduleIndex.findByCinemaHall(cinemaHallId), now));
     }
 
     @Transactional(readOnly = true)
     public List<ScreeningResponse> getScreeningsByDate(LocalDate date) {
         LocalDateTime startOfDay = date.atStartOfDay();
         LocalDateTime endOfDay = date.plusDays(1).atStartOfDay();
-        return screeningRepository.findByStartTimeBetween(startOfDay, endOfDay).stream().map(ScreeningMapper::toResponse).toList();
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<ScreeningView> started = startOfDay.isBefore(now)
+                ? screeningRepository.findViewsStartingBetween(startOfDay, endOfDay.isBefore(now) ? endOfDay : now)
+                : List.of();
+        List<ScreeningResponse> upcoming = endOfDay.isAfter(now)
+                ? scheduleIndex.findByStartTimeBetween(startOfDay.isAfter(now) ? startOfDay : now, endOfDay)
+                : List.of();
+        return concat(started, upcoming);
+    }
+
+    private static List<ScreeningResponse> startingFrom(List<ScreeningResponse> indexed, LocalDateTime from) {
+        return indexed.stream().filter(screening -> !screening.getStartTime().isBefore(from)).toList();
+    }
+
+    /**
+     * Joins the screenings that started before now, read from the database, with the later ones served by the
+     * schedule index. The index holds only screenings that have not ended, so it cannot answer for earlier ones.
+     */
+    private List<ScreeningResponse> concat(List<ScreeningView> started, List<ScreeningResponse> upcoming) {
+        List<ScreeningResponse> result = new ArrayList<>(started.size() + upcoming.size());
+        started.forEach(screening -> result.add(toResponse(screening)));
+        upcoming.forEach(screening -> result.add(withLiveSeatCount(screening)));
+        return result;
+    }
+
+    private ScreeningResponse withLiveSeatCount(ScreeningResponse response) {
+        return ScreeningMapper.withAvailableSeats(response,
+                seatCounters.getAvailableSeats(response.getId(), response.getAvailableSeats()));
+    }
+
+    public List<ScreeningSeatResponse> getScreeningSeats(Long id) {
+        SeatAvailabilityBitmap bitmap = seatAvailabilityCache.getOrLoad(id);
+        List<ScreeningSeatResponse> seats = new ArrayList<>(bitmap.getRows() * bitmap.getSeatsPerRow());
+        for (int row = 1; row <= bitmap.getRows(); row++) {
+            for (int seatNumber = 1; seatNumber <= bitmap.getSeatsPerRow(); seatNumber++) {
+                seats.add(ScreeningMapper.toSeatResponse(row, seatNumber, bitmap.isAvailable(row, seatNumber)));
+            }
+        }
+        return seats;
+    }
+
+    public ScreeningSeatResponse getScreeningSeat(Long id, int rowNumber, int seatNumber) {
+        SeatAvailabilityBitmap bitmap = seatAvailabilityCache.getOrLoad(id);
+        if (!bitmap.contains(rowNumber, seatNumber)) {
+            throw new SeatNotFoundException(id, rowNumber, seatNumber);
+        }
+        return ScreeningMapper.toSeatResponse(rowNumber, seatNumber, bitmap.isAvailable(rowNumber, seatNumber));
     }
 
     @Transactional
@@ -69,22 +164,156 @@ public class ScreeningService {
         Movie movie = movieService.getMovieOrThrow(request.getMovieId());
         CinemaHall cinemaHall = cinemaHallService.getCinemaHallOrThrow(request.getCinemaHallId());
         LocalDateTime endTime = getScreeningEndTime(request.getStartTime(), movie.getDurationMinutes());
-        validateNoTimeConflict(cinemaHall, request.getStartTime(), endTime);
-        Screening screening = ScreeningMapper.toEntity(request, movie, cinemaHall, endTime);
-        return ScreeningMapper.toResponse(screeningRepository.save(screening));
+        Screening screening = saveWithoutTimeConflict(ScreeningMapper.toEntity(request, movie, cinemaHall, endTime));
+        screeningSeatRepository.createInventory(screening.getId(), cinemaHall.getId());
+        seatCounters.register(screening.getId(), screening.getSeatsAvailable());
+        ScreeningResponse response = toResponse(screening);
+        scheduleIndex.putAfterCommit(response);
+        return response;
     }
 
-    private void validateNoTimeConflict(CinemaHall cinemaHall, LocalDateTime startTime, LocalDateTime endTime) {
-        if (screeningRepository.existsTimeConflict(cinemaHall.getId(), startTime, endTime)) {
-            throw new ScreeningTimeConflictException(cinemaHall.getName(), startTime, endTime);
+    /**
+     * Creates a batch of screenings with a fixed number of queries: movies and halls are loaded by id, conflicts
+     * inside the batch and with the existing schedule are found by {@link ScheduleSweep} over one range query,
+     * and the accepted screenings are inserted as one JDBC batch. Rejected items are reported, not thrown.
+     */
+    @Transactional
+    public BulkCreateScreeningsResponse createScreenings(BulkCreateScreeningsRequest request) {
+        List<CreateScreeningRequest> items = request.getScreenings();
+        Map<Long, Movie> movies = movieService.getMoviesById(
+                items.stream().map(CreateScreeningRequest::getMovieId).collect(Collectors.toSet()));
+        Map<Long, CinemaHall> halls = cinemaHallService.getCinemaHallsById(
+                items.stream().map(CreateScreeningRequest::getCinemaHallId).collect(Collectors.toSet()));
+
+        BulkScreeningStatus[] statuses = new BulkScreeningStatus[items.size()];
+        Map<Integer, Screening> accepted = new TreeMap<>();
+        List<ScheduleSweep.Candidate> candidates = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            CreateScreeningRequest item = items.get(i);
+            Movie movie = movies.get(item.getMovieId());
+            CinemaHall cinemaHall = halls.get(item.getCinemaHallId());
+            if (movie == null) {
+                statuses[i] = BulkScreeningStatus.MOVIE_NOT_FOUND;
+            } else if (cinemaHall == null) {
+                statuses[i] = BulkScreeningStatus.CINEMA_HALL_NOT_FOUND;
+            } else {
+                LocalDateTime endTime = getScreeningEndTime(item.getStartTime(), movie.getDurationMinutes());
+                accepted.put(i, ScreeningMapper.toEntity(item, movie, cinemaHall, endTime));
+                candidates.add(new ScheduleSweep.Candidate(i, cinemaHall.getId(), item.getStartTime(), endTime));
+            }
+        }
+        if (!candidates.isEmpty()) {
+            ScheduleSweep.findConflicts(candidates, findScheduledSlots(candidates)).forEach((index, status) -> {
+                statuses[index] = status;
+                accepted.remove(index);
+            });
         }
+        if (!accepted.isEmpty()) {
+            insertWithoutTimeConflict(List.copyOf(accepted.values()));
+        }
+
+        List<BulkScreeningResultResponse> results = new ArrayList<>(items.size());
+        List<ScreeningResponse> created = new ArrayList<>(accepted.size());
+        for (int i = 0; i < items.size(); i++) {
+            Screening screening = accepted.get(i);
+            BulkScreeningStatus status = statuses[i];
+            ScreeningResponse response = null;
+            if (screening != null) {
+                seatCounters.register(screening.getId(), screening.getSeatsAvailable());
+                response = toResponse(screening);
+                created.add(response);
+                status = BulkScreeningStatus.CREATED;
+            }
+            results.add(ScreeningMapper.toBulkResultResponse(i, status, response));
+        }
+        if (!created.isEmpty()) {
+            scheduleIndex.putAllAfterCommit(created);
+        }
+        return ScreeningMapper.toBulkResponse(accepted.size(), results);
     }
 
+    private List<ScheduledSlot> findScheduledSlots(List<ScheduleSweep.Candidate> candidates) {
+        Set<Long> hallIds = new HashSet<>();
+        LocalDateTime from = LocalDateTime.MAX;
+        LocalDateTime to = LocalDateTime.MIN;
+        for (ScheduleSweep.Candidate candidate : candidates) {
+            hallIds.add(candidate.hallId());
+            from = candidate.startTime().isBefore(from) ? candidate.startTime() : from;
+            to = candidate.endTime().isAfter(to) ? candidate.endTime() : to;
+        }
+        return screeningJdbcRepository.findScheduledSlots(hallIds, from, to);
+    }
+
+    private void insertWithoutTimeConflict(List<Screening> screenings) {
+        try {
+            screeningJdbcRepository.insertScreenings(screenings);
+        } catch (DataIntegrityViolationException e) {
+            if (isExclusionViolation(e)) {
+                throw new ScreeningScheduleChangedException();
+            }
+            throw e;
+        }
+        screeningJdbcRepository.createInventories(screenings.stream().map(Screening::getId).toList());
+    }
+
+    /**
+     * Copies a window of the schedule to another start date in one set-based statement; copies that would
+     * overlap a screening in the target hall are skipped.
+     */
+    @Transactional
+    public CloneScheduleResponse cloneSchedule(CloneScheduleRequest request) {
+        Duration offset = Duration.between(request.getFrom(), request.getTargetFrom());
+        ClonedSchedule cloned = screeningJdbcRepository.cloneScreenings(request.getFrom(), request.getTo(), offset,
+                request.getCinemaHallId(), request.getMovieId());
+        cloned.created().forEach(seatCounters::register);
+        if (!cloned.created().isEmpty()) {
+            scheduleIndex.refreshAfterCommit();
+        }
+        return ScreeningMapper.toCloneResponse(cloned);
+    }
+
+    /**
+     * Inserts the screening right away and lets the hall/time exclusion constraint reject overlaps, which stays
+     * correct under concurrent creates without a separate conflict query.
+     */
+    private Screening saveWithoutTimeConflict(Screening screening) {
+        try {
+            return screeningRepository.saveAndFlush(screening);
+        } catch (DataIntegrityViolationException e) {
+            if (isExclusionViolation(e)) {
+                throw new ScreeningTimeConflictException(screening.getCinemaHall().getName(),
+                        screening.getStartTime(), screening.getEndTime());
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isExclusionViolation(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Deletes a screening and, once the deletion commits, drops its in-memory state, so a rolled back deletion leaves
+     * the screening bookable.
+     */
     @Transactional
     public void deleteScreening(Long id) {
         Screening screening = getScreeningOrThrow(id);
         screeningRepository.delete(screening);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                seatAvailabilityCache.evict(id);
+                seatMapStreamService.closeStreams(id);
+                seatCounters.remove(id);
+            }
+        });
+        scheduleIndex.removeAfterCommit(id);
     }
 
-
 }
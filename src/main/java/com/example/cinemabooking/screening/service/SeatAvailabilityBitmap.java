@@ -0,0 +1,157 @@
+package com.example.cinemabooking.screening.service;
+
+import lombok.Getter;
+
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BiConsumer;
+
+/**
+ * Availability of a single screening kept as one bit per seat (set = taken).
+ * Seats are claimed and released with compare-and-set on the containing word, so no lock is ever taken.
+ * Every change bumps the version of its row, letting derived indexes refresh only the rows that changed,
+ * and is reported to the change listener, if one is set.
+ */
+public class SeatAvailabilityBitmap {
+
+    @Getter
+    private final int rows;
+
+    @Getter
+    private final int seatsPerRow;
+
+    private final AtomicLongArray words;
+    private final AtomicIntegerArray rowVersions;
+    private volatile SeatChangeListener changeListener;
+
+    public SeatAvailabilityBitmap(int rows, int seatsPerRow) {
+        this.rows = rows;
+        this.seatsPerRow = seatsPerRow;
+        this.words = new AtomicLongArray((rows * seatsPerRow + Long.SIZE - 1) / Long.SIZE);
+        this.rowVersions = new AtomicIntegerArray(rows + 1);
+    }
+
+    /**
+     * Rebuilds a bitmap from the output of {@link #toByteArray()}.
+     */
+    public static SeatAvailabilityBitmap fromByteArray(int rows, int seatsPerRow, byte[] taken) {
+        SeatAvailabilityBitmap bitmap = new SeatAvailabilityBitmap(rows, seatsPerRow);
+        long[] words = BitSet.valueOf(taken).toLongArray();
+        if (words.length > bitmap.words.length()) {
+            throw new IllegalArgumentException("Taken seats do not fit a " + rows + "x" + seatsPerRow + " hall.");
+        }
+        for (int i = 0; i < words.length; i++) {
+            bitmap.words.set(i, words[i]);
+        }
+        return bitmap;
+    }
+
+    public boolean contains(int rowNumber, int seatNumber) {
+        return rowNumber >= 1 && rowNumber <= rows && seatNumber >= 1 && seatNumber <= seatsPerRow;
+    }
+
+    public boolean isAvailable(int rowNumber, int seatNumber) {
+        int index = indexOf(rowNumber, seatNumber);
+        return (words.get(index >>> 6) & (1L << index)) == 0;
+    }
+
+    /**
+     * @return {@code true} if the seat was free and is now taken by the caller
+     */
+    public boolean tryReserve(int rowNumber, int seatNumber) {
+        int index = indexOf(rowNumber, seatNumber);
+        int word = index >>> 6;
+        long mask = 1L << index;
+        long current;
+        do {
+            current = words.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(word, current, current | mask));
+        seatChanged(rowNumber, seatNumber);
+        return true;
+    }
+
+    /**
+     * @return {@code true} if the seat was taken and is now free again
+     */
+    public boolean release(int rowNumber, int seatNumber) {
+        int index = indexOf(rowNumber, seatNumber);
+        int word = index >>> 6;
+        long mask = 1L << index;
+        long current;
+        do {
+            current = words.get(word);
+            if ((current & mask) == 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(word, current, current & ~mask));
+        seatChanged(rowNumber, seatNumber);
+        return true;
+    }
+
+    private void seatChanged(int rowNumber, int seatNumber) {
+        rowVersions.incrementAndGet(rowNumber);
+        SeatChangeListener listener = changeListener;
+        if (listener != null) {
+            listener.seatChanged(rowNumber, seatNumber);
+        }
+    }
+
+    /**
+     * Sets the listener notified after every successful claim or release, on the thread that made the change.
+     * It must not block.
+     */
+    public void setChangeListener(SeatChangeListener changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    public int rowVersion(int rowNumber) {
+        return rowVersions.get(rowNumber);
+    }
+
+    public void forEachTaken(BiConsumer<Integer, Integer> action) {
+        for (int row = 1; row <= rows; row++) {
+            for (int seatNumber = 1; seatNumber <= seatsPerRow; seatNumber++) {
+                if (!isAvailable(row, seatNumber)) {
+                    action.accept(row, seatNumber);
+                }
+            }
+        }
+    }
+
+    public int availableCount() {
+        int taken = 0;
+        for (int i = 0; i < words.length(); i++) {
+            taken += Long.bitCount(words.get(i));
+        }
+        return rows * seatsPerRow - taken;
+    }
+
+    /**
+     * @return taken seats as little-endian bytes, where bit {@code (row - 1) * seatsPerRow + (seat - 1)} is set
+     * for a taken seat
+     */
+    public byte[] toByteArray() {
+        long[] snapshot = new long[words.length()];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = words.get(i);
+        }
+        return BitSet.valueOf(snapshot).toByteArray();
+    }
+
+    private int indexOf(int rowNumber, int seatNumber) {
+        if (!contains(rowNumber, seatNumber)) {
+            throw new IndexOutOfBoundsException("Seat " + rowNumber + "/" + seatNumber + " is outside of " + rows + "x" + seatsPerRow + " hall.");
+        }
+        return (rowNumber - 1) * seatsPerRow + (seatNumber - 1);
+    }
+
+    @FunctionalInterface
+    public interface SeatChangeListener {
+        void seatChanged(int rowNumber, int seatNumber);
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.example.cinemabooking.screening.service;
+
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.screening.entity.Screening;
+import com.example.cinemabooking.screening.entity.SeatStatus;
+import com.example.cinemabooking.screening.repository.ScreeningRepository;
+import com.example.cinemabooking.screening.repository.ScreeningSeatRepository;
+import com.example.cinemabooking.screening.service.exception.ScreeningNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-process seat availability index. A screening's bitmap is restored from the seat snapshot on startup or
+ * built from the database on first access, and afterwards every availability read is served from memory.
+ */
+@Component
+@RequiredArgsConstructor
+public class SeatAvailabilityCache {
+
+    private final ScreeningRepository screeningRepository;
+    private final ScreeningSeatRepository screeningSeatRepository;
+
+    private final ConcurrentMap<Long, SeatAvailabilityBitmap> bitmaps = new ConcurrentHashMap<>();
+    private volatile BitmapListener bitmapListener;
+
+    /**
+     * Returns the cached bitmap, loading it from the database on a miss. The load runs outside the map, so it does
+     * not hold a map bin lock over database round trips; concurrent misses may each load, and the first to finish
+     * installs its bitmap for all of them.
+     */
+    public SeatAvailabilityBitmap getOrLoad(Long screeningId) {
+        SeatAvailabilityBitmap bitmap = bitmaps.get(screeningId);
+        if (bitmap != null) {
+            return bitmap;
+        }
+        SeatAvailabilityBitmap loaded = load(screeningId);
+        SeatAvailabilityBitmap existing = bitmaps.putIfAbsent(screeningId, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        bitmapInstalled(screeningId, loaded);
+        return loaded;
+    }
+
+    public Optional<SeatAvailabilityBitmap> find(Long screeningId) {
+        return Optional.ofNullable(bitmaps.get(screeningId));
+    }
+
+    public void evict(Long screeningId) {
+        bitmaps.remove(screeningId);
+    }
+
+    /**
+     * Installs a bitmap restored from a snapshot, unless the screening was loaded from the database meanwhile.
+     *
+     * @return the bitmap now cached for the screening
+     */
+    SeatAvailabilityBitmap restore(Long screeningId, SeatAvailabilityBitmap bitmap) {
+        SeatAvailabilityBitmap existing = bitmaps.putIfAbsent(screeningId, bitmap);
+        if (existing != null) {
+            return existing;
+        }
+        bitmapInstalled(screeningId, bitmap);
+        return bitmap;
+    }
+
+    /**
+     * Sets the listener notified whenever a bitmap is installed for a screening, by a load or a restore. A reload
+     * after {@link #evict} installs a new bitmap too, so the listener sees every replacement of a bitmap that was
+     * handed out before.
+     */
+    void setBitmapListener(BitmapListener bitmapListener) {
+        this.bitmapListener = bitmapListener;
+    }
+
+    private void bitmapInstalled(Long screeningId, SeatAvailabilityBitmap bitmap) {
+        BitmapListener listener = bitmapListener;
+        if (listener != null) {
+            listener.bitmapInstalled(screeningId, bitmap);
+        }
+    }
+
+    private SeatAvailabilityBitmap load(Long screeningId) {
+        Screening screening = screeningRepository.findById(screeningId)
+                .orElseThrow(() -> new ScreeningNotFoundException(screeningId));
+        CinemaHall hall = screening.getCinemaHall();
+        SeatAvailabilityBitmap bitmap = new SeatAvailabilityBitmap(hall.getRows(), hall.getSeatsPerRow());
+        screeningSeatRepository.findByScreeningIdAndStatus(screeningId, SeatStatus.BOOKED)
+                .forEach(seat -> bitmap.tryReserve(seat.getRowNumber(), seat.getSeatNumber()));
+        return bitmap;
+    }
+
+    @FunctionalInterface
+    interface BitmapListener {
+
+        void bitmapInstalled(Long screeningId, SeatAvailabilityBitmap bitmap);
+
+    }
+
+}
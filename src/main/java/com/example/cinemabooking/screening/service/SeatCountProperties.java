@@ -0,0 +1,15 @@
+package com.example.cinemabooking.screening.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param flushInterval how often changed counts are written to the {@code seats_available} column
+ */
+@ConfigurationProperties(prefix = "screening.seat-counts")
+public record SeatCountProperties(
+        @DefaultValue("5s") Duration flushInterval
+) {
+}
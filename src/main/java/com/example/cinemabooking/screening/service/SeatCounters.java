@@ -0,0 +1,164 @@
+package com.example.cinemabooking.screening.service;
+
+import com.example.cinemabooking.screening.entity.Screening;
+import com.example.cinemabooking.screening.repository.ScreeningJdbcRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live number of available seats per screening, kept in striped {@link LongAdder}s so concurrent bookings of a
+ * screening never contend on one counter. The counts of screenings that have not ended are rebuilt from the seat
+ * inventory on startup, so listings read them without any aggregate query.
+ * <p>
+ * Changes are written back to {@code screenings.seats_available} periodically as deltas rather than as the live
+ * count: every instance sharing the database adds its own changes to the column, and none overwrites the changes
+ * flushed by another. The live count of an instance only includes its own changes since startup, while the column
+ * converges on every instance's once they have flushed.
+ */
+@Slf4j
+@Component
+public class SeatCounters implements SmartInitializingSingleton {
+
+    private final ScreeningJdbcRepository screeningJdbcRepository;
+    private final SeatCountProperties properties;
+    private final Clock clock;
+    private final ConcurrentMap<Long, Counter> counters = new ConcurrentHashMap<>();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService flusher;
+
+    public SeatCounters(ScreeningJdbcRepository screeningJdbcRepository, SeatCountProperties properties, Clock clock) {
+        this.screeningJdbcRepository = screeningJdbcRepository;
+        this.properties = properties;
+        this.clock = clock;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("seat-count-flush").daemon().factory());
+    }
+
+    /**
+     * Rebuilds the counters once every bean is initialized, so the recount includes the bookings replayed from the
+     * write-behind journal on startup. The recount also repairs changes an instance stopped without flushing; changes
+     * still unflushed on other running instances at that moment are counted twice until the next recount, an error
+     * bounded by one flush interval of their bookings.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        screeningJdbcRepository.recountSeatsAvailable(now);
+        screeningJdbcRepository.findSeatsAvailable(now).forEach(this::register);
+        long flushMillis = properties.flushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        flusher.shutdownNow();
+        flush();
+    }
+
+    public void register(Long screeningId, int availableSeats) {
+        Counter counter = new Counter(new LongAdder(), new LongAdder());
+        counter.available().add(availableSeats);
+        counters.put(screeningId, counter);
+    }
+
+    public void remove(Long screeningId) {
+        counters.remove(screeningId);
+        dirty.remove(screeningId);
+    }
+
+    /**
+     * @return the live count, or the last flushed value for a screening created on another instance
+     */
+    public int getAvailableSeats(Screening screening) {
+        return getAvailableSeats(screening.getId(), screening.getSeatsAvailable());
+    }
+
+    /**
+     * @return the live count, or {@code fallback} for a screening without a counter on this instance
+     */
+    public int getAvailableSeats(Long screeningId, int fallback) {
+        Counter counter = counters.get(screeningId);
+        return counter != null ? counter.available().intValue() : fallback;
+    }
+
+    public void adjust(Long screeningId, int delta) {
+        Counter counter = counters.get(screeningId);
+        if (counter != null) {
+            counter.available().add(delta);
+            counter.unflushed().add(delta);
+            dirty.add(screeningId);
+        }
+    }
+
+    /**
+     * Adjusts the count once the current transaction commits, or right away outside of a transaction.
+     */
+    public void adjustAfterCommit(Long screeningId, int delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            adjust(screeningId, delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                adjust(screeningId, delta);
+            }
+        });
+    }
+
+    /**
+     * Writes the changes made since the last flush. Taking a delta resets it, so changes made meanwhile are left for
+     * the next run; a failed write adds its deltas back.
+     */
+    void flush() {
+        Map<Long, Integer> deltas = new HashMap<>();
+        for (Long screeningId : dirty) {
+            dirty.remove(screeningId);
+            Counter counter = counters.get(screeningId);
+            if (counter != null) {
+                int delta = (int) counter.unflushed().sumThenReset();
+                if (delta != 0) {
+                    deltas.put(screeningId, delta);
+                }
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            screeningJdbcRepository.addSeatsAvailable(deltas);
+        } catch (RuntimeException e) {
+            deltas.forEach((screeningId, delta) -> {
+                Counter counter = counters.get(screeningId);
+                if (counter != null) {
+                    counter.unflushed().add(delta);
+                    dirty.add(screeningId);
+                }
+            });
+            log.warn("Flushing seat counts failed, retrying on the next run", e);
+        }
+    }
+
+    /**
+     * @param available the live count
+     * @param unflushed the changes not yet added to {@code screenings.seats_available}
+     */
+    private record Counter(LongAdder available, LongAdder unflushed) {
+    }
+
+}
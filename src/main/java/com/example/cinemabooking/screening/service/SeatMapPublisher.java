@@ -0,0 +1,230 @@
+package com.example.cinemabooking.screening.service;
+
+import com.example.cinemabooking.screening.dto.ScreeningSeatResponse;
+import com.example.cinemabooking.screening.dto.SeatMapDeltaResponse;
+import com.example.cinemabooking.screening.mapper.ScreeningMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Fans the seat changes of one screening out to all of its stream subscribers.
+ * <p>
+ * The bitmap listener only sets a dirty bit per seat, so booking threads never wait on subscribers. A dispatcher
+ * thread turns the dirty bits into one delta at most every {@code delta-interval}, reading each seat's current
+ * state, serializes it once and hands it to every subscriber. Each subscriber drains its own bounded buffer on a
+ * virtual thread; a subscriber whose buffer overflows drops its pending deltas and receives a fresh snapshot.
+ * <p>
+ * When the cache replaces the screening's bitmap, the publisher listens to the new one instead and sends every
+ * subscriber a fresh snapshot of it, since the changes between the two bitmaps are not known.
+ */
+class SeatMapPublisher implements SeatAvailabilityBitmap.SeatChangeListener {
+
+    private static final Object RESYNC = new Object();
+    private static final Object CLOSE = new Object();
+
+    private final Long screeningId;
+    private volatile SeatAvailabilityBitmap bitmap;
+    private final ObjectMapper objectMapper;
+    private final SeatMapStreamProperties properties;
+    private final Consumer<Subscriber> onSubscriberClosed;
+
+    private final AtomicLongArray dirty;
+    private final Semaphore changed = new Semaphore(0);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Thread dispatcher;
+    private boolean closed;
+
+    SeatMapPublisher(Long screeningId, SeatAvailabilityBitmap bitmap, ObjectMapper objectMapper,
+                     SeatMapStreamProperties properties, Consumer<Subscriber> onSubscriberClosed) {
+        this.screeningId = screeningId;
+        this.bitmap = bitmap;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.onSubscriberClosed = onSubscriberClosed;
+        this.dirty = new AtomicLongArray((bitmap.getRows() * bitmap.getSeatsPerRow() + Long.SIZE - 1) / Long.SIZE);
+        this.dispatcher = Thread.ofVirtual().name("seat-map-" + screeningId).unstarted(this::dispatch);
+    }
+
+    SeatMapPublisher start() {
+        bitmap.setChangeListener(this);
+        dispatcher.start();
+        return this;
+    }
+
+    /**
+     * Moves over to a bitmap that replaced the current one in the cache; the bitmaps must have the same size.
+     */
+    synchronized void rebind(SeatAvailabilityBitmap replacement) {
+        if (closed || replacement == bitmap) {
+            return;
+        }
+        replacement.setChangeListener(this);
+        SeatAvailabilityBitmap previous = bitmap;
+        bitmap = replacement;
+        previous.setChangeListener(null);
+        subscribers.forEach(Subscriber::resync);
+    }
+
+    @Override
+    public void seatChanged(int rowNumber, int seatNumber) {
+        int index = (rowNumber - 1) * bitmap.getSeatsPerRow() + (seatNumber - 1);
+        long mask = 1L << index;
+        long previous = dirty.getAndAccumulate(index >>> 6, mask, (current, bit) -> current | bit);
+        if ((previous & mask) == 0) {
+            changed.release();
+        }
+    }
+
+    Subscriber subscribe(SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        subscribers.add(subscriber);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        Thread.ofVirtual().name("seat-map-" + screeningId + "-subscriber").start(subscriber::run);
+        return subscriber;
+    }
+
+    void unsubscribe(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    boolean hasSubscribers() {
+        return !subscribers.isEmpty();
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    synchronized void close() {
+        closed = true;
+        bitmap.setChangeListener(null);
+        dispatcher.interrupt();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.forEach(Subscriber::close);
+    }
+
+    private void dispatch() {
+        try {
+            while (true) {
+                changed.acquire();
+                changed.drainPermits();
+                List<ScreeningSeatResponse> seats = collectChanges();
+                if (!seats.isEmpty()) {
+                    String delta = toJson(SeatMapDeltaResponse.builder()
+                            .screeningId(screeningId)
+                            .sequence(sequence.incrementAndGet())
+                            .seats(seats)
+                            .build());
+                    subscribers.forEach(subscriber -> subscriber.offer(delta));
+                }
+                Thread.sleep(properties.deltaInterval());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<ScreeningSeatResponse> collectChanges() {
+        List<ScreeningSeatResponse> seats = new ArrayList<>();
+        for (int word = 0; word < dirty.length(); word++) {
+            long bits = dirty.getAndSet(word, 0);
+            while (bits != 0) {
+                int index = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                int rowNumber = index / bitmap.getSeatsPerRow() + 1;
+                int seatNumber = index % bitmap.getSeatsPerRow() + 1;
+                seats.add(ScreeningMapper.toSeatResponse(rowNumber, seatNumber, bitmap.isAvailable(rowNumber, seatNumber)));
+                bits &= bits - 1;
+            }
+        }
+        return seats;
+    }
+
+    private String toJson(Object event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<Object> buffer = new ArrayBlockingQueue<>(properties.subscriberBuffer());
+        private boolean closed;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+            buffer.add(RESYNC);
+        }
+
+        private synchronized void offer(String delta) {
+            if (!closed && !buffer.offer(delta)) {
+                resync();
+            }
+        }
+
+        private synchronized void resync() {
+            if (!closed) {
+                buffer.clear();
+                buffer.offer(RESYNC);
+            }
+        }
+
+        /**
+         * Replaces the pending events with {@code CLOSE}. Once closed, nothing else is queued behind it, so a
+         * delta dispatched concurrently can neither run after it nor clear it on overflow.
+         */
+        private synchronized void close() {
+            closed = true;
+            buffer.clear();
+            buffer.offer(CLOSE);
+        }
+
+        private void run() {
+            try {
+                while (true) {
+                    Object event = buffer.take();
+                    if (event == CLOSE) {
+                        return;
+                    }
+                    if (event == RESYNC) {
+                        send("snapshot", toJson(ScreeningMapper.toSnapshotResponse(screeningId, sequence.get(), bitmap)));
+                    } else {
+                        send("delta", (String) event);
+                    }
+                }
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                onSubscriberClosed.accept(this);
+            }
+        }
+
+        private void send(String name, String data) throws IOException {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        }
+
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.example.cinemabooking.screening.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param timeout          how long a stream stays open before the client has to reconnect
+ * @param subscriberBuffer deltas buffered per subscriber before it is resynchronized with a snapshot
+ * @param deltaInterval    minimum time between two deltas, changes in between are coalesced
+ */
+@ConfigurationProperties(prefix = "screening.seat-stream")
+public record SeatMapStreamProperties(
+        @DefaultValue("30m") Duration timeout,
+        @DefaultValue("64") int subscriberBuffer,
+        @DefaultValue("100ms") Duration deltaInterval
+) {
+}
@@ -0,0 +1,82 @@
+package com.example.cinemabooking.screening.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Live seat-map streams. All subscribers of a screening share one {@link SeatMapPublisher}, created with the
+ * first subscriber and closed with the last one, so the number of watchers does not add any database load. When
+ * the cache replaces a screening's bitmap, its publisher moves over to the new one.
+ */
+@Service
+@RequiredArgsConstructor
+public class SeatMapStreamService {
+
+    private final SeatAvailabilityCache seatAvailabilityCache;
+    private final ObjectMapper objectMapper;
+    private final SeatMapStreamProperties properties;
+
+    private final ConcurrentMap<Long, SeatMapPublisher> publishers = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void start() {
+        seatAvailabilityCache.setBitmapListener(this::rebind);
+    }
+
+    /**
+     * Opens a stream that starts with a {@code snapshot} event followed by {@code delta} events.
+     */
+    public SseEmitter subscribe(Long screeningId) {
+        SeatAvailabilityBitmap bitmap = seatAvailabilityCache.getOrLoad(screeningId);
+        SseEmitter emitter = new SseEmitter(properties.timeout().toMillis());
+        publishers.compute(screeningId, (id, publisher) -> {
+            SeatMapPublisher current = publisher != null ? publisher : new SeatMapPublisher(id, bitmap, objectMapper,
+                    properties, subscriber -> unsubscribe(id, subscriber)).start();
+            current.subscribe(emitter);
+            return current;
+        });
+        // the bitmap may have been replaced before the publisher was registered to hear about it
+        rebind(screeningId, seatAvailabilityCache.getOrLoad(screeningId));
+        return emitter;
+    }
+
+    private void unsubscribe(Long screeningId, SeatMapPublisher.Subscriber subscriber) {
+        publishers.computeIfPresent(screeningId, (id, publisher) -> {
+            publisher.unsubscribe(subscriber);
+            if (publisher.hasSubscribers()) {
+                return publisher;
+            }
+            publisher.close();
+            return null;
+        });
+    }
+
+    private void rebind(Long screeningId, SeatAvailabilityBitmap bitmap) {
+        SeatMapPublisher publisher = publishers.get(screeningId);
+        if (publisher != null) {
+            publisher.rebind(bitmap);
+        }
+    }
+
+    public int getSubscriberCount(Long screeningId) {
+        SeatMapPublisher publisher = publishers.get(screeningId);
+        return publisher != null ? publisher.subscriberCount() : 0;
+    }
+
+    /**
+     * Ends all streams of a screening, e.g. because it was deleted.
+     */
+    public void closeStreams(Long screeningId) {
+        SeatMapPublisher publisher = publishers.remove(screeningId);
+        if (publisher != null) {
+            publisher.close();
+        }
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.example.cinemabooking.screening.service;
+
+import com.example.cinemabooking.screening.repository.ScreeningJdbcRepository;
+import com.example.cinemabooking.screening.repository.ScreeningLayout;
+import com.example.cinemabooking.screening.repository.SeatStatusChange;
+import com.example.cinemabooking.screening.snapshot.SeatSnapshot;
+import com.example.cinemabooking.screening.snapshot.SeatSnapshotFile;
+import com.example.cinemabooking.screening.snapshot.SeatSnapshotProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a compact on-disk snapshot of the seat state of upcoming screenings, so a restarted instance does not
+ * rebuild every bitmap from the seat inventory. Snapshots are read from the database in one repeatable-read
+ * transaction, so they hold committed bookings only and never seat holds, which do not survive a restart.
+ * <p>
+ * On startup the snapshot is mapped, checked against the screenings it describes and installed in the
+ * {@link SeatAvailabilityCache}; seats whose status changed after the snapshot are then re-read from the
+ * database. This runs once all beans are initialized, after the booking journal has been replayed.
+ */
+@Slf4j
+@Component
+public class SeatSnapshotService implements SmartInitializingSingleton {
+
+    private final ScreeningJdbcRepository screeningJdbcRepository;
+    private final SeatAvailabilityCache seatAvailabilityCache;
+    private final SeatSnapshotProperties properties;
+    private final TransactionTemplate snapshotTransaction;
+    private final ScheduledExecutorService writer;
+
+    public SeatSnapshotService(ScreeningJdbcRepository screeningJdbcRepository, SeatAvailabilityCache seatAvailabilityCache,
+                               SeatSnapshotProperties properties, PlatformTransactionManager transactionManager) {
+        this.screeningJdbcRepository = screeningJdbcRepository;
+        this.seatAvailabilityCache = seatAvailabilityCache;
+        this.properties = properties;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransaction.setReadOnly(true);
+        this.writer = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("seat-snapshot").daemon().factory());
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!properties.enabled()) {
+            return;
+        }
+        try {
+            int restored = restore();
+            if (restored > 0) {
+                log.info("Restored seat availability of {} screenings from {}", restored, properties.file());
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Restoring the seat snapshot failed, screenings will be loaded from the database", e);
+        }
+        long intervalMillis = properties.interval().toMillis();
+        writer.scheduleWithFixedDelay(this::writeQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        writer.shutdownNow();
+        if (properties.enabled()) {
+            writeQuietly();
+        }
+    }
+
+    /**
+     * @return number of screenings installed from the snapshot
+     */
+    int restore() throws IOException {
+        Optional<SeatSnapshot> read = SeatSnapshotFile.read(properties.file());
+        if (read.isEmpty()) {
+            return 0;
+        }
+        SeatSnapshot snapshot = read.get();
+        LocalDateTime now = screeningJdbcRepository.currentTimestamp();
+        if (snapshot.takenAt().isBefore(now.minus(properties.maxAge()))) {
+            log.info("Ignoring seat snapshot taken at {}, older than {}", snapshot.takenAt(), properties.maxAge());
+            return 0;
+        }
+
+        Map<Long, ScreeningLayout> layouts = screeningJdbcRepository.findLayouts(
+                snapshot.screenings().stream().map(SeatSnapshot.ScreeningSeats::screeningId).toList());
+        Map<Long, SeatAvailabilityBitmap> restored = new HashMap<>();
+        for (SeatSnapshot.ScreeningSeats screening : snapshot.screenings()) {
+            // a screening deleted, re-created under the same id or moved to another hall is loaded from scratch
+            ScreeningLayout layout = layouts.get(screening.screeningId());
+            if (layout != null && layout.screeningUuid().equals(screening.screeningUuid())
+                    && layout.rows() == screening.rows() && layout.seatsPerRow() == screening.seatsPerRow()) {
+                SeatAvailabilityBitmap bitmap = SeatAvailabilityBitmap.fromByteArray(screening.rows(), screening.seatsPerRow(), screening.taken());
+                restored.put(screening.screeningId(), seatAvailabilityCache.restore(screening.screeningId(), bitmap));
+            }
+        }
+        if (restored.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime changedSince = snapshot.takenAt().minus(properties.reconcileMargin());
+        for (SeatStatusChange change : screeningJdbcRepository.findSeatStatusChanges(changedSince, restored.keySet())) {
+            SeatAvailabilityBitmap bitmap = restored.get(change.screeningId());
+            if (change.booked()) {
+                bitmap.tryReserve(change.rowNumber(), change.seatNumber());
+            } else {
+                bitmap.release(change.rowNumber(), change.seatNumber());
+            }
+        }
+        return restored.size();
+    }
+
+    void writeSnapshot() throws IOException {
+        SeatSnapshot snapshot = snapshotTransaction.execute(status -> {
+            LocalDateTime takenAt = screeningJdbcRepository.currentTimestamp();
+            return new SeatSnapshot(takenAt, screeningJdbcRepository.findSeatStates(takenAt));
+        });
+        SeatSnapshotFile.write(properties.file(), snapshot);
+    }
+
+    private void writeQuietly() {
+        try {
+            writeSnapshot();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Writing the seat snapshot failed, retrying on the next run", e);
+        }
+    }
+
+}
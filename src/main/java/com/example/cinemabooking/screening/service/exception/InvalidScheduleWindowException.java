@@ -0,0 +1,7 @@
+package com.example.cinemabooking.screening.service.exception;
+
+public class InvalidScheduleWindowException extends RuntimeException {
+    public InvalidScheduleWindowException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.cinemabooking.screening.service.exception;
+
+import com.example.cinemabooking.screening.repository.ScreeningOverlap;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+public class ScreeningOverlapException extends RuntimeException {
+
+    private final List<ScreeningOverlap> overlaps;
+
+    public ScreeningOverlapException(Long movieId, List<ScreeningOverlap> overlaps) {
+        super("Changing the duration of movie with id " + movieId + " would make " + overlaps.size() + " screening(s) overlap.");
+        this.overlaps = List.copyOf(overlaps);
+    }
+
+}
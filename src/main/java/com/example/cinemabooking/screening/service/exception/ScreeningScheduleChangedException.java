@@ -0,0 +1,7 @@
+package com.example.cinemabooking.screening.service.exception;
+
+public class ScreeningScheduleChangedException extends RuntimeException {
+    public ScreeningScheduleChangedException() {
+        super("Screening schedule changed concurrently, no changes were saved.");
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.cinemabooking.screening.service.exception;
+
+public class SeatNotFoundException extends RuntimeException {
+    public SeatNotFoundException(Long screeningId, int rowNumber, int seatNumber) {
+        super("Seat " + seatNumber + " in row " + rowNumber + " does not exist for screening with id " + screeningId + ".");
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.cinemabooking.screening.snapshot;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Seat state of screenings as committed in the database at {@code takenAt} (database time).
+ */
+public record SeatSnapshot(LocalDateTime takenAt, List<ScreeningSeats> screenings) {
+
+    /**
+     * @param taken little-endian bitset of taken seats, see
+     *              {@link com.example.cinemabooking.screening.service.SeatAvailabilityBitmap#toByteArray()}
+     */
+    public record ScreeningSeats(long screeningId, UUID screeningUuid, int rows, int seatsPerRow, byte[] taken) {
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.example.cinemabooking.screening.snapshot;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary snapshot file. Layout: a header {@code [magic][version][takenAt][count]}, one entry
+ * {@code [screeningId][uuid][rows][seatsPerRow][length][taken bytes]} per screening and a CRC32C of everything
+ * before it. A snapshot is written to a temporary file, forced to disk and moved over the previous one, so
+ * the file always holds one complete snapshot; it is read through a memory mapping.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class SeatSnapshotFile {
+
+    private static final int MAGIC = 0x53454154;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES * 2 + Long.BYTES + Integer.BYTES;
+    private static final int ENTRY_HEADER_SIZE = Long.BYTES * 3 + Integer.BYTES * 3;
+
+    public static void write(Path file, SeatSnapshot snapshot) throws IOException {
+        int size = HEADER_SIZE + Long.BYTES;
+        for (SeatSnapshot.ScreeningSeats screening : snapshot.screenings()) {
+            size += ENTRY_HEADER_SIZE + screening.taken().length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putLong(snapshot.takenAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+        buffer.putInt(snapshot.screenings().size());
+        for (SeatSnapshot.ScreeningSeats screening : snapshot.screenings()) {
+            buffer.putLong(screening.screeningId());
+            buffer.putLong(screening.screeningUuid().getMostSignificantBits());
+            buffer.putLong(screening.screeningUuid().getLeastSignificantBits());
+            buffer.putInt(screening.rows());
+            buffer.putInt(screening.seatsPerRow());
+            buffer.putInt(screening.taken().length);
+            buffer.put(screening.taken());
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putLong(crc.getValue());
+        buffer.flip();
+
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * @return the snapshot, or empty when there is no snapshot file or it is not a complete snapshot
+     */
+    public static Optional<SeatSnapshot> read(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        }
+        if (buffer.limit() < HEADER_SIZE + Long.BYTES || !checksumMatches(buffer)) {
+            return Optional.empty();
+        }
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+            return Optional.empty();
+        }
+        LocalDateTime takenAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(buffer.getLong()), ZoneOffset.UTC);
+        int count = buffer.getInt();
+        List<SeatSnapshot.ScreeningSeats> screenings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long screeningId = buffer.getLong();
+            UUID uuid = new UUID(buffer.getLong(), buffer.getLong());
+            int rows = buffer.getInt();
+            int seatsPerRow = buffer.getInt();
+            byte[] taken = new byte[buffer.getInt()];
+            buffer.get(taken);
+            screenings.add(new SeatSnapshot.ScreeningSeats(screeningId, uuid, rows, seatsPerRow, taken));
+        }
+        return Optional.of(new SeatSnapshot(takenAt, screenings));
+    }
+
+    private static boolean checksumMatches(ByteBuffer buffer) {
+        int end = buffer.limit() - Long.BYTES;
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(0, end));
+        return crc.getValue() == buffer.getLong(end);
+    }
+
+}
@@ -0,0 +1,23 @@
+package com.example.cinemabooking.screening.snapshot;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * @param interval        how often a new snapshot is written
+ * @param maxAge          older snapshots are ignored on startup, as reconciling them would cost more than a reload
+ * @param reconcileMargin seat changes this long before the snapshot are re-applied on startup, covering
+ *                        transactions that changed a seat before the snapshot but committed after it
+ */
+@ConfigurationProperties(prefix = "screening.snapshot")
+public record SeatSnapshotProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("data/seat-snapshot.bin") Path file,
+        @DefaultValue("1m") Duration interval,
+        @DefaultValue("6h") Duration maxAge,
+        @DefaultValue("1m") Duration reconcileMargin
+) {
+}
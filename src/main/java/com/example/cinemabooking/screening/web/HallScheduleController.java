@@ -0,0 +1,36 @@
+package com.example.cinemabooking.screening.web;
+
+import com.example.cinemabooking.screening.dto.AvailableHallResponse;
+import com.example.cinemabooking.screening.dto.FreeSlotResponse;
+import com.example.cinemabooking.screening.service.FreeSlotService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/halls")
+public class HallScheduleController {
+
+    private final FreeSlotService freeSlotService;
+
+    @GetMapping("/available")
+    public List<AvailableHallResponse> getAvailableHalls(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                         @RequestParam(defaultValue = "0") int minCapacity) {
+        return freeSlotService.getAvailableHalls(from, to, minCapacity);
+    }
+
+    @GetMapping("/{hallId}/free-slots")
+    public List<FreeSlotResponse> getFreeSlots(@PathVariable Long hallId,
+                                               @RequestParam Long movieId,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                               @RequestParam(defaultValue = "0") int turnaroundMinutes) {
+        return freeSlotService.getFreeSlots(hallId, movieId, from, to, turnaroundMinutes);
+    }
+
+}
@@ -1,14 +1,31 @@
 package com.example.cinemabooking.screening.web;
 
+import com.example.cinemabooking.screening.dto.BulkCreateScreeningsRequest;
+import com.example.cinemabooking.screening.dto.BulkCreateScreeningsResponse;
+import com.example.cinemabooking.screening.dto.CloneScheduleRequest;
+import com.example.cinemabooking.screening.dto.CloneScheduleResponse;
 import com.example.cinemabooking.screening.dto.CreateScreeningRequest;
+import com.example.cinemabooking.screening.dto.ScreeningPageResponse;
 import com.example.cinemabooking.screening.dto.ScreeningResponse;
+import com.example.cinemabooking.screening.dto.ScreeningSearchRequest;
+import com.example.cinemabooking.screening.dto.ScreeningSeatResponse;
+import com.example.cinemabooking.screening.service.ScreeningListingService;
 import com.example.cinemabooking.screening.service.ScreeningService;
+import com.example.cinemabooking.screening.service.SeatMapStreamService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -18,38 +35,112 @@ import java.util.List;
 public class ScreeningController {
 
     private final ScreeningService screeningService;
+    private final ScreeningListingService screeningListingService;
+    private final SeatMapStreamService seatMapStreamService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     public List<ScreeningResponse> getAllScreenings() {
         return screeningService.getAllScreenings();
     }
 
+    @GetMapping(params = "limit")
+    public ScreeningPageResponse getScreeningsPage(@RequestParam(required = false) String after,
+                                                   @RequestParam int limit) {
+        return screeningListingService.getScreeningsPage(after, limit);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamScreenings() {
+        ObjectWriter writer = objectMapper.writerFor(ScreeningResponse.class);
+        StreamingResponseBody body = out -> screeningListingService.streamScreenings(screening -> {
+            try {
+                out.write(writer.writeValueAsBytes(screening));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/search")
+    public ScreeningPageResponse searchScreenings(@Valid ScreeningSearchRequest request) {
+        return screeningListingService.searchScreenings(request);
+    }
+
     @GetMapping("/{id}")
     public ScreeningResponse getScreeningById(@PathVariable Long id) {
         return screeningService.getScreeningById(id);
     }
 
+    @GetMapping("/{id}/seats")
+    public List<ScreeningSeatResponse> getScreeningSeats(@PathVariable Long id) {
+        return screeningService.getScreeningSeats(id);
+    }
+
+    @GetMapping(path = "/{id}/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamScreeningSeats(@PathVariable Long id) {
+        return seatMapStreamService.subscribe(id);
+    }
+
+    @GetMapping("/{id}/seats/{rowNumber}/{seatNumber}")
+    public ScreeningSeatResponse getScreeningSeat(@PathVariable Long id, @PathVariable int rowNumber, @PathVariable int seatNumber) {
+        return screeningService.getScreeningSeat(id, rowNumber, seatNumber);
+    }
+
     @GetMapping("/movie/{movieId}")
     public List<ScreeningResponse> getScreeningsByMovie(@PathVariable Long movieId) {
         return screeningService.getScreeningsByMovie(movieId);
     }
 
+    @GetMapping(path = "/movie/{movieId}", params = "limit")
+    public ScreeningPageResponse getScreeningsByMoviePage(@PathVariable Long movieId,
+                                                          @RequestParam(required = false) String after,
+                                                          @RequestParam int limit) {
+        return screeningListingService.getScreeningsByMoviePage(movieId, after, limit);
+    }
+
     @GetMapping("/hall/{cinemaHallId}")
     public List<ScreeningResponse> getScreeningsByCinemaHall(@PathVariable Long cinemaHallId) {
         return screeningService.getScreeningsByCinemaHall(cinemaHallId);
     }
 
+    @GetMapping(path = "/hall/{cinemaHallId}", params = "limit")
+    public ScreeningPageResponse getScreeningsByCinemaHallPage(@PathVariable Long cinemaHallId,
+                                                               @RequestParam(required = false) String after,
+                                                               @RequestParam int limit) {
+        return screeningListingService.getScreeningsByCinemaHallPage(cinemaHallId, after, limit);
+    }
+
     @GetMapping("/date/{date}")
     public List<ScreeningResponse> getScreeningsByDate(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
         return screeningService.getScreeningsByDate(date);
     }
 
+    @GetMapping(path = "/date/{date}", params = "limit")
+    public ScreeningPageResponse getScreeningsByDatePage(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+                                                         @RequestParam(required = false) String after,
+                                                         @RequestParam int limit) {
+        return screeningListingService.getScreeningsByDatePage(date, after, limit);
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public ScreeningResponse createScreening(@Valid @RequestBody CreateScreeningRequest request) {
         return screeningService.createScreening(request);
     }
 
+    @PostMapping("/bulk")
+    public BulkCreateScreeningsResponse createScreenings(@Valid @RequestBody BulkCreateScreeningsRequest request) {
+        return screeningService.createScreenings(request);
+    }
+
+    @PostMapping("/clone")
+    public CloneScheduleResponse cloneSchedule(@Valid @RequestBody CloneScheduleRequest request) {
+        return screeningService.cloneSchedule(request);
+    }
+
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void deleteScreening(@PathVariable Long id) {
@@ -0,0 +1,20 @@
+package com.example.cinemabooking.waitingroom.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OpenWaitingRoomRequest {
+
+    @Min(1)
+    @Max(10_000)
+    private int admissionsPerSecond;
+
+}
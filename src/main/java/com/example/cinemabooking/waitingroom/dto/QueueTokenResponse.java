@@ -0,0 +1,16 @@
+package com.example.cinemabooking.waitingroom.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class QueueTokenResponse {
+
+    String token;
+    Long screeningId;
+    boolean admitted;
+    long position;
+    long estimatedWaitSeconds;
+
+}
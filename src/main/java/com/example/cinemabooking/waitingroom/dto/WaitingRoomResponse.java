@@ -0,0 +1,16 @@
+package com.example.cinemabooking.waitingroom.dto;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class WaitingRoomResponse {
+
+    Long screeningId;
+    int admissionsPerSecond;
+    long issuedTokens;
+    long admittedTokens;
+    long waiting;
+
+}
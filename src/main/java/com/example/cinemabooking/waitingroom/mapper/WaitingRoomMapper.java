@@ -0,0 +1,32 @@
+package com.example.cinemabooking.waitingroom.mapper;
+
+import com.example.cinemabooking.waitingroom.dto.QueueTokenResponse;
+import com.example.cinemabooking.waitingroom.dto.WaitingRoomResponse;
+import com.example.cinemabooking.waitingroom.service.WaitingRoom;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class WaitingRoomMapper {
+
+    public static WaitingRoomResponse toResponse(Long screeningId, WaitingRoom.Stats stats) {
+        return WaitingRoomResponse.builder()
+                .screeningId(screeningId)
+                .admissionsPerSecond(stats.admissionsPerSecond())
+                .issuedTokens(stats.issued())
+                .admittedTokens(stats.admitted())
+                .waiting(stats.issued() - stats.admitted())
+                .build();
+    }
+
+    public static QueueTokenResponse toResponse(Long screeningId, String token, WaitingRoom.Ticket ticket) {
+        return QueueTokenResponse.builder()
+                .token(token)
+                .screeningId(screeningId)
+                .admitted(ticket.admitted())
+                .position(ticket.position())
+                .estimatedWaitSeconds(ticket.estimatedWaitSeconds())
+                .build();
+    }
+
+}
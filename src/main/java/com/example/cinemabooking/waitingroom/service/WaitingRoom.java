@@ -0,0 +1,153 @@
+package com.example.cinemabooking.waitingroom.service;
+
+import lombok.Getter;
+
+/**
+ * Admission queue of a single screening.
+ * <p>
+ * Tokens are numbered by a counter, and the random nonce of each token is kept in a ring buffer slot chosen by its
+ * number, which is all the state a waiting visitor costs. Admission is a frontier that moves forward at
+ * {@code admissionsPerSecond}; every token numbered at or below it is admitted. The frontier never runs ahead of
+ * the issued tokens, so a quiet period does not let a later burst in all at once.
+ * <p>
+ * When the frontier passes a token, the time it did so is stored in the token's slot as well. The admission is
+ * good for {@code admissionTtlMillis} from then, and for one booking: consuming the token marks its slot, and a
+ * consumed or expired token is no longer found.
+ */
+public class WaitingRoom {
+
+    @Getter
+    private final Long screeningId;
+
+    private final long[] nonces;
+    private final long[] admittedAt;
+    private final boolean[] consumed;
+    private final long admissionTtlMillis;
+    private int admissionsPerSecond;
+    private long issued;
+    private double admitted;
+    private long lastAdvanceMillis;
+
+    WaitingRoom(Long screeningId, int capacity, int admissionsPerSecond, long admissionTtlMillis, long nowMillis) {
+        this.screeningId = screeningId;
+        this.nonces = new long[capacity];
+        this.admittedAt = new long[capacity];
+        this.consumed = new boolean[capacity];
+        this.admissionTtlMillis = admissionTtlMillis;
+        this.admissionsPerSecond = admissionsPerSecond;
+        this.lastAdvanceMillis = nowMillis;
+    }
+
+    /**
+     * @return the new ticket, or {@code null} when {@code capacity} visitors are already waiting
+     */
+    synchronized Ticket issue(long nonce, long nowMillis) {
+        advance(nowMillis);
+        if (issued - admittedCount() >= nonces.length) {
+            return null;
+        }
+        long sequence = ++issued;
+        nonces[slot(sequence)] = nonce;
+        consumed[slot(sequence)] = false;
+        return ticket(sequence);
+    }
+
+    /**
+     * @return the ticket's current state, or {@code null} when the token is unknown, its slot has been reused, or
+     * its admission has been consumed or has expired
+     */
+    synchronized Ticket find(long sequence, long nonce, long nowMillis) {
+        advance(nowMillis);
+        return isValid(sequence, nonce, nowMillis) ? ticket(sequence) : null;
+    }
+
+    /**
+     * Uses up the admission of a token, so that it cannot be presented again.
+     *
+     * @return {@code false} when the token is not valid or not admitted yet
+     */
+    synchronized boolean consume(long sequence, long nonce, long nowMillis) {
+        advance(nowMillis);
+        if (!isValid(sequence, nonce, nowMillis) || sequence > admittedCount()) {
+            return false;
+        }
+        consumed[slot(sequence)] = true;
+        return true;
+    }
+
+    /**
+     * Gives a consumed admission back, e.g. because the booking it was consumed for failed. It still expires at
+     * the same time.
+     */
+    synchronized void unconsume(long sequence, long nonce) {
+        if (isIssued(sequence) && nonces[slot(sequence)] == nonce) {
+            consumed[slot(sequence)] = false;
+        }
+    }
+
+    synchronized void changeRate(int admissionsPerSecond, long nowMillis) {
+        advance(nowMillis);
+        this.admissionsPerSecond = admissionsPerSecond;
+    }
+
+    synchronized Stats stats(long nowMillis) {
+        advance(nowMillis);
+        return new Stats(admissionsPerSecond, issued, admittedCount());
+    }
+
+    private boolean isValid(long sequence, long nonce, long nowMillis) {
+        if (!isIssued(sequence) || nonces[slot(sequence)] != nonce || consumed[slot(sequence)]) {
+            return false;
+        }
+        return sequence > admittedCount() || nowMillis - admittedAt[slot(sequence)] < admissionTtlMillis;
+    }
+
+    private boolean isIssued(long sequence) {
+        return sequence >= 1 && sequence <= issued && sequence > issued - nonces.length;
+    }
+
+    /**
+     * Moves the frontier and stamps every token it passes with the time it was passed, which costs one write per
+     * token over the lifetime of the room.
+     */
+    private void advance(long nowMillis) {
+        if (nowMillis > lastAdvanceMillis) {
+            double frontier = Math.min(admitted + (nowMillis - lastAdvanceMillis) * admissionsPerSecond / 1000.0, issued);
+            for (long sequence = admittedCount() + 1; sequence <= (long) frontier; sequence++) {
+                long passedAfterMillis = (long) Math.ceil((sequence - admitted) * 1000 / admissionsPerSecond);
+                admittedAt[slot(sequence)] = Math.min(lastAdvanceMillis + passedAfterMillis, nowMillis);
+            }
+            admitted = frontier;
+            lastAdvanceMillis = nowMillis;
+        }
+    }
+
+    private long admittedCount() {
+        return (long) admitted;
+    }
+
+    private Ticket ticket(long sequence) {
+        long position = Math.max(0, sequence - admittedCount());
+        long waitSeconds = position == 0 ? 0 : (long) Math.ceil((sequence - admitted) / admissionsPerSecond);
+        return new Ticket(sequence, position, waitSeconds);
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % nonces.length);
+    }
+
+    /**
+     * @param position number of tokens ahead of this one still waiting, including itself; zero once admitted
+     */
+    public record Ticket(long sequence, long position, long estimatedWaitSeconds) {
+
+        public boolean admitted() {
+            return position == 0;
+        }
+
+    }
+
+    public record Stats(int admissionsPerSecond, long issued, long admitted) {
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.example.cinemabooking.waitingroom.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param capacity     most tokens a waiting room keeps track of; once that many are waiting new visitors are turned
+ *                     away, and a token is forgotten once {@code capacity} newer tokens have been issued
+ * @param admissionTtl how long an admitted token can be used for a booking after its admission
+ */
+@ConfigurationProperties(prefix = "waiting-room")
+public record WaitingRoomProperties(
+        @DefaultValue("100000") int capacity,
+        @DefaultValue("10m") Duration admissionTtl
+) {
+}
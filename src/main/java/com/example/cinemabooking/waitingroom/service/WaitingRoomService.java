@@ -0,0 +1,149 @@
+package com.example.cinemabooking.waitingroom.service;
+
+import com.example.cinemabooking.screening.repository.ScreeningRepository;
+import com.example.cinemabooking.screening.service.exception.ScreeningNotFoundException;
+import com.example.cinemabooking.waitingroom.dto.OpenWaitingRoomRequest;
+import com.example.cinemabooking.waitingroom.dto.QueueTokenResponse;
+import com.example.cinemabooking.waitingroom.dto.WaitingRoomResponse;
+import com.example.cinemabooking.waitingroom.mapper.WaitingRoomMapper;
+import com.example.cinemabooking.waitingroom.service.exception.QueueTokenNotFoundException;
+import com.example.cinemabooking.waitingroom.service.exception.WaitingRoomFullException;
+import com.example.cinemabooking.waitingroom.service.exception.WaitingRoomNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Admission control for on-sale spikes. While a screening's waiting room is open, seats can only be held or
+ * booked with an admitted queue token. Issuing tokens and polling their position never touches the database.
+ */
+@Service
+@RequiredArgsConstructor
+public class WaitingRoomService {
+
+    private final ScreeningRepository screeningRepository;
+    private final WaitingRoomProperties properties;
+    private final Clock clock;
+
+    private final SecureRandom random = new SecureRandom();
+    private final ConcurrentMap<Long, WaitingRoom> rooms = new ConcurrentHashMap<>();
+
+    /**
+     * Opens the waiting room of a screening, or changes the admission rate of an already open one.
+     */
+    public WaitingRoomResponse openWaitingRoom(Long screeningId, OpenWaitingRoomRequest request) {
+        if (!screeningRepository.existsById(screeningId)) {
+            throw new ScreeningNotFoundException(screeningId);
+        }
+        long now = clock.millis();
+        WaitingRoom room = rooms.computeIfAbsent(screeningId,
+                id -> new WaitingRoom(id, properties.capacity(), request.getAdmissionsPerSecond(),
+                        properties.admissionTtl().toMillis(), now));
+        room.changeRate(request.getAdmissionsPerSecond(), now);
+        return WaitingRoomMapper.toResponse(screeningId, room.stats(now));
+    }
+
+    public WaitingRoomResponse getWaitingRoom(Long screeningId) {
+        return WaitingRoomMapper.toResponse(screeningId, getRoomOrThrow(screeningId).stats(clock.millis()));
+    }
+
+    public void closeWaitingRoom(Long screeningId) {
+        if (rooms.remove(screeningId) == null) {
+            throw new WaitingRoomNotFoundException(screeningId);
+        }
+    }
+
+    public QueueTokenResponse issueToken(Long screeningId) {
+        long nonce = random.nextLong();
+        WaitingRoom.Ticket ticket = getRoomOrThrow(screeningId).issue(nonce, clock.millis());
+        if (ticket == null) {
+            throw new WaitingRoomFullException(screeningId);
+        }
+        return WaitingRoomMapper.toResponse(screeningId, formatToken(ticket.sequence(), nonce), ticket);
+    }
+
+    public QueueTokenResponse getTokenStatus(Long screeningId, String token) {
+        WaitingRoom.Ticket ticket = findTicket(getRoomOrThrow(screeningId), token);
+        if (ticket == null) {
+            throw new QueueTokenNotFoundException(token);
+        }
+        return WaitingRoomMapper.toResponse(screeningId, token, ticket);
+    }
+
+    /**
+     * @return {@code true} when the screening has no open waiting room or the token has been admitted
+     */
+    public boolean isAdmitted(Long screeningId, String token) {
+        WaitingRoom room = rooms.get(screeningId);
+        if (room == null) {
+            return true;
+        }
+        WaitingRoom.Ticket ticket = token != null ? findTicket(room, token) : null;
+        return ticket != null && ticket.admitted();
+    }
+
+    /**
+     * Like {@link #isAdmitted}, but also uses the token up, so that every admission buys one booking.
+     */
+    public boolean consume(Long screeningId, String token) {
+        WaitingRoom room = rooms.get(screeningId);
+        if (room == null) {
+            return true;
+        }
+        QueueToken parsed = token != null ? QueueToken.parse(token) : null;
+        return parsed != null && room.consume(parsed.sequence(), parsed.nonce(), clock.millis());
+    }
+
+    /**
+     * Gives back a token consumed for a booking that did not go through.
+     */
+    public void unconsume(Long screeningId, String token) {
+        WaitingRoom room = rooms.get(screeningId);
+        QueueToken parsed = room != null && token != null ? QueueToken.parse(token) : null;
+        if (parsed != null) {
+            room.unconsume(parsed.sequence(), parsed.nonce());
+        }
+    }
+
+    private WaitingRoom getRoomOrThrow(Long screeningId) {
+        WaitingRoom room = rooms.get(screeningId);
+        if (room == null) {
+            throw new WaitingRoomNotFoundException(screeningId);
+        }
+        return room;
+    }
+
+    private WaitingRoom.Ticket findTicket(WaitingRoom room, String token) {
+        QueueToken parsed = QueueToken.parse(token);
+        return parsed != null ? room.find(parsed.sequence(), parsed.nonce(), clock.millis()) : null;
+    }
+
+    private static String formatToken(long sequence, long nonce) {
+        return sequence + "." + Long.toHexString(nonce);
+    }
+
+    private record QueueToken(long sequence, long nonce) {
+
+        /**
+         * @return the parsed token, or {@code null} when it is malformed
+         */
+        static QueueToken parse(String token) {
+            int separator = token.indexOf('.');
+            if (separator < 1) {
+                return null;
+            }
+            try {
+                return new QueueToken(Long.parseLong(token, 0, separator, 10),
+                        Long.parseUnsignedLong(token, separator + 1, token.length(), 16));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+    }
+
+}
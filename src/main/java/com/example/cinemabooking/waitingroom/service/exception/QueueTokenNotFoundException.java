@@ -0,0 +1,7 @@
+package com.example.cinemabooking.waitingroom.service.exception;
+
+public class QueueTokenNotFoundException extends RuntimeException {
+    public QueueTokenNotFoundException(String token) {
+        super("Queue token " + token + " not found.");
+    }
+}
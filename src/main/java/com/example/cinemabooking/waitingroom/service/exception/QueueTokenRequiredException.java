@@ -0,0 +1,7 @@
+package com.example.cinemabooking.waitingroom.service.exception;
+
+public class QueueTokenRequiredException extends RuntimeException {
+    public QueueTokenRequiredException(Long screeningId) {
+        super("Screening with id " + screeningId + " requires an admitted queue token.");
+    }
+}
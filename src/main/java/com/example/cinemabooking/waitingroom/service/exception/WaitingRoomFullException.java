@@ -0,0 +1,7 @@
+package com.example.cinemabooking.waitingroom.service.exception;
+
+public class WaitingRoomFullException extends RuntimeException {
+    public WaitingRoomFullException(Long screeningId) {
+        super("Waiting room for screening with id " + screeningId + " is full.");
+    }
+}
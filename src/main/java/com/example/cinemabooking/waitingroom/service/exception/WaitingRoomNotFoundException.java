@@ -0,0 +1,7 @@
+package com.example.cinemabooking.waitingroom.service.exception;
+
+public class WaitingRoomNotFoundException extends RuntimeException {
+    public WaitingRoomNotFoundException(Long screeningId) {
+        super("Waiting room for screening with id " + screeningId + " not found.");
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.cinemabooking.waitingroom.web;
+
+import com.example.cinemabooking.waitingroom.dto.OpenWaitingRoomRequest;
+import com.example.cinemabooking.waitingroom.dto.QueueTokenResponse;
+import com.example.cinemabooking.waitingroom.dto.WaitingRoomResponse;
+import com.example.cinemabooking.waitingroom.service.WaitingRoomService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/screening/{screeningId}/waiting-room")
+@RequiredArgsConstructor
+public class WaitingRoomController {
+
+    private final WaitingRoomService waitingRoomService;
+
+    @PutMapping
+    WaitingRoomResponse openWaitingRoom(@PathVariable Long screeningId, @RequestBody @Valid OpenWaitingRoomRequest request) {
+        return waitingRoomService.openWaitingRoom(screeningId, request);
+    }
+
+    @GetMapping
+    WaitingRoomResponse getWaitingRoom(@PathVariable Long screeningId) {
+        return waitingRoomService.getWaitingRoom(screeningId);
+    }
+
+    @DeleteMapping
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    void closeWaitingRoom(@PathVariable Long screeningId) {
+        waitingRoomService.closeWaitingRoom(screeningId);
+    }
+
+    @PostMapping("/tokens")
+    @ResponseStatus(HttpStatus.CREATED)
+    QueueTokenResponse issueToken(@PathVariable Long screeningId) {
+        return waitingRoomService.issueToken(screeningId);
+    }
+
+    @GetMapping("/tokens/{token}")
+    QueueTokenResponse getTokenStatus(@PathVariable Long screeningId, @PathVariable String token) {
+        return waitingRoomService.getTokenStatus(screeningId, token);
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.example.cinemabooking.waitingroom.web;
+
+import com.example.cinemabooking.waitingroom.service.WaitingRoomService;
+import com.example.cinemabooking.waitingroom.service.exception.QueueTokenRequiredException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * Lets seat holds and bookings of a screening with an open waiting room through only with an admitted
+ * {@value #QUEUE_TOKEN_HEADER} header. A booking consumes the token, which is given back if the booking fails.
+ */
+@Component
+@RequiredArgsConstructor
+class WaitingRoomInterceptor implements HandlerInterceptor {
+
+    static final String QUEUE_TOKEN_HEADER = "X-Queue-Token";
+
+    private static final String CONSUMED_SCREENING_ATTRIBUTE = WaitingRoomInterceptor.class.getName() + ".screeningId";
+
+    private final WaitingRoomService waitingRoomService;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!HttpMethod.POST.matches(request.getMethod())) {
+            return true;
+        }
+        Long id = screeningId(request);
+        if (id == null) {
+            return true;
+        }
+        String token = request.getHeader(QUEUE_TOKEN_HEADER);
+        if (!isBooking(request)) {
+            if (!waitingRoomService.isAdmitted(id, token)) {
+                throw new QueueTokenRequiredException(id);
+            }
+            return true;
+        }
+        if (!waitingRoomService.consume(id, token)) {
+            throw new QueueTokenRequiredException(id);
+        }
+        request.setAttribute(CONSUMED_SCREENING_ATTRIBUTE, id);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Long id = (Long) request.getAttribute(CONSUMED_SCREENING_ATTRIBUTE);
+        if (id != null && (ex != null || response.getStatus() >= 400)) {
+            waitingRoomService.unconsume(id, request.getHeader(QUEUE_TOKEN_HEADER));
+        }
+    }
+
+    /**
+     * @return the screening of the request, or {@code null} when it has none or it is not a number, in which case
+     * it cannot have a waiting room and the handler rejects it
+     */
+    private static Long screeningId(HttpServletRequest request) {
+        @SuppressWarnings("unchecked")
+        Map<String, String> variables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        String screeningId = variables != null ? variables.get("screeningId") : null;
+        if (screeningId == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(screeningId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean isBooking(HttpServletRequest request) {
+        String pattern = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null && pattern.contains("/bookings");
+    }
+
+}
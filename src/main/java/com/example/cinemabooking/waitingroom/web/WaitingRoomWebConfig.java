@@ -0,0 +1,21 @@
+package com.example.cinemabooking.waitingroom.web;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+class WaitingRoomWebConfig implements WebMvcConfigurer {
+
+    private final WaitingRoomInterceptor waitingRoomInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(waitingRoomInterceptor)
+                .addPathPatterns("/api/screening/*/holds/**", "/api/screening/*/bookings/**")
+                .excludePathPatterns("/api/screening/*/bookings/*/payment");
+    }
+
+}
@@ -0,0 +1,8 @@
+-- ============================================
+-- INSERT seat inventory for each sample screening
+-- ============================================
+INSERT INTO screening_seats (screening_id, seat_id, row_number, seat_number, status)
+SELECT sc.id, s.id, s.row_number, s.seat_number, 'AVAILABLE'
+FROM screenings sc
+JOIN seats s ON s.hall_id = sc.hall_id
+ON CONFLICT DO NOTHING;
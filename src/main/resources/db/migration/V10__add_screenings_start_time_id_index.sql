@@ -0,0 +1,6 @@
+-- ============================================
+-- Keyset pagination of screening listings seeks on (start_time, id)
+-- and reads the next page in index order, without sorting or offsets
+-- ============================================
+CREATE INDEX IF NOT EXISTS idx_screenings_start_time_id
+    ON screenings (start_time, id);
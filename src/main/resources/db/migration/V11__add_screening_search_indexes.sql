@@ -0,0 +1,17 @@
+-- ============================================
+-- Screening search: every filter combination seeks on an index ending in
+-- (start_time, id), so results come back in keyset order without a sort
+-- ============================================
+CREATE INDEX IF NOT EXISTS idx_screenings_movie_start_time
+    ON screenings (movie_id, start_time, id);
+
+CREATE INDEX IF NOT EXISTS idx_screenings_hall_start_time
+    ON screenings (hall_id, start_time, id);
+
+-- Genre and age rating filter the movies first, their screenings then come from the movie index
+CREATE INDEX IF NOT EXISTS idx_movies_genre_age_rating
+    ON movies (genre, age_rating);
+
+-- Age rating alone cannot seek on (genre, age_rating), it needs an index of its own
+CREATE INDEX IF NOT EXISTS idx_movies_age_rating
+    ON movies (age_rating);
@@ -0,0 +1,7 @@
+-- ============================================
+-- Idempotency keys are claimed with a placeholder row before the request
+-- runs: status and body stay NULL until its response is recorded
+-- ============================================
+ALTER TABLE idempotency_keys
+    ALTER COLUMN status DROP NOT NULL,
+    ALTER COLUMN body DROP NOT NULL;
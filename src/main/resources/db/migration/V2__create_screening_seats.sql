@@ -0,0 +1,40 @@
+-- ============================================
+-- Create screening seats table (per-screening seat inventory)
+-- ============================================
+CREATE TABLE IF NOT EXISTS screening_seats (
+    id BIGSERIAL PRIMARY KEY,
+    uuid UUID NOT NULL UNIQUE DEFAULT gen_random_uuid(),
+    screening_id BIGINT NOT NULL,
+    seat_id BIGINT NOT NULL,
+    row_number INT NOT NULL,
+    seat_number INT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'AVAILABLE',
+
+    CONSTRAINT fk_screening_seat_screening
+        FOREIGN KEY (screening_id)
+        REFERENCES screenings (id)
+        ON DELETE CASCADE,
+
+    CONSTRAINT fk_screening_seat_seat
+        FOREIGN KEY (seat_id)
+        REFERENCES seats (id)
+        ON DELETE CASCADE,
+
+    CONSTRAINT uq_screening_seat_unique
+        UNIQUE (screening_id, row_number, seat_number)
+);
+
+-- ============================================
+-- Availability reads scan a single screening's range
+-- ============================================
+CREATE INDEX IF NOT EXISTS idx_screening_seats_screening_status
+    ON screening_seats (screening_id, status);
+
+-- ============================================
+-- Backfill inventory for already existing screenings
+-- ============================================
+INSERT INTO screening_seats (screening_id, seat_id, row_number, seat_number, status)
+SELECT sc.id, s.id, s.row_number, s.seat_number, 'AVAILABLE'
+FROM screenings sc
+JOIN seats s ON s.hall_id = sc.hall_id
+ON CONFLICT DO NOTHING;
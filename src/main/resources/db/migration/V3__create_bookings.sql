@@ -0,0 +1,32 @@
+-- ============================================
+-- Create bookings table
+-- ============================================
+CREATE TABLE IF NOT EXISTS bookings (
+    id BIGSERIAL PRIMARY KEY,
+    uuid UUID NOT NULL UNIQUE DEFAULT gen_random_uuid(),
+    screening_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT now(),
+
+    CONSTRAINT fk_booking_screening
+        FOREIGN KEY (screening_id)
+        REFERENCES screenings (id)
+        ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_screening
+    ON bookings (screening_id);
+
+-- ============================================
+-- Link screening seats to the booking that claimed them
+-- ============================================
+ALTER TABLE screening_seats
+    ADD COLUMN IF NOT EXISTS booking_id BIGINT;
+
+ALTER TABLE screening_seats
+    ADD CONSTRAINT fk_screening_seat_booking
+        FOREIGN KEY (booking_id)
+        REFERENCES bookings (id)
+        ON DELETE SET NULL;
+
+CREATE INDEX IF NOT EXISTS idx_screening_seats_booking
+    ON screening_seats (booking_id);
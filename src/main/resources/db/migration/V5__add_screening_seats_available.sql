@@ -0,0 +1,14 @@
+-- ============================================
+-- Denormalized count of available seats per screening
+-- ============================================
+ALTER TABLE screenings
+    ADD COLUMN IF NOT EXISTS seats_available INT NOT NULL DEFAULT 0;
+
+UPDATE screenings s
+SET seats_available = counts.available
+FROM (
+    SELECT screening_id, COUNT(*) FILTER (WHERE status = 'AVAILABLE') AS available
+    FROM screening_seats
+    GROUP BY screening_id
+) counts
+WHERE counts.screening_id = s.id;
@@ -0,0 +1,5 @@
+-- ============================================
+-- Record when the holder of a seat's ticket was admitted
+-- ============================================
+ALTER TABLE screening_seats
+    ADD COLUMN IF NOT EXISTS checked_in_at TIMESTAMP;
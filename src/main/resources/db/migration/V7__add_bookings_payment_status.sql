@@ -0,0 +1,16 @@
+-- ============================================
+-- Track payment of bookings; unpaid bookings expire at expires_at
+-- ============================================
+ALTER TABLE bookings
+    ADD COLUMN IF NOT EXISTS status VARCHAR(20) NOT NULL DEFAULT 'PAID',
+    ADD COLUMN IF NOT EXISTS expires_at TIMESTAMP;
+
+ALTER TABLE bookings
+    ALTER COLUMN status DROP DEFAULT;
+
+-- ============================================
+-- Lets the expiry sweeper find overdue bookings without scanning paid ones
+-- ============================================
+CREATE INDEX IF NOT EXISTS idx_bookings_pending_expiry
+    ON bookings (expires_at)
+    WHERE status = 'PENDING_PAYMENT';
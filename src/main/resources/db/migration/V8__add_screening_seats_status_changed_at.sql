@@ -0,0 +1,23 @@
+-- ============================================
+-- Record when a seat's status last changed, so a seat snapshot can be
+-- brought up to date with the changes made after it was taken
+-- ============================================
+ALTER TABLE screening_seats
+    ADD COLUMN IF NOT EXISTS status_changed_at TIMESTAMP NOT NULL DEFAULT LOCALTIMESTAMP;
+
+CREATE OR REPLACE FUNCTION touch_screening_seat_status_changed_at()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.status_changed_at := clock_timestamp()::timestamp;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_screening_seats_status_changed_at
+    BEFORE UPDATE OF status ON screening_seats
+    FOR EACH ROW
+    WHEN (OLD.status IS DISTINCT FROM NEW.status)
+    EXECUTE FUNCTION touch_screening_seat_status_changed_at();
+
+CREATE INDEX IF NOT EXISTS idx_screening_seats_status_changed_at
+    ON screening_seats (status_changed_at);
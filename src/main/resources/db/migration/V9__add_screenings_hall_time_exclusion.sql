@@ -0,0 +1,16 @@
+-- ============================================
+-- Enable btree_gist (required to combine = and && in one GiST exclusion)
+-- ============================================
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- ============================================
+-- A hall can only show one screening at a time. Enforced by the database,
+-- so concurrent creates cannot both pass an application-side check
+-- ============================================
+ALTER TABLE screenings
+    ADD CONSTRAINT excl_screenings_hall_time
+        EXCLUDE USING gist (hall_id WITH =, tsrange(start_time, end_time) WITH &&);
+
+-- Same hall and start time always overlap, so the exclusion covers this constraint
+ALTER TABLE screenings
+    DROP CONSTRAINT IF EXISTS unique_screening_per_hall;
@@ -0,0 +1,124 @@
+package com.example.cinemabooking.booking.journal;
+
+import com.example.cinemabooking.booking.dto.SeatRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookingJournalTest {
+
+    private static final int CAPACITY = 4096;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("should expose only synced entries for flushing")
+    void shouldReadOnlySyncedEntries() throws IOException {
+        try (BookingJournal journal = BookingJournal.open(journalFile(), CAPACITY)) {
+            JournalEntry first = entry(1);
+            journal.append(first);
+            assertThat(journal.readUnflushed(10).entries()).isEmpty();
+
+            journal.sync();
+            journal.append(entry(2));
+
+            assertThat(journal.readUnflushed(10).entries()).containsExactly(first);
+        }
+    }
+
+    // =========================================================
+    // recovery
+    // =========================================================
+
+    @Test
+    @DisplayName("should replay entries not flushed before reopening")
+    void shouldReplayUnflushedEntriesAfterReopen() throws IOException {
+        JournalEntry first = entry(1);
+        JournalEntry second = entry(2);
+        try (BookingJournal journal = BookingJournal.open(journalFile(), CAPACITY)) {
+            journal.append(first);
+            journal.sync();
+            journal.markFlushed(journal.readUnflushed(10).endPosition());
+            journal.append(second);
+            journal.sync();
+        }
+
+        try (BookingJournal journal = BookingJournal.open(journalFile(), CAPACITY)) {
+            assertThat(journal.readUnflushed(10).entries()).containsExactly(second);
+        }
+    }
+
+    @Test
+    @DisplayName("should stop replay at an entry with a bad checksum")
+    void shouldStopAtCorruptedEntry() throws IOException {
+        JournalEntry first = entry(1);
+        int firstEnd;
+        try (BookingJournal journal = BookingJournal.open(journalFile(), CAPACITY)) {
+            firstEnd = journal.append(first);
+            journal.append(entry(2));
+            journal.sync();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(journalFile().toFile(), "rw")) {
+            file.seek(firstEnd + 8);
+            file.writeLong(Long.MAX_VALUE);
+        }
+
+        try (BookingJournal journal = BookingJournal.open(journalFile(), CAPACITY)) {
+            assertThat(journal.readUnflushed(10).entries()).containsExactly(first);
+
+            JournalEntry third = entry(3);
+            journal.append(third);
+            journal.sync();
+            assertThat(journal.readUnflushed(10).entries()).containsExactly(first, third);
+        }
+    }
+
+    // =========================================================
+    // capacity
+    // =========================================================
+
+    @Test
+    @DisplayName("should reject entries once full and accept them again after flushing")
+    void shouldWrapAroundOnceFlushed() throws IOException {
+        try (BookingJournal journal = BookingJournal.open(journalFile(), 256)) {
+            JournalEntry entry = entry(1);
+            while (true) {
+                try {
+                    journal.append(entry);
+                } catch (BookingJournalFullException e) {
+                    break;
+                }
+            }
+            journal.sync();
+            assertThatThrownBy(() -> journal.append(entry)).isInstanceOf(BookingJournalFullException.class);
+
+            journal.markFlushed(journal.readUnflushed(100).endPosition());
+
+            assertThat(journal.hasUnflushed()).isFalse();
+            journal.append(entry);
+            journal.sync();
+            assertThat(journal.readUnflushed(100).entries()).containsExactly(entry);
+        }
+    }
+
+    private Path journalFile() {
+        return directory.resolve("booking-journal.log");
+    }
+
+    private static JournalEntry entry(int rowNumber) {
+        return new JournalEntry(UUID.randomUUID(), 1L, LocalDateTime.of(2025, 1, 1, 18, 0, 0, 123_000_000),
+                List.of(new SeatRequest(rowNumber, 1), new SeatRequest(rowNumber, 2)));
+    }
+
+}
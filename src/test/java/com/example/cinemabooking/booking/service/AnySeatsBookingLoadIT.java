@@ -0,0 +1,188 @@
+package com.example.cinemabooking.booking.service;
+
+import com.example.cinemabooking.BaseIT;
+import com.example.cinemabooking.booking.dto.CreateAnySeatsBookingRequest;
+import com.example.cinemabooking.booking.service.exception.InsufficientSeatsException;
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.hall.entity.Seat;
+import com.example.cinemabooking.hall.repository.CinemaHallRepository;
+import com.example.cinemabooking.movie.entity.AgeRating;
+import com.example.cinemabooking.movie.entity.Movie;
+import com.example.cinemabooking.movie.repository.MovieRepository;
+import com.example.cinemabooking.screening.entity.Screening;
+import com.example.cinemabooking.screening.repository.ScreeningRepository;
+import com.example.cinemabooking.screening.repository.ScreeningSeatRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sells out one hot screening with a growing number of concurrent buyers and checks every seat is sold exactly
+ * once. With {@code SKIP LOCKED} buyers never wait for each other, so throughput should grow with the number of
+ * threads up to the connection pool size; it is only logged, since how much it grows depends on the host.
+ */
+@Slf4j
+@SpringBootTest
+class AnySeatsBookingLoadIT extends BaseIT {
+
+    private static final int ROWS = 20;
+    private static final int SEATS_PER_ROW = 50;
+    private static final int SEATS_PER_BOOKING = 2;
+    private static final int[] BUYERS = {1, 2, 4, 8};
+    private static final int WARM_UP_DAY = 20;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private CinemaHallRepository hallRepository;
+
+    @Autowired
+    private ScreeningRepository screeningRepository;
+
+    @Autowired
+    private ScreeningSeatRepository screeningSeatRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Movie movie;
+    private CinemaHall hall;
+
+    @BeforeEach
+    void setUp() {
+        movie = movieRepository.save(
+                Movie.builder()
+                        .title("Load test " + System.nanoTime())
+                        .description("Desc")
+                        .genre("Sci-Fi")
+                        .durationMinutes(120)
+                        .releaseDate(LocalDate.of(2010, 1, 1))
+                        .ageRating(AgeRating.AGE_12)
+                        .build()
+        );
+        CinemaHall newHall = CinemaHall.builder()
+                .name("Load hall " + System.nanoTime())
+                .rows(ROWS)
+                .seatsPerRow(SEATS_PER_ROW)
+                .build();
+        for (int r = 1; r <= ROWS; r++) {
+            for (int s = 1; s <= SEATS_PER_ROW; s++) {
+                newHall.addSeat(Seat.builder().rowNumber(r).seatNumber(s).build());
+            }
+        }
+        hall = hallRepository.save(newHall);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM movies WHERE id = ?", movie.getId());
+        jdbcTemplate.update("DELETE FROM cinema_halls WHERE id = ?", hall.getId());
+    }
+
+    @Test
+    @DisplayName("should sell out a hot screening exactly once per seat at every concurrency level")
+    void shouldSellOutHotScreening() throws Exception {
+        // warms up the JIT, the connection pool and the booking path, so the first measured level is not cold
+        sellOut(createScreening(WARM_UP_DAY), BUYERS[BUYERS.length - 1]);
+
+        Map<Integer, Long> throughput = new LinkedHashMap<>();
+        for (int buyers : BUYERS) {
+            throughput.put(buyers, sellOut(createScreening(buyers), buyers));
+        }
+        log.info("any-seats load: bookings/s by concurrent buyers {}", throughput);
+    }
+
+    /**
+     * Sells out the screening with the given number of concurrent buyers and checks every seat was sold once.
+     *
+     * @return bookings per second
+     */
+    private long sellOut(Screening screening, int buyers) throws Exception {
+        CreateAnySeatsBookingRequest request = CreateAnySeatsBookingRequest.builder().count(SEATS_PER_BOOKING).build();
+        List<Future<Integer>> futures = new ArrayList<>();
+        int bookings = 0;
+
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(buyers)) {
+            for (int i = 0; i < buyers; i++) {
+                futures.add(executor.submit(() -> {
+                    int booked = 0;
+                    while (true) {
+                        try {
+                            bookingService.createAnySeatsBooking(screening.getId(), request);
+                            booked++;
+                        } catch (InsufficientSeatsException e) {
+                            if (countAvailable(screening) == 0) {
+                                return booked;
+                            }
+                        }
+                    }
+                }));
+            }
+            for (Future<Integer> future : futures) {
+                bookings += future.get();
+            }
+        }
+        long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+
+        assertThat(bookings).isEqualTo(ROWS * SEATS_PER_ROW / SEATS_PER_BOOKING);
+        Integer doubleBooked = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM bookings b
+                WHERE b.screening_id = ?
+                  AND (SELECT COUNT(*) FROM screening_seats ss WHERE ss.booking_id = b.id) <> ?
+                """, Integer.class, screening.getId(), SEATS_PER_BOOKING);
+        assertThat(doubleBooked).isZero();
+        return bookings * 1000L / elapsedMillis;
+    }
+
+    /**
+     * A screening of its own per concurrency level, each on a different day so they do not overlap in the hall.
+     */
+    private Screening createScreening(int day) {
+        Screening screening = screeningRepository.save(
+                Screening.builder()
+                        .movie(movie)
+                        .cinemaHall(hall)
+                        .startTime(LocalDateTime.of(2040, 1, day, 14, 0))
+                        .endTime(LocalDateTime.of(2040, 1, day, 16, 0))
+                        .price(BigDecimal.valueOf(25))
+                        .build()
+        );
+        transactionTemplate.executeWithoutResult(status ->
+                screeningSeatRepository.createInventory(screening.getId(), hall.getId()));
+        return screening;
+    }
+
+    private int countAvailable(Screening screening) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM screening_seats WHERE screening_id = ? AND status = 'AVAILABLE'",
+                Integer.class, screening.getId());
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.example.cinemabooking.booking.service;
+
+import com.example.cinemabooking.booking.dto.SeatRequest;
+import com.example.cinemabooking.booking.service.exception.InsufficientSeatsException;
+import com.example.cinemabooking.screening.service.SeatAvailabilityBitmap;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BestAvailableSeatAllocatorTest {
+
+    private static final long SCREENING_ID = 1L;
+
+    private final BestAvailableSeatAllocator allocator = new BestAvailableSeatAllocator();
+
+    @Test
+    @DisplayName("should pick the most central block of an empty hall")
+    void shouldPickCentralBlock() {
+        SeatAvailabilityBitmap bitmap = new SeatAvailabilityBitmap(5, 10);
+
+        List<SeatRequest> seats = allocator.allocate(SCREENING_ID, bitmap, 4, false);
+
+        assertThat(seats).containsExactly(
+                new SeatRequest(3, 4), new SeatRequest(3, 5), new SeatRequest(3, 6), new SeatRequest(3, 7));
+        assertThat(bitmap.isAvailable(3, 5)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should move to the next best row when centre row is taken")
+    void shouldSkipTakenRow() {
+        SeatAvailabilityBitmap bitmap = new SeatAvailabilityBitmap(5, 10);
+        bitmap.tryReserve(3, 3);
+        bitmap.tryReserve(3, 8);
+
+        List<SeatRequest> seats = allocator.allocate(SCREENING_ID, bitmap, 6, false);
+
+        assertThat(seats).extracting(SeatRequest::getRowNumber).containsOnly(2);
+        assertThat(seats).extracting(SeatRequest::getSeatNumber).containsExactly(3, 4, 5, 6, 7, 8);
+    }
+
+    @Test
+    @DisplayName("should see seats released after the index was built")
+    void shouldRefreshChangedRows() {
+        SeatAvailabilityBitmap bitmap = new SeatAvailabilityBitmap(1, 4);
+        allocator.allocate(SCREENING_ID, bitmap, 4, false);
+        bitmap.release(1, 2);
+        bitmap.release(1, 3);
+
+        List<SeatRequest> seats = allocator.allocate(SCREENING_ID, bitmap, 2, false);
+
+        assertThat(seats).containsExactly(new SeatRequest(1, 2), new SeatRequest(1, 3));
+    }
+
+    @Test
+    @DisplayName("should split group across adjacent rows when no row fits it")
+    void shouldSplitAcrossAdjacentRows() {
+        SeatAvailabilityBitmap bitmap = new SeatAvailabilityBitmap(3, 4);
+        for (int row = 1; row <= 3; row++) {
+            bitmap.tryReserve(row, 1);
+        }
+
+        List<SeatRequest> seats = allocator.allocate(SCREENING_ID, bitmap, 5, true);
+
+        assertThat(seats).hasSize(5);
+        assertThat(seats).extracting(SeatRequest::getRowNumber).containsOnly(1, 2);
+    }
+
+    @Test
+    @DisplayName("should fail when group does not fit and splitting is not allowed")
+    void shouldFailWithoutSplit() {
+        SeatAvailabilityBitmap bitmap = new SeatAvailabilityBitmap(3, 4);
+
+        assertThatThrownBy(() -> allocator.allocate(SCREENING_ID, bitmap, 5, false))
+                .isInstanceOf(InsufficientSeatsException.class);
+        assertThat(bitmap.availableCount()).isEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("should never hand out one seat twice under concurrent allocations")
+    void shouldStayCorrectUnderConcurrency() throws Exception {
+        SeatAvailabilityBitmap bitmap = new SeatAvailabilityBitmap(10, 20);
+        Set<SeatRequest> allocated = Collections.synchronizedSet(new HashSet<>());
+        List<Future<Integer>> futures = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    int seatsTaken = 0;
+                    while (true) {
+                        try {
+                            List<SeatRequest> seats = allocator.allocate(SCREENING_ID, bitmap, 4, true);
+                            seats.forEach(seat -> assertThat(allocated.add(seat)).isTrue());
+                            seatsTaken += seats.size();
+                        } catch (InsufficientSeatsException e) {
+                            return seatsTaken;
+                        }
+                    }
+                }));
+            }
+            int total = 0;
+            for (Future<Integer> future : futures) {
+                total += future.get();
+            }
+            assertThat(total).isEqualTo(200);
+        }
+
+        assertThat(bitmap.availableCount()).isZero();
+    }
+
+}
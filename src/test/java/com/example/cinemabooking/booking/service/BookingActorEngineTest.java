@@ -0,0 +1,279 @@
+package com.example.cinemabooking.booking.service;
+
+import com.example.cinemabooking.booking.dto.BookingResponse;
+import com.example.cinemabooking.booking.dto.CreateBookingRequest;
+import com.example.cinemabooking.booking.dto.SeatRequest;
+import com.example.cinemabooking.booking.journal.JournalEntry;
+import com.example.cinemabooking.booking.repository.BookingJdbcRepository;
+import com.example.cinemabooking.booking.service.exception.BookingMailboxFullException;
+import com.example.cinemabooking.booking.service.exception.SeatsUnavailableException;
+import com.example.cinemabooking.screening.service.SeatAvailabilityBitmap;
+import com.example.cinemabooking.screening.service.SeatAvailabilityCache;
+import com.example.cinemabooking.screening.service.SeatCounters;
+import com.example.cinemabooking.screening.service.exception.ScreeningNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingActorEngineTest {
+
+    private static final long SCREENING_ID = 1L;
+
+    @Mock
+    private SeatAvailabilityCache seatAvailabilityCache;
+
+    @Mock
+    private SeatHoldService seatHoldService;
+
+    @Mock
+    private BestAvailableSeatAllocator bestAvailableSeatAllocator;
+
+    @Mock
+    private BookingJdbcRepository bookingJdbcRepository;
+
+    @Mock
+    private SeatCounters seatCounters;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final List<List<JournalEntry>> writes = new CopyOnWriteArrayList<>();
+    private SeatAvailabilityBitmap bitmap;
+    private BookingActorEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        bitmap = new SeatAvailabilityBitmap(5, 10);
+        Clock clock = Clock.fixed(Instant.parse("2030-01-01T10:00:00Z"), ZoneOffset.UTC);
+        engine = new BookingActorEngine(seatAvailabilityCache, seatHoldService, bestAvailableSeatAllocator,
+                bookingJdbcRepository, seatCounters, transactionTemplate,
+                new BookingActorProperties(true, 16, 8, Duration.ofMillis(200), Duration.ofSeconds(5)),
+                new BookingExpiryProperties(Duration.ofMinutes(15), Duration.ofSeconds(5), 500, 20), clock);
+        lenient().when(seatAvailabilityCache.getOrLoad(SCREENING_ID)).thenReturn(bitmap);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        givenWrites(entries -> Map.of());
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        engine.stop();
+    }
+
+    private void givenWrites(Function<List<JournalEntry>, Map<UUID, List<SeatRequest>>> missedSeats) {
+        lenient().doAnswer(invocation -> {
+            List<JournalEntry> entries = invocation.getArgument(0);
+            writes.add(entries);
+            return missedSeats.apply(entries);
+        }).when(bookingJdbcRepository).writeJournaledBookings(anyList(), anyInt(), any());
+    }
+
+    private static Map<UUID, List<SeatRequest>> missing(List<JournalEntry> entries, SeatRequest seat) {
+        return entries.stream()
+                .filter(entry -> entry.seats().contains(seat))
+                .collect(Collectors.toMap(JournalEntry::bookingUuid, entry -> List.of(seat)));
+    }
+
+    private static CreateBookingRequest request(int rowNumber, int seatNumber) {
+        return CreateBookingRequest.builder().seats(List.of(new SeatRequest(rowNumber, seatNumber))).build();
+    }
+
+    private CompletableFuture<BookingResponse> bookAsync(int rowNumber, int seatNumber) {
+        return bookAsync(SCREENING_ID, rowNumber, seatNumber);
+    }
+
+    private CompletableFuture<BookingResponse> bookAsync(long screeningId, int rowNumber, int seatNumber) {
+        return CompletableFuture.supplyAsync(() -> engine.createBooking(screeningId, request(rowNumber, seatNumber)));
+    }
+
+    /**
+     * Holds the actor inside its first write until the returned latch is released, so later commands queue up.
+     */
+    private CountDownLatch blockFirstWrite(Function<List<JournalEntry>, Map<UUID, List<SeatRequest>>> missedSeats) {
+        CountDownLatch release = new CountDownLatch(1);
+        givenWrites(entries -> {
+            if (writes.size() == 1) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return missedSeats.apply(entries);
+        });
+        return release;
+    }
+
+    @Test
+    @DisplayName("should book the requested seats and take them off the available count")
+    void shouldBookSeats() {
+        BookingResponse response = engine.createBooking(SCREENING_ID, request(2, 3));
+
+        assertThat(response.getSeats()).hasSize(1);
+        assertThat(bitmap.isAvailable(2, 3)).isFalse();
+        assertThat(writes).hasSize(1);
+        verify(seatCounters).adjust(SCREENING_ID, -1);
+    }
+
+    @Test
+    @DisplayName("should reject a taken seat without touching the database")
+    void shouldRejectTakenSeat() {
+        bitmap.tryReserve(2, 3);
+
+        assertThatThrownBy(() -> engine.createBooking(SCREENING_ID, request(2, 3)))
+                .isInstanceOf(SeatsUnavailableException.class);
+
+        assertThat(writes).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should write commands queued behind a transaction in one batch")
+    void shouldBatchQueuedCommands() {
+        CountDownLatch release = blockFirstWrite(entries -> Map.of());
+        CompletableFuture<BookingResponse> first = bookAsync(1, 1);
+        await().until(() -> writes.size() == 1);
+        List<CompletableFuture<BookingResponse>> queued = List.of(bookAsync(1, 2), bookAsync(1, 3), bookAsync(1, 4));
+        await().until(() -> engine.getQueuedCommandCount(SCREENING_ID) == 3);
+
+        release.countDown();
+
+        assertThat(first.join().getSeats()).hasSize(1);
+        queued.forEach(booking -> assertThat(booking.join().getSeats()).hasSize(1));
+        assertThat(writes).hasSize(2);
+        assertThat(writes.get(1)).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("should fail only the conflicting booking of a batch the database rejected")
+    void shouldIsolateConflictInBatch() {
+        CountDownLatch release = blockFirstWrite(entries -> missing(entries, new SeatRequest(3, 2)));
+        given(bookingJdbcRepository.findTakenSeats(SCREENING_ID, List.of(new SeatRequest(3, 2))))
+                .willReturn(List.of(new SeatRequest(3, 2)));
+        CompletableFuture<BookingResponse> first = bookAsync(3, 1);
+        await().until(() -> writes.size() == 1);
+        CompletableFuture<BookingResponse> conflicting = bookAsync(3, 2);
+        CompletableFuture<BookingResponse> other = bookAsync(3, 3);
+        await().until(() -> engine.getQueuedCommandCount(SCREENING_ID) == 2);
+
+        release.countDown();
+
+        assertThat(first.join().getSeats()).hasSize(1);
+        assertThat(other.join().getSeats()).hasSize(1);
+        assertThatThrownBy(conflicting::join).hasCauseInstanceOf(SeatsUnavailableException.class);
+        assertThat(bitmap.isAvailable(3, 2)).isFalse();
+        verify(seatAvailabilityCache, never()).evict(SCREENING_ID);
+    }
+
+    @Test
+    @DisplayName("should report only the conflicting seats and keep just those taken in the bitmap")
+    void shouldReconcileConflictingSeatsInPlace() {
+        SeatRequest free = new SeatRequest(4, 1);
+        SeatRequest taken = new SeatRequest(4, 2);
+        givenWrites(entries -> missing(entries, taken));
+        given(bookingJdbcRepository.findTakenSeats(SCREENING_ID, List.of(taken))).willReturn(List.of(taken));
+        CreateBookingRequest request = CreateBookingRequest.builder().seats(List.of(free, taken)).build();
+
+        assertThatThrownBy(() -> engine.createBooking(SCREENING_ID, request))
+                .isInstanceOfSatisfying(SeatsUnavailableException.class,
+                        e -> assertThat(e.getSeats()).containsExactly(taken));
+
+        assertThat(bitmap.isAvailable(free.getRowNumber(), free.getSeatNumber())).isTrue();
+        assertThat(bitmap.isAvailable(taken.getRowNumber(), taken.getSeatNumber())).isFalse();
+        verify(seatAvailabilityCache, never()).evict(SCREENING_ID);
+    }
+
+    @Test
+    @DisplayName("should reject a booking with mailbox full once the actor has a full queue")
+    void shouldRejectBookingWhenMailboxFull() {
+        CountDownLatch release = blockFirstWrite(entries -> Map.of());
+        CompletableFuture<BookingResponse> first = bookAsync(1, 1);
+        await().until(() -> writes.size() == 1);
+        List<CompletableFuture<BookingResponse>> queued = new ArrayList<>();
+        for (int seat = 1; seat <= 8; seat++) {
+            queued.add(bookAsync(2, seat));
+            queued.add(bookAsync(3, seat));
+        }
+        await().until(() -> engine.getQueuedCommandCount(SCREENING_ID) == 16);
+
+        assertThatThrownBy(() -> engine.createBooking(SCREENING_ID, request(4, 1)))
+                .isInstanceOf(BookingMailboxFullException.class);
+
+        release.countDown();
+        assertThat(first.join().getSeats()).hasSize(1);
+        queued.forEach(booking -> assertThat(booking.join().getSeats()).hasSize(1));
+        assertThat(bitmap.isAvailable(4, 1)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should retire an actor once its mailbox stayed empty")
+    void shouldRetireIdleActor() {
+        engine.createBooking(SCREENING_ID, request(4, 4));
+        assertThat(engine.getActiveActorCount()).isEqualTo(1);
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> engine.getActiveActorCount() == 0);
+
+        engine.createBooking(SCREENING_ID, request(4, 5));
+        assertThat(writes).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("should reject a booking for an unknown screening instead of hanging")
+    void shouldRejectUnknownScreening() {
+        given(seatAvailabilityCache.getOrLoad(999L)).willThrow(new ScreeningNotFoundException(999L));
+
+        assertThatThrownBy(() -> engine.createBooking(999L, request(1, 1)))
+                .isInstanceOf(ScreeningNotFoundException.class);
+
+        await().atMost(Duration.ofSeconds(2)).until(() -> engine.getActiveActorCount() == 0);
+        assertThat(writes).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should fail the bookings queued behind a batch whose bitmap could not be loaded")
+    void shouldFailQueuedCommandsWhenBatchFails() {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        given(seatAvailabilityCache.getOrLoad(2L)).willAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            throw new IllegalStateException("database down");
+        });
+        CompletableFuture<BookingResponse> first = bookAsync(2L, 1, 1);
+        await().until(() -> loading.getCount() == 0);
+        List<CompletableFuture<BookingResponse>> queued = List.of(bookAsync(2L, 1, 2), bookAsync(2L, 1, 3));
+        await().until(() -> engine.getQueuedCommandCount(2L) == 2);
+
+        release.countDown();
+
+        assertThatThrownBy(first::join).hasRootCauseMessage("database down");
+        queued.forEach(booking -> assertThatThrownBy(booking::join).hasRootCauseMessage("database down"));
+        await().atMost(Duration.ofSeconds(2)).until(() -> engine.getActiveActorCount() == 0);
+    }
+
+}
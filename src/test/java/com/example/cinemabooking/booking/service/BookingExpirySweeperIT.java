@@ -0,0 +1,154 @@
+package com.example.cinemabooking.booking.service;
+
+import com.example.cinemabooking.BaseIT;
+import com.example.cinemabooking.booking.dto.CreateBookingRequest;
+import com.example.cinemabooking.booking.dto.SeatRequest;
+import com.example.cinemabooking.booking.entity.BookingStatus;
+import com.example.cinemabooking.booking.repository.BookingRepository;
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.hall.entity.Seat;
+import com.example.cinemabooking.hall.repository.CinemaHallRepository;
+import com.example.cinemabooking.movie.entity.AgeRating;
+import com.example.cinemabooking.movie.entity.Movie;
+import com.example.cinemabooking.movie.repository.MovieRepository;
+import com.example.cinemabooking.screening.entity.Screening;
+import com.example.cinemabooking.screening.entity.SeatStatus;
+import com.example.cinemabooking.screening.repository.ScreeningRepository;
+import com.example.cinemabooking.screening.repository.ScreeningSeatRepository;
+import com.example.cinemabooking.screening.service.SeatCounters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Transactional
+@SpringBootTest
+class BookingExpirySweeperIT extends BaseIT {
+
+    @Autowired
+    private BookingExpirySweeper bookingExpirySweeper;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private CinemaHallRepository hallRepository;
+
+    @Autowired
+    private ScreeningRepository screeningRepository;
+
+    @Autowired
+    private ScreeningSeatRepository screeningSeatRepository;
+
+    @Autowired
+    private SeatCounters seatCounters;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Screening screening;
+
+    @BeforeEach
+    void setUp() {
+        Movie movie = movieRepository.save(
+                Movie.builder()
+                        .title("Inception")
+                        .description("Dreams")
+                        .genre("Sci-Fi")
+                        .durationMinutes(148)
+                        .releaseDate(LocalDate.of(2010, 7, 16))
+                        .ageRating(AgeRating.AGE_12)
+                        .build()
+        );
+
+        CinemaHall hall = CinemaHall.builder()
+                .name("Sala 1")
+                .rows(3)
+                .seatsPerRow(4)
+                .build();
+        for (int r = 1; r <= 3; r++) {
+            for (int s = 1; s <= 4; s++) {
+                hall.addSeat(Seat.builder().rowNumber(r).seatNumber(s).build());
+            }
+        }
+        hall = hallRepository.saveAndFlush(hall);
+
+        screening = screeningRepository.save(
+                Screening.builder()
+                        .movie(movie)
+                        .cinemaHall(hall)
+                        .startTime(LocalDateTime.of(2040, 1, 1, 14, 0))
+                        .endTime(LocalDateTime.of(2040, 1, 1, 16, 28))
+                        .price(BigDecimal.valueOf(25))
+                        .build()
+        );
+        screeningSeatRepository.createInventory(screening.getId(), hall.getId());
+    }
+
+    private UUID book(int rowNumber, int seatNumber) {
+        CreateBookingRequest request = CreateBookingRequest.builder()
+                .seats(List.of(new SeatRequest(rowNumber, seatNumber)))
+                .build();
+        return bookingService.createBooking(screening.getId(), request).getUuid();
+    }
+
+    private void makeOverdue(UUID bookingId) {
+        jdbcTemplate.update("UPDATE bookings SET expires_at = now() - interval '1 minute' WHERE uuid = ?", bookingId);
+    }
+
+    private int seatsAvailable() {
+        return jdbcTemplate.queryForObject("SELECT seats_available FROM screenings WHERE id = ?", Integer.class, screening.getId());
+    }
+
+    @Test
+    @DisplayName("should expire only overdue unpaid bookings, release their seats and hand the count to the counters")
+    void shouldExpireOverdueBookings() {
+        UUID overdue = book(1, 1);
+        UUID pending = book(1, 2);
+        UUID paid = book(1, 3);
+        makeOverdue(overdue);
+        bookingService.payBooking(screening.getId(), paid);
+        makeOverdue(paid);
+        int availableBefore = seatsAvailable();
+        seatCounters.register(screening.getId(), 9);
+
+        int expired = bookingExpirySweeper.sweep();
+        int counted = seatCounters.getAvailableSeats(screening.getId(), -1);
+        seatCounters.remove(screening.getId());
+
+        assertThat(expired).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM bookings WHERE uuid = ?", String.class, overdue))
+                .isEqualTo(BookingStatus.EXPIRED.name());
+        assertThat(bookingRepository.findByUuid(pending)).isPresent();
+        assertThat(screeningSeatRepository.findByScreeningIdAndStatus(screening.getId(), SeatStatus.BOOKED)).hasSize(2);
+        assertThat(counted).isEqualTo(10);
+        assertThat(seatsAvailable()).isEqualTo(availableBefore);
+    }
+
+    @Test
+    @DisplayName("should not expire the same booking twice")
+    void shouldNotExpireTwice() {
+        makeOverdue(book(2, 1));
+
+        assertThat(bookingExpirySweeper.sweep()).isEqualTo(1);
+        assertThat(bookingExpirySweeper.sweep()).isZero();
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.example.cinemabooking.booking.service;
+
+import com.example.cinemabooking.booking.dto.BookingExpiryStatsResponse;
+import com.example.cinemabooking.booking.dto.SeatRequest;
+import com.example.cinemabooking.booking.repository.BookingJdbcRepository;
+import com.example.cinemabooking.booking.repository.ExpiredBooking;
+import com.example.cinemabooking.screening.service.SeatAvailabilityBitmap;
+import com.example.cinemabooking.screening.service.SeatAvailabilityCache;
+import com.example.cinemabooking.screening.service.SeatCounters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingExpirySweeperTest {
+
+    private static final long SCREENING_ID = 1L;
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+    @Mock
+    private BookingJdbcRepository bookingJdbcRepository;
+
+    @Mock
+    private SeatAvailabilityCache seatAvailabilityCache;
+
+    @Mock
+    private SeatCounters seatCounters;
+
+    private SeatAvailabilityBitmap bitmap;
+    private BookingExpirySweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        bitmap = new SeatAvailabilityBitmap(5, 10);
+        Clock clock = Clock.fixed(Instant.parse("2030-01-01T10:00:00Z"), ZoneOffset.UTC);
+        sweeper = new BookingExpirySweeper(bookingJdbcRepository, seatAvailabilityCache, seatCounters,
+                new BookingExpiryProperties(Duration.ofMinutes(15), Duration.ofSeconds(5), 2, 3), clock);
+        lenient().when(seatAvailabilityCache.find(SCREENING_ID)).thenReturn(Optional.of(bitmap));
+        lenient().when(bookingJdbcRepository.findOldestPendingExpiry()).thenReturn(Optional.empty());
+    }
+
+    private ExpiredBooking expired(long bookingId, SeatRequest... seats) {
+        for (SeatRequest seat : seats) {
+            bitmap.tryReserve(seat.getRowNumber(), seat.getSeatNumber());
+        }
+        return new ExpiredBooking(bookingId, SCREENING_ID, List.of(seats));
+    }
+
+    @Test
+    @DisplayName("should release expired seats in memory and return them to the count")
+    void shouldReleaseExpiredSeats() {
+        given(bookingJdbcRepository.expireOverdueBookings(NOW, 2))
+                .willReturn(List.of(expired(10L, new SeatRequest(1, 1), new SeatRequest(1, 2))));
+
+        int expired = sweeper.sweep();
+
+        assertThat(expired).isEqualTo(1);
+        assertThat(bitmap.isAvailable(1, 1)).isTrue();
+        assertThat(bitmap.isAvailable(1, 2)).isTrue();
+        verify(seatCounters).adjust(SCREENING_ID, 2);
+    }
+
+    @Test
+    @DisplayName("should keep sweeping full batches up to the per-run limit")
+    void shouldStopAfterMaxBatches() {
+        given(bookingJdbcRepository.expireOverdueBookings(NOW, 2))
+                .willReturn(List.of(expired(1L), expired(2L)));
+
+        int expired = sweeper.sweep();
+
+        assertThat(expired).isEqualTo(6);
+        verify(bookingJdbcRepository, times(3)).expireOverdueBookings(NOW, 2);
+    }
+
+    @Test
+    @DisplayName("should stop at the first batch that comes back short")
+    void shouldStopAtShortBatch() {
+        given(bookingJdbcRepository.expireOverdueBookings(NOW, 2))
+                .willReturn(List.of(expired(1L), expired(2L)))
+                .willReturn(List.of(expired(3L)));
+
+        int expired = sweeper.sweep();
+
+        assertThat(expired).isEqualTo(3);
+        verify(bookingJdbcRepository, times(2)).expireOverdueBookings(NOW, 2);
+    }
+
+    @Test
+    @DisplayName("should report progress and how far the oldest unpaid booking is past its deadline")
+    void shouldReportStats() {
+        given(bookingJdbcRepository.expireOverdueBookings(NOW, 2))
+                .willReturn(List.of(expired(1L, new SeatRequest(2, 2))));
+        given(bookingJdbcRepository.findOldestPendingExpiry()).willReturn(Optional.of(NOW.minusSeconds(3)));
+
+        sweeper.sweep();
+        BookingExpiryStatsResponse stats = sweeper.getStats();
+
+        assertThat(stats.getRunsTotal()).isEqualTo(1);
+        assertThat(stats.getExpiredTotal()).isEqualTo(1);
+        assertThat(stats.getSeatsReleasedTotal()).isEqualTo(1);
+        assertThat(stats.getLastRunAt()).isEqualTo(NOW);
+        assertThat(stats.getLagMillis()).isEqualTo(3000);
+    }
+
+}
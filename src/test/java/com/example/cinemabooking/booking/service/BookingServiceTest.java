@@ -0,0 +1,365 @@
+package com.example.cinemabooking.booking.service;
+
+import com.example.cinemabooking.booking.dto.BookingResponse;
+import com.example.cinemabooking.booking.dto.CreateAnySeatsBookingRequest;
+import com.example.cinemabooking.booking.dto.CreateBestAvailableBookingRequest;
+import com.example.cinemabooking.booking.dto.CreateBookingRequest;
+import com.example.cinemabooking.booking.dto.SeatRequest;
+import com.example.cinemabooking.booking.entity.Booking;
+import com.example.cinemabooking.booking.entity.BookingStatus;
+import com.example.cinemabooking.booking.repository.BookingJdbcRepository;
+import com.example.cinemabooking.booking.repository.BookingRepository;
+import com.example.cinemabooking.booking.service.exception.BookingExpiredException;
+import com.example.cinemabooking.booking.service.exception.BookingNotFoundException;
+import com.example.cinemabooking.booking.service.exception.InsufficientSeatsException;
+import com.example.cinemabooking.booking.service.exception.SeatsUnavailableException;
+import com.example.cinemabooking.screening.entity.Screening;
+import com.example.cinemabooking.screening.repository.ScreeningRepository;
+import com.example.cinemabooking.screening.service.SeatAvailabilityBitmap;
+import com.example.cinemabooking.screening.service.SeatAvailabilityCache;
+import com.example.cinemabooking.screening.service.SeatCounters;
+import com.example.cinemabooking.screening.service.exception.SeatNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.*;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class BookingServiceTest {
+
+    private static final long SCREENING_ID = 1L;
+    private static final long BOOKING_ID = 7L;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingJdbcRepository bookingJdbcRepository;
+
+    @Mock
+    private ScreeningRepository screeningRepository;
+
+    @Mock
+    private SeatAvailabilityCache seatAvailabilityCache;
+
+    @Mock
+    private SeatHoldService seatHoldService;
+
+    @Mock
+    private BestAvailableSeatAllocator bestAvailableSeatAllocator;
+
+    @Mock
+    private SeatCounters seatCounters;
+
+    @Mock
+    private PaidSeatOwners paidSeatOwners;
+
+    private SeatAvailabilityBitmap bitmap;
+    private BookingService bookingService;
+
+    @BeforeEach
+    void setUp() {
+        bitmap = new SeatAvailabilityBitmap(5, 10);
+        Clock clock = Clock.fixed(Instant.parse("2030-01-01T10:00:00Z"), ZoneOffset.UTC);
+        bookingService = new BookingService(bookingRepository, bookingJdbcRepository, screeningRepository,
+                seatAvailabilityCache, seatHoldService, bestAvailableSeatAllocator, seatCounters, paidSeatOwners,
+                new BookingExpiryProperties(Duration.ofMinutes(15), Duration.ofSeconds(5), 500, 20), clock);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(sync -> sync.afterCompletion(status));
+    }
+
+    private void givenBookingSaved() {
+        given(screeningRepository.getReferenceById(SCREENING_ID)).willReturn(Screening.builder().id(SCREENING_ID).build());
+        given(bookingRepository.save(any(Booking.class))).willAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            booking.setId(BOOKING_ID);
+            return booking;
+        });
+    }
+
+    @Test
+    @DisplayName("should book all requested seats with one claim statement")
+    void shouldBookAllSeats() {
+        List<SeatRequest> seats = List.of(new SeatRequest(1, 1), new SeatRequest(1, 2));
+        given(seatAvailabilityCache.getOrLoad(SCREENING_ID)).willReturn(bitmap);
+        givenBookingSaved();
+        given(bookingJdbcRepository.claimSeats(SCREENING_ID, BOOKING_ID, seats)).willReturn(seats);
+
+        BookingResponse response = bookingService.createBooking(SCREENING_ID, CreateBookingRequest.builder().seats(seats).build());
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(response.getId()).isEqualTo(BOOKING_ID);
+        assertThat(response.getSeats()).hasSize(2);
+        assertThat(bitmap.isAvailable(1, 1)).isFalse();
+        assertThat(bitmap.isAvailable(1, 2)).isFalse();
+        verify(bookingJdbcRepository).claimSeats(SCREENING_ID, BOOKING_ID, seats);
+        verify(seatCounters).adjustAfterCommit(SCREENING_ID, -2);
+    }
+
+    @Test
+    @DisplayName("should fail fast without touching the database when seat is taken in memory")
+    void shouldFailFastOnTakenSeat() {
+        bitmap.tryReserve(1, 2);
+        given(seatAvailabilityCache.getOrLoad(SCREENING_ID)).willReturn(bitmap);
+        CreateBookingRequest request = CreateBookingRequest.builder()
+                .seats(List.of(new SeatRequest(1, 1), new SeatRequest(1, 2)))
+                .build();
+
+        assertThatThrownBy(() -> bookingService.createBooking(SCREENING_ID, request))
+                .isInstanceOf(SeatsUnavailableException.class)
+                .satisfies(e -> assertThat(((SeatsUnavailableException) e).getSeats()).containsExactly(new SeatRequest(1, 2)));
+
+        assertThat(bitmap.isAvailable(1, 1)).isTrue();
+        verifyNoInteractions(bookingRepository, bookingJdbcRepository);
+    }
+
+    @Test
+    @DisplayName("should reject seat outside of hall layout")
+    void shouldRejectSeatOutsideLayout() {
+        given(seatAvailabilityCache.getOrLoad(SCREENING_ID)).willReturn(bitmap);
+        CreateBookingRequest request = CreateBookingRequest.builder()
+                .seats(List.of(new SeatRequest(1, 11)))
+                .build();
+
+        assertThatThrownBy(() -> bookingService.createBooking(SCREENING_ID, request))
+                .isInstanceOf(SeatNotFoundException.class);
+
+        verifyNoInteractions(bookingRepository, bookingJdbcRepository);
+    }
+
+    @Test
+    @DisplayName("should roll back and list seats the database reports as taken")
+    void shouldRollBackOnDatabaseConflict() {
+        List<SeatRequest> seats = List.of(new SeatRequest(2, 1), new SeatRequest(2, 2));
+        given(seatAvailabilityCache.getOrLoad(SCREENING_ID)).willReturn(bitmap);
+        givenBookingSaved();
+        given(bookingJdbcRepository.claimSeats(SCREENING_ID, BOOKING_ID, seats)).willReturn(List.of(new SeatRequest(2, 1)));
+
+        assertThatThrownBy(() -> bookingService.createBooking(SCREENING_ID, CreateBookingRequest.builder().seats(seats).build()))
+                .isInstanceOf(SeatsUnavailableException.class)
+                .satisfies(e -> assertThat(((SeatsUnavailableException) e).getSeats()).containsExactly(new SeatRequest(2, 2)));
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(bitmap.isAvailable(2, 1)).isTrue();
+        assertThat(bitmap.isAvailable(2, 2)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should book seats of consumed hold")
+    void shouldBookHeldSeats() {
+        UUID holdId = UUID.randomUUID();
+        List<SeatRequest> seats = List.of(new SeatRequest(3, 3));
+        bitmap.tryReserve(3, 3);
+        given(seatAvailabilityCache.getOrLoad(SCREENING_ID)).willReturn(bitmap);
+        given(seatHoldService.consumeHold(SCREENING_ID, holdId)).willReturn(new SeatHold(holdId, SCREENING_ID, seats, 0));
+        givenBookingSaved();
+        given(bookingJdbcRepository.claimSeats(SCREENING_ID, BOOKING_ID, seats)).willReturn(seats);
+
+        BookingResponse response = bookingService.createBooking(SCREENING_ID, CreateBookingRequest.builder().holdId(holdId).build());
+
+        assertThat(response.getSeats()).hasSize(1);
+        assertThat(bitmap.isAvailable(3, 3)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should book seats picked by best-available allocator")
+    void shouldBookBestAvailableSeats() {
+        List<SeatRequest> seats = List.of(new SeatRequest(3, 5), new SeatRequest(3, 6));
+        given(seatAvailabilityCache.getOrLoad(SCREENING_ID)).willReturn(bitmap);
+        given(bestAvailableSeatAllocator.allocate(SCREENING_ID, bitmap, 2, true)).willReturn(seats);
+        givenBookingSaved();
+        given(bookingJdbcRepository.claimSeats(SCREENING_ID, BOOKING_ID, seats)).willReturn(seats);
+
+        BookingResponse response = bookingService.createBestAvailableBooking(SCREENING_ID,
+                CreateBestAvailableBookingRequest.builder().count(2).build());
+
+        assertThat(response.getSeats()).extracting("seatNumber").containsExactly(5, 6);
+    }
+
+    @Test
+    @DisplayName("should book any seats picked by the database skipping seats held in memory")
+    void shouldBookAnySeats() {
+        bitmap.tryReserve(1, 1);
+        List<SeatRequest> seats = List.of(new SeatRequest(4, 1), new SeatRequest(4, 2));
+        given(seatAvailabilityCache.getOrLoad(SCREENING_ID)).willReturn(bitmap);
+        givenBookingSaved();
+        given(bookingJdbcRepository.claimAnySeats(SCREENING_ID, BOOKING_ID, 2, List.of(new SeatRequest(1, 1)))).willReturn(seats);
+
+        BookingResponse response = bookingService.createAnySeatsBooking(SCREENING_ID, CreateAnySeatsBookingRequest.builder().count(2).build());
+
+        assertThat(response.getSeats()).hasSize(2);
+        assertThat(bitmap.isAvailable(4, 1)).isFalse();
+        assertThat(bitmap.isAvailable(4, 2)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should give back a seat held in memory after the snapshot and book a replacement instead")
+    void shouldReplaceAnySeatTakenInMemory() {
+        given(seatAvailabilityCache.getOrLoad(SCREENING_ID)).willReturn(bitmap);
+        givenBookingSaved();
+        given(bookingJdbcRepository.claimAnySeats(SCREENING_ID, BOOKING_ID, 2, List.of())).willAnswer(invocation -> {
+            bitmap.tryReserve(4, 2); // held by another buyer after the snapshot was taken
+            return List.of(new SeatRequest(4, 1), new SeatRequest(4, 2));
+        });
+        given(bookingJdbcRepository.claimAnySeats(SCREENING_ID, BOOKING_ID, 1, List.of(new SeatRequest(4, 2))))
+                .willReturn(List.of(new SeatRequest(4, 3)));
+
+        BookingResponse response = bookingService.createAnySeatsBooking(SCREENING_ID, CreateAnySeatsBookingRequest.builder().count(2).build());
+
+        assertThat(response.getSeats()).extracting(seat -> seat.getRowNumber() + "-" + seat.getSeatNumber())
+                .containsExactly("4-1", "4-3");
+        verify(bookingJdbcRepository).releaseSeats(BOOKING_ID, List.of(new SeatRequest(4, 2)));
+        verify(seatCounters).adjustAfterCommit(SCREENING_ID, -2);
+    }
+
+    @Test
+    @DisplayName("should give up with insufficient seats once every pick kept conflicting in memory")
+    void shouldStopReplacingAnySeatsAfterMaxAttempts() {
+        given(seatAvailabilityCache.getOrLoad(SCREENING_ID)).willReturn(bitmap);
+        givenBookingSaved();
+        given(bookingJdbcRepository.claimAnySeats(eq(SCREENING_ID), eq(BOOKING_ID), eq(1), anyList())).willAnswer(invocation -> {
+            List<SeatRequest> excluded = invocation.getArgument(3);
+            SeatRequest seat = new SeatRequest(5, excluded.size() + 1);
+            bitmap.tryReserve(seat.getRowNumber(), seat.getSeatNumber());
+            return List.of(seat);
+        });
+
+        assertThatThrownBy(() -> bookingService.createAnySeatsBooking(SCREENING_ID, CreateAnySeatsBookingRequest.builder().count(1).build()))
+                .isInstanceOf(InsufficientSeatsException.class);
+
+        verify(bookingJdbcRepository, times(3)).releaseSeats(eq(BOOKING_ID), anyList());
+    }
+
+    @Test
+    @DisplayName("should fail when database cannot supply enough free seats")
+    void shouldFailWhenNotEnoughAnySeats() {
+        given(seatAvailabilityCache.getOrLoad(SCREENING_ID)).willReturn(bitmap);
+        givenBookingSaved();
+        given(bookingJdbcRepository.claimAnySeats(SCREENING_ID, BOOKING_ID, 3, List.of())).willReturn(List.of(new SeatRequest(4, 1)));
+
+        assertThatThrownBy(() -> bookingService.createAnySeatsBooking(SCREENING_ID, CreateAnySeatsBookingRequest.builder().count(3).build()))
+                .isInstanceOf(InsufficientSeatsException.class);
+
+        assertThat(bitmap.isAvailable(4, 1)).isTrue();
+    }
+
+    // =========================================================
+    // cancel
+    // =========================================================
+
+    @Test
+    @DisplayName("should release booked seats and return them to the count once cancellation commits")
+    void shouldCancelBooking() {
+        UUID bookingId = UUID.randomUUID();
+        Booking booking = Booking.builder().id(BOOKING_ID).uuid(bookingId).screening(Screening.builder().id(SCREENING_ID).build()).build();
+        List<SeatRequest> seats = List.of(new SeatRequest(2, 3), new SeatRequest(2, 4));
+        seats.forEach(seat -> bitmap.tryReserve(seat.getRowNumber(), seat.getSeatNumber()));
+        given(bookingRepository.findByUuid(bookingId)).willReturn(Optional.of(booking));
+        given(bookingJdbcRepository.releaseBookingSeats(BOOKING_ID)).willReturn(seats);
+        given(seatAvailabilityCache.find(SCREENING_ID)).willReturn(Optional.of(bitmap));
+
+        bookingService.cancelBooking(SCREENING_ID, bookingId);
+        assertThat(bitmap.isAvailable(2, 3)).isFalse();
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(bitmap.isAvailable(2, 3)).isTrue();
+        assertThat(bitmap.isAvailable(2, 4)).isTrue();
+        verify(bookingRepository).delete(booking);
+        verify(seatCounters).adjustAfterCommit(SCREENING_ID, 2);
+        verify(paidSeatOwners).released(SCREENING_ID, bookingId, seats);
+    }
+
+    @Test
+    @DisplayName("should not cancel booking of another screening")
+    void shouldNotCancelBookingOfOtherScreening() {
+        UUID bookingId = UUID.randomUUID();
+        Booking booking = Booking.builder().id(BOOKING_ID).uuid(bookingId).screening(Screening.builder().id(2L).build()).build();
+        given(bookingRepository.findByUuid(bookingId)).willReturn(Optional.of(booking));
+
+        assertThatThrownBy(() -> bookingService.cancelBooking(SCREENING_ID, bookingId))
+                .isInstanceOf(BookingNotFoundException.class);
+
+        verifyNoInteractions(bookingJdbcRepository);
+    }
+
+    // =========================================================
+    // pay
+    // =========================================================
+
+    @Test
+    @DisplayName("should create bookings awaiting payment until the payment deadline")
+    void shouldCreatePendingBooking() {
+        List<SeatRequest> seats = List.of(new SeatRequest(1, 1));
+        given(seatAvailabilityCache.getOrLoad(SCREENING_ID)).willReturn(bitmap);
+        givenBookingSaved();
+        given(bookingJdbcRepository.claimSeats(SCREENING_ID, BOOKING_ID, seats)).willReturn(seats);
+
+        BookingResponse response = bookingService.createBooking(SCREENING_ID, CreateBookingRequest.builder().seats(seats).build());
+
+        assertThat(response.getStatus()).isEqualTo(BookingStatus.PENDING_PAYMENT);
+        assertThat(response.getExpiresAt()).isEqualTo(LocalDateTime.of(2030, 1, 1, 10, 15));
+    }
+
+    @Test
+    @DisplayName("should mark an unpaid booking as paid")
+    void shouldPayBooking() {
+        UUID bookingId = UUID.randomUUID();
+        Booking booking = Booking.builder().id(BOOKING_ID).uuid(bookingId).screening(Screening.builder().id(SCREENING_ID).build()).build();
+        given(bookingRepository.findByUuid(bookingId)).willReturn(Optional.of(booking));
+        given(bookingJdbcRepository.markPaid(BOOKING_ID, LocalDateTime.of(2030, 1, 1, 10, 0))).willReturn(true);
+        given(bookingJdbcRepository.findBookingSeats(BOOKING_ID)).willReturn(List.of(new SeatRequest(2, 3)));
+
+        BookingResponse response = bookingService.payBooking(SCREENING_ID, bookingId);
+        verifyNoInteractions(paidSeatOwners);
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(response.getStatus()).isEqualTo(BookingStatus.PAID);
+        assertThat(response.getExpiresAt()).isNull();
+        assertThat(response.getSeats()).hasSize(1);
+        verify(paidSeatOwners).paid(SCREENING_ID, bookingId, List.of(new SeatRequest(2, 3)));
+    }
+
+    @Test
+    @DisplayName("should reject payment once the booking has expired")
+    void shouldRejectPaymentOfExpiredBooking() {
+        UUID bookingId = UUID.randomUUID();
+        Booking booking = Booking.builder().id(BOOKING_ID).uuid(bookingId).screening(Screening.builder().id(SCREENING_ID).build()).build();
+        given(bookingRepository.findByUuid(bookingId)).willReturn(Optional.of(booking));
+        given(bookingJdbcRepository.markPaid(eq(BOOKING_ID), any())).willReturn(false);
+
+        assertThatThrownBy(() -> bookingService.payBooking(SCREENING_ID, bookingId))
+                .isInstanceOf(BookingExpiredException.class);
+    }
+
+}
@@ -0,0 +1,160 @@
+package com.example.cinemabooking.booking.service;
+
+import com.example.cinemabooking.booking.dto.CreateSeatHoldRequest;
+import com.example.cinemabooking.booking.dto.SeatHoldResponse;
+import com.example.cinemabooking.booking.dto.SeatRequest;
+import com.example.cinemabooking.booking.service.exception.SeatHoldNotFoundException;
+import com.example.cinemabooking.booking.service.exception.SeatsUnavailableException;
+import com.example.cinemabooking.screening.service.SeatAvailabilityBitmap;
+import com.example.cinemabooking.screening.service.SeatAvailabilityCache;
+import com.example.cinemabooking.screening.service.exception.SeatNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class SeatHoldServiceTest {
+
+    private static final long SCREENING_ID = 1L;
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Mock
+    private SeatAvailabilityCache seatAvailabilityCache;
+
+    @Mock
+    private Clock clock;
+
+    private SeatAvailabilityBitmap bitmap;
+    private SeatHoldService seatHoldService;
+
+    @BeforeEach
+    void setUp() {
+        bitmap = new SeatAvailabilityBitmap(5, 10);
+        lenient().when(clock.millis()).thenReturn(NOW);
+        lenient().when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        lenient().when(seatAvailabilityCache.getOrLoad(SCREENING_ID)).thenReturn(bitmap);
+        lenient().when(seatAvailabilityCache.find(SCREENING_ID)).thenReturn(Optional.of(bitmap));
+        SeatHoldProperties properties = new SeatHoldProperties(Duration.ofMinutes(10), Duration.ofMinutes(30), Duration.ofMillis(100), 64);
+        seatHoldService = new SeatHoldService(seatAvailabilityCache, properties, clock);
+    }
+
+    private CreateSeatHoldRequest request(Integer minutes, SeatRequest... seats) {
+        return CreateSeatHoldRequest.builder()
+                .seats(List.of(seats))
+                .holdMinutes(minutes)
+                .build();
+    }
+
+    // -------------------------------------------------------
+    // HOLD
+    // -------------------------------------------------------
+
+    @Test
+    @DisplayName("should hold free seats")
+    void shouldHoldSeats() {
+        SeatHoldResponse response = seatHoldService.holdSeats(SCREENING_ID, request(null, new SeatRequest(1, 1), new SeatRequest(1, 2)));
+
+        assertThat(response.getSeats()).hasSize(2);
+        assertThat(response.getExpiresAt().toInstant(ZoneOffset.UTC).toEpochMilli()).isEqualTo(NOW + Duration.ofMinutes(10).toMillis());
+        assertThat(bitmap.isAvailable(1, 1)).isFalse();
+        assertThat(bitmap.isAvailable(1, 2)).isFalse();
+        assertThat(seatHoldService.getStats().getActiveHolds()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should cap hold duration at configured maximum")
+    void shouldCapHoldDuration() {
+        SeatHoldResponse response = seatHoldService.holdSeats(SCREENING_ID, request(120, new SeatRequest(1, 1)));
+
+        assertThat(response.getExpiresAt().toInstant(ZoneOffset.UTC).toEpochMilli()).isEqualTo(NOW + Duration.ofMinutes(30).toMillis());
+    }
+
+    @Test
+    @DisplayName("should fail without claiming anything when any seat is taken")
+    void shouldFailWhenSeatTaken() {
+        bitmap.tryReserve(2, 2);
+
+        assertThatThrownBy(() -> seatHoldService.holdSeats(SCREENING_ID, request(null, new SeatRequest(2, 1), new SeatRequest(2, 2))))
+                .isInstanceOf(SeatsUnavailableException.class)
+                .satisfies(e -> assertThat(((SeatsUnavailableException) e).getSeats()).containsExactly(new SeatRequest(2, 2)));
+
+        assertThat(bitmap.isAvailable(2, 1)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should reject seat outside of hall layout")
+    void shouldRejectSeatOutsideLayout() {
+        assertThatThrownBy(() -> seatHoldService.holdSeats(SCREENING_ID, request(null, new SeatRequest(6, 1))))
+                .isInstanceOf(SeatNotFoundException.class);
+    }
+
+    // -------------------------------------------------------
+    // RELEASE / EXPIRY
+    // -------------------------------------------------------
+
+    @Test
+    @DisplayName("should release held seats on request")
+    void shouldReleaseHold() {
+        SeatHoldResponse response = seatHoldService.holdSeats(SCREENING_ID, request(null, new SeatRequest(3, 3)));
+
+        seatHoldService.releaseHold(SCREENING_ID, response.getId());
+
+        assertThat(bitmap.isAvailable(3, 3)).isTrue();
+        assertThat(seatHoldService.getStats().getReleasedTotal()).isEqualTo(1);
+        assertThatThrownBy(() -> seatHoldService.releaseHold(SCREENING_ID, response.getId()))
+                .isInstanceOf(SeatHoldNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("should throw exception when hold does not exist")
+    void shouldThrowWhenHoldNotFound() {
+        assertThatThrownBy(() -> seatHoldService.releaseHold(SCREENING_ID, UUID.randomUUID()))
+                .isInstanceOf(SeatHoldNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("should release seats once hold expires")
+    void shouldExpireHold() {
+        seatHoldService.holdSeats(SCREENING_ID, request(1, new SeatRequest(4, 4)));
+
+        given(clock.millis()).willReturn(NOW + Duration.ofSeconds(59).toMillis());
+        assertThat(seatHoldService.expireDueHolds()).isZero();
+        assertThat(bitmap.isAvailable(4, 4)).isFalse();
+
+        given(clock.millis()).willReturn(NOW + Duration.ofSeconds(61).toMillis());
+        assertThat(seatHoldService.expireDueHolds()).isEqualTo(1);
+        assertThat(bitmap.isAvailable(4, 4)).isTrue();
+        assertThat(seatHoldService.getStats().getActiveHolds()).isZero();
+        assertThat(seatHoldService.getStats().getExpiredTotal()).isEqualTo(1);
+        assertThat(seatHoldService.getStats().getExpiredLastMinute()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should hand over seats of consumed hold without releasing them")
+    void shouldConsumeHold() {
+        SeatHoldResponse response = seatHoldService.holdSeats(SCREENING_ID, request(1, new SeatRequest(5, 5)));
+
+        SeatHold hold = seatHoldService.consumeHold(SCREENING_ID, response.getId());
+        given(clock.millis()).willReturn(NOW + Duration.ofMinutes(2).toMillis());
+        seatHoldService.expireDueHolds();
+
+        assertThat(hold.seats()).containsExactly(new SeatRequest(5, 5));
+        assertThat(bitmap.isAvailable(5, 5)).isFalse();
+    }
+
+}
@@ -0,0 +1,194 @@
+package com.example.cinemabooking.booking.service;
+
+import com.example.cinemabooking.booking.dto.BookingResponse;
+import com.example.cinemabooking.booking.dto.CreateBookingRequest;
+import com.example.cinemabooking.booking.dto.SeatRequest;
+import com.example.cinemabooking.booking.journal.BookingJournalFullException;
+import com.example.cinemabooking.booking.journal.BookingJournalProperties;
+import com.example.cinemabooking.booking.repository.BookingJdbcRepository;
+import com.example.cinemabooking.screening.service.SeatAvailabilityBitmap;
+import com.example.cinemabooking.screening.service.SeatAvailabilityCache;
+import com.example.cinemabooking.screening.service.SeatCounters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WriteBehindBookingServiceTest {
+
+    private static final long SCREENING_ID = 1L;
+    // header and one single-seat entry, so a second booking finds the journal full
+    private static final DataSize ONE_ENTRY = DataSize.ofBytes(128);
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private SeatAvailabilityCache seatAvailabilityCache;
+
+    @Mock
+    private SeatHoldService seatHoldService;
+
+    @Mock
+    private BookingJdbcRepository bookingJdbcRepository;
+
+    @Mock
+    private SeatCounters seatCounters;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private SeatAvailabilityBitmap bitmap;
+
+    @BeforeEach
+    void setUp() {
+        bitmap = new SeatAvailabilityBitmap(5, 10);
+        lenient().when(seatAvailabilityCache.getOrLoad(SCREENING_ID)).thenReturn(bitmap);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    private WriteBehindBookingService start(Duration syncInterval) throws Exception {
+        return start(syncInterval, DataSize.ofKilobytes(64), Duration.ofSeconds(1));
+    }
+
+    private WriteBehindBookingService start(Duration syncInterval, DataSize capacity, Duration fullTimeout)
+            throws Exception {
+        BookingJournalProperties properties = new BookingJournalProperties(true, directory.resolve("journal.log"),
+                capacity, syncInterval, 256, Duration.ofHours(1), 100, fullTimeout);
+        WriteBehindBookingService service = new WriteBehindBookingService(seatAvailabilityCache, seatHoldService,
+                bookingJdbcRepository, seatCounters, transactionTemplate, properties,
+                new BookingExpiryProperties(Duration.ofMinutes(15), Duration.ofSeconds(5), 500, 20),
+                Clock.fixed(Instant.parse("2030-01-01T10:00:00Z"), ZoneOffset.UTC));
+        service.start();
+        return service;
+    }
+
+    private static CreateBookingRequest request(SeatRequest... seats) {
+        return CreateBookingRequest.builder().seats(List.of(seats)).build();
+    }
+
+    // =========================================================
+    // stop
+    // =========================================================
+
+    @Test
+    @DisplayName("should acknowledge a booking still waiting for its group commit when stopping")
+    void shouldAcknowledgeWaitingBookingOnStop() throws Exception {
+        WriteBehindBookingService service = start(Duration.ofHours(1));
+        CompletableFuture<BookingResponse> booking = CompletableFuture.supplyAsync(() ->
+                service.createBooking(SCREENING_ID, request(new SeatRequest(1, 1))));
+        await().during(Duration.ofMillis(200)).until(() -> !booking.isDone());
+
+        service.stop();
+
+        assertThat(booking.join().getSeats()).hasSize(1);
+        verify(bookingJdbcRepository).writeJournaledBookings(anyList(), anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("should reject bookings once stopped instead of waiting for a sync that never comes")
+    void shouldRejectBookingAfterStop() throws Exception {
+        WriteBehindBookingService service = start(Duration.ofMillis(1));
+        service.stop();
+
+        assertThatThrownBy(() -> service.createBooking(SCREENING_ID, request(new SeatRequest(1, 1))))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(bitmap.isAvailable(1, 1)).isTrue();
+    }
+
+    // =========================================================
+    // flush
+    // =========================================================
+
+    @Test
+    @DisplayName("should fail an acknowledged booking whose seats were already booked and give back the rest")
+    void shouldFailBookingWithLostSeats() throws Exception {
+        WriteBehindBookingService service = start(Duration.ofMillis(1));
+        SeatRequest kept = new SeatRequest(2, 1);
+        SeatRequest lost = new SeatRequest(2, 2);
+        BookingResponse booking = service.createBooking(SCREENING_ID, request(kept, lost));
+        given(bookingJdbcRepository.writeJournaledBookings(anyList(), anyInt(), any()))
+                .willReturn(new HashMap<>(Map.of(booking.getUuid(), List.of(lost))));
+        given(bookingJdbcRepository.failJournaledBookings(Set.of(booking.getUuid())))
+                .willReturn(List.of(booking.getUuid()));
+        given(seatAvailabilityCache.find(SCREENING_ID)).willReturn(Optional.of(bitmap));
+
+        assertThat(service.flushToDatabase()).isEqualTo(1);
+
+        assertThat(bitmap.isAvailable(kept.getRowNumber(), kept.getSeatNumber())).isTrue();
+        assertThat(bitmap.isAvailable(lost.getRowNumber(), lost.getSeatNumber())).isFalse();
+        verify(seatCounters).adjust(SCREENING_ID, 1);
+        service.stop();
+    }
+
+    // =========================================================
+    // full journal
+    // =========================================================
+
+    @Test
+    @DisplayName("should have the flusher drain a full journal while the booking waits")
+    void shouldDrainFullJournalOnFlusher() throws Exception {
+        WriteBehindBookingService service = start(Duration.ofMillis(1), ONE_ENTRY, Duration.ofSeconds(5));
+        List<String> flushingThreads = new CopyOnWriteArrayList<>();
+        given(bookingJdbcRepository.writeJournaledBookings(anyList(), anyInt(), any())).willAnswer(invocation -> {
+            flushingThreads.add(Thread.currentThread().getName());
+            return new HashMap<>();
+        });
+
+        for (int seat = 1; seat <= 3; seat++) {
+            assertThat(service.createBooking(SCREENING_ID, request(new SeatRequest(3, seat))).getSeats()).hasSize(1);
+        }
+
+        assertThat(flushingThreads).hasSize(2).containsOnly("booking-journal-flush");
+        service.stop();
+    }
+
+    @Test
+    @DisplayName("should reject a booking and give back its seats when a full journal is not drained in time")
+    void shouldRejectBookingWhenJournalStaysFull() throws Exception {
+        WriteBehindBookingService service = start(Duration.ofMillis(1), ONE_ENTRY, Duration.ofMillis(100));
+        CountDownLatch databaseBack = new CountDownLatch(1);
+        given(bookingJdbcRepository.writeJournaledBookings(anyList(), anyInt(), any())).willAnswer(invocation -> {
+            databaseBack.await();
+            return new HashMap<>();
+        });
+        service.createBooking(SCREENING_ID, request(new SeatRequest(4, 1)));
+
+        try {
+            assertThatThrownBy(() -> service.createBooking(SCREENING_ID, request(new SeatRequest(4, 2))))
+                    .isInstanceOf(BookingJournalFullException.class);
+            assertThat(bitmap.isAvailable(4, 2)).isTrue();
+        } finally {
+            databaseBack.countDown();
+        }
+        service.stop();
+    }
+
+}
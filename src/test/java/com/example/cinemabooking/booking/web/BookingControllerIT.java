@@ -0,0 +1,227 @@
+package com.example.cinemabooking.booking.web;
+
+import com.example.cinemabooking.BaseIT;
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.hall.entity.Seat;
+import com.example.cinemabooking.hall.repository.CinemaHallRepository;
+import com.example.cinemabooking.movie.entity.AgeRating;
+import com.example.cinemabooking.movie.entity.Movie;
+import com.example.cinemabooking.movie.repository.MovieRepository;
+import com.example.cinemabooking.screening.entity.Screening;
+import com.example.cinemabooking.screening.entity.SeatStatus;
+import com.example.cinemabooking.screening.repository.ScreeningRepository;
+import com.example.cinemabooking.screening.repository.ScreeningSeatRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@AutoConfigureMockMvc
+@SpringBootTest
+class BookingControllerIT extends BaseIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private CinemaHallRepository hallRepository;
+
+    @Autowired
+    private ScreeningRepository screeningRepository;
+
+    @Autowired
+    private ScreeningSeatRepository screeningSeatRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Screening screening;
+    private String bookingsUrl;
+
+    @BeforeEach
+    void setUp() {
+        Movie movie = movieRepository.save(
+                Movie.builder()
+                        .title("Inception")
+                        .description("Dreams")
+                        .genre("Sci-Fi")
+                        .durationMinutes(148)
+                        .releaseDate(LocalDate.of(2010, 7, 16))
+                        .ageRating(AgeRating.AGE_12)
+                        .build()
+        );
+
+        CinemaHall hall = CinemaHall.builder()
+                .name("Sala 1")
+                .rows(3)
+                .seatsPerRow(4)
+                .build();
+        for (int r = 1; r <= 3; r++) {
+            for (int s = 1; s <= 4; s++) {
+                hall.addSeat(Seat.builder().rowNumber(r).seatNumber(s).build());
+            }
+        }
+        hall = hallRepository.saveAndFlush(hall);
+
+        screening = screeningRepository.save(
+                Screening.builder()
+                        .movie(movie)
+                        .cinemaHall(hall)
+                        .startTime(LocalDateTime.of(2040, 1, 1, 14, 0))
+                        .endTime(LocalDateTime.of(2040, 1, 1, 16, 28))
+                        .price(BigDecimal.valueOf(25))
+                        .build()
+        );
+        screeningSeatRepository.createInventory(screening.getId(), hall.getId());
+        bookingsUrl = "/api/screening/" + screening.getId() + "/bookings";
+    }
+
+    @Test
+    @DisplayName("POST should book all requested seats")
+    void shouldBookSeats() throws Exception {
+        mockMvc.perform(post(bookingsUrl)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "seats": [ { "rowNumber": 2, "seatNumber": 1 }, { "rowNumber": 2, "seatNumber": 2 } ] }
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.seats.length()").value(2));
+
+        assertThat(screeningSeatRepository.findByScreeningIdAndStatus(screening.getId(), SeatStatus.BOOKED)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("POST should return 409 listing conflicting seats and book nothing")
+    void shouldRejectWholeRequestOnConflict() throws Exception {
+        mockMvc.perform(post(bookingsUrl)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"seats\": [ { \"rowNumber\": 1, \"seatNumber\": 1 } ] }"))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post(bookingsUrl)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                { "seats": [ { "rowNumber": 1, "seatNumber": 1 }, { "rowNumber": 1, "seatNumber": 2 } ] }
+                                """))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.messages[1]").value("Seat 1 in row 1 is not available."));
+
+        assertThat(screeningSeatRepository.findByScreeningIdAndStatus(screening.getId(), SeatStatus.BOOKED)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("POST should return 404 for seat outside hall layout")
+    void shouldReturn404ForSeatOutsideLayout() throws Exception {
+        mockMvc.perform(post(bookingsUrl)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"seats\": [ { \"rowNumber\": 4, \"seatNumber\": 1 } ] }"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("POST should return 400 when neither seats nor hold given")
+    void shouldReturn400WhenNothingRequested() throws Exception {
+        mockMvc.perform(post(bookingsUrl)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"seats\": [] }"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /best-available should book central seats together")
+    void shouldBookBestAvailableSeats() throws Exception {
+        mockMvc.perform(post(bookingsUrl + "/best-available")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"count\": 2, \"allowSplit\": false }"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.seats[0].rowNumber").value(2))
+                .andExpect(jsonPath("$.seats[0].seatNumber").value(2))
+                .andExpect(jsonPath("$.seats[1].seatNumber").value(3));
+    }
+
+    @Test
+    @DisplayName("POST /best-available should return 409 when group does not fit")
+    void shouldReturn409WhenGroupDoesNotFit() throws Exception {
+        mockMvc.perform(post(bookingsUrl + "/best-available")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"count\": 5, \"allowSplit\": false }"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("DELETE /{bookingId} should make the booked seats available again")
+    void shouldCancelBooking() throws Exception {
+        String body = mockMvc.perform(post(bookingsUrl)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"seats\": [ { \"rowNumber\": 3, \"seatNumber\": 1 } ] }"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String bookingId = JsonPath.read(body, "$.uuid");
+
+        mockMvc.perform(delete(bookingsUrl + "/" + bookingId))
+                .andExpect(status().isNoContent());
+
+        assertThat(screeningSeatRepository.findByScreeningIdAndStatus(screening.getId(), SeatStatus.BOOKED)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("DELETE /{bookingId} should return 404 for unknown booking")
+    void shouldReturn404WhenCancellingUnknownBooking() throws Exception {
+        mockMvc.perform(delete(bookingsUrl + "/" + UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    private String bookSeat(int rowNumber, int seatNumber) throws Exception {
+        String body = mockMvc.perform(post(bookingsUrl)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"seats\": [ { \"rowNumber\": " + rowNumber + ", \"seatNumber\": " + seatNumber + " } ] }"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.status").value("PENDING_PAYMENT"))
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(body, "$.uuid");
+    }
+
+    @Test
+    @DisplayName("POST /{bookingId}/payment should mark the booking paid")
+    void shouldPayBooking() throws Exception {
+        String bookingId = bookSeat(1, 3);
+
+        mockMvc.perform(post(bookingsUrl + "/" + bookingId + "/payment"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PAID"))
+                .andExpect(jsonPath("$.seats.length()").value(1));
+    }
+
+    @Test
+    @DisplayName("POST /{bookingId}/payment should return 409 once the payment deadline has passed")
+    void shouldRejectLatePayment() throws Exception {
+        String bookingId = bookSeat(1, 4);
+        jdbcTemplate.update("UPDATE bookings SET expires_at = now() - interval '1 minute' WHERE uuid = ?", UUID.fromString(bookingId));
+
+        mockMvc.perform(post(bookingsUrl + "/" + bookingId + "/payment"))
+                .andExpect(status().isConflict());
+    }
+
+}
@@ -0,0 +1,130 @@
+package com.example.cinemabooking.booking.web;
+
+import com.example.cinemabooking.BaseIT;
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.hall.repository.CinemaHallRepository;
+import com.example.cinemabooking.movie.entity.AgeRating;
+import com.example.cinemabooking.movie.entity.Movie;
+import com.example.cinemabooking.movie.repository.MovieRepository;
+import com.example.cinemabooking.screening.entity.Screening;
+import com.example.cinemabooking.screening.repository.ScreeningRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@AutoConfigureMockMvc
+@SpringBootTest
+class SeatHoldControllerIT extends BaseIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private CinemaHallRepository hallRepository;
+
+    @Autowired
+    private ScreeningRepository screeningRepository;
+
+    private String holdsUrl;
+
+    @BeforeEach
+    void setUp() {
+        Movie movie = movieRepository.save(
+                Movie.builder()
+                        .title("Inception")
+                        .description("Dreams")
+                        .genre("Sci-Fi")
+                        .durationMinutes(148)
+                        .releaseDate(LocalDate.of(2010, 7, 16))
+                        .ageRating(AgeRating.AGE_12)
+                        .build()
+        );
+
+        CinemaHall hall = hallRepository.save(
+                CinemaHall.builder()
+                        .name("Sala 1")
+                        .rows(5)
+                        .seatsPerRow(10)
+                        .build()
+        );
+
+        Screening screening = screeningRepository.save(
+                Screening.builder()
+                        .movie(movie)
+                        .cinemaHall(hall)
+                        .startTime(LocalDateTime.of(2040, 1, 1, 14, 0))
+                        .endTime(LocalDateTime.of(2040, 1, 1, 16, 28))
+                        .price(BigDecimal.valueOf(25))
+                        .build()
+        );
+        holdsUrl = "/api/screening/" + screening.getId() + "/holds";
+    }
+
+    @Test
+    @DisplayName("POST should hold seats and second hold on same seat should return 409")
+    void shouldHoldSeatsAndRejectSecondHold() throws Exception {
+        String json = """
+                {
+                  "seats": [ { "rowNumber": 1, "seatNumber": 1 }, { "rowNumber": 1, "seatNumber": 2 } ],
+                  "holdMinutes": 5
+                }
+                """;
+
+        mockMvc.perform(post(holdsUrl)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.seats.length()").value(2))
+                .andExpect(jsonPath("$.expiresAt").exists());
+
+        mockMvc.perform(post(holdsUrl)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.messages.length()").value(3));
+    }
+
+    @Test
+    @DisplayName("POST should return 400 when no seats requested")
+    void shouldReturn400WhenNoSeats() throws Exception {
+        mockMvc.perform(post(holdsUrl)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"seats\": [] }"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("DELETE should return 404 for unknown hold")
+    void shouldReturn404ForUnknownHold() throws Exception {
+        mockMvc.perform(delete(holdsUrl + "/" + UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /api/holds/stats should return hold metrics")
+    void shouldReturnStats() throws Exception {
+        mockMvc.perform(get("/api/holds/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.activeHolds").exists());
+    }
+
+}
@@ -0,0 +1,220 @@
+package com.example.cinemabooking.checkin.service;
+
+import com.example.cinemabooking.booking.dto.SeatRequest;
+import com.example.cinemabooking.booking.entity.Booking;
+import com.example.cinemabooking.booking.repository.BookingJdbcRepository;
+import com.example.cinemabooking.booking.repository.BookingRepository;
+import com.example.cinemabooking.booking.service.PaidSeatOwners;
+import com.example.cinemabooking.booking.service.exception.BookingNotPaidException;
+import com.example.cinemabooking.checkin.dto.CheckInRequest;
+import com.example.cinemabooking.checkin.dto.CheckInResponse;
+import com.example.cinemabooking.checkin.repository.CheckInJdbcRepository;
+import com.example.cinemabooking.checkin.service.exception.InvalidTicketException;
+import com.example.cinemabooking.checkin.service.exception.TicketAlreadyUsedException;
+import com.example.cinemabooking.screening.entity.Screening;
+import com.example.cinemabooking.screening.entity.ScreeningSeat;
+import com.example.cinemabooking.screening.repository.ScreeningSeatRepository;
+import com.example.cinemabooking.screening.service.SeatAvailabilityBitmap;
+import com.example.cinemabooking.screening.service.SeatAvailabilityCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CheckInServiceTest {
+
+    private static final long SCREENING_ID = 1L;
+    private static final UUID BOOKING_ID = UUID.randomUUID();
+
+    @Mock
+    private CheckInWriter checkInWriter;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingJdbcRepository bookingJdbcRepository;
+
+    @Mock
+    private ScreeningSeatRepository screeningSeatRepository;
+
+    @Mock
+    private SeatAvailabilityCache seatAvailabilityCache;
+
+    @Mock
+    private CheckInJdbcRepository checkInJdbcRepository;
+
+    private final CheckInProperties properties =
+            new CheckInProperties("secret", Duration.ofMillis(200), 500, Duration.ofMinutes(10));
+    private final TicketSigner ticketSigner = new TicketSigner(properties);
+
+    private SeatAvailabilityBitmap bitmap;
+    private PaidSeatOwners paidSeatOwners;
+    private CheckInService checkInService;
+
+    @BeforeEach
+    void setUp() {
+        bitmap = new SeatAvailabilityBitmap(5, 10);
+        bitmap.tryReserve(2, 3);
+        Clock clock = Clock.fixed(Instant.parse("2030-01-01T10:00:00Z"), ZoneOffset.UTC);
+        paidSeatOwners = new PaidSeatOwners(bookingJdbcRepository);
+        checkInService = new CheckInService(ticketSigner, checkInWriter, checkInJdbcRepository, bookingRepository,
+                bookingJdbcRepository, screeningSeatRepository, seatAvailabilityCache, paidSeatOwners, properties, clock);
+        lenient().when(seatAvailabilityCache.getOrLoad(SCREENING_ID)).thenReturn(bitmap);
+        lenient().when(bookingJdbcRepository.findPaidSeatOwners(SCREENING_ID))
+                .thenReturn(Map.of(new SeatRequest(2, 3), BOOKING_ID));
+    }
+
+    private CheckInRequest request(long screeningId, int rowNumber, int seatNumber) {
+        return new CheckInRequest(ticketSigner.sign(new Ticket(screeningId, rowNumber, seatNumber, BOOKING_ID)));
+    }
+
+    // =========================================================
+    // checkIn
+    // =========================================================
+
+    @Test
+    @DisplayName("Should admit a valid ticket and queue the write")
+    void shouldCheckIn() {
+        CheckInResponse response = checkInService.checkIn(SCREENING_ID, request(SCREENING_ID, 2, 3));
+
+        assertThat(response.getBookingId()).isEqualTo(BOOKING_ID);
+        assertThat(response.getRowNumber()).isEqualTo(2);
+        assertThat(response.getSeatNumber()).isEqualTo(3);
+        assertThat(response.getCheckedInAt()).isEqualTo(LocalDateTime.of(2030, 1, 1, 10, 0));
+        verify(checkInWriter).enqueue(new CheckIn(SCREENING_ID, 2, 3, response.getCheckedInAt()));
+        verifyNoInteractions(checkInJdbcRepository);
+    }
+
+    @Test
+    @DisplayName("Should reject a second scan before the first one is written")
+    void shouldRejectReentry() {
+        checkInService.checkIn(SCREENING_ID, request(SCREENING_ID, 2, 3));
+
+        assertThatThrownBy(() -> checkInService.checkIn(SCREENING_ID, request(SCREENING_ID, 2, 3)))
+                .isInstanceOf(TicketAlreadyUsedException.class);
+        verify(checkInWriter, times(1)).enqueue(any());
+        verify(screeningSeatRepository, times(1)).findByScreeningIdAndCheckedInAtIsNotNull(SCREENING_ID);
+        verify(bookingJdbcRepository, times(1)).findPaidSeatOwners(SCREENING_ID);
+    }
+
+    @Test
+    @DisplayName("Should reject a ticket already checked in before the restart")
+    void shouldRejectTicketCheckedInEarlier() {
+        ScreeningSeat seat = ScreeningSeat.builder().rowNumber(2).seatNumber(3).build();
+        given(screeningSeatRepository.findByScreeningIdAndCheckedInAtIsNotNull(SCREENING_ID)).willReturn(List.of(seat));
+
+        assertThatThrownBy(() -> checkInService.checkIn(SCREENING_ID, request(SCREENING_ID, 2, 3)))
+                .isInstanceOf(TicketAlreadyUsedException.class);
+        verifyNoInteractions(checkInWriter);
+    }
+
+    @Test
+    @DisplayName("Should reject a ticket for another screening")
+    void shouldRejectTicketForOtherScreening() {
+        assertThatThrownBy(() -> checkInService.checkIn(SCREENING_ID, request(2L, 2, 3)))
+                .isInstanceOf(InvalidTicketException.class);
+        verifyNoInteractions(checkInWriter);
+    }
+
+    @Test
+    @DisplayName("Should reject a ticket for a seat that is no longer booked")
+    void shouldRejectTicketForFreeSeat() {
+        assertThatThrownBy(() -> checkInService.checkIn(SCREENING_ID, request(SCREENING_ID, 4, 4)))
+                .isInstanceOf(InvalidTicketException.class);
+        verifyNoInteractions(checkInWriter);
+    }
+
+    @Test
+    @DisplayName("Should reject a ticket whose seat no longer belongs to a paid booking")
+    void shouldRejectTicketOfUnpaidOrOtherBooking() {
+        given(bookingJdbcRepository.findPaidSeatOwners(SCREENING_ID))
+                .willReturn(Map.of(new SeatRequest(2, 3), UUID.randomUUID()));
+
+        assertThatThrownBy(() -> checkInService.checkIn(SCREENING_ID, request(SCREENING_ID, 2, 3)))
+                .isInstanceOf(InvalidTicketException.class);
+        verifyNoInteractions(checkInWriter);
+    }
+
+    @Test
+    @DisplayName("Should reject a ticket of a booking cancelled after the screening's owners were loaded")
+    void shouldRejectTicketOfCancelledBooking() {
+        bitmap.tryReserve(2, 4);
+        given(bookingJdbcRepository.findPaidSeatOwners(SCREENING_ID)).willReturn(Map.of(
+                new SeatRequest(2, 3), BOOKING_ID, new SeatRequest(2, 4), BOOKING_ID));
+        checkInService.checkIn(SCREENING_ID, request(SCREENING_ID, 2, 3));
+
+        paidSeatOwners.released(SCREENING_ID, BOOKING_ID, List.of(new SeatRequest(2, 4)));
+
+        assertThatThrownBy(() -> checkInService.checkIn(SCREENING_ID, request(SCREENING_ID, 2, 4)))
+                .isInstanceOf(InvalidTicketException.class);
+        verify(checkInWriter, times(1)).enqueue(any());
+    }
+
+    @Test
+    @DisplayName("Should admit a ticket paid on another instance after confirming it in the database")
+    void shouldConfirmTicketPaidElsewhere() {
+        bitmap.tryReserve(3, 3);
+        given(checkInJdbcRepository.isPaidSeatOwner(SCREENING_ID, 3, 3, BOOKING_ID)).willReturn(true);
+
+        checkInService.checkIn(SCREENING_ID, request(SCREENING_ID, 3, 3));
+
+        assertThat(paidSeatOwners.isOwner(SCREENING_ID, 3, 3, BOOKING_ID)).isTrue();
+        verify(checkInWriter).enqueue(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a forged token")
+    void shouldRejectForgedToken() {
+        assertThatThrownBy(() -> checkInService.checkIn(SCREENING_ID, new CheckInRequest("forged")))
+                .isInstanceOf(InvalidTicketException.class);
+        verifyNoInteractions(seatAvailabilityCache, checkInWriter);
+    }
+
+    @Test
+    @DisplayName("Should drop the used seats of screenings that ended or were deleted")
+    void shouldPurgeEndedScreenings() {
+        checkInService.checkIn(SCREENING_ID, request(SCREENING_ID, 2, 3));
+        given(checkInJdbcRepository.findScreeningsNotEnded(Set.of(SCREENING_ID), LocalDateTime.of(2030, 1, 1, 10, 0)))
+                .willReturn(List.of());
+
+        checkInService.purgeEndedScreenings();
+
+        assertThat(checkInService.trackedScreenings()).isZero();
+    }
+
+    // =========================================================
+    // getTickets
+    // =========================================================
+
+    @Test
+    @DisplayName("Should not issue tickets for a booking awaiting payment")
+    void shouldRejectTicketsOfUnpaidBooking() {
+        Booking booking = Booking.builder().id(7L).uuid(BOOKING_ID)
+                .screening(Screening.builder().id(SCREENING_ID).build()).build();
+        given(bookingRepository.findByUuid(BOOKING_ID)).willReturn(Optional.of(booking));
+
+        assertThatThrownBy(() -> checkInService.getTickets(SCREENING_ID, BOOKING_ID))
+                .isInstanceOf(BookingNotPaidException.class);
+        verifyNoInteractions(bookingJdbcRepository);
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.example.cinemabooking.checkin.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TicketSignerTest {
+
+    private static final Ticket TICKET = new Ticket(42L, 3, 7, UUID.randomUUID());
+
+    private final TicketSigner ticketSigner = signer("secret");
+
+    private static TicketSigner signer(String secret) {
+        return new TicketSigner(new CheckInProperties(secret, Duration.ofMillis(200), 500, Duration.ofMinutes(10)));
+    }
+
+    @Test
+    @DisplayName("Should verify a ticket it signed")
+    void shouldVerifyOwnTicket() {
+        assertThat(ticketSigner.verify(ticketSigner.sign(TICKET))).contains(TICKET);
+    }
+
+    @Test
+    @DisplayName("Should reject a ticket signed with another secret")
+    void shouldRejectForeignSignature() {
+        assertThat(ticketSigner.verify(signer("other").sign(TICKET))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject a ticket whose payload was altered")
+    void shouldRejectTamperedTicket() {
+        byte[] token = Base64.getUrlDecoder().decode(ticketSigner.sign(TICKET));
+        token[11] ^= 1;
+        String tampered = Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+
+        assertThat(ticketSigner.verify(tampered)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject malformed tokens")
+    void shouldRejectMalformedToken() {
+        assertThat(ticketSigner.verify("not a token")).isEmpty();
+        assertThat(ticketSigner.verify("AAAA")).isEmpty();
+    }
+
+}
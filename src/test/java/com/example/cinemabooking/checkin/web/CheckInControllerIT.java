@@ -0,0 +1,159 @@
+package com.example.cinemabooking.checkin.web;
+
+import com.example.cinemabooking.BaseIT;
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.hall.entity.Seat;
+import com.example.cinemabooking.hall.repository.CinemaHallRepository;
+import com.example.cinemabooking.movie.entity.AgeRating;
+import com.example.cinemabooking.movie.entity.Movie;
+import com.example.cinemabooking.movie.repository.MovieRepository;
+import com.example.cinemabooking.screening.entity.Screening;
+import com.example.cinemabooking.screening.repository.ScreeningRepository;
+import com.example.cinemabooking.screening.repository.ScreeningSeatRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@AutoConfigureMockMvc
+@SpringBootTest
+class CheckInControllerIT extends BaseIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private CinemaHallRepository hallRepository;
+
+    @Autowired
+    private ScreeningRepository screeningRepository;
+
+    @Autowired
+    private ScreeningSeatRepository screeningSeatRepository;
+
+    private Screening screening;
+    private String screeningUrl;
+
+    @BeforeEach
+    void setUp() {
+        Movie movie = movieRepository.save(
+                Movie.builder()
+                        .title("Inception")
+                        .description("Dreams")
+                        .genre("Sci-Fi")
+                        .durationMinutes(148)
+                        .releaseDate(LocalDate.of(2010, 7, 16))
+                        .ageRating(AgeRating.AGE_12)
+                        .build()
+        );
+
+        CinemaHall hall = CinemaHall.builder()
+                .name("Sala 1")
+                .rows(3)
+                .seatsPerRow(4)
+                .build();
+        for (int r = 1; r <= 3; r++) {
+            for (int s = 1; s <= 4; s++) {
+                hall.addSeat(Seat.builder().rowNumber(r).seatNumber(s).build());
+            }
+        }
+        hall = hallRepository.saveAndFlush(hall);
+
+        screening = screeningRepository.save(
+                Screening.builder()
+                        .movie(movie)
+                        .cinemaHall(hall)
+                        .startTime(LocalDateTime.of(2040, 1, 1, 14, 0))
+                        .endTime(LocalDateTime.of(2040, 1, 1, 16, 28))
+                        .price(BigDecimal.valueOf(25))
+                        .build()
+        );
+        screeningSeatRepository.createInventory(screening.getId(), hall.getId());
+        screeningUrl = "/api/screening/" + screening.getId();
+    }
+
+    private String createBooking() throws Exception {
+        String booking = mockMvc.perform(post(screeningUrl + "/bookings")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"seats\": [ { \"rowNumber\": 2, \"seatNumber\": 3 } ] }"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(booking, "$.uuid");
+    }
+
+    private String issueTicket() throws Exception {
+        String bookingId = createBooking();
+        mockMvc.perform(post(screeningUrl + "/bookings/" + bookingId + "/payment"))
+                .andExpect(status().isOk());
+
+        String tickets = mockMvc.perform(get(screeningUrl + "/bookings/" + bookingId + "/tickets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].rowNumber").value(2))
+                .andExpect(jsonPath("$[0].seatNumber").value(3))
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(tickets, "$[0].token");
+    }
+
+    @Test
+    @DisplayName("POST /check-in should admit a ticket once and reject re-entry")
+    void shouldAdmitTicketOnce() throws Exception {
+        String token = issueTicket();
+
+        mockMvc.perform(post(screeningUrl + "/check-in")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"token\": \"" + token + "\" }"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rowNumber").value(2))
+                .andExpect(jsonPath("$.seatNumber").value(3));
+
+        mockMvc.perform(post(screeningUrl + "/check-in")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"token\": \"" + token + "\" }"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("POST /check-in should return 403 for a forged token")
+    void shouldRejectForgedToken() throws Exception {
+        mockMvc.perform(post(screeningUrl + "/check-in")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"token\": \"forged\" }"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("GET /bookings/{bookingId}/tickets should return 409 for a booking awaiting payment")
+    void shouldReturn409ForUnpaidBooking() throws Exception {
+        mockMvc.perform(get(screeningUrl + "/bookings/" + createBooking() + "/tickets"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("GET /bookings/{bookingId}/tickets should return 404 for unknown booking")
+    void shouldReturn404ForUnknownBooking() throws Exception {
+        mockMvc.perform(get(screeningUrl + "/bookings/" + UUID.randomUUID() + "/tickets"))
+                .andExpect(status().isNotFound());
+    }
+
+}
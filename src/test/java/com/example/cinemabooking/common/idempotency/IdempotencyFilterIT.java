@@ -0,0 +1,114 @@
+package com.example.cinemabooking.common.idempotency;
+
+import com.example.cinemabooking.BaseIT;
+import com.example.cinemabooking.movie.repository.MovieRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@Transactional
+@AutoConfigureMockMvc
+@SpringBootTest
+class IdempotencyFilterIT extends BaseIT {
+
+    private static final String MOVIES_URL = "/api/movies";
+
+    private static final String CREATE_MOVIE_JSON = """
+            {
+              "title": "Inception",
+              "description": "Dreams",
+              "genre": "Sci-Fi",
+              "durationMinutes": 148,
+              "releaseDate": "2010-07-16",
+              "ageRating": "AGE_12"
+            }
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("should replay the first response for a retried key")
+    void shouldReplayResponseForRetry() throws Exception {
+        String first = mockMvc.perform(post(MOVIES_URL)
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "create-inception")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CREATE_MOVIE_JSON))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(post(MOVIES_URL)
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "create-inception")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CREATE_MOVIE_JSON))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"))
+                .andExpect(content().json(first));
+
+        assertThat(movieRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should reject a key reused for a different request body")
+    void shouldRejectKeyReuseWithDifferentBody() throws Exception {
+        mockMvc.perform(post(MOVIES_URL)
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "create-movie")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CREATE_MOVIE_JSON))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post(MOVIES_URL)
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "create-movie")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CREATE_MOVIE_JSON.replace("Inception", "Tenet")))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    @DisplayName("should turn a retry away while another instance is still processing the key")
+    void shouldRejectKeyInProgressElsewhere() throws Exception {
+        jdbcTemplate.update("""
+                INSERT INTO idempotency_keys (idempotency_key, request_path, request_hash, expires_at)
+                VALUES ('create-elsewhere', ?, repeat('0', 64), now() + INTERVAL '1 minute')
+                """, MOVIES_URL);
+
+        mockMvc.perform(post(MOVIES_URL)
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "create-elsewhere")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CREATE_MOVIE_JSON))
+                .andExpect(status().isConflict());
+
+        assertThat(movieRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("should process requests without a key as usual")
+    void shouldIgnoreRequestsWithoutKey() throws Exception {
+        mockMvc.perform(post(MOVIES_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CREATE_MOVIE_JSON))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post(MOVIES_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(CREATE_MOVIE_JSON))
+                .andExpect(status().isConflict());
+    }
+
+}
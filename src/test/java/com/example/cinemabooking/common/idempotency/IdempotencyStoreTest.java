@@ -0,0 +1,105 @@
+package com.example.cinemabooking.common.idempotency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyStoreTest {
+
+    private static final String PATH = "/api/movies";
+    private static final Instant NOW = Instant.parse("2025-01-01T12:00:00Z");
+
+    @Mock
+    private IdempotencyKeyRepository repository;
+
+    @Mock
+    private Clock clock;
+
+    private IdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = new IdempotencyStore(repository, new IdempotencyProperties(Duration.ofHours(1), 2, Duration.ofMinutes(10), Duration.ofMinutes(1)), clock);
+        lenient().when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        lenient().when(clock.instant()).thenReturn(NOW);
+    }
+
+    @Test
+    @DisplayName("should answer recent keys from memory without querying the database")
+    void shouldServeRecentKeyFromMemory() {
+        store.save("key-1", PATH, "hash", 201, "application/json", new byte[]{1});
+
+        Optional<StoredResponse> found = store.find("key-1", PATH);
+
+        assertThat(found).hasValueSatisfying(response -> assertThat(response.status()).isEqualTo(201));
+        verify(repository).save("key-1", PATH, found.get());
+        verify(repository, never()).find(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("should fall back to the database for keys evicted from memory")
+    void shouldFallBackToDatabaseAfterEviction() {
+        store.save("key-1", PATH, "hash", 201, null, new byte[0]);
+        store.save("key-2", PATH, "hash", 201, null, new byte[0]);
+        store.save("key-3", PATH, "hash", 201, null, new byte[0]);
+        given(repository.find("key-1", PATH, LocalDateTime.ofInstant(NOW, ZoneOffset.UTC))).willReturn(Optional.empty());
+
+        assertThat(store.find("key-1", PATH)).isEmpty();
+        assertThat(store.find("key-3", PATH)).isPresent();
+    }
+
+    @Test
+    @DisplayName("should not replay a response after its TTL")
+    void shouldIgnoreExpiredResponse() {
+        store.save("key-1", PATH, "hash", 201, null, new byte[0]);
+        Instant later = NOW.plus(Duration.ofHours(2));
+        given(clock.instant()).willReturn(later);
+        given(repository.find("key-1", PATH, LocalDateTime.ofInstant(later, ZoneOffset.UTC))).willReturn(Optional.empty());
+
+        assertThat(store.find("key-1", PATH)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should let only one request per key run at a time")
+    void shouldTrackInFlightKeys() {
+        given(repository.insertPlaceholder(any(), any(), any(), any(), any())).willReturn(true);
+
+        assertThat(store.begin("key-1", PATH, "hash")).isTrue();
+        assertThat(store.begin("key-1", PATH, "hash")).isFalse();
+        assertThat(store.begin("key-1", "/api/halls", "hash")).isTrue();
+
+        store.complete("key-1", PATH);
+
+        verify(repository).deletePlaceholder("key-1", PATH);
+        assertThat(store.begin("key-1", PATH, "hash")).isTrue();
+    }
+
+    @Test
+    @DisplayName("should not begin a request whose key another instance has claimed")
+    void shouldRespectPlaceholderOfOtherInstance() {
+        LocalDateTime now = LocalDateTime.ofInstant(NOW, ZoneOffset.UTC);
+        given(repository.insertPlaceholder("key-1", PATH, "hash", now.plusMinutes(1), now)).willReturn(false, true);
+
+        assertThat(store.begin("key-1", PATH, "hash")).isFalse();
+        assertThat(store.begin("key-1", PATH, "hash")).isTrue();
+    }
+
+}
@@ -0,0 +1,102 @@
+package com.example.cinemabooking.common.scheduling;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HashedTimingWheelTest {
+
+    private static final long TICK = 100;
+
+    @Test
+    @DisplayName("should expire timeout once its deadline has passed")
+    void shouldExpireAfterDeadline() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 8, 0);
+        List<String> expired = new ArrayList<>();
+        wheel.schedule("hold", 350);
+
+        wheel.advanceTo(300, expired::add);
+        assertThat(expired).isEmpty();
+
+        wheel.advanceTo(400, expired::add);
+        assertThat(expired).containsExactly("hold");
+    }
+
+    @Test
+    @DisplayName("should keep expiring the rest of a bucket after one timeout fails")
+    void shouldContinueAfterFailingTimeout() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 8, 0);
+        List<String> expired = new ArrayList<>();
+        wheel.schedule("failing", 150);
+        wheel.schedule("hold", 150);
+        wheel.schedule("later", 850);
+
+        int count = wheel.advanceTo(200, task -> {
+            if (task.equals("failing")) {
+                throw new IllegalStateException("boom");
+            }
+            expired.add(task);
+        });
+        assertThat(count).isEqualTo(2);
+        assertThat(expired).containsExactly("hold");
+
+        wheel.advanceTo(1_000, expired::add);
+        assertThat(expired).containsExactly("hold", "later");
+    }
+
+    @Test
+    @DisplayName("should keep timeouts further than one revolution for remaining rounds")
+    void shouldHandleMultipleRounds() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 4, 0);
+        List<String> expired = new ArrayList<>();
+        wheel.schedule("late", 1_000);
+        wheel.schedule("early", 200);
+
+        wheel.advanceTo(900, expired::add);
+        assertThat(expired).containsExactly("early");
+
+        wheel.advanceTo(1_000, expired::add);
+        assertThat(expired).containsExactly("early", "late");
+    }
+
+    @Test
+    @DisplayName("should never expire cancelled timeout")
+    void shouldNotExpireCancelled() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 8, 0);
+        List<String> expired = new ArrayList<>();
+        HashedTimingWheel.Timeout<String> timeout = wheel.schedule("hold", 200);
+
+        assertThat(timeout.cancel()).isTrue();
+        wheel.advanceTo(1_000, expired::add);
+
+        assertThat(expired).isEmpty();
+        assertThat(timeout.cancel()).isFalse();
+    }
+
+    @Test
+    @DisplayName("should expire overdue timeout on the next tick")
+    void shouldExpireOverdueOnNextTick() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 8, 1_000);
+        List<String> expired = new ArrayList<>();
+        HashedTimingWheel.Timeout<String> timeout = wheel.schedule("overdue", 500);
+
+        int count = wheel.advanceTo(1_100, expired::add);
+
+        assertThat(count).isEqualTo(1);
+        assertThat(timeout.isExpired()).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+    }
+
+    @Test
+    @DisplayName("should reject wheel size that is not a power of two")
+    void shouldRejectInvalidWheelSize() {
+        assertThatThrownBy(() -> new HashedTimingWheel<>(TICK, 6, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -8,6 +8,9 @@ import com.example.cinemabooking.movie.entity.Movie;
 import com.example.cinemabooking.movie.repository.MovieRepository;
 import com.example.cinemabooking.movie.service.exception.MovieAlreadyExistsException;
 import com.example.cinemabooking.movie.service.exception.MovieNotFoundException;
+import com.example.cinemabooking.screening.service.ScheduleIndex;
+import com.example.cinemabooking.screening.service.ScreeningRescheduler;
+import com.example.cinemabooking.screening.service.exception.ScreeningOverlapException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -24,6 +27,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +39,12 @@ class MovieServiceTest {
     @Mock
     private MovieRepository movieRepository;
 
+    @Mock
+    private ScreeningRescheduler screeningRescheduler;
+
+    @Mock
+    private ScheduleIndex scheduleIndex;
+
     @InjectMocks
     private MovieService movieService;
 
@@ -220,9 +230,56 @@ class MovieServiceTest {
 
         verify(movieRepository).findById(EXISTING_ID);
         verify(movieRepository).findByTitle(updateMovieRequest.getTitle().get());
+        verify(screeningRescheduler).rescheduleMovie(EXISTING_ID, 152);
+        verify(scheduleIndex).refreshAfterCommit();
         verifyNoMoreInteractions(movieRepository);
     }
 
+    @Test
+    @DisplayName("should not refresh schedule index when no listed field changes")
+    void shouldNotRefreshIndexWhenListedFieldsUnchanged() {
+        given(movieRepository.findById(EXISTING_ID)).willReturn(Optional.of(movie));
+        given(movieRepository.findByTitle(movie.getTitle())).willReturn(Optional.of(movie));
+        UpdateMovieRequest request = UpdateMovieRequest.builder()
+                .title(Optional.of(movie.getTitle()))
+                .description(Optional.of("Dreams within dreams"))
+                .genre(Optional.of(movie.getGenre()))
+                .build();
+
+        movieService.updateMovie(EXISTING_ID, request);
+
+        verifyNoInteractions(scheduleIndex);
+    }
+
+    @Test
+    @DisplayName("should not reschedule screenings when duration is unchanged")
+    void shouldNotRescheduleWhenDurationUnchanged() {
+        given(movieRepository.findById(EXISTING_ID)).willReturn(Optional.of(movie));
+        UpdateMovieRequest request = UpdateMovieRequest.builder()
+                .durationMinutes(Optional.of(movie.getDurationMinutes()))
+                .build();
+
+        movieService.updateMovie(EXISTING_ID, request);
+
+        verifyNoInteractions(screeningRescheduler);
+    }
+
+    @Test
+    @DisplayName("should keep duration when new duration makes screenings overlap")
+    void shouldKeepDurationWhenScreeningsWouldOverlap() {
+        given(movieRepository.findById(EXISTING_ID)).willReturn(Optional.of(movie));
+        willThrow(new ScreeningOverlapException(EXISTING_ID, List.of()))
+                .given(screeningRescheduler).rescheduleMovie(EXISTING_ID, 200);
+        UpdateMovieRequest request = UpdateMovieRequest.builder()
+                .durationMinutes(Optional.of(200))
+                .build();
+
+        assertThatThrownBy(() -> movieService.updateMovie(EXISTING_ID, request))
+                .isInstanceOf(ScreeningOverlapException.class);
+
+        assertThat(movie.getDurationMinutes()).isEqualTo(148);
+    }
+
     // ----------------------------------------
     // DELETE
     // ----------------------------------------
@@ -239,6 +296,7 @@ class MovieServiceTest {
         // then
         verify(movieRepository).findById(EXISTING_ID);
         verify(movieRepository).delete(movie);
+        verify(scheduleIndex).refreshAfterCommit();
         verifyNoMoreInteractions(movieRepository);
     }
 
@@ -1,9 +1,13 @@
 package com.example.cinemabooking.movie.web;
 
 import com.example.cinemabooking.BaseIT;
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.hall.repository.CinemaHallRepository;
 import com.example.cinemabooking.movie.entity.AgeRating;
 import com.example.cinemabooking.movie.entity.Movie;
 import com.example.cinemabooking.movie.repository.MovieRepository;
+import com.example.cinemabooking.screening.entity.Screening;
+import com.example.cinemabooking.screening.repository.ScreeningRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,10 +15,13 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -77,6 +84,15 @@ class MovieControllerIT extends BaseIT {
     @Autowired
     private MovieRepository movieRepository;
 
+    @Autowired
+    private CinemaHallRepository hallRepository;
+
+    @Autowired
+    private ScreeningRepository screeningRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private Movie movie;
 
     @BeforeEach
@@ -286,6 +302,64 @@ class MovieControllerIT extends BaseIT {
                 .isEqualTo("Inception");
     }
 
+    @Test
+    @DisplayName("should move end time of upcoming screenings when duration changes")
+    void shouldRescheduleUpcomingScreeningsWhenDurationChanges() throws Exception {
+        // given
+        Movie saved = movieRepository.save(movie);
+        CinemaHall hall = saveHall();
+        Screening upcoming = saveScreening(saved, hall, LocalDateTime.of(2040, 1, 1, 14, 0));
+        // when / then
+        mockMvc.perform(patch(BASE_URL + "/" + saved.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"durationMinutes\": 170 }"))
+                .andExpect(status().isOk());
+        assertThat(endTimeOf(upcoming)).isEqualTo(LocalDateTime.of(2040, 1, 1, 16, 50));
+    }
+
+    @Test
+    @DisplayName("should return 409 listing overlaps when new duration collides with next screening")
+    void shouldReturn409WhenDurationCausesOverlap() throws Exception {
+        // given
+        Movie saved = movieRepository.save(movie);
+        CinemaHall hall = saveHall();
+        Screening first = saveScreening(saved, hall, LocalDateTime.of(2040, 1, 1, 14, 0));
+        saveScreening(saved, hall, LocalDateTime.of(2040, 1, 1, 17, 0));
+        // when / then
+        mockMvc.perform(patch(BASE_URL + "/" + saved.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"durationMinutes\": 200 }"))
+                .andExpectAll(
+                        status().isConflict(),
+                        jsonPath("$.messages.length()").value(1),
+                        jsonPath("$.status").value(409)
+                );
+        assertThat(endTimeOf(first)).isEqualTo(LocalDateTime.of(2040, 1, 1, 16, 28));
+    }
+
+    private CinemaHall saveHall() {
+        return hallRepository.save(CinemaHall.builder()
+                .name("Sala 1")
+                .rows(10)
+                .seatsPerRow(20)
+                .build());
+    }
+
+    private Screening saveScreening(Movie movie, CinemaHall hall, LocalDateTime startTime) {
+        return screeningRepository.save(Screening.builder()
+                .movie(movie)
+                .cinemaHall(hall)
+                .startTime(startTime)
+                .endTime(startTime.plusMinutes(movie.getDurationMinutes()))
+                .price(BigDecimal.valueOf(25))
+                .build());
+    }
+
+    private LocalDateTime endTimeOf(Screening screening) {
+        return jdbcTemplate.queryForObject("SELECT end_time FROM screenings WHERE id = ?", LocalDateTime.class,
+                screening.getId());
+    }
+
     // ----------------------------------------
     // DELETE /api/movies/{id}
     // ----------------------------------------
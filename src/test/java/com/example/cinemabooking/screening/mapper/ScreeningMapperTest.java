@@ -4,7 +4,9 @@ import com.example.cinemabooking.hall.entity.CinemaHall;
 import com.example.cinemabooking.movie.entity.Movie;
 import com.example.cinemabooking.screening.dto.CreateScreeningRequest;
 import com.example.cinemabooking.screening.dto.ScreeningResponse;
+import com.example.cinemabooking.screening.dto.ScreeningSeatResponse;
 import com.example.cinemabooking.screening.entity.Screening;
+import com.example.cinemabooking.screening.entity.SeatStatus;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -91,7 +93,7 @@ class ScreeningMapperTest {
                 .build();
 
         // when
-        ScreeningResponse response = ScreeningMapper.toResponse(screening);
+        ScreeningResponse response = ScreeningMapper.toResponse(screening, 42);
 
         // then
         assertThat(response.getId()).isEqualTo(99L);
@@ -103,10 +105,27 @@ class ScreeningMapperTest {
         assertThat(response.getCinemaHallId()).isEqualTo(20L);
         assertThat(response.getCinemaHallName()).isEqualTo("Sala 1");
         assertThat(response.getHallCapacity()).isEqualTo(5 * 10);
+        assertThat(response.getAvailableSeats()).isEqualTo(42);
 
         assertThat(response.getStartTime()).isEqualTo(START);
         assertThat(response.getEndTime()).isEqualTo(END);
         assertThat(response.getPrice()).isEqualByComparingTo("30.00");
     }
 
+    // ---------------------------------------------------------
+    // toSeatResponse
+    // ---------------------------------------------------------
+
+    @Test
+    @DisplayName("should map taken seat to BOOKED ScreeningSeatResponse")
+    void shouldMapToSeatResponse() {
+        // when
+        ScreeningSeatResponse response = ScreeningMapper.toSeatResponse(3, 7, false);
+
+        // then
+        assertThat(response.getRowNumber()).isEqualTo(3);
+        assertThat(response.getSeatNumber()).isEqualTo(7);
+        assertThat(response.getStatus()).isEqualTo(SeatStatus.BOOKED);
+    }
+
 }
@@ -6,13 +6,17 @@ import com.example.cinemabooking.hall.repository.CinemaHallRepository;
 import com.example.cinemabooking.movie.entity.AgeRating;
 import com.example.cinemabooking.movie.entity.Movie;
 import com.example.cinemabooking.movie.repository.MovieRepository;
+import com.example.cinemabooking.screening.dto.ScreeningResponse;
 import com.example.cinemabooking.screening.entity.Screening;
+import com.example.cinemabooking.screening.mapper.ScreeningMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -34,6 +38,9 @@ class ScreeningRepositoryIT extends BaseIT {
     @Autowired
     private CinemaHallRepository hallRepository;
 
+    @Autowired
+    private TestEntityManager entityManager;
+
     private Movie movie;
     private CinemaHall hall;
 
@@ -88,10 +95,10 @@ class ScreeningRepositoryIT extends BaseIT {
     }
 
     // --------------------------------------------
-    // FIND ALL (EntityGraph)
+    // FIND ALL
     // --------------------------------------------
     @Test
-    @DisplayName("should return all screenings with movie and hall eagerly loaded")
+    @DisplayName("should return all screenings with movie and hall")
     void shouldReturnAllScreenings() {
         screeningRepository.save(createScreening(
                 LocalDateTime.of(2025, 1, 1, 10, 0),
@@ -124,100 +131,175 @@ class ScreeningRepositoryIT extends BaseIT {
     }
 
     // --------------------------------------------
-    // FIND BY MOVIE ID
+    // PROJECTIONS
     // --------------------------------------------
     @Test
-    @DisplayName("should return screenings by movie id")
-    void shouldFindByMovieId() {
+    @DisplayName("should project screenings with movie and hall columns ordered by start time")
+    void shouldFindAllViews() {
+        Screening later = screeningRepository.save(createScreening(
+                LocalDateTime.of(2025, 1, 1, 15, 0),
+                LocalDateTime.of(2025, 1, 1, 17, 28)
+        ));
+        Screening earlier = screeningRepository.save(createScreening(
+                LocalDateTime.of(2025, 1, 1, 10, 0),
+                LocalDateTime.of(2025, 1, 1, 12, 28)
+        ));
+
+        List<ScreeningView> result = screeningRepository.findAllViews();
+
+        assertThat(result).extracting(ScreeningView::id).containsExactly(earlier.getId(), later.getId());
+        assertThat(result.getFirst()).isEqualTo(new ScreeningView(earlier.getId(), movie.getId(), "Inception",
+                "Sci-Fi", 148, hall.getId(), "Sala 1", 5, 10,
+                LocalDateTime.of(2025, 1, 1, 10, 0), LocalDateTime.of(2025, 1, 1, 12, 28),
+                new BigDecimal("25.00"), 0));
+    }
+
+    @Test
+    @DisplayName("should map projections to the same responses as entities")
+    void shouldMapViewsLikeEntities() {
+        screeningRepository.save(createScreening(
+                LocalDateTime.of(2025, 1, 1, 15, 0),
+                LocalDateTime.of(2025, 1, 1, 17, 28)
+        ));
         screeningRepository.save(createScreening(
+                LocalDateTime.of(2025, 1, 1, 10, 0),
+                LocalDateTime.of(2025, 1, 1, 12, 28)
+        ));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<ScreeningResponse> fromEntities = screeningRepository.findAll(Sort.by("startTime", "id")).stream()
+                .map(screening -> ScreeningMapper.toResponse(screening, screening.getSeatsAvailable()))
+                .toList();
+        List<ScreeningResponse> fromViews = screeningRepository.findAllViews().stream()
+                .map(screening -> ScreeningMapper.toResponse(screening, screening.seatsAvailable()))
+                .toList();
+
+        assertThat(fromViews).hasSize(2).isEqualTo(fromEntities);
+    }
+
+    @Test
+    @DisplayName("should project screening by id")
+    void shouldFindViewById() {
+        Screening saved = screeningRepository.save(createScreening(
                 LocalDateTime.of(2025, 1, 1, 10, 0),
                 LocalDateTime.of(2025, 1, 1, 12, 30)
         ));
 
-        List<Screening> result = screeningRepository.findByMovieId(movie.getId());
+        assertThat(screeningRepository.findViewById(saved.getId()))
+                .hasValueSatisfying(view -> assertThat(view.movieTitle()).isEqualTo("Inception"));
+        assertThat(screeningRepository.findViewById(-1L)).isEmpty();
+    }
 
-        assertThat(result).hasSize(1);
+    // --------------------------------------------
+    // FIND BY MOVIE ID
+    // --------------------------------------------
+    @Test
+    @DisplayName("should project screenings of movie starting before given time")
+    void shouldFindViewsByMovieStartingBefore() {
+        Screening earlier = screeningRepository.save(createScreening(
+                LocalDateTime.of(2025, 1, 1, 10, 0),
+                LocalDateTime.of(2025, 1, 1, 12, 30)
+        ));
+        screeningRepository.save(createScreening(
+                LocalDateTime.of(2025, 1, 2, 10, 0),
+                LocalDateTime.of(2025, 1, 2, 12, 30)
+        ));
+
+        List<ScreeningView> result = screeningRepository.findViewsByMovieStartingBefore(
+                movie.getId(), LocalDateTime.of(2025, 1, 2, 0, 0));
+
+        assertThat(result).extracting(ScreeningView::id).containsExactly(earlier.getId());
+        assertThat(screeningRepository.findViewsByMovieStartingBefore(-1L, LocalDateTime.of(2025, 1, 2, 0, 0))).isEmpty();
     }
 
     // --------------------------------------------
     // FIND BY CINEMA HALL ID
     // --------------------------------------------
     @Test
-    @DisplayName("should return screenings by cinema hall id")
-    void shouldFindByHallId() {
-        screeningRepository.save(createScreening(
+    @DisplayName("should project screenings of cinema hall starting before given time")
+    void shouldFindViewsByCinemaHallStartingBefore() {
+        Screening earlier = screeningRepository.save(createScreening(
                 LocalDateTime.of(2025, 1, 1, 10, 0),
                 LocalDateTime.of(2025, 1, 1, 12, 30)
         ));
+        screeningRepository.save(createScreening(
+                LocalDateTime.of(2025, 1, 2, 10, 0),
+                LocalDateTime.of(2025, 1, 2, 12, 30)
+        ));
 
-        List<Screening> result = screeningRepository.findByCinemaHallId(hall.getId());
+        List<ScreeningView> result = screeningRepository.findViewsByCinemaHallStartingBefore(
+                hall.getId(), LocalDateTime.of(2025, 1, 2, 0, 0));
 
-        assertThat(result).hasSize(1);
+        assertThat(result).extracting(ScreeningView::id).containsExactly(earlier.getId());
+        assertThat(screeningRepository.findViewsByCinemaHallStartingBefore(-1L, LocalDateTime.of(2025, 1, 2, 0, 0)))
+                .isEmpty();
     }
 
     // --------------------------------------------
     // FIND BY DATE RANGE
     // --------------------------------------------
     @Test
-    @DisplayName("should return screenings between start time boundaries")
-    void shouldFindByStartTimeBetween() {
-        Screening s = createScreening(
+    @DisplayName("should project screenings starting within half-open range")
+    void shouldFindViewsStartingBetween() {
+        Screening sameDay = screeningRepository.save(createScreening(
                 LocalDateTime.of(2025, 1, 1, 15, 0),
                 LocalDateTime.of(2025, 1, 1, 17, 30)
-        );
-        screeningRepository.save(s);
+        ));
+        screeningRepository.save(createScreening(
+                LocalDateTime.of(2025, 1, 2, 0, 0),
+                LocalDateTime.of(2025, 1, 2, 2, 30)
+        ));
 
-        List<Screening> result = screeningRepository.findByStartTimeBetween(
+        List<ScreeningView> result = screeningRepository.findViewsStartingBetween(
                 LocalDateTime.of(2025, 1, 1, 0, 0),
-                LocalDateTime.of(2025, 1, 1, 23, 59)
+                LocalDateTime.of(2025, 1, 2, 0, 0)
         );
 
-        assertThat(result).hasSize(1);
+        assertThat(result).extracting(ScreeningView::id).containsExactly(sameDay.getId());
     }
 
     // --------------------------------------------
-    // EXISTS TIME CONFLICT
+    // EXCLUSION CONSTRAINT (hall_id, time range)
     // --------------------------------------------
     @Test
-    @DisplayName("should detect time conflict between screenings")
-    void shouldDetectTimeConflict() {
-        // screening 10:00–12:00
-        screeningRepository.save(createScreening(
+    @DisplayName("should reject overlapping screening in the same hall")
+    void shouldRejectOverlappingScreening() {
+        screeningRepository.saveAndFlush(createScreening(
                 LocalDateTime.of(2025, 1, 1, 10, 0),
                 LocalDateTime.of(2025, 1, 1, 12, 0)
         ));
 
-        boolean conflict = screeningRepository.existsTimeConflict(
-                hall.getId(),
+        Screening overlapping = createScreening(
                 LocalDateTime.of(2025, 1, 1, 11, 0),
                 LocalDateTime.of(2025, 1, 1, 13, 0)
         );
 
-        assertThat(conflict).isTrue();
+        assertThatThrownBy(() -> screeningRepository.saveAndFlush(overlapping))
+                .isInstanceOf(DataIntegrityViolationException.class)
+                .rootCause()
+                .hasMessageContaining("excl_screenings_hall_time");
     }
 
     @Test
-    @DisplayName("should NOT detect conflict when times do not overlap")
-    void shouldNotDetectConflict() {
-        screeningRepository.save(createScreening(
+    @DisplayName("should allow back-to-back screenings in the same hall")
+    void shouldAllowAdjacentScreenings() {
+        screeningRepository.saveAndFlush(createScreening(
                 LocalDateTime.of(2025, 1, 1, 10, 0),
                 LocalDateTime.of(2025, 1, 1, 12, 0)
         ));
 
-        boolean conflict = screeningRepository.existsTimeConflict(
-                hall.getId(),
+        screeningRepository.saveAndFlush(createScreening(
                 LocalDateTime.of(2025, 1, 1, 12, 0),
                 LocalDateTime.of(2025, 1, 1, 14, 0)
-        );
+        ));
 
-        assertThat(conflict).isFalse();
+        assertThat(screeningRepository.findViewsByCinemaHallStartingBefore(hall.getId(), LocalDateTime.of(2025, 1, 2, 0, 0)))
+                .hasSize(2);
     }
 
-    // --------------------------------------------
-    // UNIQUE CONSTRAINT (hall_id, start_time)
-    // --------------------------------------------
     @Test
-    @DisplayName("should enforce unique constraint (hall_id, start_time)")
+    @DisplayName("should reject second screening starting at the same time in the same hall")
     void shouldEnforceHallStartTimeUniqueConstraint() {
 
         screeningRepository.saveAndFlush(createScreening(
@@ -0,0 +1,157 @@
+package com.example.cinemabooking.screening.repository;
+
+import com.example.cinemabooking.BaseIT;
+import com.example.cinemabooking.movie.entity.AgeRating;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that each common search combination seeks on its own index. Sequential scans are disabled for the
+ * transaction, since with a handful of rows the planner would prefer them anyway; the plans are then checked for an
+ * {@code Index Cond} on the filtered column, as a disabled sequential scan could otherwise be replaced by a full scan
+ * of any index.
+ */
+@Transactional
+@SpringBootTest
+class ScreeningSearchPlanIT extends BaseIT {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2040, 1, 1, 0, 0);
+
+    @Autowired
+    private ScreeningJdbcRepository screeningJdbcRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long movieId;
+    private long otherMovieId;
+    private long hallId;
+
+    @BeforeEach
+    void setUp() {
+        movieId = insertMovie("Search Inception", "Sci-Fi", AgeRating.AGE_12);
+        otherMovieId = insertMovie("Search Up", "Animation", AgeRating.ALL_AGES);
+        hallId = jdbcTemplate.queryForObject(
+                "INSERT INTO cinema_halls (name, rows, seats_per_row) VALUES ('Search hall', 10, 20) RETURNING id",
+                Long.class);
+        insertScreening(movieId, DAY.plusHours(10), 25);
+        insertScreening(otherMovieId, DAY.plusHours(14), 18);
+        insertScreening(movieId, DAY.plusDays(1).plusHours(10), 30);
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+    }
+
+    static Stream<Arguments> commonSearches() {
+        return Stream.of(
+                Arguments.of("date range", criteria(null, null, null, null, DAY, DAY.plusDays(1), null),
+                        "idx_screenings_start_time_id", "start_time"),
+                Arguments.of("date and max price", criteria(null, null, null, null, DAY, DAY.plusDays(1), BigDecimal.TEN),
+                        "idx_screenings_start_time_id", "start_time"),
+                Arguments.of("movie", criteria(1L, null, null, null, null, null, null),
+                        "idx_screenings_movie_start_time", "movie_id"),
+                Arguments.of("movie and date range", criteria(1L, null, null, null, DAY, DAY.plusDays(1), null),
+                        "idx_screenings_movie_start_time", "start_time"),
+                Arguments.of("hall", criteria(null, 1L, null, null, null, null, null),
+                        "idx_screenings_hall_start_time", "hall_id"),
+                Arguments.of("hall and date range", criteria(null, 1L, null, null, DAY, DAY.plusDays(1), null),
+                        "idx_screenings_hall_start_time", "start_time"),
+                Arguments.of("genre", criteria(null, null, "Sci-Fi", null, null, null, null),
+                        "idx_movies_genre_age_rating", "genre"),
+                Arguments.of("genre and date range", criteria(null, null, "Sci-Fi", null, DAY, DAY.plusDays(1), null),
+                        "idx_movies_genre_age_rating", "genre"),
+                Arguments.of("age rating", criteria(null, null, null, AgeRating.AGE_12, null, null, null),
+                        "idx_movies_age_rating", "age_rating"),
+                Arguments.of("genre and age rating", criteria(null, null, "Sci-Fi", AgeRating.AGE_12, null, null, null),
+                        "idx_movies_genre_age_rating", "age_rating")
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("commonSearches")
+    @DisplayName("should seek on the index of common search combinations")
+    void shouldSeekOnIndexOfCombination(String name, ScreeningSearchCriteria criteria, String index, String column) {
+        assertThat(explain(ScreeningSearchQuery.of(criteria, null, null, 21)))
+                .containsPattern(indexCond(index, column))
+                .doesNotContain("Seq Scan");
+        assertThat(explain(ScreeningSearchQuery.of(criteria, DAY.plusHours(10), 1L, 21)))
+                .containsPattern(indexCond(index, column))
+                .doesNotContain("Seq Scan");
+    }
+
+    @Test
+    @DisplayName("should page the full listing in index order and seek past the cursor")
+    void shouldReadUnfilteredScreeningsInIndexOrder() {
+        ScreeningSearchCriteria none = ScreeningSearchCriteria.NONE;
+
+        assertThat(explain(ScreeningSearchQuery.of(none, null, null, 21)))
+                .contains("Index Scan using idx_screenings_start_time_id")
+                .doesNotContain("Sort")
+                .doesNotContain("Seq Scan");
+        assertThat(explain(ScreeningSearchQuery.of(none, DAY.plusHours(10), 1L, 21)))
+                .containsPattern(indexCond("idx_screenings_start_time_id", "start_time"))
+                .doesNotContain("Sort")
+                .doesNotContain("Seq Scan");
+    }
+
+    @Test
+    @DisplayName("should return screenings matching every filter in start time order")
+    void shouldSearchScreenings() {
+        ScreeningSearchCriteria sciFi = new ScreeningSearchCriteria(null, hallId, "Sci-Fi", AgeRating.AGE_12,
+                DAY, DAY.plusDays(2), BigDecimal.valueOf(20), null);
+
+        List<ScreeningView> found = screeningJdbcRepository.searchScreenings(sciFi, null, null, 10);
+
+        assertThat(found).extracting(ScreeningView::movieId).containsExactly(movieId, movieId);
+        assertThat(found).extracting(ScreeningView::startTime).containsExactly(DAY.plusHours(10), DAY.plusDays(1).plusHours(10));
+        assertThat(screeningJdbcRepository.searchScreenings(sciFi, found.getFirst().startTime(), found.getFirst().id(), 10))
+                .extracting(ScreeningView::id)
+                .containsExactly(found.getLast().id());
+    }
+
+    private String explain(ScreeningSearchQuery query) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + query.sql(), String.class, query.args().toArray()));
+    }
+
+    /**
+     * An index scan node on the given index whose {@code Index Cond}, the node's first detail line, uses the column.
+     */
+    private static Pattern indexCond(String index, String column) {
+        return Pattern.compile("(?:using|Bitmap Index Scan on) " + index + "\\b.*\\n\\s*Index Cond: .*\\b" + column + "\\b");
+    }
+
+    private long insertMovie(String title, String genre, AgeRating ageRating) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO movies (title, description, genre, duration_minutes, release_date, age_rating)
+                VALUES (?, 'Desc', ?, 120, DATE '2010-01-01', ?)
+                RETURNING id
+                """, Long.class, title, genre, ageRating.name());
+    }
+
+    private void insertScreening(long movieId, LocalDateTime startTime, int price) {
+        jdbcTemplate.update("""
+                INSERT INTO screenings (movie_id, hall_id, start_time, end_time, price, seats_available)
+                VALUES (?, ?, ?, ?, ?, 200)
+                """, movieId, hallId, startTime, startTime.plusHours(2), price);
+    }
+
+    private static ScreeningSearchCriteria criteria(Long movieId, Long cinemaHallId, String genre, AgeRating ageRating,
+                                                    LocalDateTime from, LocalDateTime to, BigDecimal maxPrice) {
+        return new ScreeningSearchCriteria(movieId, cinemaHallId, genre, ageRating, from, to, null, maxPrice);
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.example.cinemabooking.screening.repository;
+
+import com.example.cinemabooking.movie.entity.AgeRating;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScreeningSearchQueryTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2040, 1, 1, 0, 0);
+
+    @Test
+    @DisplayName("should list every screening in keyset order when no filter is set")
+    void shouldBuildUnfilteredQuery() {
+        ScreeningSearchQuery query = ScreeningSearchQuery.of(criteria(null, null, null, null), null, null, 21);
+
+        assertThat(query.sql()).doesNotContain("WHERE").endsWith("ORDER BY s.start_time, s.id\nLIMIT ?\n");
+        assertThat(query.args()).containsExactly(21);
+    }
+
+    @Test
+    @DisplayName("should add a predicate only for the filters that are set")
+    void shouldBuildPredicatesForSetFilters() {
+        ScreeningSearchQuery query = ScreeningSearchQuery.of(
+                criteria(7L, "Sci-Fi", DAY, BigDecimal.TEN), null, null, 11);
+
+        assertThat(query.sql())
+                .contains("s.movie_id = ?", "m.genre = ?", "s.start_time >= ?", "s.price <= ?")
+                .doesNotContain("s.hall_id = ?", "m.age_rating = ?", "s.start_time < ?", "s.price >= ?", "(s.start_time, s.id)");
+        assertThat(query.args()).containsExactly(7L, "Sci-Fi", Timestamp.valueOf(DAY), BigDecimal.TEN, 11);
+    }
+
+    @Test
+    @DisplayName("should bind every filter and continue after the cursor")
+    void shouldBuildQueryWithAllFiltersAndCursor() {
+        ScreeningSearchCriteria criteria = new ScreeningSearchCriteria(7L, 5L, "Sci-Fi", AgeRating.AGE_12,
+                DAY, DAY.plusDays(7), BigDecimal.ONE, BigDecimal.TEN);
+
+        ScreeningSearchQuery query = ScreeningSearchQuery.of(criteria, DAY.plusHours(14), 42L, 21);
+
+        assertThat(query.sql()).contains("(s.start_time, s.id) > (?, ?)");
+        assertThat(query.args()).containsExactly(7L, 5L, "Sci-Fi", "AGE_12", Timestamp.valueOf(DAY),
+                Timestamp.valueOf(DAY.plusDays(7)), BigDecimal.ONE, BigDecimal.TEN,
+                Timestamp.valueOf(DAY.plusHours(14)), 42L, 21);
+    }
+
+    private static ScreeningSearchCriteria criteria(Long movieId, String genre, LocalDateTime from, BigDecimal maxPrice) {
+        return new ScreeningSearchCriteria(movieId, null, genre, null, from, null, null, maxPrice);
+    }
+
+}
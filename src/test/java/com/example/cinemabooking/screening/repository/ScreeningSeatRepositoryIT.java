@@ -0,0 +1,111 @@
+package com.example.cinemabooking.screening.repository;
+
+import com.example.cinemabooking.BaseIT;
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.hall.entity.Seat;
+import com.example.cinemabooking.hall.repository.CinemaHallRepository;
+import com.example.cinemabooking.movie.entity.AgeRating;
+import com.example.cinemabooking.movie.entity.Movie;
+import com.example.cinemabooking.movie.repository.MovieRepository;
+import com.example.cinemabooking.screening.entity.Screening;
+import com.example.cinemabooking.screening.entity.ScreeningSeat;
+import com.example.cinemabooking.screening.entity.SeatStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class ScreeningSeatRepositoryIT extends BaseIT {
+
+    @Autowired
+    private ScreeningSeatRepository screeningSeatRepository;
+
+    @Autowired
+    private ScreeningRepository screeningRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private CinemaHallRepository hallRepository;
+
+    private CinemaHall hall;
+    private Screening screening;
+
+    @BeforeEach
+    void setUp() {
+        Movie movie = movieRepository.save(
+                Movie.builder()
+                        .title("Inception")
+                        .description("Desc")
+                        .genre("Sci-Fi")
+                        .durationMinutes(148)
+                        .releaseDate(LocalDate.of(2010, 1, 1))
+                        .ageRating(AgeRating.AGE_12)
+                        .build()
+        );
+
+        CinemaHall newHall = CinemaHall.builder()
+                .name("Sala 1")
+                .rows(2)
+                .seatsPerRow(3)
+                .build();
+        for (int r = 1; r <= 2; r++) {
+            for (int s = 1; s <= 3; s++) {
+                newHall.addSeat(Seat.builder().rowNumber(r).seatNumber(s).build());
+            }
+        }
+        hall = hallRepository.save(newHall);
+
+        screening = screeningRepository.save(
+                Screening.builder()
+                        .movie(movie)
+                        .cinemaHall(hall)
+                        .startTime(LocalDateTime.of(2025, 1, 1, 10, 0))
+                        .endTime(LocalDateTime.of(2025, 1, 1, 12, 28))
+                        .price(BigDecimal.valueOf(25))
+                        .build()
+        );
+        hallRepository.flush();
+    }
+
+    // --------------------------------------------
+    // CREATE INVENTORY
+    // --------------------------------------------
+    @Test
+    @DisplayName("should materialize one available seat per hall seat")
+    void shouldCreateInventory() {
+        int inserted = screeningSeatRepository.createInventory(screening.getId(), hall.getId());
+
+        assertThat(inserted).isEqualTo(6);
+        assertThat(screeningSeatRepository.findByScreeningIdAndStatus(screening.getId(), SeatStatus.AVAILABLE))
+                .hasSize(6);
+    }
+
+    // --------------------------------------------
+    // FIND BY STATUS
+    // --------------------------------------------
+    @Test
+    @DisplayName("should return only seats with requested status")
+    void shouldFindByStatus() {
+        screeningSeatRepository.createInventory(screening.getId(), hall.getId());
+        ScreeningSeat booked = screeningSeatRepository.findByScreeningIdAndStatus(screening.getId(), SeatStatus.AVAILABLE).getFirst();
+        booked.setStatus(SeatStatus.BOOKED);
+        screeningSeatRepository.flush();
+
+        List<ScreeningSeat> result = screeningSeatRepository.findByScreeningIdAndStatus(screening.getId(), SeatStatus.BOOKED);
+
+        assertThat(result).hasSize(1);
+        assertThat(result.getFirst().getId()).isEqualTo(booked.getId());
+    }
+
+}
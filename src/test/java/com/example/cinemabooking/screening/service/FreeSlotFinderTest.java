@@ -0,0 +1,88 @@
+package com.example.cinemabooking.screening.service;
+
+import com.example.cinemabooking.screening.dto.FreeSlotResponse;
+import com.example.cinemabooking.screening.repository.ScheduledSlot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FreeSlotFinderTest {
+
+    private static final long HALL_ID = 1L;
+    private static final LocalDateTime DAY = LocalDateTime.of(2040, 1, 1, 0, 0);
+    private static final Duration GRID = Duration.ofMinutes(15);
+
+    @Test
+    @DisplayName("should return whole window when hall is empty")
+    void shouldReturnWholeWindow() {
+        List<FreeSlotResponse> slots = FreeSlotFinder.findFreeSlots(List.of(), at(10, 0), at(22, 0),
+                Duration.ofMinutes(120), Duration.ZERO, GRID);
+
+        assertThat(slots).containsExactly(slot(at(10, 0), at(20, 0)));
+    }
+
+    @Test
+    @DisplayName("should return gaps between screenings that fit the movie")
+    void shouldReturnFittingGaps() {
+        List<FreeSlotResponse> slots = FreeSlotFinder.findFreeSlots(List.of(
+                screening(at(9, 0), at(11, 0)),
+                screening(at(13, 0), at(15, 30)),
+                screening(at(16, 30), at(19, 0))
+        ), at(10, 0), at(22, 0), Duration.ofMinutes(90), Duration.ZERO, GRID);
+
+        assertThat(slots).containsExactly(
+                slot(at(11, 0), at(11, 30)),
+                slot(at(19, 0), at(20, 30)));
+    }
+
+    @Test
+    @DisplayName("should keep turnaround around existing screenings")
+    void shouldApplyTurnaround() {
+        List<FreeSlotResponse> slots = FreeSlotFinder.findFreeSlots(List.of(
+                screening(at(9, 0), at(10, 0)),
+                screening(at(14, 0), at(16, 0))
+        ), at(10, 0), at(16, 0), Duration.ofMinutes(120), Duration.ofMinutes(30), GRID);
+
+        assertThat(slots).containsExactly(slot(at(10, 30), at(11, 30)));
+    }
+
+    @Test
+    @DisplayName("should snap start times to the grid")
+    void shouldSnapToGrid() {
+        List<FreeSlotResponse> slots = FreeSlotFinder.findFreeSlots(List.of(
+                screening(at(10, 0), at(12, 28)),
+                screening(at(15, 10), at(17, 0))
+        ), at(10, 0), at(17, 0), Duration.ofMinutes(100), Duration.ZERO, GRID);
+
+        assertThat(slots).containsExactly(slot(at(12, 30), at(13, 30)));
+    }
+
+    @Test
+    @DisplayName("should return nothing when no gap is long enough")
+    void shouldReturnNothingWhenFull() {
+        List<FreeSlotResponse> slots = FreeSlotFinder.findFreeSlots(List.of(
+                screening(at(10, 0), at(12, 0)),
+                screening(at(13, 0), at(15, 0))
+        ), at(10, 0), at(16, 0), Duration.ofMinutes(90), Duration.ZERO, GRID);
+
+        assertThat(slots).isEmpty();
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DAY.plusHours(hour).plusMinutes(minute);
+    }
+
+    private static ScheduledSlot screening(LocalDateTime startTime, LocalDateTime endTime) {
+        return new ScheduledSlot(HALL_ID, startTime, endTime);
+    }
+
+    private static FreeSlotResponse slot(LocalDateTime earliestStart, LocalDateTime latestStart) {
+        return FreeSlotResponse.builder().earliestStart(earliestStart).latestStart(latestStart).build();
+    }
+
+}
@@ -0,0 +1,243 @@
+package com.example.cinemabooking.screening.service;
+
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.movie.entity.Movie;
+import com.example.cinemabooking.screening.dto.ScreeningResponse;
+import com.example.cinemabooking.screening.mapper.ScreeningMapper;
+import com.example.cinemabooking.screening.repository.ScreeningRepository;
+import com.example.cinemabooking.screening.repository.ScreeningView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduleIndexTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2040, 1, 1, 0, 0);
+    private static final LocalDateTime NOW = DAY.minusDays(1);
+
+    @Mock
+    private ScreeningRepository screeningRepository;
+
+    private ScheduleIndex scheduleIndex;
+
+    private Movie inception;
+    private Movie matrix;
+    private CinemaHall hall1;
+    private CinemaHall hall2;
+
+    @BeforeEach
+    void setUp() {
+        scheduleIndex = new ScheduleIndex(screeningRepository,
+                new ScheduleIndexProperties(Duration.ofHours(1), Duration.ofHours(1)),
+                Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+        inception = Movie.builder().id(10L).title("Inception").genre("Sci-Fi").durationMinutes(148).build();
+        matrix = Movie.builder().id(11L).title("Matrix").genre("Sci-Fi").durationMinutes(136).build();
+        hall1 = CinemaHall.builder().id(5L).name("Sala 1").rows(10).seatsPerRow(20).build();
+        hall2 = CinemaHall.builder().id(6L).name("Sala 2").rows(8).seatsPerRow(15).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduleIndex.stop();
+    }
+
+    // ============================================================
+    // QUERIES
+    // ============================================================
+
+    @Test
+    @DisplayName("should load schedule on startup and serve indexes ordered by start time")
+    void shouldServeIndexesAfterStartup() {
+        given(screeningRepository.findViewsEndingAfter(NOW)).willReturn(List.of(
+                screening(3L, inception, hall1, DAY.plusHours(20)),
+                screening(1L, inception, hall1, DAY.plusHours(14)),
+                screening(2L, matrix, hall2, DAY.plusHours(14)),
+                screening(4L, matrix, hall1, DAY.plusDays(1).plusHours(10))));
+
+        scheduleIndex.start();
+
+        assertThat(ids(scheduleIndex.findByStartTimeBetween(DAY, DAY.plusDays(1)))).containsExactly(1L, 2L, 3L);
+        assertThat(ids(scheduleIndex.findByCinemaHall(hall1.getId()))).containsExactly(1L, 3L, 4L);
+        assertThat(ids(scheduleIndex.findByMovie(matrix.getId()))).containsExactly(2L, 4L);
+        assertThat(scheduleIndex.findByMovie(99L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should exclude screenings starting at the end of the range")
+    void shouldUseHalfOpenRange() {
+        given(screeningRepository.findViewsEndingAfter(NOW)).willReturn(List.of(
+                screening(1L, inception, hall1, DAY),
+                screening(2L, inception, hall1, DAY.plusDays(1))));
+
+        scheduleIndex.refresh();
+
+        assertThat(ids(scheduleIndex.findByStartTimeBetween(DAY, DAY.plusDays(1)))).containsExactly(1L);
+    }
+
+    // ============================================================
+    // INCREMENTAL CHANGES
+    // ============================================================
+
+    @Test
+    @DisplayName("should add screening to every index only after commit")
+    void shouldPutAfterCommit() {
+        ScreeningResponse created = response(screening(7L, matrix, hall2, DAY.plusHours(18)));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            scheduleIndex.putAfterCommit(created);
+            assertThat(scheduleIndex.findByMovie(matrix.getId())).isEmpty();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(scheduleIndex.findByMovie(matrix.getId())).containsExactly(created);
+        assertThat(scheduleIndex.findByCinemaHall(hall2.getId())).containsExactly(created);
+        assertThat(scheduleIndex.findByStartTimeBetween(DAY, DAY.plusDays(1))).containsExactly(created);
+    }
+
+    @Test
+    @DisplayName("should add a batch of screenings as one change")
+    void shouldPutAllAfterCommit() {
+        given(screeningRepository.findViewsEndingAfter(NOW)).willReturn(List.of(screening(1L, inception, hall1, DAY.plusHours(14))));
+        scheduleIndex.refresh();
+
+        scheduleIndex.putAllAfterCommit(List.of(
+                response(screening(2L, inception, hall1, DAY.plusHours(18))),
+                response(screening(1L, inception, hall2, DAY.plusHours(10)))));
+
+        assertThat(ids(scheduleIndex.findByMovie(inception.getId()))).containsExactly(1L, 2L);
+        assertThat(ids(scheduleIndex.findByCinemaHall(hall1.getId()))).containsExactly(2L);
+        assertThat(ids(scheduleIndex.findByCinemaHall(hall2.getId()))).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("should remove screening from every index")
+    void shouldRemoveScreening() {
+        given(screeningRepository.findViewsEndingAfter(NOW)).willReturn(List.of(
+                screening(1L, inception, hall1, DAY.plusHours(14)),
+                screening(2L, inception, hall1, DAY.plusHours(18))));
+        scheduleIndex.refresh();
+
+        scheduleIndex.removeAfterCommit(1L);
+        scheduleIndex.removeAfterCommit(99L);
+
+        assertThat(ids(scheduleIndex.findByMovie(inception.getId()))).containsExactly(2L);
+        assertThat(ids(scheduleIndex.findByCinemaHall(hall1.getId()))).containsExactly(2L);
+        assertThat(ids(scheduleIndex.findByStartTimeBetween(DAY, DAY.plusDays(1)))).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("should replace screening that is already indexed")
+    void shouldReplaceScreening() {
+        given(screeningRepository.findViewsEndingAfter(NOW)).willReturn(List.of(screening(1L, inception, hall1, DAY.plusHours(14))));
+        scheduleIndex.refresh();
+
+        scheduleIndex.putAfterCommit(response(screening(1L, inception, hall2, DAY.plusHours(16))));
+
+        assertThat(scheduleIndex.findByCinemaHall(hall1.getId())).isEmpty();
+        assertThat(ids(scheduleIndex.findByCinemaHall(hall2.getId()))).containsExactly(1L);
+        assertThat(scheduleIndex.findByStartTimeBetween(DAY, DAY.plusDays(1)))
+                .singleElement()
+                .extracting(ScreeningResponse::getStartTime)
+                .isEqualTo(DAY.plusHours(16));
+    }
+
+    @Test
+    @DisplayName("should keep incremental change made while the schedule was reloaded")
+    void shouldNotOverwriteConcurrentChange() {
+        ScreeningResponse created = response(screening(7L, matrix, hall2, DAY.plusHours(18)));
+        willAnswer(invocation -> {
+            scheduleIndex.putAfterCommit(created);
+            return List.of();
+        }).given(screeningRepository).findViewsEndingAfter(NOW);
+
+        scheduleIndex.refresh();
+
+        verify(screeningRepository).findViewsEndingAfter(NOW);
+        assertThat(scheduleIndex.findByMovie(matrix.getId())).containsExactly(created);
+    }
+
+    @Test
+    @DisplayName("should rebuild asynchronously when asked to refresh after commit")
+    void shouldRefreshAfterCommit() {
+        given(screeningRepository.findViewsEndingAfter(NOW)).willReturn(List.of(screening(1L, inception, hall1, DAY.plusHours(14))));
+
+        scheduleIndex.refreshAfterCommit();
+
+        verify(screeningRepository, timeout(1000)).findViewsEndingAfter(NOW);
+        await().untilAsserted(() -> assertThat(scheduleIndex.findByMovie(inception.getId())).hasSize(1));
+    }
+
+    @Test
+    @DisplayName("should reload again when a refresh after commit loses to an incremental change")
+    void shouldRetryRefreshAfterCommitThatLostToChange() {
+        ScreeningResponse created = response(screening(7L, matrix, hall2, DAY.plusHours(18)));
+        willAnswer(invocation -> {
+            scheduleIndex.putAfterCommit(created);
+            return List.of(screening(1L, inception, hall1, DAY.plusHours(14)));
+        }).willReturn(List.of(screening(1L, inception, hall1, DAY.plusHours(14)),
+                screening(7L, matrix, hall2, DAY.plusHours(18)))
+        ).given(screeningRepository).findViewsEndingAfter(NOW);
+
+        scheduleIndex.refreshAfterCommit();
+
+        verify(screeningRepository, timeout(1000).times(2)).findViewsEndingAfter(NOW);
+        await().untilAsserted(() -> assertThat(ids(scheduleIndex.findByStartTimeBetween(DAY, DAY.plusDays(1))))
+                .containsExactly(1L, 7L));
+    }
+
+    @Test
+    @DisplayName("should drop screenings once they have ended")
+    void shouldPruneEndedScreenings() {
+        ScheduleIndex.Schedule schedule = ScheduleIndex.Schedule.of(List.of(
+                response(screening(1L, inception, hall1, DAY.plusHours(10))),
+                response(screening(2L, matrix, hall1, DAY.plusHours(11))),
+                response(screening(3L, inception, hall2, DAY.plusHours(14)))));
+
+        ScheduleIndex.Schedule pruned = schedule.withoutEndedBy(DAY.plusHours(12).plusMinutes(28));
+
+        assertThat(pruned.byId()).containsOnlyKeys(2L, 3L);
+        assertThat(ids(pruned.byMovie().get(inception.getId()))).containsExactly(3L);
+        assertThat(pruned.byStartTime()).containsOnlyKeys(DAY.plusHours(11), DAY.plusHours(14));
+        assertThat(pruned.withoutEndedBy(DAY.plusHours(12))).isSameAs(pruned);
+    }
+
+    private static List<Long> ids(List<ScreeningResponse> screenings) {
+        return screenings.stream().map(ScreeningResponse::getId).toList();
+    }
+
+    private static ScreeningResponse response(ScreeningView screening) {
+        return ScreeningMapper.toResponse(screening, screening.seatsAvailable());
+    }
+
+    private static ScreeningView screening(Long id, Movie movie, CinemaHall hall, LocalDateTime startTime) {
+        return new ScreeningView(id, movie.getId(), movie.getTitle(), movie.getGenre(), movie.getDurationMinutes(),
+                hall.getId(), hall.getName(), hall.getRows(), hall.getSeatsPerRow(),
+                startTime, startTime.plusMinutes(movie.getDurationMinutes()), BigDecimal.valueOf(25),
+                hall.getRows() * hall.getSeatsPerRow());
+    }
+
+}
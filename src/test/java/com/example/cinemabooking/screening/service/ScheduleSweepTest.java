@@ -0,0 +1,91 @@
+package com.example.cinemabooking.screening.service;
+
+import com.example.cinemabooking.screening.dto.BulkScreeningStatus;
+import com.example.cinemabooking.screening.repository.ScheduledSlot;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScheduleSweepTest {
+
+    private static final long HALL_1 = 1L;
+    private static final long HALL_2 = 2L;
+    private static final LocalDateTime DAY = LocalDateTime.of(2040, 1, 1, 0, 0);
+
+    @Test
+    @DisplayName("should accept back-to-back screenings in one hall")
+    void shouldAcceptAdjacentScreenings() {
+        Map<Integer, BulkScreeningStatus> conflicts = ScheduleSweep.findConflicts(List.of(
+                candidate(0, HALL_1, 10, 12),
+                candidate(1, HALL_1, 12, 14)
+        ), List.of(slot(HALL_1, 14, 16)));
+
+        assertThat(conflicts).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should reject screenings overlapping existing ones")
+    void shouldRejectOverlapWithExisting() {
+        Map<Integer, BulkScreeningStatus> conflicts = ScheduleSweep.findConflicts(List.of(
+                candidate(0, HALL_1, 9, 11),
+                candidate(1, HALL_1, 11, 12),
+                candidate(2, HALL_1, 13, 17),
+                candidate(3, HALL_2, 10, 11)
+        ), List.of(slot(HALL_1, 10, 11), slot(HALL_1, 14, 15)));
+
+        assertThat(conflicts).containsExactlyInAnyOrderEntriesOf(Map.of(
+                0, BulkScreeningStatus.CONFLICTS_WITH_EXISTING,
+                2, BulkScreeningStatus.CONFLICTS_WITH_EXISTING));
+    }
+
+    @Test
+    @DisplayName("should keep earlier-starting screening when batch items overlap")
+    void shouldRejectOverlapWithinBatch() {
+        Map<Integer, BulkScreeningStatus> conflicts = ScheduleSweep.findConflicts(List.of(
+                candidate(0, HALL_1, 11, 13),
+                candidate(1, HALL_1, 10, 12),
+                candidate(2, HALL_1, 12, 14),
+                candidate(3, HALL_2, 11, 13)
+        ), List.of());
+
+        assertThat(conflicts).containsExactlyInAnyOrderEntriesOf(Map.of(
+                0, BulkScreeningStatus.CONFLICTS_WITH_BATCH));
+    }
+
+    @Test
+    @DisplayName("should let item rejected for existing conflict free the slot for the rest of the batch")
+    void shouldIgnoreRejectedItemsInBatchSweep() {
+        Map<Integer, BulkScreeningStatus> conflicts = ScheduleSweep.findConflicts(List.of(
+                candidate(0, HALL_1, 10, 13),
+                candidate(1, HALL_1, 11, 12)
+        ), List.of(slot(HALL_1, 12, 14)));
+
+        assertThat(conflicts).containsExactlyInAnyOrderEntriesOf(Map.of(
+                0, BulkScreeningStatus.CONFLICTS_WITH_EXISTING));
+    }
+
+    @Test
+    @DisplayName("should prefer earlier request item when start times are equal")
+    void shouldBreakTiesByIndex() {
+        Map<Integer, BulkScreeningStatus> conflicts = ScheduleSweep.findConflicts(List.of(
+                candidate(0, HALL_1, 10, 11),
+                candidate(1, HALL_1, 10, 12)
+        ), List.of());
+
+        assertThat(conflicts).containsOnlyKeys(1);
+    }
+
+    private static ScheduleSweep.Candidate candidate(int index, long hallId, int startHour, int endHour) {
+        return new ScheduleSweep.Candidate(index, hallId, DAY.plusHours(startHour), DAY.plusHours(endHour));
+    }
+
+    private static ScheduledSlot slot(long hallId, int startHour, int endHour) {
+        return new ScheduledSlot(hallId, DAY.plusHours(startHour), DAY.plusHours(endHour));
+    }
+
+}
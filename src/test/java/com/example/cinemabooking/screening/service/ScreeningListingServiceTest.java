@@ -0,0 +1,260 @@
+package com.example.cinemabooking.screening.service;
+
+import com.example.cinemabooking.screening.dto.ScreeningPageResponse;
+import com.example.cinemabooking.screening.dto.ScreeningResponse;
+import com.example.cinemabooking.screening.dto.ScreeningSearchRequest;
+import com.example.cinemabooking.screening.repository.ScreeningJdbcRepository;
+import com.example.cinemabooking.screening.repository.ScreeningSearchCriteria;
+import com.example.cinemabooking.screening.repository.ScreeningView;
+import com.example.cinemabooking.screening.service.exception.InvalidPageRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ScreeningListingServiceTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2040, 1, 1, 0, 0);
+    private static final long HALL_ID = 5L;
+
+    @Mock
+    private ScreeningJdbcRepository screeningJdbcRepository;
+
+    @Mock
+    private ScheduleIndex scheduleIndex;
+
+    @Mock
+    private SeatCounters seatCounters;
+
+    private ScreeningListingService listingService;
+
+    @BeforeEach
+    void setUp() {
+        listingService = listingAt(DAY.minusDays(1));
+    }
+
+    private ScreeningListingService listingAt(LocalDateTime now) {
+        return new ScreeningListingService(screeningJdbcRepository, scheduleIndex, seatCounters,
+                new ScreeningListingProperties(100, 50), Clock.fixed(now.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+
+    // ============================================================
+    // DATABASE PAGES
+    // ============================================================
+
+    @Test
+    @DisplayName("should fetch one row more than the page to tell whether there is a next page")
+    void shouldReturnFirstPageWithCursor() {
+        given(screeningJdbcRepository.searchScreenings(ScreeningSearchCriteria.NONE, null, null, 3)).willReturn(List.of(
+                view(1L, DAY.plusHours(10)), view(2L, DAY.plusHours(12)), view(3L, DAY.plusHours(14))));
+        givenNoLiveCounts();
+
+        ScreeningPageResponse page = listingService.getScreeningsPage(null, 2);
+
+        assertThat(ids(page)).containsExactly(1L, 2L);
+        assertThat(ScreeningCursor.decode(page.getNextCursor())).isEqualTo(new ScreeningCursor(DAY.plusHours(12), 2L));
+    }
+
+    @Test
+    @DisplayName("should continue after the cursor and end without one")
+    void shouldReturnLastPageWithoutCursor() {
+        ScreeningCursor cursor = new ScreeningCursor(DAY.plusHours(12), 2L);
+        given(screeningJdbcRepository.searchScreenings(ScreeningSearchCriteria.NONE, DAY.plusHours(12), 2L, 3))
+                .willReturn(List.of(view(3L, DAY.plusHours(14))));
+        givenNoLiveCounts();
+
+        ScreeningPageResponse page = listingService.getScreeningsPage(cursor.encode(), 2);
+
+        assertThat(ids(page)).containsExactly(3L);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("should reject page sizes outside the configured range and malformed cursors")
+    void shouldRejectInvalidPageRequests() {
+        assertThatThrownBy(() -> listingService.getScreeningsPage(null, 0))
+                .isInstanceOf(InvalidPageRequestException.class);
+        assertThatThrownBy(() -> listingService.getScreeningsPage(null, 101))
+                .isInstanceOf(InvalidPageRequestException.class);
+        assertThatThrownBy(() -> listingService.getScreeningsPage("not-a-cursor", 10))
+                .isInstanceOf(InvalidPageRequestException.class);
+
+        verifyNoInteractions(screeningJdbcRepository);
+    }
+
+    // ============================================================
+    // SEARCH
+    // ============================================================
+
+    @Test
+    @DisplayName("should search with the request's filters after the cursor")
+    void shouldSearchAfterCursor() {
+        ScreeningSearchRequest request = ScreeningSearchRequest.builder()
+                .genre("Sci-Fi")
+                .cinemaHallId(HALL_ID)
+                .maxPrice(BigDecimal.valueOf(30))
+                .after(new ScreeningCursor(DAY.plusHours(10), 1L).encode())
+                .limit(1)
+                .build();
+        ScreeningSearchCriteria criteria = new ScreeningSearchCriteria(null, HALL_ID, "Sci-Fi", null, null, null,
+                null, BigDecimal.valueOf(30));
+        given(screeningJdbcRepository.searchScreenings(criteria, DAY.plusHours(10), 1L, 2))
+                .willReturn(List.of(view(2L, DAY.plusHours(12)), view(3L, DAY.plusHours(14))));
+        givenNoLiveCounts();
+
+        ScreeningPageResponse page = listingService.searchScreenings(request);
+
+        assertThat(ids(page)).containsExactly(2L);
+        assertThat(ScreeningCursor.decode(page.getNextCursor())).isEqualTo(new ScreeningCursor(DAY.plusHours(12), 2L));
+    }
+
+    // ============================================================
+    // INDEX PAGES
+    // ============================================================
+
+    @Test
+    @DisplayName("should page through the index listing, breaking start time ties by id")
+    void shouldPageThroughIndex() {
+        given(scheduleIndex.findByCinemaHall(HALL_ID)).willReturn(List.of(
+                response(1L, DAY.plusHours(10)), response(2L, DAY.plusHours(14)),
+                response(3L, DAY.plusHours(14)), response(4L, DAY.plusHours(18))));
+        givenNoLiveCounts();
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            ScreeningPageResponse page = listingService.getScreeningsByCinemaHallPage(HALL_ID, cursor, 3);
+            seen.addAll(ids(page));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).containsExactly(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    @DisplayName("should resume after a cursor whose screening is gone from the index")
+    void shouldResumeAfterRemovedScreening() {
+        given(scheduleIndex.findByStartTimeBetween(DAY, DAY.plusDays(1))).willReturn(List.of(
+                response(1L, DAY.plusHours(10)), response(4L, DAY.plusHours(18))));
+        givenNoLiveCounts();
+
+        ScreeningPageResponse page = listingService.getScreeningsByDatePage(LocalDate.of(2040, 1, 1),
+                new ScreeningCursor(DAY.plusHours(14), 2L).encode(), 10);
+
+        assertThat(ids(page)).containsExactly(4L);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("should page the screenings that started from the database before the later ones from the index")
+    void shouldPageStartedScreeningsBeforeIndex() {
+        listingService = listingAt(DAY.plusHours(12));
+        ScreeningSearchCriteria started = new ScreeningSearchCriteria(null, null, null, null, DAY, DAY.plusHours(12),
+                null, null);
+        given(screeningJdbcRepository.searchScreenings(started, null, null, 4))
+                .willReturn(List.of(view(1L, DAY.plusHours(9)), view(2L, DAY.plusHours(11))));
+        given(scheduleIndex.findByStartTimeBetween(DAY.plusHours(12), DAY.plusDays(1))).willReturn(List.of(
+                response(3L, DAY.plusHours(14)), response(4L, DAY.plusHours(18))));
+        givenNoLiveCounts();
+
+        ScreeningPageResponse first = listingService.getScreeningsByDatePage(LocalDate.of(2040, 1, 1), null, 3);
+        ScreeningPageResponse second = listingService.getScreeningsByDatePage(LocalDate.of(2040, 1, 1),
+                first.getNextCursor(), 3);
+
+        assertThat(ids(first)).containsExactly(1L, 2L, 3L);
+        assertThat(ids(second)).containsExactly(4L);
+        assertThat(second.getNextCursor()).isNull();
+        verify(screeningJdbcRepository).searchScreenings(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("should page the past screenings of a movie from the database")
+    void shouldPagePastScreeningsOfMovie() {
+        listingService = listingAt(DAY.plusDays(2));
+        ScreeningSearchCriteria started = new ScreeningSearchCriteria(10L, null, null, null, null, DAY.plusDays(2),
+                null, null);
+        given(screeningJdbcRepository.searchScreenings(started, null, null, 2))
+                .willReturn(List.of(view(1L, DAY.plusHours(10)), view(2L, DAY.plusHours(14))));
+        given(screeningJdbcRepository.searchScreenings(started, DAY.plusHours(10), 1L, 2))
+                .willReturn(List.of(view(2L, DAY.plusHours(14))));
+        given(scheduleIndex.findByMovie(10L)).willReturn(List.of());
+        givenNoLiveCounts();
+
+        ScreeningPageResponse first = listingService.getScreeningsByMoviePage(10L, null, 1);
+        ScreeningPageResponse second = listingService.getScreeningsByMoviePage(10L, first.getNextCursor(), 1);
+
+        assertThat(ids(first)).containsExactly(1L);
+        assertThat(ids(second)).containsExactly(2L);
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    // ============================================================
+    // STREAMING
+    // ============================================================
+
+    @Test
+    @DisplayName("should stream screenings with live seat counts using the configured fetch size")
+    void shouldStreamScreenings() {
+        willAnswer(invocation -> {
+            Consumer<ScreeningView> consumer = invocation.getArgument(1);
+            consumer.accept(view(1L, DAY.plusHours(10)));
+            consumer.accept(view(2L, DAY.plusHours(12)));
+            return null;
+        }).given(screeningJdbcRepository).streamScreeningViews(eq(50), any());
+        given(seatCounters.getAvailableSeats(1L, 200)).willReturn(150);
+        given(seatCounters.getAvailableSeats(2L, 200)).willReturn(200);
+
+        List<ScreeningResponse> streamed = new ArrayList<>();
+        listingService.streamScreenings(streamed::add);
+
+        assertThat(streamed).extracting(ScreeningResponse::getId).containsExactly(1L, 2L);
+        assertThat(streamed).extracting(ScreeningResponse::getAvailableSeats).containsExactly(150, 200);
+    }
+
+    private void givenNoLiveCounts() {
+        given(seatCounters.getAvailableSeats(anyLong(), anyInt()))
+                .willAnswer(invocation -> invocation.getArgument(1));
+    }
+
+    private static List<Long> ids(ScreeningPageResponse page) {
+        return page.getScreenings().stream().map(ScreeningResponse::getId).toList();
+    }
+
+    private static ScreeningView view(Long id, LocalDateTime startTime) {
+        return new ScreeningView(id, 10L, "Inception", "Sci-Fi", 148, HALL_ID, "Sala 1", 10, 20,
+                startTime, startTime.plusMinutes(148), BigDecimal.valueOf(25), 200);
+    }
+
+    private static ScreeningResponse response(Long id, LocalDateTime startTime) {
+        return ScreeningResponse.builder()
+                .id(id)
+                .cinemaHallId(HALL_ID)
+                .startTime(startTime)
+                .availableSeats(200)
+                .build();
+    }
+
+}
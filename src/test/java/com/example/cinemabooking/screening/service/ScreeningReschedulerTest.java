@@ -0,0 +1,101 @@
+package com.example.cinemabooking.screening.service;
+
+import com.example.cinemabooking.screening.repository.ScreeningJdbcRepository;
+import com.example.cinemabooking.screening.repository.ScreeningOverlap;
+import com.example.cinemabooking.screening.service.exception.ScreeningOverlapException;
+import com.example.cinemabooking.screening.service.exception.ScreeningScheduleChangedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class ScreeningReschedulerTest {
+
+    private static final long MOVIE_ID = 10L;
+    private static final LocalDateTime NOW = LocalDateTime.of(2040, 1, 1, 12, 0);
+
+    @Mock
+    private ScreeningJdbcRepository screeningJdbcRepository;
+
+    @Mock
+    private ScheduleIndex scheduleIndex;
+
+    private ScreeningRescheduler screeningRescheduler;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        screeningRescheduler = new ScreeningRescheduler(screeningJdbcRepository, scheduleIndex, clock);
+    }
+
+    @Test
+    @DisplayName("should update upcoming screenings when new duration causes no overlap")
+    void shouldRescheduleUpcomingScreenings() {
+        given(screeningJdbcRepository.findRescheduleOverlaps(MOVIE_ID, 160, NOW)).willReturn(List.of());
+        given(screeningJdbcRepository.rescheduleMovie(MOVIE_ID, 160, NOW)).willReturn(3);
+
+        screeningRescheduler.rescheduleMovie(MOVIE_ID, 160);
+
+        verify(screeningJdbcRepository).rescheduleMovie(MOVIE_ID, 160, NOW);
+        verify(scheduleIndex).refreshAfterCommit();
+    }
+
+    @Test
+    @DisplayName("should reject duration change listing every overlap")
+    void shouldRejectOverlappingDuration() {
+        ScreeningOverlap overlap = new ScreeningOverlap(1L, "Sala 1", NOW.plusHours(2), NOW.plusHours(5),
+                2L, NOW.plusHours(4), NOW.plusHours(6));
+        given(screeningJdbcRepository.findRescheduleOverlaps(MOVIE_ID, 180, NOW)).willReturn(List.of(overlap));
+
+        assertThatThrownBy(() -> screeningRescheduler.rescheduleMovie(MOVIE_ID, 180))
+                .isInstanceOfSatisfying(ScreeningOverlapException.class,
+                        e -> assertThat(e.getOverlaps()).containsExactly(overlap));
+
+        verify(screeningJdbcRepository, never()).rescheduleMovie(anyLong(), anyInt(), any());
+        verifyNoInteractions(scheduleIndex);
+    }
+
+    @Test
+    @DisplayName("should report concurrent schedule change caught by the exclusion constraint")
+    void shouldReportConcurrentChange() {
+        given(screeningJdbcRepository.findRescheduleOverlaps(MOVIE_ID, 160, NOW)).willReturn(List.of());
+        given(screeningJdbcRepository.rescheduleMovie(MOVIE_ID, 160, NOW))
+                .willThrow(new DataIntegrityViolationException("conflicting key value violates exclusion constraint"));
+
+        assertThatThrownBy(() -> screeningRescheduler.rescheduleMovie(MOVIE_ID, 160))
+                .isInstanceOf(ScreeningScheduleChangedException.class);
+
+        verifyNoInteractions(scheduleIndex);
+    }
+
+    @Test
+    @DisplayName("should not refresh schedule index when movie has no upcoming screenings")
+    void shouldSkipRefreshWithoutUpcomingScreenings() {
+        given(screeningJdbcRepository.findRescheduleOverlaps(MOVIE_ID, 160, NOW)).willReturn(List.of());
+        given(screeningJdbcRepository.rescheduleMovie(MOVIE_ID, 160, NOW)).willReturn(0);
+
+        screeningRescheduler.rescheduleMovie(MOVIE_ID, 160);
+
+        verifyNoInteractions(scheduleIndex);
+    }
+
+}
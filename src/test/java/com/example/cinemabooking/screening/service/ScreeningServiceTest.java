@@ -4,29 +4,56 @@ import com.example.cinemabooking.hall.entity.CinemaHall;
 import com.example.cinemabooking.hall.service.CinemaHallService;
 import com.example.cinemabooking.movie.entity.Movie;
 import com.example.cinemabooking.movie.service.MovieService;
+import com.example.cinemabooking.screening.dto.BulkCreateScreeningsRequest;
+import com.example.cinemabooking.screening.dto.BulkCreateScreeningsResponse;
+import com.example.cinemabooking.screening.dto.BulkScreeningResultResponse;
+import com.example.cinemabooking.screening.dto.BulkScreeningStatus;
+import com.example.cinemabooking.screening.dto.CloneScheduleRequest;
+import com.example.cinemabooking.screening.dto.CloneScheduleResponse;
 import com.example.cinemabooking.screening.dto.CreateScreeningRequest;
 import com.example.cinemabooking.screening.dto.ScreeningResponse;
+import com.example.cinemabooking.screening.dto.ScreeningSeatResponse;
 import com.example.cinemabooking.screening.entity.Screening;
+import com.example.cinemabooking.screening.entity.SeatStatus;
+import com.example.cinemabooking.screening.mapper.ScreeningMapper;
+import com.example.cinemabooking.screening.repository.ClonedSchedule;
+import com.example.cinemabooking.screening.repository.ScreeningJdbcRepository;
 import com.example.cinemabooking.screening.repository.ScreeningRepository;
+import com.example.cinemabooking.screening.repository.ScreeningSeatRepository;
+import com.example.cinemabooking.screening.repository.ScreeningView;
 import com.example.cinemabooking.screening.service.exception.ScreeningNotFoundException;
+import com.example.cinemabooking.screening.service.exception.ScreeningScheduleChangedException;
 import com.example.cinemabooking.screening.service.exception.ScreeningTimeConflictException;
+import com.example.cinemabooking.screening.service.exception.SeatNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.BDDMockito.*;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,12 +65,33 @@ class ScreeningServiceTest {
     @Mock
     private ScreeningRepository screeningRepository;
 
+    @Mock
+    private ScreeningSeatRepository screeningSeatRepository;
+
+    @Mock
+    private ScreeningJdbcRepository screeningJdbcRepository;
+
     @Mock
     private MovieService movieService;
 
     @Mock
     private CinemaHallService cinemaHallService;
 
+    @Mock
+    private SeatAvailabilityCache seatAvailabilityCache;
+
+    @Mock
+    private SeatMapStreamService seatMapStreamService;
+
+    @Mock
+    private SeatCounters seatCounters;
+
+    @Mock
+    private ScheduleIndex scheduleIndex;
+
+    @Spy
+    private Clock clock = Clock.fixed(Instant.parse("2025-01-01T12:00:00Z"), ZoneOffset.UTC);
+
     @InjectMocks
     private ScreeningService screeningService;
 
@@ -95,27 +143,29 @@ class ScreeningServiceTest {
     @Test
     @DisplayName("should return list of screenings")
     void shouldReturnAllScreenings() {
-        given(screeningRepository.findAll()).willReturn(List.of(screening));
+        given(screeningRepository.findAllViews()).willReturn(List.of(view(screening)));
+        given(seatCounters.getAvailableSeats(ID, screening.getSeatsAvailable())).willReturn(12);
 
         List<ScreeningResponse> result = screeningService.getAllScreenings();
 
         assertThat(result).hasSize(1);
         assertThat(result.getFirst().getMovieTitle()).isEqualTo("Inception");
+        assertThat(result.getFirst().getAvailableSeats()).isEqualTo(12);
 
-        verify(screeningRepository).findAll();
+        verify(screeningRepository).findAllViews();
         verifyNoMoreInteractions(screeningRepository);
     }
 
     @Test
     @DisplayName("should return empty list when no screenings exist")
     void shouldReturnEmptyList() {
-        given(screeningRepository.findAll()).willReturn(List.of());
+        given(screeningRepository.findAllViews()).willReturn(List.of());
 
         List<ScreeningResponse> result = screeningService.getAllScreenings();
 
         assertThat(result).isEmpty();
 
-        verify(screeningRepository).findAll();
+        verify(screeningRepository).findAllViews();
         verifyNoMoreInteractions(screeningRepository);
     }
 
@@ -126,26 +176,27 @@ class ScreeningServiceTest {
     @Test
     @DisplayName("should return screening by id")
     void shouldReturnScreeningById() {
-        given(screeningRepository.findById(ID)).willReturn(Optional.of(screening));
+        given(screeningRepository.findViewById(ID)).willReturn(Optional.of(view(screening)));
 
         ScreeningResponse result = screeningService.getScreeningById(ID);
 
         assertThat(result.getId()).isEqualTo(ID);
         assertThat(result.getMovieTitle()).isEqualTo("Inception");
+        assertThat(result.getHallCapacity()).isEqualTo(screening.getCinemaHall().getRows() * screening.getCinemaHall().getSeatsPerRow());
 
-        verify(screeningRepository).findById(ID);
+        verify(screeningRepository).findViewById(ID);
         verifyNoMoreInteractions(screeningRepository);
     }
 
     @Test
     @DisplayName("should throw exception when screening not found")
     void shouldThrowWhenScreeningNotFound() {
-        given(screeningRepository.findById(NON_EXISTING_ID)).willReturn(Optional.empty());
+        given(screeningRepository.findViewById(NON_EXISTING_ID)).willReturn(Optional.empty());
 
         assertThatThrownBy(() -> screeningService.getScreeningById(NON_EXISTING_ID))
                 .isInstanceOf(ScreeningNotFoundException.class);
 
-        verify(screeningRepository).findById(NON_EXISTING_ID);
+        verify(screeningRepository).findViewById(NON_EXISTING_ID);
         verifyNoMoreInteractions(screeningRepository);
     }
 
@@ -154,46 +205,95 @@ class ScreeningServiceTest {
     // -------------------------------------------------------
 
     @Test
-    @DisplayName("should return screenings by movie id")
+    @DisplayName("should return past screenings of a movie from the database and upcoming ones from schedule index")
     void shouldReturnByMovieId() {
-        given(screeningRepository.findByMovieId(movie.getId())).willReturn(List.of(screening));
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        given(screeningRepository.findViewsByMovieStartingBefore(movie.getId(), now)).willReturn(List.of(view(past())));
+        given(scheduleIndex.findByMovie(movie.getId())).willReturn(List.of(indexed()));
+        given(seatCounters.getAvailableSeats(ID, 200)).willReturn(150);
+        given(seatCounters.getAvailableSeats(2L, 0)).willReturn(0);
 
         List<ScreeningResponse> result = screeningService.getScreeningsByMovie(movie.getId());
 
-        assertThat(result).hasSize(1);
-        assertThat(result.getFirst().getMovieId()).isEqualTo(movie.getId());
-
-        verify(screeningRepository).findByMovieId(movie.getId());
+        assertThat(result).extracting(ScreeningResponse::getId).containsExactly(2L, ID);
+        assertThat(result.getLast().getMovieId()).isEqualTo(movie.getId());
+        assertThat(result.getLast().getAvailableSeats()).isEqualTo(150);
     }
 
     @Test
-    @DisplayName("should return screenings by hall id")
+    @DisplayName("should return past screenings of a hall from the database and upcoming ones from schedule index")
     void shouldReturnByHallId() {
-        given(screeningRepository.findByCinemaHallId(hall.getId())).willReturn(List.of(screening));
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        given(screeningRepository.findViewsByCinemaHallStartingBefore(hall.getId(), now)).willReturn(List.of(view(past())));
+        given(scheduleIndex.findByCinemaHall(hall.getId())).willReturn(List.of(indexed()));
+        given(seatCounters.getAvailableSeats(ID, 200)).willReturn(200);
+        given(seatCounters.getAvailableSeats(2L, 0)).willReturn(0);
 
         List<ScreeningResponse> result = screeningService.getScreeningsByCinemaHall(hall.getId());
 
-        assertThat(result).hasSize(1);
-        assertThat(result.getFirst().getCinemaHallId()).isEqualTo(hall.getId());
-
-        verify(screeningRepository).findByCinemaHallId(hall.getId());
+        assertThat(result).extracting(ScreeningResponse::getId).containsExactly(2L, ID);
+        assertThat(result).allSatisfy(response -> assertThat(response.getCinemaHallId()).isEqualTo(hall.getId()));
     }
 
     @Test
-    @DisplayName("should return screenings by date")
+    @DisplayName("should split today's screenings between the database and schedule index at the current time")
     void shouldReturnByDate() {
         LocalDate date = LocalDate.of(2025, 1, 1);
         LocalDateTime start = date.atStartOfDay();
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
         LocalDateTime end = date.plusDays(1).atStartOfDay();
 
-        given(screeningRepository.findByStartTimeBetween(start, end))
-                .willReturn(List.of(screening));
+        given(screeningRepository.findViewsStartingBetween(start, now)).willReturn(List.of());
+        given(scheduleIndex.findByStartTimeBetween(now, end)).willReturn(List.of(indexed()));
+        given(seatCounters.getAvailableSeats(ID, 200)).willReturn(200);
 
         List<ScreeningResponse> result = screeningService.getScreeningsByDate(date);
 
         assertThat(result).hasSize(1);
 
-        verify(screeningRepository).findByStartTimeBetween(start, end);
+        verify(scheduleIndex).findByStartTimeBetween(now, end);
+    }
+
+    @Test
+    @DisplayName("should return screenings of a past date from the database only")
+    void shouldReturnByPastDate() {
+        LocalDate date = LocalDate.of(2024, 12, 31);
+        given(screeningRepository.findViewsStartingBetween(date.atStartOfDay(), date.plusDays(1).atStartOfDay()))
+                .willReturn(List.of(view(past())));
+        given(seatCounters.getAvailableSeats(2L, 0)).willReturn(0);
+
+        List<ScreeningResponse> result = screeningService.getScreeningsByDate(date);
+
+        assertThat(result).extracting(ScreeningResponse::getId).containsExactly(2L);
+        verifyNoInteractions(scheduleIndex);
+    }
+
+    @Test
+    @DisplayName("should return screenings of a future date from schedule index only")
+    void shouldReturnByFutureDate() {
+        LocalDate date = LocalDate.of(2025, 1, 2);
+        given(scheduleIndex.findByStartTimeBetween(date.atStartOfDay(), date.plusDays(1).atStartOfDay()))
+                .willReturn(List.of());
+
+        assertThat(screeningService.getScreeningsByDate(date)).isEmpty();
+
+        verifyNoInteractions(screeningRepository);
+    }
+
+    private Screening past() {
+        LocalDateTime start = LocalDateTime.of(2024, 12, 31, 20, 0);
+        return Screening.builder()
+                .id(2L)
+                .movie(movie)
+                .cinemaHall(hall)
+                .startTime(start)
+                .endTime(start.plusMinutes(movie.getDurationMinutes()))
+                .price(BigDecimal.valueOf(25))
+                .build();
+    }
+
+    private ScreeningResponse indexed() {
+        return ScreeningMapper.toResponse(screening, 200);
     }
 
     // -------------------------------------------------------
@@ -206,8 +306,7 @@ class ScreeningServiceTest {
         // given
         given(movieService.getMovieOrThrow(movie.getId())).willReturn(movie);
         given(cinemaHallService.getCinemaHallOrThrow(hall.getId())).willReturn(hall);
-        given(screeningRepository.existsTimeConflict(eq(hall.getId()), any(), any())).willReturn(false);
-        given(screeningRepository.save(any(Screening.class))).willReturn(screening);
+        given(screeningRepository.saveAndFlush(any(Screening.class))).willReturn(screening);
 
         // when
         ScreeningResponse result = screeningService.createScreening(request);
@@ -218,8 +317,10 @@ class ScreeningServiceTest {
 
         verify(movieService).getMovieOrThrow(movie.getId());
         verify(cinemaHallService).getCinemaHallOrThrow(hall.getId());
-        verify(screeningRepository).existsTimeConflict(eq(hall.getId()), any(), any());
-        verify(screeningRepository).save(any(Screening.class));
+        verify(screeningRepository).saveAndFlush(any(Screening.class));
+        verify(screeningSeatRepository).createInventory(screening.getId(), hall.getId());
+        verify(seatCounters).register(screening.getId(), screening.getSeatsAvailable());
+        verify(scheduleIndex).putAfterCommit(result);
     }
 
     @Test
@@ -227,13 +328,197 @@ class ScreeningServiceTest {
     void shouldThrowWhenTimeConflict() {
         given(movieService.getMovieOrThrow(movie.getId())).willReturn(movie);
         given(cinemaHallService.getCinemaHallOrThrow(hall.getId())).willReturn(hall);
-        given(screeningRepository.existsTimeConflict(anyLong(), any(), any())).willReturn(true);
+        given(screeningRepository.saveAndFlush(any(Screening.class))).willThrow(new DataIntegrityViolationException(
+                "could not execute statement", new SQLException("conflicting key value violates exclusion constraint", "23P01")));
 
         assertThatThrownBy(() -> screeningService.createScreening(request))
                 .isInstanceOf(ScreeningTimeConflictException.class);
 
-        verify(screeningRepository).existsTimeConflict(anyLong(), any(), any());
-        verify(screeningRepository, never()).save(any());
+        verifyNoInteractions(screeningSeatRepository, seatCounters, scheduleIndex);
+    }
+
+    @Test
+    @DisplayName("should rethrow other integrity violations unchanged")
+    void shouldRethrowOtherIntegrityViolations() {
+        given(movieService.getMovieOrThrow(movie.getId())).willReturn(movie);
+        given(cinemaHallService.getCinemaHallOrThrow(hall.getId())).willReturn(hall);
+        given(screeningRepository.saveAndFlush(any(Screening.class))).willThrow(new DataIntegrityViolationException(
+                "could not execute statement", new SQLException("violates foreign key constraint", "23503")));
+
+        assertThatThrownBy(() -> screeningService.createScreening(request))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    // -------------------------------------------------------
+    // BULK CREATE
+    // -------------------------------------------------------
+
+    @Test
+    @DisplayName("should create valid screenings of batch and report rejected items")
+    void shouldCreateScreeningsInBulk() {
+        LocalDateTime start = request.getStartTime();
+        given(movieService.getMoviesById(Set.of(movie.getId(), 99L))).willReturn(Map.of(movie.getId(), movie));
+        given(cinemaHallService.getCinemaHallsById(Set.of(hall.getId()))).willReturn(Map.of(hall.getId(), hall));
+        given(screeningJdbcRepository.findScheduledSlots(Set.of(hall.getId()), start, start.plusHours(3).plusMinutes(148)))
+                .willReturn(List.of());
+        willAnswer(invocation -> {
+            List<Screening> screenings = invocation.getArgument(0);
+            for (int i = 0; i < screenings.size(); i++) {
+                screenings.get(i).setId(100L + i);
+            }
+            return null;
+        }).given(screeningJdbcRepository).insertScreenings(anyList());
+
+        BulkCreateScreeningsResponse result = screeningService.createScreenings(new BulkCreateScreeningsRequest(List.of(
+                bulkItem(movie.getId(), start),
+                bulkItem(99L, start),
+                bulkItem(movie.getId(), start.plusMinutes(30)),
+                bulkItem(movie.getId(), start.plusHours(3))
+        )));
+
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(2);
+        assertThat(result.getResults()).extracting(BulkScreeningResultResponse::getStatus).containsExactly(
+                BulkScreeningStatus.CREATED,
+                BulkScreeningStatus.MOVIE_NOT_FOUND,
+                BulkScreeningStatus.CONFLICTS_WITH_BATCH,
+                BulkScreeningStatus.CREATED);
+        assertThat(result.getResults().get(3).getScreening().getId()).isEqualTo(101L);
+        assertThat(result.getResults().get(1).getScreening()).isNull();
+
+        verify(screeningJdbcRepository).createInventories(List.of(100L, 101L));
+        verify(seatCounters).register(100L, 200);
+        verify(seatCounters).register(101L, 200);
+        verify(scheduleIndex).putAllAfterCommit(List.of(result.getResults().get(0).getScreening(),
+                result.getResults().get(3).getScreening()));
+        verifyNoInteractions(screeningRepository);
+    }
+
+    @Test
+    @DisplayName("should not insert anything when every batch item is rejected")
+    void shouldSkipInsertWhenAllItemsRejected() {
+        given(movieService.getMoviesById(any())).willReturn(Map.of());
+        given(cinemaHallService.getCinemaHallsById(any())).willReturn(Map.of(hall.getId(), hall));
+
+        BulkCreateScreeningsResponse result = screeningService.createScreenings(
+                new BulkCreateScreeningsRequest(List.of(bulkItem(movie.getId(), request.getStartTime()))));
+
+        assertThat(result.getCreated()).isZero();
+        assertThat(result.getResults().getFirst().getStatus()).isEqualTo(BulkScreeningStatus.MOVIE_NOT_FOUND);
+        verifyNoInteractions(screeningJdbcRepository, seatCounters, scheduleIndex);
+    }
+
+    @Test
+    @DisplayName("should fail whole batch when a concurrent create takes one of its slots")
+    void shouldFailBatchOnConcurrentConflict() {
+        given(movieService.getMoviesById(any())).willReturn(Map.of(movie.getId(), movie));
+        given(cinemaHallService.getCinemaHallsById(any())).willReturn(Map.of(hall.getId(), hall));
+        given(screeningJdbcRepository.findScheduledSlots(any(), any(), any())).willReturn(List.of());
+        willThrow(new DataIntegrityViolationException("batch failed",
+                new SQLException("conflicting key value violates exclusion constraint", "23P01")))
+                .given(screeningJdbcRepository).insertScreenings(anyList());
+
+        assertThatThrownBy(() -> screeningService.createScreenings(
+                new BulkCreateScreeningsRequest(List.of(bulkItem(movie.getId(), request.getStartTime())))))
+                .isInstanceOf(ScreeningScheduleChangedException.class);
+
+        verify(screeningJdbcRepository, never()).createInventories(any());
+        verifyNoInteractions(seatCounters, scheduleIndex);
+    }
+
+    private CreateScreeningRequest bulkItem(Long movieId, LocalDateTime startTime) {
+        return CreateScreeningRequest.builder()
+                .movieId(movieId)
+                .cinemaHallId(hall.getId())
+                .startTime(startTime)
+                .price(BigDecimal.valueOf(25))
+                .build();
+    }
+
+    // -------------------------------------------------------
+    // CLONE
+    // -------------------------------------------------------
+
+    @Test
+    @DisplayName("should clone schedule window shifted to target date")
+    void shouldCloneSchedule() {
+        LocalDateTime from = LocalDateTime.of(2040, 1, 1, 0, 0);
+        CloneScheduleRequest cloneRequest = CloneScheduleRequest.builder()
+                .from(from)
+                .to(from.plusDays(7))
+                .targetFrom(from.plusDays(7))
+                .cinemaHallId(hall.getId())
+                .build();
+        given(screeningJdbcRepository.cloneScreenings(from, from.plusDays(7), Duration.ofDays(7), hall.getId(), null))
+                .willReturn(new ClonedSchedule(3, Map.of(100L, 200, 101L, 200)));
+
+        CloneScheduleResponse result = screeningService.cloneSchedule(cloneRequest);
+
+        assertThat(result.getMatched()).isEqualTo(3);
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getSkipped()).isEqualTo(1);
+
+        verify(seatCounters).register(100L, 200);
+        verify(seatCounters).register(101L, 200);
+        verify(scheduleIndex).refreshAfterCommit();
+    }
+
+    @Test
+    @DisplayName("should not refresh schedule index when nothing was cloned")
+    void shouldSkipRefreshWhenNothingCloned() {
+        LocalDateTime from = LocalDateTime.of(2040, 1, 1, 0, 0);
+        given(screeningJdbcRepository.cloneScreenings(any(), any(), any(), any(), any()))
+                .willReturn(new ClonedSchedule(0, Map.of()));
+
+        CloneScheduleResponse result = screeningService.cloneSchedule(CloneScheduleRequest.builder()
+                .from(from)
+                .to(from.plusDays(1))
+                .targetFrom(from.plusDays(7))
+                .build());
+
+        assertThat(result.getMatched()).isZero();
+        verifyNoInteractions(seatCounters, scheduleIndex);
+    }
+
+    // -------------------------------------------------------
+    // SEAT MAP
+    // -------------------------------------------------------
+
+    @Test
+    @DisplayName("should return seat map of screening from availability cache")
+    void shouldReturnScreeningSeats() {
+        SeatAvailabilityBitmap bitmap = new SeatAvailabilityBitmap(2, 3);
+        bitmap.tryReserve(1, 2);
+        given(seatAvailabilityCache.getOrLoad(ID)).willReturn(bitmap);
+
+        List<ScreeningSeatResponse> result = screeningService.getScreeningSeats(ID);
+
+        assertThat(result).hasSize(6);
+        assertThat(result.get(1).getRowNumber()).isEqualTo(1);
+        assertThat(result.get(1).getSeatNumber()).isEqualTo(2);
+        assertThat(result.get(1).getStatus()).isEqualTo(SeatStatus.BOOKED);
+        assertThat(result).filteredOn(seat -> seat.getStatus() == SeatStatus.AVAILABLE).hasSize(5);
+
+        verifyNoInteractions(screeningRepository, screeningSeatRepository);
+    }
+
+    @Test
+    @DisplayName("should return single seat availability")
+    void shouldReturnScreeningSeat() {
+        given(seatAvailabilityCache.getOrLoad(ID)).willReturn(new SeatAvailabilityBitmap(2, 3));
+
+        ScreeningSeatResponse result = screeningService.getScreeningSeat(ID, 2, 3);
+
+        assertThat(result.getStatus()).isEqualTo(SeatStatus.AVAILABLE);
+    }
+
+    @Test
+    @DisplayName("should throw exception when seat is outside of hall layout")
+    void shouldThrowWhenSeatOutsideLayout() {
+        given(seatAvailabilityCache.getOrLoad(ID)).willReturn(new SeatAvailabilityBitmap(2, 3));
+
+        assertThatThrownBy(() -> screeningService.getScreeningSeat(ID, 3, 1))
+                .isInstanceOf(SeatNotFoundException.class);
     }
 
     // -------------------------------------------------------
@@ -241,14 +526,26 @@ class ScreeningServiceTest {
     // -------------------------------------------------------
 
     @Test
-    @DisplayName("should delete screening when exists")
+    @DisplayName("should delete screening when exists and drop its in-memory state after commit")
     void shouldDeleteScreening() {
         given(screeningRepository.findById(ID)).willReturn(Optional.of(screening));
-
-        screeningService.deleteScreening(ID);
-
-        verify(screeningRepository).findById(ID);
-        verify(screeningRepository).delete(screening);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            screeningService.deleteScreening(ID);
+
+            verify(screeningRepository).findById(ID);
+            verify(screeningRepository).delete(screening);
+            verify(scheduleIndex).removeAfterCommit(ID);
+            verifyNoInteractions(seatAvailabilityCache, seatMapStreamService, seatCounters);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(seatAvailabilityCache).evict(ID);
+        verify(seatMapStreamService).closeStreams(ID);
+        verify(seatCounters).remove(ID);
     }
 
     @Test
@@ -263,4 +560,12 @@ class ScreeningServiceTest {
         verify(screeningRepository, never()).delete(any());
     }
 
+    private static ScreeningView view(Screening screening) {
+        Movie movie = screening.getMovie();
+        CinemaHall hall = screening.getCinemaHall();
+        return new ScreeningView(screening.getId(), movie.getId(), movie.getTitle(), movie.getGenre(),
+                movie.getDurationMinutes(), hall.getId(), hall.getName(), hall.getRows(), hall.getSeatsPerRow(),
+                screening.getStartTime(), screening.getEndTime(), screening.getPrice(), screening.getSeatsAvailable());
+    }
+
 }
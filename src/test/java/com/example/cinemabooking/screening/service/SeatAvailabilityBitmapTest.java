@@ -0,0 +1,136 @@
+package com.example.cinemabooking.screening.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SeatAvailabilityBitmapTest {
+
+    @Test
+    @DisplayName("should start with all seats available")
+    void shouldStartEmpty() {
+        SeatAvailabilityBitmap bitmap = new SeatAvailabilityBitmap(10, 20);
+
+        assertThat(bitmap.availableCount()).isEqualTo(200);
+        assertThat(bitmap.isAvailable(10, 20)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should reserve seat only once and release it again")
+    void shouldReserveAndRelease() {
+        SeatAvailabilityBitmap bitmap = new SeatAvailabilityBitmap(5, 13);
+
+        assertThat(bitmap.tryReserve(5, 13)).isTrue();
+        assertThat(bitmap.tryReserve(5, 13)).isFalse();
+        assertThat(bitmap.isAvailable(5, 13)).isFalse();
+        assertThat(bitmap.availableCount()).isEqualTo(64);
+
+        assertThat(bitmap.release(5, 13)).isTrue();
+        assertThat(bitmap.release(5, 13)).isFalse();
+        assertThat(bitmap.isAvailable(5, 13)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should bump row version only on effective changes")
+    void shouldTrackRowVersions() {
+        SeatAvailabilityBitmap bitmap = new SeatAvailabilityBitmap(3, 4);
+
+        bitmap.tryReserve(2, 1);
+        bitmap.tryReserve(2, 1);
+        bitmap.release(2, 1);
+
+        assertThat(bitmap.rowVersion(1)).isZero();
+        assertThat(bitmap.rowVersion(2)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("should notify change listener only on effective changes")
+    void shouldNotifyChangeListener() {
+        SeatAvailabilityBitmap bitmap = new SeatAvailabilityBitmap(3, 4);
+        List<String> changes = new ArrayList<>();
+        bitmap.setChangeListener((row, seat) -> changes.add(row + "/" + seat));
+
+        bitmap.tryReserve(2, 3);
+        bitmap.tryReserve(2, 3);
+        bitmap.release(2, 3);
+        bitmap.release(2, 3);
+
+        assertThat(changes).containsExactly("2/3", "2/3");
+    }
+
+    @Test
+    @DisplayName("should encode taken seats as little-endian bitset")
+    void shouldEncodeTakenSeats() {
+        SeatAvailabilityBitmap bitmap = new SeatAvailabilityBitmap(2, 5);
+
+        bitmap.tryReserve(1, 1);
+        bitmap.tryReserve(2, 5);
+
+        assertThat(bitmap.toByteArray()).containsExactly(0b0000_0001, 0b0000_0010);
+    }
+
+    @Test
+    @DisplayName("should rebuild bitmap from its encoded taken seats")
+    void shouldDecodeTakenSeats() {
+        SeatAvailabilityBitmap bitmap = new SeatAvailabilityBitmap(8, 12);
+        bitmap.tryReserve(1, 1);
+        bitmap.tryReserve(6, 7);
+        bitmap.tryReserve(8, 12);
+
+        SeatAvailabilityBitmap decoded = SeatAvailabilityBitmap.fromByteArray(8, 12, bitmap.toByteArray());
+
+        assertThat(decoded.availableCount()).isEqualTo(93);
+        assertThat(decoded.isAvailable(6, 7)).isFalse();
+        assertThat(decoded.isAvailable(8, 12)).isFalse();
+        assertThat(decoded.isAvailable(6, 8)).isTrue();
+    }
+
+    @Test
+    @DisplayName("should reject seats outside of hall layout")
+    void shouldRejectSeatsOutsideLayout() {
+        SeatAvailabilityBitmap bitmap = new SeatAvailabilityBitmap(2, 3);
+
+        assertThat(bitmap.contains(0, 1)).isFalse();
+        assertThat(bitmap.contains(2, 4)).isFalse();
+        assertThatThrownBy(() -> bitmap.tryReserve(3, 1))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    @DisplayName("should let exactly one thread win each seat under contention")
+    void shouldGrantEachSeatOnceUnderContention() throws Exception {
+        SeatAvailabilityBitmap bitmap = new SeatAvailabilityBitmap(8, 16);
+        AtomicInteger wins = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int row = 1; row <= 8; row++) {
+                        for (int seat = 1; seat <= 16; seat++) {
+                            if (bitmap.tryReserve(row, seat)) {
+                                wins.incrementAndGet();
+                            }
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertThat(wins.get()).isEqualTo(8 * 16);
+        assertThat(bitmap.availableCount()).isZero();
+    }
+
+}
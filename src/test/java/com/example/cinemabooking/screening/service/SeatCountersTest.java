@@ -0,0 +1,132 @@
+package com.example.cinemabooking.screening.service;
+
+import com.example.cinemabooking.screening.entity.Screening;
+import com.example.cinemabooking.screening.repository.ScreeningJdbcRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SeatCountersTest {
+
+    private static final long SCREENING_ID = 1L;
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+    @Mock
+    private ScreeningJdbcRepository screeningJdbcRepository;
+
+    private SeatCounters seatCounters;
+
+    @BeforeEach
+    void setUp() {
+        seatCounters = new SeatCounters(screeningJdbcRepository, new SeatCountProperties(Duration.ofHours(1)),
+                Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        seatCounters.stop();
+    }
+
+    @Test
+    @DisplayName("should rebuild the counters of screenings that have not ended on startup")
+    void shouldRebuildOnStartup() {
+        given(screeningJdbcRepository.findSeatsAvailable(NOW)).willReturn(Map.of(SCREENING_ID, 40));
+
+        seatCounters.afterSingletonsInstantiated();
+
+        verify(screeningJdbcRepository).recountSeatsAvailable(NOW);
+        assertThat(seatCounters.getAvailableSeats(screening(0))).isEqualTo(40);
+    }
+
+    @Test
+    @DisplayName("should fall back to flushed column for unknown screening")
+    void shouldFallBackToColumn() {
+        assertThat(seatCounters.getAvailableSeats(screening(17))).isEqualTo(17);
+    }
+
+    @Test
+    @DisplayName("should flush the changes of changed counters as deltas")
+    void shouldFlushChangedCounters() {
+        seatCounters.register(SCREENING_ID, 50);
+        seatCounters.register(2L, 30);
+
+        seatCounters.adjust(SCREENING_ID, -3);
+        seatCounters.adjust(SCREENING_ID, 1);
+        seatCounters.flush();
+        seatCounters.flush();
+
+        verify(screeningJdbcRepository).addSeatsAvailable(Map.of(SCREENING_ID, -2));
+    }
+
+    @Test
+    @DisplayName("should skip counters whose changes cancel out")
+    void shouldSkipCancelledOutChanges() {
+        seatCounters.register(SCREENING_ID, 50);
+
+        seatCounters.adjust(SCREENING_ID, -2);
+        seatCounters.adjust(SCREENING_ID, 2);
+        seatCounters.flush();
+
+        verify(screeningJdbcRepository, never()).addSeatsAvailable(any());
+    }
+
+    @Test
+    @DisplayName("should keep deltas when flushing fails")
+    void shouldRetryFailedFlush() {
+        seatCounters.register(SCREENING_ID, 50);
+        seatCounters.adjust(SCREENING_ID, -1);
+        willThrow(new IllegalStateException("database down")).given(screeningJdbcRepository).addSeatsAvailable(Map.of(SCREENING_ID, -1));
+
+        seatCounters.flush();
+        seatCounters.adjust(SCREENING_ID, -1);
+        seatCounters.flush();
+        seatCounters.flush();
+
+        verify(screeningJdbcRepository).addSeatsAvailable(Map.of(SCREENING_ID, -1));
+        verify(screeningJdbcRepository).addSeatsAvailable(Map.of(SCREENING_ID, -2));
+        assertThat(seatCounters.getAvailableSeats(screening(0))).isEqualTo(48);
+    }
+
+    @Test
+    @DisplayName("should apply transactional adjustment only after commit")
+    void shouldAdjustAfterCommit() {
+        seatCounters.register(SCREENING_ID, 50);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            seatCounters.adjustAfterCommit(SCREENING_ID, -2);
+            assertThat(seatCounters.getAvailableSeats(screening(0))).isEqualTo(50);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(seatCounters.getAvailableSeats(screening(0))).isEqualTo(48);
+        verify(screeningJdbcRepository, never()).addSeatsAvailable(any());
+    }
+
+    private static Screening screening(int seatsAvailable) {
+        return Screening.builder().id(SCREENING_ID).seatsAvailable(seatsAvailable).build();
+    }
+
+}
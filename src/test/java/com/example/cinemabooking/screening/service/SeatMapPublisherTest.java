@@ -0,0 +1,173 @@
+package com.example.cinemabooking.screening.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class SeatMapPublisherTest {
+
+    private static final long SCREENING_ID = 1L;
+
+    private final SeatAvailabilityBitmap bitmap = new SeatAvailabilityBitmap(3, 4);
+    private final List<SeatMapPublisher.Subscriber> closed = new CopyOnWriteArrayList<>();
+    private SeatMapPublisher publisher;
+
+    @AfterEach
+    void tearDown() {
+        publisher.close();
+    }
+
+    @Test
+    @DisplayName("should send snapshot first and then deltas with current seat state")
+    void shouldSendSnapshotThenDeltas() {
+        publisher = start(new SeatMapStreamProperties(Duration.ofMinutes(1), 8, Duration.ofMillis(10)));
+        RecordingEmitter emitter = new RecordingEmitter();
+        publisher.subscribe(emitter);
+        await().until(() -> !emitter.events.isEmpty());
+
+        bitmap.tryReserve(2, 3);
+
+        await().untilAsserted(() -> assertThat(emitter.events).hasSize(2));
+        assertThat(emitter.events.get(0)).contains("\"rows\":3", "\"seatsPerRow\":4", "\"taken\":\"\"");
+        assertThat(emitter.events.get(1)).contains("\"rowNumber\":2", "\"seatNumber\":3", "\"status\":\"BOOKED\"");
+    }
+
+    @Test
+    @DisplayName("should coalesce changes made between two deltas")
+    void shouldCoalesceChanges() {
+        publisher = start(new SeatMapStreamProperties(Duration.ofMinutes(1), 8, Duration.ofMillis(500)));
+        RecordingEmitter emitter = new RecordingEmitter();
+        publisher.subscribe(emitter);
+        await().until(() -> !emitter.events.isEmpty());
+        bitmap.tryReserve(3, 4);
+        await().untilAsserted(() -> assertThat(emitter.events).hasSize(2));
+
+        bitmap.tryReserve(1, 1);
+        bitmap.release(1, 1);
+        bitmap.tryReserve(1, 2);
+
+        await().untilAsserted(() -> assertThat(emitter.events).hasSize(3));
+        assertThat(emitter.events.get(2))
+                .contains("{\"rowNumber\":1,\"seatNumber\":1,\"status\":\"AVAILABLE\"}")
+                .contains("{\"rowNumber\":1,\"seatNumber\":2,\"status\":\"BOOKED\"}");
+    }
+
+    @Test
+    @DisplayName("should resynchronize slow subscriber with a snapshot instead of buffering deltas")
+    void shouldResyncSlowSubscriber() {
+        publisher = start(new SeatMapStreamProperties(Duration.ofMinutes(1), 1, Duration.ofMillis(5)));
+        CountDownLatch unblock = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(unblock);
+        publisher.subscribe(slow);
+        await().until(() -> slow.attempts > 0);
+
+        for (int seat = 1; seat <= 4; seat++) {
+            bitmap.tryReserve(3, seat);
+            awaitDispatch();
+        }
+        unblock.countDown();
+
+        await().untilAsserted(() -> assertThat(slow.events.getLast()).contains("\"taken\":\"AA8=\""));
+        assertThat(slow.events).hasSizeLessThan(5);
+    }
+
+    @Test
+    @DisplayName("should report subscriber as closed once its emitter completes")
+    void shouldReportClosedSubscriber() {
+        publisher = start(new SeatMapStreamProperties(Duration.ofMinutes(1), 8, Duration.ofMillis(10)));
+        RecordingEmitter emitter = new RecordingEmitter();
+        SeatMapPublisher.Subscriber subscriber = publisher.subscribe(emitter);
+        await().until(() -> !emitter.events.isEmpty());
+
+        emitter.fail();
+        bitmap.tryReserve(1, 1);
+
+        await().untilAsserted(() -> assertThat(closed).containsExactly(subscriber));
+    }
+
+    @Test
+    @DisplayName("should resynchronize subscribers and follow the replacement when the bitmap is replaced")
+    void shouldFollowReplacedBitmap() {
+        publisher = start(new SeatMapStreamProperties(Duration.ofMinutes(1), 8, Duration.ofMillis(10)));
+        RecordingEmitter emitter = new RecordingEmitter();
+        publisher.subscribe(emitter);
+        await().until(() -> !emitter.events.isEmpty());
+        SeatAvailabilityBitmap reloaded = new SeatAvailabilityBitmap(3, 4);
+        reloaded.tryReserve(1, 1);
+
+        publisher.rebind(reloaded);
+        await().untilAsserted(() -> assertThat(emitter.events).hasSize(2));
+        bitmap.tryReserve(2, 2);
+        reloaded.tryReserve(3, 3);
+
+        await().untilAsserted(() -> assertThat(emitter.events).hasSize(3));
+        assertThat(emitter.events.get(1)).contains("\"taken\":\"AQ==\"");
+        assertThat(emitter.events.get(2)).contains("\"rowNumber\":3", "\"seatNumber\":3")
+                .doesNotContain("\"rowNumber\":2");
+    }
+
+    private SeatMapPublisher start(SeatMapStreamProperties properties) {
+        return new SeatMapPublisher(SCREENING_ID, bitmap, new ObjectMapper(), properties, closed::add).start();
+    }
+
+    private static void awaitDispatch() {
+        try {
+            Thread.sleep(30);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Captures event payloads; optionally blocks the first send to simulate a slow client.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch unblock;
+        private volatile int attempts;
+        private volatile boolean failing;
+
+        private RecordingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        private RecordingEmitter(CountDownLatch unblock) {
+            this.unblock = unblock;
+        }
+
+        private void fail() {
+            failing = true;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            attempts++;
+            if (failing) {
+                throw new IOException("client went away");
+            }
+            try {
+                unblock.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.add(builder.build().stream()
+                    .map(part -> part.getData().toString())
+                    .collect(Collectors.joining()));
+        }
+
+    }
+
+}
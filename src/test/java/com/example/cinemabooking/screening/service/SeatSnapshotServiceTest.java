@@ -0,0 +1,117 @@
+package com.example.cinemabooking.screening.service;
+
+import com.example.cinemabooking.screening.repository.ScreeningJdbcRepository;
+import com.example.cinemabooking.screening.repository.ScreeningLayout;
+import com.example.cinemabooking.screening.repository.ScreeningRepository;
+import com.example.cinemabooking.screening.repository.ScreeningSeatRepository;
+import com.example.cinemabooking.screening.repository.SeatStatusChange;
+import com.example.cinemabooking.screening.snapshot.SeatSnapshot;
+import com.example.cinemabooking.screening.snapshot.SeatSnapshotProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatSnapshotServiceTest {
+
+    private static final LocalDateTime TAKEN_AT = LocalDateTime.of(2030, 1, 1, 10, 0);
+    private static final UUID SCREENING_UUID = UUID.randomUUID();
+
+    @Mock
+    private ScreeningJdbcRepository screeningJdbcRepository;
+
+    @Mock
+    private ScreeningRepository screeningRepository;
+
+    @Mock
+    private ScreeningSeatRepository screeningSeatRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path dir;
+
+    private SeatAvailabilityCache cache;
+    private SeatSnapshotService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        cache = new SeatAvailabilityCache(screeningRepository, screeningSeatRepository);
+        SeatSnapshotProperties properties = new SeatSnapshotProperties(true, dir.resolve("seats.bin"),
+                Duration.ofMinutes(1), Duration.ofHours(6), Duration.ofMinutes(1));
+        service = new SeatSnapshotService(screeningJdbcRepository, cache, properties, transactionManager);
+
+        SeatAvailabilityBitmap bitmap = new SeatAvailabilityBitmap(3, 4);
+        bitmap.tryReserve(1, 1);
+        bitmap.tryReserve(2, 2);
+        given(screeningJdbcRepository.currentTimestamp()).willReturn(TAKEN_AT);
+        given(screeningJdbcRepository.findSeatStates(TAKEN_AT)).willReturn(List.of(
+                new SeatSnapshot.ScreeningSeats(1L, SCREENING_UUID, 3, 4, bitmap.toByteArray()),
+                new SeatSnapshot.ScreeningSeats(2L, UUID.randomUUID(), 3, 4, new byte[0])));
+        service.writeSnapshot();
+    }
+
+    @Test
+    @DisplayName("should restore snapshot and re-apply seat changes made after it")
+    void shouldRestoreAndReconcile() throws IOException {
+        given(screeningJdbcRepository.currentTimestamp()).willReturn(TAKEN_AT.plusSeconds(30));
+        given(screeningJdbcRepository.findLayouts(List.of(1L, 2L)))
+                .willReturn(Map.of(1L, new ScreeningLayout(1L, SCREENING_UUID, 3, 4)));
+        given(screeningJdbcRepository.findSeatStatusChanges(TAKEN_AT.minusMinutes(1), Set.of(1L))).willReturn(List.of(
+                new SeatStatusChange(1L, 1, 1, false),
+                new SeatStatusChange(1L, 3, 4, true)));
+
+        int restored = service.restore();
+
+        assertThat(restored).isEqualTo(1);
+        SeatAvailabilityBitmap bitmap = cache.find(1L).orElseThrow();
+        assertThat(bitmap.isAvailable(1, 1)).isTrue();
+        assertThat(bitmap.isAvailable(2, 2)).isFalse();
+        assertThat(bitmap.isAvailable(3, 4)).isFalse();
+        assertThat(cache.find(2L)).isEmpty();
+        verifyNoInteractions(screeningSeatRepository);
+    }
+
+    @Test
+    @DisplayName("should skip screenings that were re-created or moved to another hall")
+    void shouldSkipChangedScreenings() throws IOException {
+        given(screeningJdbcRepository.currentTimestamp()).willReturn(TAKEN_AT.plusSeconds(30));
+        given(screeningJdbcRepository.findLayouts(List.of(1L, 2L))).willReturn(Map.of(
+                1L, new ScreeningLayout(1L, SCREENING_UUID, 5, 4),
+                2L, new ScreeningLayout(2L, UUID.randomUUID(), 3, 4)));
+
+        assertThat(service.restore()).isZero();
+
+        assertThat(cache.find(1L)).isEmpty();
+        assertThat(cache.find(2L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should ignore a snapshot older than the maximum age")
+    void shouldIgnoreStaleSnapshot() throws IOException {
+        given(screeningJdbcRepository.currentTimestamp()).willReturn(TAKEN_AT.plusHours(7));
+
+        assertThat(service.restore()).isZero();
+
+        verify(screeningJdbcRepository, never()).findLayouts(any());
+    }
+
+}
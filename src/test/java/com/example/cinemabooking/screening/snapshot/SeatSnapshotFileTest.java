@@ -0,0 +1,84 @@
+package com.example.cinemabooking.screening.snapshot;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SeatSnapshotFileTest {
+
+    private static final LocalDateTime TAKEN_AT = LocalDateTime.of(2030, 1, 1, 10, 0, 0, 123_000_000);
+
+    @TempDir
+    private Path dir;
+
+    private static SeatSnapshot snapshot(byte[]... taken) {
+        List<SeatSnapshot.ScreeningSeats> screenings = new ArrayList<>();
+        for (int i = 0; i < taken.length; i++) {
+            screenings.add(new SeatSnapshot.ScreeningSeats(i + 1, UUID.randomUUID(), 10, 20, taken[i]));
+        }
+        return new SeatSnapshot(TAKEN_AT, screenings);
+    }
+
+    @Test
+    @DisplayName("should read back the snapshot it wrote")
+    void shouldRoundTrip() throws IOException {
+        Path file = dir.resolve("seats.bin");
+        SeatSnapshot written = snapshot(new byte[]{1, 2, 3}, new byte[0]);
+
+        SeatSnapshotFile.write(file, written);
+        SeatSnapshot read = SeatSnapshotFile.read(file).orElseThrow();
+
+        assertThat(read.takenAt()).isEqualTo(TAKEN_AT);
+        assertThat(read.screenings()).hasSize(2);
+        assertThat(read.screenings().get(0).screeningUuid()).isEqualTo(written.screenings().get(0).screeningUuid());
+        assertThat(read.screenings().get(0).taken()).containsExactly(1, 2, 3);
+        assertThat(read.screenings().get(1).taken()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should replace the previous snapshot without leaving temporary files behind")
+    void shouldReplaceSnapshot() throws IOException {
+        Path file = dir.resolve("seats.bin");
+
+        SeatSnapshotFile.write(file, snapshot(new byte[]{1}));
+        SeatSnapshotFile.write(file, snapshot(new byte[]{7}, new byte[]{8}));
+
+        assertThat(SeatSnapshotFile.read(file).orElseThrow().screenings()).hasSize(2);
+        try (var files = Files.list(dir)) {
+            assertThat(files).containsExactly(file);
+        }
+    }
+
+    @Test
+    @DisplayName("should report no snapshot when the file is missing")
+    void shouldIgnoreMissingFile() throws IOException {
+        assertThat(SeatSnapshotFile.read(dir.resolve("missing.bin"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("should report no snapshot when the file is corrupted")
+    void shouldIgnoreCorruptedFile() throws IOException {
+        Path file = dir.resolve("seats.bin");
+        SeatSnapshotFile.write(file, snapshot(new byte[]{1, 2, 3}));
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(30);
+            int original = raf.read();
+            raf.seek(30);
+            raf.write(~original);
+        }
+
+        assertThat(SeatSnapshotFile.read(file)).isEmpty();
+    }
+
+}
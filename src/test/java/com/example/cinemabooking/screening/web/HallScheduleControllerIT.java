@@ -0,0 +1,169 @@
+package com.example.cinemabooking.screening.web;
+
+import com.example.cinemabooking.BaseIT;
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.hall.repository.CinemaHallRepository;
+import com.example.cinemabooking.movie.entity.AgeRating;
+import com.example.cinemabooking.movie.entity.Movie;
+import com.example.cinemabooking.movie.repository.MovieRepository;
+import com.example.cinemabooking.screening.entity.Screening;
+import com.example.cinemabooking.screening.repository.ScreeningRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@AutoConfigureMockMvc
+@SpringBootTest
+class HallScheduleControllerIT extends BaseIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private CinemaHallRepository hallRepository;
+
+    @Autowired
+    private ScreeningRepository screeningRepository;
+
+    private Movie movie;
+    private CinemaHall hall;
+    private CinemaHall smallHall;
+
+    @BeforeEach
+    void setUp() {
+        movie = movieRepository.save(
+                Movie.builder()
+                        .title("Inception")
+                        .description("Dreams")
+                        .genre("Sci-Fi")
+                        .durationMinutes(148)
+                        .releaseDate(LocalDate.of(2010, 7, 16))
+                        .ageRating(AgeRating.AGE_12)
+                        .build()
+        );
+
+        hall = hallRepository.save(
+                CinemaHall.builder()
+                        .name("Sala 1")
+                        .rows(10)
+                        .seatsPerRow(20)
+                        .build()
+        );
+
+        smallHall = hallRepository.save(
+                CinemaHall.builder()
+                        .name("Sala 2")
+                        .rows(5)
+                        .seatsPerRow(10)
+                        .build()
+        );
+
+        screeningRepository.save(
+                Screening.builder()
+                        .movie(movie)
+                        .cinemaHall(hall)
+                        .startTime(LocalDateTime.of(2040, 1, 1, 14, 0))
+                        .endTime(LocalDateTime.of(2040, 1, 1, 16, 28))
+                        .price(BigDecimal.valueOf(25))
+                        .build()
+        );
+    }
+
+    // ============================================================
+    // GET FREE SLOTS
+    // ============================================================
+
+    @Test
+    @DisplayName("GET /api/halls/{id}/free-slots should return gaps around existing screenings")
+    void shouldReturnFreeSlots() throws Exception {
+        mockMvc.perform(get("/api/halls/" + hall.getId() + "/free-slots")
+                        .param("movieId", movie.getId().toString())
+                        .param("from", "2040-01-01T10:00:00")
+                        .param("to", "2040-01-02T00:00:00")
+                        .param("turnaroundMinutes", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].earliestStart").value("2040-01-01T10:00:00"))
+                .andExpect(jsonPath("$[0].latestStart").value("2040-01-01T11:00:00"))
+                .andExpect(jsonPath("$[1].earliestStart").value("2040-01-01T17:00:00"))
+                .andExpect(jsonPath("$[1].latestStart").value("2040-01-01T21:30:00"));
+    }
+
+    // ============================================================
+    // GET AVAILABLE HALLS
+    // ============================================================
+
+    @Test
+    @DisplayName("GET /api/halls/available should return halls without overlapping screening")
+    void shouldReturnAvailableHalls() throws Exception {
+        mockMvc.perform(get("/api/halls/available")
+                        .param("from", "2040-01-01T16:00:00")
+                        .param("to", "2040-01-01T18:30:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", hasItem("Sala 2")))
+                .andExpect(jsonPath("$[*].name", not(hasItem("Sala 1"))));
+
+        mockMvc.perform(get("/api/halls/available")
+                        .param("from", "2040-01-01T16:28:00")
+                        .param("to", "2040-01-01T18:30:00"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", hasItems("Sala 1", "Sala 2")));
+    }
+
+    @Test
+    @DisplayName("GET /api/halls/available should filter by minimum capacity")
+    void shouldFilterAvailableHallsByCapacity() throws Exception {
+        mockMvc.perform(get("/api/halls/available")
+                        .param("from", "2040-01-02T20:00:00")
+                        .param("to", "2040-01-02T22:30:00")
+                        .param("minCapacity", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == %d)].capacity".formatted(hall.getId())).value(200))
+                .andExpect(jsonPath("$[*].id", not(hasItem(smallHall.getId().intValue()))));
+    }
+
+    // ============================================================
+    // VALIDATION
+    // ============================================================
+
+    @Test
+    @DisplayName("GET /api/halls/{id}/free-slots should return 400 when window is empty")
+    void shouldReturn400ForEmptyWindow() throws Exception {
+        mockMvc.perform(get("/api/halls/" + hall.getId() + "/free-slots")
+                        .param("movieId", movie.getId().toString())
+                        .param("from", "2040-01-02T00:00:00")
+                        .param("to", "2040-01-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/halls/{id}/free-slots should return 404 when hall not found")
+    void shouldReturn404WhenHallNotFound() throws Exception {
+        mockMvc.perform(get("/api/halls/99999/free-slots")
+                        .param("movieId", movie.getId().toString())
+                        .param("from", "2040-01-01T10:00:00")
+                        .param("to", "2040-01-02T00:00:00"))
+                .andExpect(status().isNotFound());
+    }
+
+}
@@ -8,6 +8,8 @@ import com.example.cinemabooking.movie.entity.Movie;
 import com.example.cinemabooking.movie.repository.MovieRepository;
 import com.example.cinemabooking.screening.entity.Screening;
 import com.example.cinemabooking.screening.repository.ScreeningRepository;
+import com.example.cinemabooking.screening.service.ScheduleIndex;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,6 +18,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
@@ -23,8 +26,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @Transactional
@@ -46,6 +52,9 @@ class ScreeningControllerIT extends BaseIT {
     @Autowired
     private ScreeningRepository screeningRepository;
 
+    @Autowired
+    private ScheduleIndex scheduleIndex;
+
     private Movie movie;
     private CinemaHall hall;
     private Screening screening;
@@ -80,6 +89,7 @@ class ScreeningControllerIT extends BaseIT {
                         .price(BigDecimal.valueOf(25))
                         .build()
         );
+        scheduleIndex.refresh();
     }
 
     // ============================================================
@@ -94,6 +104,69 @@ class ScreeningControllerIT extends BaseIT {
                 .andExpect(jsonPath("$[0].id").value(screening.getId()));
     }
 
+    @Test
+    @DisplayName("GET /api/screening?limit should return a keyset page")
+    void shouldReturnScreeningsPage() throws Exception {
+        mockMvc.perform(get(BASE_URL).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.screenings.length()").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/screening?limit should return 400 for invalid limit or cursor")
+    void shouldReturn400ForInvalidPageRequest() throws Exception {
+        mockMvc.perform(get(BASE_URL).param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get(BASE_URL).param("limit", "10").param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/screening should stream newline-delimited JSON when asked for it")
+    void shouldStreamScreeningsAsNdjson() throws Exception {
+        MvcResult result = mockMvc.perform(get(BASE_URL).accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+    }
+
+    // ============================================================
+    // SEARCH
+    // ============================================================
+
+    @Test
+    @DisplayName("GET /api/screening/search should return screenings matching every filter")
+    void shouldSearchScreenings() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/search")
+                        .param("cinemaHallId", hall.getId().toString())
+                        .param("genre", "Sci-Fi")
+                        .param("ageRating", "AGE_12")
+                        .param("from", "2040-01-01T00:00:00")
+                        .param("to", "2040-01-02T00:00:00")
+                        .param("maxPrice", "30"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.screenings.length()").value(1))
+                .andExpect(jsonPath("$.screenings[0].id").value(screening.getId()));
+
+        mockMvc.perform(get(BASE_URL + "/search")
+                        .param("cinemaHallId", hall.getId().toString())
+                        .param("genre", "Drama"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.screenings.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("GET /api/screening/search should return 400 for inverted ranges")
+    void shouldReturn400ForInvalidSearch() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/search")
+                        .param("minPrice", "30")
+                        .param("maxPrice", "10"))
+                .andExpect(status().isBadRequest());
+    }
+
     // ============================================================
     // GET BY ID
     // ============================================================
@@ -113,6 +186,52 @@ class ScreeningControllerIT extends BaseIT {
                 .andExpect(status().isNotFound());
     }
 
+    // ============================================================
+    // GET SEAT MAP
+    // ============================================================
+
+    @Test
+    @DisplayName("GET /api/screening/{id}/seats should return full seat map")
+    void shouldReturnSeatMap() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/" + screening.getId() + "/seats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(10 * 20))
+                .andExpect(jsonPath("$[0].status").value("AVAILABLE"));
+    }
+
+    @Test
+    @DisplayName("GET /api/screening/{id}/seats/{row}/{seat} should return 404 for seat outside hall")
+    void shouldReturn404ForSeatOutsideHall() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/" + screening.getId() + "/seats/11/1"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /api/screening/{id}/seats/stream should start with a snapshot")
+    void shouldStreamSeatMapSnapshot() throws Exception {
+        MvcResult result = mockMvc.perform(get(BASE_URL + "/" + screening.getId() + "/seats/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        await().untilAsserted(() -> assertThat(result.getResponse().getContentAsString())
+                .startsWith("event:snapshot")
+                .contains("\"rows\":10", "\"seatsPerRow\":20"));
+    }
+
+    @Test
+    @DisplayName("GET /api/screening/{id}/seats/stream should return 404 when not found")
+    void shouldReturn404ForSeatStreamWhenNotFound() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/9999/seats/stream"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /api/screening/{id}/seats should return 404 when not found")
+    void shouldReturn404ForSeatMapWhenNotFound() throws Exception {
+        mockMvc.perform(get(BASE_URL + "/9999/seats"))
+                .andExpect(status().isNotFound());
+    }
+
     // ============================================================
     // GET BY MOVIE
     // ============================================================
@@ -137,6 +256,34 @@ class ScreeningControllerIT extends BaseIT {
                 .andExpect(jsonPath("$[0].cinemaHallId").value(hall.getId()));
     }
 
+    @Test
+    @DisplayName("GET /hall/{hallId}?limit should page through the hall's screenings with the returned cursor")
+    void shouldPageByHall() throws Exception {
+        Screening evening = screeningRepository.save(
+                Screening.builder()
+                        .movie(movie)
+                        .cinemaHall(hall)
+                        .startTime(LocalDateTime.of(2040, 1, 1, 18, 0))
+                        .endTime(LocalDateTime.of(2040, 1, 1, 20, 28))
+                        .price(BigDecimal.valueOf(25))
+                        .build()
+        );
+        scheduleIndex.refresh();
+
+        MvcResult firstPage = mockMvc.perform(get(BASE_URL + "/hall/" + hall.getId()).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.screenings[0].id").value(screening.getId()))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn();
+        String cursor = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.nextCursor");
+
+        mockMvc.perform(get(BASE_URL + "/hall/" + hall.getId()).param("limit", "1").param("after", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.screenings.length()").value(1))
+                .andExpect(jsonPath("$.screenings[0].id").value(evening.getId()))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+    }
+
     // ============================================================
     // GET BY DATE
     // ============================================================
@@ -149,6 +296,61 @@ class ScreeningControllerIT extends BaseIT {
                 .andExpect(jsonPath("$[0].id").value(screening.getId()));
     }
 
+    @Test
+    @DisplayName("GET /date/{date} should still return screenings that have ended")
+    void shouldReturnEndedScreeningsByDate() throws Exception {
+        Screening ended = screeningRepository.save(
+                Screening.builder()
+                        .movie(movie)
+                        .cinemaHall(hall)
+                        .startTime(LocalDateTime.of(2020, 1, 1, 18, 0))
+                        .endTime(LocalDateTime.of(2020, 1, 1, 20, 28))
+                        .price(BigDecimal.valueOf(25))
+                        .build()
+        );
+        scheduleIndex.refresh();
+
+        mockMvc.perform(get(BASE_URL + "/date/2020-01-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(ended.getId()));
+        mockMvc.perform(get(BASE_URL + "/movie/" + movie.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(ended.getId()))
+                .andExpect(jsonPath("$[1].id").value(screening.getId()));
+    }
+
+    @Test
+    @DisplayName("GET /date/{date}?limit and /movie/{movieId}?limit should page screenings that have ended")
+    void shouldPageEndedScreenings() throws Exception {
+        Screening ended = screeningRepository.save(
+                Screening.builder()
+                        .movie(movie)
+                        .cinemaHall(hall)
+                        .startTime(LocalDateTime.of(2020, 1, 1, 18, 0))
+                        .endTime(LocalDateTime.of(2020, 1, 1, 20, 28))
+                        .price(BigDecimal.valueOf(25))
+                        .build()
+        );
+        scheduleIndex.refresh();
+
+        mockMvc.perform(get(BASE_URL + "/date/2020-01-01").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.screenings[0].id").value(ended.getId()))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+        MvcResult firstPage = mockMvc.perform(get(BASE_URL + "/movie/" + movie.getId()).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.screenings[0].id").value(ended.getId()))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn();
+        String cursor = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.nextCursor");
+
+        mockMvc.perform(get(BASE_URL + "/movie/" + movie.getId()).param("limit", "1").param("after", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.screenings[0].id").value(screening.getId()))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+    }
+
     // ============================================================
     // POST CREATE
     // ============================================================
@@ -214,6 +416,101 @@ class ScreeningControllerIT extends BaseIT {
                 .andExpect(jsonPath("$.status").value(409));
     }
 
+    // ============================================================
+    // POST BULK CREATE
+    // ============================================================
+
+    @Test
+    @DisplayName("POST /bulk should create valid screenings and report rejected ones")
+    void shouldCreateScreeningsInBulk() throws Exception {
+        String json = """
+                {
+                  "screenings": [
+                    { "movieId": %1$d, "cinemaHallId": %2$d, "startTime": "2040-01-01T15:00:00", "price": 25.00 },
+                    { "movieId": %1$d, "cinemaHallId": %2$d, "startTime": "2040-01-02T14:00:00", "price": 25.00 },
+                    { "movieId": %1$d, "cinemaHallId": %2$d, "startTime": "2040-01-02T16:28:00", "price": 25.00 },
+                    { "movieId": %1$d, "cinemaHallId": 99999, "startTime": "2040-01-03T14:00:00", "price": 25.00 }
+                  ]
+                }
+                """.formatted(movie.getId(), hall.getId());
+
+        mockMvc.perform(post(BASE_URL + "/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.rejected").value(2))
+                .andExpect(jsonPath("$.results[0].status").value("CONFLICTS_WITH_EXISTING"))
+                .andExpect(jsonPath("$.results[1].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[1].screening.endTime").value("2040-01-02T16:28:00"))
+                .andExpect(jsonPath("$.results[2].status").value("CREATED"))
+                .andExpect(jsonPath("$.results[3].status").value("CINEMA_HALL_NOT_FOUND"));
+
+        assertThat(screeningRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("POST /bulk should return 400 for empty batch")
+    void shouldReturn400ForEmptyBatch() throws Exception {
+        mockMvc.perform(post(BASE_URL + "/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"screenings\": [] }"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // ============================================================
+    // POST CLONE
+    // ============================================================
+
+    @Test
+    @DisplayName("POST /clone should copy window and skip copies that would overlap")
+    void shouldCloneSchedule() throws Exception {
+        String json = """
+                {
+                  "from": "2040-01-01T00:00:00",
+                  "to": "2040-01-02T00:00:00",
+                  "targetFrom": "2040-01-08T00:00:00",
+                  "cinemaHallId": %d
+                }
+                """.formatted(hall.getId());
+
+        mockMvc.perform(post(BASE_URL + "/clone")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.matched").value(1))
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.skipped").value(0));
+
+        mockMvc.perform(post(BASE_URL + "/clone")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(0))
+                .andExpect(jsonPath("$.skipped").value(1));
+
+        assertThat(screeningRepository.findViewsStartingBetween(LocalDateTime.of(2040, 1, 8, 0, 0), LocalDateTime.of(2040, 1, 9, 0, 0)))
+                .singleElement()
+                .satisfies(clone -> assertThat(clone.endTime()).isEqualTo(LocalDateTime.of(2040, 1, 8, 16, 28)));
+    }
+
+    @Test
+    @DisplayName("POST /clone should return 400 when window is empty")
+    void shouldReturn400ForInvalidCloneWindow() throws Exception {
+        String json = """
+                {
+                  "from": "2040-01-02T00:00:00",
+                  "to": "2040-01-01T00:00:00",
+                  "targetFrom": "2040-01-08T00:00:00"
+                }
+                """;
+
+        mockMvc.perform(post(BASE_URL + "/clone")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(json))
+                .andExpect(status().isBadRequest());
+    }
+
     // ============================================================
     // DELETE
     // ============================================================
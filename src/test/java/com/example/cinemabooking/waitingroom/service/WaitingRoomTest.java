@@ -0,0 +1,116 @@
+package com.example.cinemabooking.waitingroom.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WaitingRoomTest {
+
+    private static final long SCREENING_ID = 1L;
+    private static final long ADMISSION_TTL_MILLIS = 60_000;
+
+    @Test
+    @DisplayName("should admit tokens in order at the configured rate")
+    void shouldAdmitAtConfiguredRate() {
+        WaitingRoom room = new WaitingRoom(SCREENING_ID, 100, 2, ADMISSION_TTL_MILLIS, 0);
+        WaitingRoom.Ticket first = room.issue(11, 0);
+        WaitingRoom.Ticket second = room.issue(22, 0);
+        WaitingRoom.Ticket third = room.issue(33, 0);
+
+        assertThat(first.position()).isEqualTo(1);
+        assertThat(third.position()).isEqualTo(3);
+        assertThat(third.estimatedWaitSeconds()).isEqualTo(2);
+
+        assertThat(room.find(first.sequence(), 11, 500).admitted()).isTrue();
+        assertThat(room.find(second.sequence(), 22, 500).admitted()).isFalse();
+        assertThat(room.find(second.sequence(), 22, 1_000).admitted()).isTrue();
+        assertThat(room.find(third.sequence(), 33, 1_000).position()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("should not bank admissions while nobody is waiting")
+    void shouldNotAccumulateIdleAdmissions() {
+        WaitingRoom room = new WaitingRoom(SCREENING_ID, 100, 1, ADMISSION_TTL_MILLIS, 0);
+
+        room.stats(60_000);
+        room.issue(1, 60_000);
+        WaitingRoom.Ticket second = room.issue(2, 60_000);
+
+        assertThat(room.find(second.sequence(), 2, 60_000).admitted()).isFalse();
+        assertThat(room.stats(60_000).admitted()).isZero();
+    }
+
+    @Test
+    @DisplayName("should reject unknown nonce and tokens whose slot was reused")
+    void shouldRejectUnknownTokens() {
+        WaitingRoom room = new WaitingRoom(SCREENING_ID, 2, 1_000, ADMISSION_TTL_MILLIS, 0);
+        WaitingRoom.Ticket first = room.issue(11, 0);
+
+        assertThat(room.find(first.sequence(), 99, 0)).isNull();
+        assertThat(room.find(first.sequence() + 1, 11, 0)).isNull();
+
+        room.issue(22, 10);
+        room.issue(33, 20);
+
+        assertThat(room.find(first.sequence(), 11, 20)).isNull();
+    }
+
+    @Test
+    @DisplayName("should refuse new tokens once capacity visitors are waiting")
+    void shouldRefuseWhenFull() {
+        WaitingRoom room = new WaitingRoom(SCREENING_ID, 2, 1, ADMISSION_TTL_MILLIS, 0);
+
+        room.issue(1, 0);
+        room.issue(2, 0);
+
+        assertThat(room.issue(3, 0)).isNull();
+        assertThat(room.issue(3, 1_000)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("should apply a new rate from the moment it is changed")
+    void shouldChangeRate() {
+        WaitingRoom room = new WaitingRoom(SCREENING_ID, 100, 1, ADMISSION_TTL_MILLIS, 0);
+        for (int i = 0; i < 10; i++) {
+            room.issue(i, 0);
+        }
+
+        room.changeRate(10, 1_000);
+
+        assertThat(room.stats(1_000).admitted()).isEqualTo(1);
+        assertThat(room.stats(1_500).admitted()).isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("should expire an admission its time to live after the frontier passed it")
+    void shouldExpireAdmission() {
+        WaitingRoom room = new WaitingRoom(SCREENING_ID, 100, 1, ADMISSION_TTL_MILLIS, 0);
+        room.issue(11, 0);
+        WaitingRoom.Ticket second = room.issue(22, 0);
+
+        room.stats(10_000);
+
+        assertThat(room.find(second.sequence(), 22, 2_000 + ADMISSION_TTL_MILLIS - 1).admitted()).isTrue();
+        assertThat(room.find(second.sequence(), 22, 2_000 + ADMISSION_TTL_MILLIS)).isNull();
+        assertThat(room.consume(second.sequence(), 22, 2_000 + ADMISSION_TTL_MILLIS)).isFalse();
+    }
+
+    @Test
+    @DisplayName("should admit one booking per token until the consumed admission is given back")
+    void shouldConsumeAdmissionOnce() {
+        WaitingRoom room = new WaitingRoom(SCREENING_ID, 100, 1, ADMISSION_TTL_MILLIS, 0);
+        WaitingRoom.Ticket first = room.issue(11, 0);
+        WaitingRoom.Ticket second = room.issue(22, 0);
+
+        assertThat(room.consume(second.sequence(), 22, 1_000)).isFalse();
+        assertThat(room.consume(first.sequence(), 11, 1_000)).isTrue();
+        assertThat(room.consume(first.sequence(), 11, 1_000)).isFalse();
+        assertThat(room.find(first.sequence(), 11, 1_000)).isNull();
+
+        room.unconsume(first.sequence(), 11);
+
+        assertThat(room.consume(first.sequence(), 11, 1_000)).isTrue();
+    }
+
+}
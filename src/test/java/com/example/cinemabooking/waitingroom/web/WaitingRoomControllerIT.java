@@ -0,0 +1,200 @@
+package com.example.cinemabooking.waitingroom.web;
+
+import com.example.cinemabooking.BaseIT;
+import com.example.cinemabooking.hall.entity.CinemaHall;
+import com.example.cinemabooking.hall.repository.CinemaHallRepository;
+import com.example.cinemabooking.movie.entity.AgeRating;
+import com.example.cinemabooking.movie.entity.Movie;
+import com.example.cinemabooking.movie.repository.MovieRepository;
+import com.example.cinemabooking.screening.entity.Screening;
+import com.example.cinemabooking.screening.repository.ScreeningRepository;
+import com.example.cinemabooking.screening.repository.ScreeningSeatRepository;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.awaitility.Awaitility.await;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@AutoConfigureMockMvc
+@SpringBootTest
+class WaitingRoomControllerIT extends BaseIT {
+
+    private static final String HOLD_REQUEST = """
+            {"seats": [{"rowNumber": 1, "seatNumber": 1}]}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private CinemaHallRepository hallRepository;
+
+    @Autowired
+    private ScreeningRepository screeningRepository;
+
+    @Autowired
+    private ScreeningSeatRepository screeningSeatRepository;
+
+    private Long screeningId;
+    private String waitingRoomUrl;
+
+    @BeforeEach
+    void setUp() {
+        Movie movie = movieRepository.save(
+                Movie.builder()
+                        .title("Inception")
+                        .description("Dreams")
+                        .genre("Sci-Fi")
+                        .durationMinutes(148)
+                        .releaseDate(LocalDate.of(2010, 7, 16))
+                        .ageRating(AgeRating.AGE_12)
+                        .build()
+        );
+
+        CinemaHall hall = hallRepository.save(
+                CinemaHall.builder()
+                        .name("Sala 1")
+                        .rows(5)
+                        .seatsPerRow(10)
+                        .build()
+        );
+
+        Screening screening = screeningRepository.save(
+                Screening.builder()
+                        .movie(movie)
+                        .cinemaHall(hall)
+                        .startTime(LocalDateTime.of(2040, 1, 1, 14, 0))
+                        .endTime(LocalDateTime.of(2040, 1, 1, 16, 28))
+                        .price(BigDecimal.valueOf(25))
+                        .build()
+        );
+        screeningSeatRepository.createInventory(screening.getId(), hall.getId());
+        screeningId = screening.getId();
+        waitingRoomUrl = "/api/screening/" + screeningId + "/waiting-room";
+    }
+
+    @Test
+    @DisplayName("PUT /waiting-room should return 404 for unknown screening")
+    void shouldReturn404WhenOpeningForUnknownScreening() throws Exception {
+        mockMvc.perform(put("/api/screening/99999/waiting-room")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"admissionsPerSecond\": 5}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("POST /waiting-room/tokens should return queue position")
+    void shouldIssueToken() throws Exception {
+        openWaitingRoom(1);
+
+        mockMvc.perform(post(waitingRoomUrl + "/tokens"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.token").isNotEmpty())
+                .andExpect(jsonPath("$.position").value(1))
+                .andExpect(jsonPath("$.admitted").value(false));
+    }
+
+    @Test
+    @DisplayName("POST /holds should return 429 without admitted token while waiting room is open")
+    void shouldRejectHoldWithoutAdmittedToken() throws Exception {
+        openWaitingRoom(1);
+        mockMvc.perform(post(waitingRoomUrl + "/tokens")).andExpect(status().isCreated());
+        String waiting = issueToken();
+
+        mockMvc.perform(post("/api/screening/" + screeningId + "/holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(HOLD_REQUEST))
+                .andExpect(status().isTooManyRequests());
+
+        mockMvc.perform(post("/api/screening/" + screeningId + "/holds")
+                        .header(WaitingRoomInterceptor.QUEUE_TOKEN_HEADER, waiting)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(HOLD_REQUEST))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    @DisplayName("POST /holds should pass once waiting room is closed")
+    void shouldAllowHoldAfterClosing() throws Exception {
+        openWaitingRoom(1);
+
+        mockMvc.perform(delete(waitingRoomUrl))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(post("/api/screening/" + screeningId + "/holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(HOLD_REQUEST))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @DisplayName("POST /bookings should consume the admitted token")
+    void shouldConsumeTokenOnBooking() throws Exception {
+        openWaitingRoom(10_000);
+        String admitted = issueToken();
+        await().until(() -> isAdmitted(admitted));
+
+        mockMvc.perform(post("/api/screening/" + screeningId + "/bookings")
+                        .header(WaitingRoomInterceptor.QUEUE_TOKEN_HEADER, admitted)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(HOLD_REQUEST))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(post("/api/screening/" + screeningId + "/bookings")
+                        .header(WaitingRoomInterceptor.QUEUE_TOKEN_HEADER, admitted)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"seats\": [{\"rowNumber\": 1, \"seatNumber\": 2}]}"))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    @Test
+    @DisplayName("POST /holds should return 400 for a screening id that is not a number")
+    void shouldReturn400ForNonNumericScreeningId() throws Exception {
+        mockMvc.perform(post("/api/screening/abc/holds")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(HOLD_REQUEST))
+                .andExpect(status().isBadRequest());
+    }
+
+    private boolean isAdmitted(String token) throws Exception {
+        String body = mockMvc.perform(get(waitingRoomUrl + "/tokens/" + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(body, "$.admitted");
+    }
+
+    private void openWaitingRoom(int admissionsPerSecond) throws Exception {
+        mockMvc.perform(put(waitingRoomUrl)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"admissionsPerSecond\": " + admissionsPerSecond + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.admissionsPerSecond").value(admissionsPerSecond));
+    }
+
+    private String issueToken() throws Exception {
+        String body = mockMvc.perform(post(waitingRoomUrl + "/tokens"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(body, "$.token");
+    }
+
+}